@@ -0,0 +1,50 @@
+package io.origintrail.dkg.client.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The request and response payloads benchmarked, read from the client test fixtures or generated.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /**
+     * @param resource the classpath resource, e.g. {@code example-responses/resolve-response-body.json}.
+     */
+    static byte[] read(String resource) {
+        try (InputStream inputStream = Fixtures.class.getClassLoader().getResourceAsStream(resource)) {
+            if (inputStream == null) {
+                throw new IllegalArgumentException(String.format("Fixture not found: %s", resource));
+            }
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Generates a JSON-LD asset of a list of {@code products} schema.org products, each of about 400 bytes.
+     */
+    static byte[] largeAsset(int products) {
+        StringBuilder asset = new StringBuilder(products * 400 + 100)
+                .append("{\"@context\": \"https://schema.org/\", \"@type\": \"ItemList\", \"itemListElement\": [");
+        for (int i = 0; i < products; i++) {
+            if (i > 0) {
+                asset.append(',');
+            }
+            asset.append("{\"@type\": \"Product\", \"@id\": \"urn:product:").append(i)
+                    .append("\", \"name\": \"Executive Anvil ").append(i)
+                    .append("\", \"description\": \"Sleeker than ACME's Classic Anvil, perfect for the business traveler.\"")
+                    .append(", \"sku\": \"").append(100000 + i)
+                    .append("\", \"brand\": {\"@type\": \"Thing\", \"name\": \"ACME\"}")
+                    .append(", \"offers\": {\"@type\": \"Offer\", \"priceCurrency\": \"USD\", \"price\": \"").append(i % 500)
+                    .append(".99\", \"availability\": \"https://schema.org/InStock\"}}");
+        }
+        return asset.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
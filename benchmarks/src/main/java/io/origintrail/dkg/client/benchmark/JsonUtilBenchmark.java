@@ -0,0 +1,51 @@
+package io.origintrail.dkg.client.benchmark;
+
+import io.origintrail.dkg.client.util.JsonUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validates generated JSON-LD assets of about 400KB and 4MB, as done before each publish.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class JsonUtilBenchmark {
+
+    @Param({"1000", "10000"})
+    public int products;
+
+    private byte[] assetBytes;
+    private String assetString;
+
+    @Setup
+    public void setUp() {
+        assetBytes = Fixtures.largeAsset(products);
+        assetString = new String(assetBytes, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public boolean isJsonValidBytes() {
+        return JsonUtil.isJsonValid(assetBytes);
+    }
+
+    @Benchmark
+    public boolean isJsonValidString() {
+        return JsonUtil.isJsonValid(assetString);
+    }
+}
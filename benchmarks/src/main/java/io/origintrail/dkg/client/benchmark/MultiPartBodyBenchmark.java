@@ -0,0 +1,86 @@
+package io.origintrail.dkg.client.benchmark;
+
+import io.origintrail.dkg.client.http.HttpMediaType;
+import io.origintrail.dkg.client.http.MultiPartBody;
+import io.origintrail.dkg.client.http.MultiPartData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes a publish request body, as built by the {@code PublishService}, and drains it as the HTTP client would send it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class MultiPartBodyBenchmark {
+
+    @Param({"example", "1000", "10000"})
+    public String asset;
+
+    private byte[] fileData;
+
+    @Setup
+    public void setUp() {
+        fileData = "example".equals(asset) ? Fixtures.read("assertion-example.json") : Fixtures.largeAsset(Integer.parseInt(asset));
+    }
+
+    @Benchmark
+    public long encodePublishBody() {
+        HttpRequest.BodyPublisher body = MultiPartBody.builder()
+                .addFilePart("file", "asset.json", new MultiPartData(HttpMediaType.APPLICATION_JSON_LD.value(), fileData))
+                .addPart("keywords", "[\"Product\",\"ACME\"]")
+                .addPart("visibility", "public")
+                .addPart("ual", null)
+                .build();
+        return drain(body);
+    }
+
+    /**
+     * @return the number of bytes published by {@code body}.
+     */
+    private static long drain(HttpRequest.BodyPublisher body) {
+        CompletableFuture<Long> length = new CompletableFuture<>();
+        body.subscribe(new Flow.Subscriber<>() {
+            private long bytes;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                bytes += item.remaining();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                length.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                length.complete(bytes);
+            }
+        });
+        return length.join();
+    }
+}
@@ -0,0 +1,50 @@
+package io.origintrail.dkg.client.benchmark;
+
+import io.origintrail.dkg.client.model.NQuad;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formats N-Quads as the lines sent in proofs requests, with and without a graph, and appended to a reused builder.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class NQuadBenchmark {
+
+    private static final String SUBJECT = "<did:dkg:5285f5da78edeaa9a7cb853ebd85121fae7d93191490d182490464668f2d21cc>";
+
+    private final NQuad triple = NQuad.builder(SUBJECT, "<http://schema.org/name>", "\"Executive Anvil\"").build();
+    private final NQuad quad = NQuad.builder(SUBJECT, "<http://schema.org/name>", "\"Executive Anvil\"")
+            .graph("<did:dkg:graph>")
+            .build();
+    private final StringBuilder builder = new StringBuilder(256);
+
+    @Benchmark
+    public String tripleToString() {
+        return triple.toString();
+    }
+
+    @Benchmark
+    public String quadToString() {
+        return quad.toString();
+    }
+
+    @Benchmark
+    public int quadAppendTo() {
+        builder.setLength(0);
+        return quad.appendTo(builder).length();
+    }
+}
@@ -0,0 +1,78 @@
+package io.origintrail.dkg.client.benchmark;
+
+import io.origintrail.dkg.client.codec.ResponseCodec;
+import io.origintrail.dkg.client.model.response.AssertionSearchResult;
+import io.origintrail.dkg.client.model.response.EntitySearchResult;
+import io.origintrail.dkg.client.model.response.ProofsResult;
+import io.origintrail.dkg.client.model.response.PublishResult;
+import io.origintrail.dkg.client.model.response.QueryResult;
+import io.origintrail.dkg.client.model.response.ResolveResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes and decodes the response object of each example response body of the client tests with the JSON and Smile
+ * response codecs. The encoded size of each response is reported by {@link ResponseCodecSizeReport}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ResponseCodecBenchmark {
+
+    static final Map<String, Class<?>> RESPONSE_CLASSES = Map.of(
+            "assertions-search", AssertionSearchResult.class,
+            "entities-search", EntitySearchResult.class,
+            "proofs", ProofsResult.class,
+            "publish", PublishResult.class,
+            "query", QueryResult.class,
+            "resolve", ResolveResult.class);
+
+    @Param({"assertions-search", "entities-search", "proofs", "publish", "query", "resolve"})
+    public String response;
+
+    @Param({"json", "smile"})
+    public String codec;
+
+    private ResponseCodec responseCodec;
+    private Class<?> responseClass;
+    private Object value;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        responseCodec = "smile".equals(codec) ? ResponseCodec.smile() : ResponseCodec.json();
+        responseClass = RESPONSE_CLASSES.get(response);
+        value = readResponse(response, responseClass);
+        payload = responseCodec.encode(value);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return responseCodec.encode(value);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return responseCodec.decode(payload, responseClass);
+    }
+
+    static Object readResponse(String response, Class<?> responseClass) {
+        return ResponseCodec.json().decode(Fixtures.read("example-responses/" + response + "-response-body.json"),
+                responseClass);
+    }
+}
@@ -0,0 +1,28 @@
+package io.origintrail.dkg.client.benchmark;
+
+import io.origintrail.dkg.client.codec.ResponseCodec;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reports the encoded size in bytes of the response object of each example response benchmarked by
+ * {@link ResponseCodecBenchmark}, with the JSON and Smile response codecs, as CSV on standard output:
+ * <pre>
+ * java -cp target/benchmarks.jar io.origintrail.dkg.client.benchmark.ResponseCodecSizeReport
+ * </pre>
+ */
+public final class ResponseCodecSizeReport {
+
+    private ResponseCodecSizeReport() {
+    }
+
+    public static void main(String[] args) {
+        System.out.println("response,jsonBytes,smileBytes");
+        for (Map.Entry<String, Class<?>> response : new TreeMap<>(ResponseCodecBenchmark.RESPONSE_CLASSES).entrySet()) {
+            Object value = ResponseCodecBenchmark.readResponse(response.getKey(), response.getValue());
+            System.out.printf("%s,%d,%d%n", response.getKey(), ResponseCodec.json().encode(value).length,
+                    ResponseCodec.smile().encode(value).length);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package io.origintrail.dkg.client.benchmark;
+
+import io.origintrail.dkg.client.model.HttpUrlOptions;
+import io.origintrail.dkg.client.model.response.AssertionSearchResult;
+import io.origintrail.dkg.client.model.response.EntitySearchResult;
+import io.origintrail.dkg.client.model.response.ProofsResult;
+import io.origintrail.dkg.client.model.response.PublishResult;
+import io.origintrail.dkg.client.model.response.QueryResult;
+import io.origintrail.dkg.client.model.response.ResolveResult;
+import io.origintrail.dkg.client.service.ApiRequestService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses each example response body of the client tests into its response class, as each response is by the services.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class TransformBodyBenchmark {
+
+    private static final Map<String, Class<?>> RESPONSE_CLASSES = Map.of(
+            "assertions-search", AssertionSearchResult.class,
+            "entities-search", EntitySearchResult.class,
+            "proofs", ProofsResult.class,
+            "publish", PublishResult.class,
+            "query", QueryResult.class,
+            "resolve", ResolveResult.class);
+
+    @Param({"assertions-search", "entities-search", "proofs", "publish", "query", "resolve"})
+    public String response;
+
+    private BenchmarkApiRequestService apiRequestService;
+    private String body;
+    private Class<?> responseClass;
+
+    @Setup
+    public void setUp() {
+        apiRequestService = new BenchmarkApiRequestService();
+        body = new String(Fixtures.read("example-responses/" + response + "-response-body.json"), StandardCharsets.UTF_8);
+        responseClass = RESPONSE_CLASSES.get(response);
+    }
+
+    @Benchmark
+    public Object transformBody() {
+        return apiRequestService.transformBody(body, responseClass);
+    }
+
+    /**
+     * Exposes {@code transformBody}, which is only visible to the services.
+     */
+    private static final class BenchmarkApiRequestService extends ApiRequestService {
+
+        BenchmarkApiRequestService() {
+            super(HttpClient.newHttpClient(), new HttpUrlOptions("localhost", 8900, "http"));
+        }
+
+        @Override
+        protected <T> T transformBody(String body, Class<T> contentClass) {
+            return super.transformBody(body, contentClass);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package io.origintrail.dkg.client.benchmark;
+
+import io.origintrail.dkg.client.http.Endpoint;
+import io.origintrail.dkg.client.http.EndpointCatalog;
+import io.origintrail.dkg.client.model.HttpUrlOptions;
+import io.origintrail.dkg.client.util.UriUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the request URIs of a search and of a result poll with {@link UriUtil}, and with the {@link EndpointCatalog}
+ * the services use, for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class UriBenchmark {
+
+    private static final HttpUrlOptions HTTP_URL_OPTIONS = new HttpUrlOptions("localhost", 8900, "http");
+    private static final String HANDLER_ID = "0c1d4d2a-61e5-4d6a-9cd1-6d7f3e1b0f42";
+    private static final List<String> ASSERTION_IDS = List.of(
+            "5285f5da78edeaa9a7cb853ebd85121fae7d93191490d182490464668f2d21cc",
+            "a1e9d38c9ab4b72b8c5e2a4a5e33db0b2a1a7cc0d20c49f6f3dd4e0e67b58e4a");
+
+    private final Map<String, String> searchParameters = new LinkedHashMap<>();
+    private final EndpointCatalog endpointCatalog = new EndpointCatalog(HTTP_URL_OPTIONS);
+
+    public UriBenchmark() {
+        searchParameters.put("query", "executive anvil");
+        searchParameters.put("issuers", "0x8b6e5e2bd7a9ee0d3e1f6b9e9a2d4d0a1b2c3d4e");
+        searchParameters.put("limit", "20");
+    }
+
+    @Benchmark
+    public URI uriUtilSearch() {
+        return UriUtil.builder().httpUrlOptions(HTTP_URL_OPTIONS)
+                .path(Endpoint.ENTITIES_SEARCH.path())
+                .queryParameters(searchParameters)
+                .build();
+    }
+
+    @Benchmark
+    public URI uriUtilResult() {
+        return UriUtil.builder().httpUrlOptions(HTTP_URL_OPTIONS)
+                .pathSegments(List.of(Endpoint.RESOLVE_RESULT.path(), HANDLER_ID))
+                .build();
+    }
+
+    @Benchmark
+    public URI uriUtilResolve() {
+        return UriUtil.builder().httpUrlOptions(HTTP_URL_OPTIONS)
+                .path(Endpoint.RESOLVE.path())
+                .queryParameters("ids", ASSERTION_IDS)
+                .build();
+    }
+
+    @Benchmark
+    public URI endpointCatalogSearch() {
+        return endpointCatalog.uri(Endpoint.ENTITIES_SEARCH, searchParameters);
+    }
+
+    @Benchmark
+    public URI endpointCatalogResult() {
+        return endpointCatalog.resultUri(Endpoint.RESOLVE_RESULT, HANDLER_ID);
+    }
+
+    @Benchmark
+    public URI endpointCatalogResolve() {
+        return endpointCatalog.uri(Endpoint.RESOLVE, "ids", ASSERTION_IDS);
+    }
+}
@@ -0,0 +1,50 @@
+package io.origintrail.dkg.client.benchmark.load;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The collections and collection time of each garbage collector, and the heap usage, at a point of a load test.
+ */
+final class GcStats {
+
+    private final Map<String, long[]> collectors = new LinkedHashMap<>();
+    private final long heapUsed;
+    private final long heapCommitted;
+
+    private GcStats() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collectors.put(collector.getName(), new long[]{collector.getCollectionCount(), collector.getCollectionTime()});
+        }
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        heapUsed = heap.getUsed();
+        heapCommitted = heap.getCommitted();
+    }
+
+    static GcStats snapshot() {
+        return new GcStats();
+    }
+
+    /**
+     * @return the collections and collection time of each collector since {@code start}, and the heap usage at this
+     * snapshot.
+     */
+    Map<String, Object> since(GcStats start) {
+        Map<String, Object> collectorDeltas = new LinkedHashMap<>();
+        collectors.forEach((name, counts) -> {
+            long[] startCounts = start.collectors.getOrDefault(name, new long[2]);
+            Map<String, Long> delta = new LinkedHashMap<>();
+            delta.put("collections", counts[0] - startCounts[0]);
+            delta.put("timeMs", counts[1] - startCounts[1]);
+            collectorDeltas.put(name, delta);
+        });
+        Map<String, Object> gc = new LinkedHashMap<>();
+        gc.put("collectors", collectorDeltas);
+        gc.put("heapUsedBytes", heapUsed);
+        gc.put("heapCommittedBytes", heapCommitted);
+        return gc;
+    }
+}
@@ -0,0 +1,152 @@
+package io.origintrail.dkg.client.benchmark.load;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a mix of operations against a node, in an open or a closed loop.
+ * <p>
+ * In the open loop, operations are started on a fixed schedule of {@code rate} per second, whether or not earlier
+ * operations have completed, up to {@code concurrency} in flight. In the closed loop, each of {@code concurrency} workers
+ * starts an operation when its previous one completes, paced to its share of {@code rate} if it is positive.
+ * Either way, each latency is measured from the operation's scheduled start, so a stalled node shows in the percentiles
+ * rather than only lowering the request rate.
+ */
+final class LoadGenerator {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final LoadTestConfig config;
+    private final OperationContext context;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private long measureFrom;
+
+    LoadGenerator(LoadTestConfig config, OperationContext context) {
+        this.config = config;
+        this.context = context;
+        List<Operation> weighted = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<Operation, Integer> weight : config.mix.entrySet()) {
+            if (weight.getValue() > 0) {
+                total += weight.getValue();
+                weighted.add(weight.getKey());
+                cumulative.add(total);
+                stats.put(weight.getKey(), new OperationStats());
+            }
+        }
+        this.operations = weighted.toArray(new Operation[0]);
+        this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    Map<Operation, OperationStats> getStats() {
+        return stats;
+    }
+
+    /**
+     * Runs the warmup and the measured load, returning when every started operation has completed. Only operations
+     * scheduled to start after the warmup are recorded.
+     *
+     * @param onMeasurementStart run when the warmup ends.
+     */
+    void run(Runnable onMeasurementStart) throws InterruptedException {
+        long start = System.nanoTime();
+        measureFrom = start + config.warmup.toNanos();
+        long end = measureFrom + config.duration.toNanos();
+        Thread measurementStarter = new Thread(() -> {
+            LockSupport.parkNanos(measureFrom - System.nanoTime());
+            onMeasurementStart.run();
+        }, "load-test-measurement");
+        measurementStarter.start();
+
+        if (config.mode == LoadTestConfig.Mode.OPEN) {
+            runOpenLoop(start, end);
+        } else {
+            runClosedLoop(start, end);
+        }
+        measurementStarter.join();
+    }
+
+    private void runOpenLoop(long start, long end) {
+        long interval = NANOS_PER_SECOND / config.rate;
+        Semaphore inFlight = new Semaphore(config.concurrency);
+        for (long i = 0; ; i++) {
+            long intendedStart = start + i * interval;
+            if (intendedStart - end >= 0) {
+                break;
+            }
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquireUninterruptibly();
+            execute(intendedStart).whenComplete((result, error) -> inFlight.release());
+        }
+        inFlight.acquireUninterruptibly(config.concurrency);
+    }
+
+    private void runClosedLoop(long start, long end) throws InterruptedException {
+        long interval = config.rate > 0 ? NANOS_PER_SECOND * config.concurrency / config.rate : 0;
+        List<Thread> workers = new ArrayList<>();
+        for (int worker = 0; worker < config.concurrency; worker++) {
+            long offset = interval * worker / config.concurrency;
+            Thread thread = new Thread(() -> {
+                long intendedStart = start + offset;
+                while (intendedStart - end < 0) {
+                    long wait = intendedStart - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    long actualStart = System.nanoTime();
+                    execute(interval > 0 ? intendedStart : actualStart).handle((result, error) -> null).join();
+                    intendedStart = interval > 0 ? intendedStart + interval : System.nanoTime();
+                }
+            }, "load-test-worker-" + worker);
+            thread.setDaemon(true);
+            thread.start();
+            workers.add(thread);
+        }
+        for (Thread thread : workers) {
+            thread.join();
+        }
+    }
+
+    /**
+     * Starts a random operation of the mix, recording its latency from {@code intendedStart} when it completes if it was
+     * scheduled after the warmup.
+     */
+    private CompletableFuture<?> execute(long intendedStart) {
+        Operation operation = nextOperation();
+        OperationStats operationStats = stats.get(operation);
+        long actualStart = System.nanoTime();
+        CompletableFuture<?> result;
+        try {
+            result = operation.execute(context);
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        if (intendedStart - measureFrom < 0) {
+            return result;
+        }
+        return result.whenComplete((value, error) -> operationStats.record(intendedStart, actualStart, System.nanoTime(), error));
+    }
+
+    private Operation nextOperation() {
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+}
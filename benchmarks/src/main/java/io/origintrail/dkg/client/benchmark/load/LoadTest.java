@@ -0,0 +1,71 @@
+package io.origintrail.dkg.client.benchmark.load;
+
+import io.origintrail.dkg.client.DkgClient;
+import io.origintrail.dkg.client.model.PollingOptions;
+import io.origintrail.dkg.client.simulator.DkgNodeSimulator;
+import io.origintrail.dkg.client.simulator.LatencyDistribution;
+import io.origintrail.dkg.client.simulator.SimulatorOptions;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs a load test of {@link DkgClient} against a DKG node, by default an in-process {@link DkgNodeSimulator}, and
+ * writes a JSON report of the latency percentiles, throughput and errors of each operation.
+ * <p>
+ * {@code java -cp target/benchmarks.jar io.origintrail.dkg.client.benchmark.load.LoadTest --mode=open --rate=2000 --duration=60}
+ * <p>
+ * See {@link LoadTestConfig} for the arguments.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        DkgNodeSimulator simulator = config.host == null ? DkgNodeSimulator.start(SimulatorOptions.builder()
+                .operationDuration(config.operationDuration)
+                .latency(LatencyDistribution.logNormal(config.latencyMedian, config.latencyP99))
+                .errorRate(config.errorRate)
+                .build()) : null;
+        try {
+            String host = simulator == null ? config.host : simulator.getHost();
+            int port = simulator == null ? config.port : simulator.getPort();
+            DkgClient dkgClient = new DkgClient(host, port);
+            PollingOptions pollingOptions = PollingOptions.builder().interval(config.pollInterval).build();
+            OperationContext context = new OperationContext(dkgClient, pollingOptions, config.seedAssets);
+
+            System.out.printf("Publishing %d seed assets to %s:%d%n", config.seedAssets, host, port);
+            context.publishSeedAssets();
+
+            System.out.printf("Running %s loop load for %d s after %d s warmup%n",
+                    config.mode.name().toLowerCase(Locale.ROOT), config.duration.getSeconds(), config.warmup.getSeconds());
+            LoadGenerator loadGenerator = new LoadGenerator(config, context);
+            AtomicReference<GcStats> gcAtStart = new AtomicReference<>();
+            loadGenerator.run(() -> gcAtStart.set(GcStats.snapshot()));
+            Map<String, Object> gc = GcStats.snapshot().since(gcAtStart.get());
+
+            Map<String, Object> node = new LinkedHashMap<>();
+            node.put("host", host);
+            node.put("port", port);
+            node.put("simulated", simulator != null);
+            if (simulator != null) {
+                node.put("requests", simulator.getRequestCount());
+                node.put("rejected", simulator.getRejectedCount());
+            }
+
+            LoadTestReport report = new LoadTestReport(config, loadGenerator.getStats(), gc, node);
+            report.write(Path.of(config.report));
+            System.out.print(report.summary());
+            System.out.printf("Report written to %s%n", config.report);
+        } finally {
+            if (simulator != null) {
+                simulator.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package io.origintrail.dkg.client.benchmark.load;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The configuration of a load test, parsed from {@code --name=value} command line arguments.
+ * <ul>
+ *     <li>{@code mode} - {@code open}, issuing operations at {@code rate} per second regardless of completions, or
+ *     {@code closed}, with {@code concurrency} workers each issuing an operation when its previous one completes.</li>
+ *     <li>{@code rate} - the operations per second. The closed loop workers share it as a pace, or run unpaced if it
+ *     is {@code 0}.</li>
+ *     <li>{@code concurrency} - the closed loop workers, and the open loop limit of operations in flight.</li>
+ *     <li>{@code duration}, {@code warmup} - the measured and unmeasured run time, in seconds.</li>
+ *     <li>{@code mix} - the weight of each operation, e.g. {@code publish=1,resolve=4,search=4,query=1}.</li>
+ *     <li>{@code host}, {@code port} - the node to load. If no host is given, an in-process simulator is started.</li>
+ *     <li>{@code operation-duration-ms}, {@code latency-median-ms}, {@code latency-p99-ms}, {@code error-rate} -
+ *     the behaviour of the simulator.</li>
+ *     <li>{@code seed-assets} - the assets published before the run, to be resolved, searched and queried.</li>
+ *     <li>{@code poll-interval-ms} - the interval operation results are polled at.</li>
+ *     <li>{@code report} - the file the JSON report is written to.</li>
+ * </ul>
+ */
+final class LoadTestConfig {
+
+    enum Mode {
+        OPEN, CLOSED
+    }
+
+    Mode mode = Mode.OPEN;
+    int rate = 1000;
+    int concurrency = 256;
+    Duration duration = Duration.ofSeconds(30);
+    Duration warmup = Duration.ofSeconds(5);
+    Map<Operation, Integer> mix = parseMix("publish=1,resolve=4,search=4,query=1");
+    String host;
+    int port = 8900;
+    Duration operationDuration = Duration.ofMillis(50);
+    Duration latencyMedian = Duration.ofMillis(1);
+    Duration latencyP99 = Duration.ofMillis(10);
+    double errorRate = 0;
+    int seedAssets = 100;
+    Duration pollInterval = Duration.ofMillis(25);
+    String report = "load-test-report.json";
+
+    /**
+     * @throws IllegalArgumentException if an argument is unknown or its value is invalid.
+     */
+    static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException(String.format("Expected --name=value argument: %s", arg));
+            }
+            String value = arg.substring(separator + 1);
+            switch (arg.substring(2, separator)) {
+                case "mode":
+                    config.mode = Mode.valueOf(value.toUpperCase(Locale.ROOT));
+                    break;
+                case "rate":
+                    config.rate = Integer.parseInt(value);
+                    break;
+                case "concurrency":
+                    config.concurrency = Integer.parseInt(value);
+                    break;
+                case "duration":
+                    config.duration = Duration.ofSeconds(Long.parseLong(value));
+                    break;
+                case "warmup":
+                    config.warmup = Duration.ofSeconds(Long.parseLong(value));
+                    break;
+                case "mix":
+                    config.mix = parseMix(value);
+                    break;
+                case "host":
+                    config.host = value;
+                    break;
+                case "port":
+                    config.port = Integer.parseInt(value);
+                    break;
+                case "operation-duration-ms":
+                    config.operationDuration = Duration.ofMillis(Long.parseLong(value));
+                    break;
+                case "latency-median-ms":
+                    config.latencyMedian = Duration.ofMillis(Long.parseLong(value));
+                    break;
+                case "latency-p99-ms":
+                    config.latencyP99 = Duration.ofMillis(Long.parseLong(value));
+                    break;
+                case "error-rate":
+                    config.errorRate = Double.parseDouble(value);
+                    break;
+                case "seed-assets":
+                    config.seedAssets = Integer.parseInt(value);
+                    break;
+                case "poll-interval-ms":
+                    config.pollInterval = Duration.ofMillis(Long.parseLong(value));
+                    break;
+                case "report":
+                    config.report = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException(String.format("Unknown argument: %s", arg));
+            }
+        }
+        if (config.concurrency <= 0 || config.seedAssets <= 0) {
+            throw new IllegalArgumentException("Concurrency and seed assets must be positive.");
+        }
+        if (config.rate < 0 || (config.mode == Mode.OPEN && config.rate == 0)) {
+            throw new IllegalArgumentException("Rate must be positive in the open loop.");
+        }
+        return config;
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] weight = entry.trim().split("=");
+            if (weight.length != 2 || Integer.parseInt(weight[1]) < 0) {
+                throw new IllegalArgumentException(String.format("Expected operation=weight: %s", entry));
+            }
+            weights.put(Operation.valueOf(weight[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(weight[1]));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("At least one operation must have a positive weight.");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,125 @@
+package io.origintrail.dkg.client.benchmark.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.origintrail.dkg.client.DkgClient;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JSON report of a load test: the configuration, and the throughput, latency percentiles and errors of each
+ * operation, with its corrected latency histogram encoded for later comparison, and the garbage collection of the run.
+ * Latencies are reported in milliseconds.
+ */
+final class LoadTestReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p99.9"};
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Map<String, Object> report = new LinkedHashMap<>();
+    private final StringBuilder summary = new StringBuilder();
+
+    LoadTestReport(LoadTestConfig config, Map<Operation, OperationStats> stats, Map<String, Object> gc,
+                   Map<String, Object> node) {
+        double seconds = config.duration.toNanos() / (double) TimeUnit.SECONDS.toNanos(1);
+        String clientVersion = DkgClient.class.getPackage().getImplementationVersion();
+        report.put("clientVersion", clientVersion == null ? "unknown" : clientVersion);
+        report.put("javaVersion", Runtime.version().toString());
+        report.put("config", config(config));
+        report.put("node", node);
+
+        summary.append(String.format(Locale.ROOT, "%-8s %10s %8s %10s %10s %10s %10s %10s%n",
+                "op", "ops/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        Map<String, Object> operations = new LinkedHashMap<>();
+        long total = 0;
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats operationStats = entry.getValue();
+            Histogram corrected = operationStats.correctedHistogram();
+            Histogram uncorrected = operationStats.uncorrectedHistogram();
+            long count = corrected.getTotalCount();
+            total += count;
+            long errors = operationStats.errors().values().stream().mapToLong(Long::longValue).sum();
+
+            Map<String, Object> operation = new LinkedHashMap<>();
+            operation.put("count", count);
+            operation.put("completed", operationStats.completed());
+            operation.put("throughput", count / seconds);
+            operation.put("errors", operationStats.errors());
+            operation.put("correctedLatencyMs", percentiles(corrected));
+            operation.put("uncorrectedLatencyMs", percentiles(uncorrected));
+            operation.put("correctedHistogram", encode(corrected));
+            operations.put(entry.getKey().label(), operation);
+
+            summary.append(String.format(Locale.ROOT, "%-8s %10.1f %8d %10.3f %10.3f %10.3f %10.3f %10.3f%n",
+                    entry.getKey().label(), count / seconds, errors,
+                    millis(corrected.getValueAtPercentile(50)), millis(corrected.getValueAtPercentile(90)),
+                    millis(corrected.getValueAtPercentile(99)), millis(corrected.getValueAtPercentile(99.9)),
+                    millis(corrected.getMaxValue())));
+        }
+        report.put("throughput", total / seconds);
+        report.put("operations", operations);
+        report.put("gc", gc);
+        summary.append(String.format(Locale.ROOT, "total    %10.1f ops/s over %d s%n", total / seconds,
+                config.duration.getSeconds()));
+    }
+
+    void write(Path file) throws IOException {
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    }
+
+    /**
+     * @return a table of the throughput, errors and corrected latency percentiles of each operation.
+     */
+    String summary() {
+        return summary.toString();
+    }
+
+    private static Map<String, Object> config(LoadTestConfig config) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("mode", config.mode.name().toLowerCase(Locale.ROOT));
+        values.put("rate", config.rate);
+        values.put("concurrency", config.concurrency);
+        values.put("durationSeconds", config.duration.getSeconds());
+        values.put("warmupSeconds", config.warmup.getSeconds());
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        config.mix.forEach((operation, weight) -> mix.put(operation.label(), weight));
+        values.put("mix", mix);
+        values.put("seedAssets", config.seedAssets);
+        values.put("pollIntervalMs", config.pollInterval.toMillis());
+        return values;
+    }
+
+    private static Map<String, Object> percentiles(Histogram histogram) {
+        Map<String, Object> percentiles = new LinkedHashMap<>();
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            percentiles.put(PERCENTILE_NAMES[i], millis(histogram.getValueAtPercentile(PERCENTILES[i])));
+        }
+        percentiles.put("max", millis(histogram.getMaxValue()));
+        percentiles.put("mean", histogram.getTotalCount() == 0 ? 0 : histogram.getMean() / NANOS_PER_MILLI);
+        return percentiles;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+    /**
+     * @return the histogram in the compressed, base64 encoded form read by {@code Histogram.fromString} and the
+     * HdrHistogram log tools.
+     */
+    private static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+}
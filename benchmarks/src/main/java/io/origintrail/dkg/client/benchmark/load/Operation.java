@@ -0,0 +1,58 @@
+package io.origintrail.dkg.client.benchmark.load;
+
+import io.origintrail.dkg.client.model.AssertionSearchOptions;
+import io.origintrail.dkg.client.model.SparqlQueryType;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A client operation of a load test, measured from its first request until its result is no longer pending.
+ */
+enum Operation {
+
+    PUBLISH {
+        @Override
+        CompletableFuture<?> execute(OperationContext context) {
+            return context.publish();
+        }
+    },
+    RESOLVE {
+        @Override
+        CompletableFuture<?> execute(OperationContext context) {
+            return context.getDkgClient().resolve(List.of(context.randomAssertionId()))
+                    .thenCompose(handlerId -> context.await(
+                            () -> context.getDkgClient().getResolveResult(handlerId.getHandlerId()),
+                            result -> result.getStatus()));
+        }
+    },
+    SEARCH {
+        @Override
+        CompletableFuture<?> execute(OperationContext context) {
+            AssertionSearchOptions searchOptions = AssertionSearchOptions.builder(context.keyword(context.randomAssetNumber()))
+                    .build();
+            return context.getDkgClient().searchAssertions(searchOptions, context.getPollingOptions())
+                    .thenApply(result -> context.checkStatus(result.getStatus()));
+        }
+    },
+    QUERY {
+        @Override
+        CompletableFuture<?> execute(OperationContext context) {
+            String query = String.format("CONSTRUCT { ?s ?p ?o } WHERE { ?s <http://schema.org/hasKeyword> \"%s\" . ?s ?p ?o }",
+                    context.keyword(context.randomAssetNumber()));
+            return context.getDkgClient().queryAndAwait(SparqlQueryType.CONSTRUCT, query, context.getPollingOptions())
+                    .thenApply(result -> context.checkStatus(result.getStatus()));
+        }
+    };
+
+    /**
+     * @return a {@code CompletableFuture} completed when the operation's result is no longer pending, or completed
+     * exceptionally if a request failed or the operation did not complete.
+     */
+    abstract CompletableFuture<?> execute(OperationContext context);
+
+    String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
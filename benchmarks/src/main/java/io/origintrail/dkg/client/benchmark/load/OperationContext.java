@@ -0,0 +1,123 @@
+package io.origintrail.dkg.client.benchmark.load;
+
+import io.origintrail.dkg.client.DkgClient;
+import io.origintrail.dkg.client.model.PollingOptions;
+import io.origintrail.dkg.client.model.PublishOptions;
+import io.origintrail.dkg.client.model.response.PublishResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The client, and the assets published so far, shared by the operations of a load test.
+ */
+final class OperationContext {
+
+    private static final String PENDING_STATUS = "PENDING";
+    private static final String COMPLETED_STATUS = "COMPLETED";
+
+    private final DkgClient dkgClient;
+    private final PollingOptions pollingOptions;
+    private final List<String> assertionIds = new ArrayList<>();
+    private final AtomicLong assetNumbers = new AtomicLong();
+    private final int seedAssets;
+
+    OperationContext(DkgClient dkgClient, PollingOptions pollingOptions, int seedAssets) {
+        this.dkgClient = dkgClient;
+        this.pollingOptions = pollingOptions;
+        this.seedAssets = seedAssets;
+    }
+
+    DkgClient getDkgClient() {
+        return dkgClient;
+    }
+
+    PollingOptions getPollingOptions() {
+        return pollingOptions;
+    }
+
+    /**
+     * Publishes the seed assets concurrently and keeps their assertion ids, to be resolved during the run.
+     */
+    void publishSeedAssets() {
+        List<CompletableFuture<PublishResult>> published = new ArrayList<>();
+        for (int i = 0; i < seedAssets; i++) {
+            published.add(publish());
+        }
+        for (CompletableFuture<PublishResult> result : published) {
+            assertionIds.add(result.join().getData().getId());
+        }
+    }
+
+    /**
+     * Publishes a new asset, with the keyword of its asset number, and polls for the publish result.
+     */
+    CompletableFuture<PublishResult> publish() {
+        long assetNumber = assetNumbers.getAndIncrement();
+        byte[] asset = String.format("{\"@context\": \"https://schema.org/\", \"@type\": \"Product\", "
+                + "\"@id\": \"urn:product:%d\", \"name\": \"Load test product %d\"}", assetNumber, assetNumber)
+                .getBytes(StandardCharsets.UTF_8);
+        PublishOptions publishOptions = PublishOptions.builder(List.of(keyword(assetNumber))).build();
+        return dkgClient.publishAssertion("asset.json", asset, publishOptions)
+                .thenCompose(handlerId -> await(() -> dkgClient.getPublishAssertionResult(handlerId.getHandlerId()),
+                        PublishResult::getStatus));
+    }
+
+    long randomAssetNumber() {
+        return ThreadLocalRandom.current().nextLong(seedAssets);
+    }
+
+    String randomAssertionId() {
+        return assertionIds.get(ThreadLocalRandom.current().nextInt(assertionIds.size()));
+    }
+
+    /**
+     * @return the keyword an asset is published with, shared by every 10 assets.
+     */
+    String keyword(long assetNumber) {
+        return "loadtest" + assetNumber / 10;
+    }
+
+    /**
+     * Polls for the result of an operation until its status is no longer pending.
+     *
+     * @throws CompletionException if the operation did not complete, or is still pending after every polling attempt.
+     */
+    <T> CompletableFuture<T> await(Supplier<CompletableFuture<T>> resultRequest, Function<T, String> status) {
+        return await(resultRequest, status, 1);
+    }
+
+    private <T> CompletableFuture<T> await(Supplier<CompletableFuture<T>> resultRequest, Function<T, String> status, int attempt) {
+        return CompletableFuture.supplyAsync(resultRequest,
+                        CompletableFuture.delayedExecutor(pollingOptions.getInterval().toMillis(), TimeUnit.MILLISECONDS))
+                .thenCompose(request -> request)
+                .thenCompose(result -> {
+                    if (!PENDING_STATUS.equals(status.apply(result))) {
+                        checkStatus(status.apply(result));
+                        return CompletableFuture.completedFuture(result);
+                    }
+                    if (attempt >= pollingOptions.getMaxAttempts()) {
+                        throw new CompletionException(new IllegalStateException("PENDING"));
+                    }
+                    return await(resultRequest, status, attempt + 1);
+                });
+    }
+
+    /**
+     * @throws CompletionException if {@code status} is not {@code COMPLETED}.
+     */
+    String checkStatus(String status) {
+        if (!COMPLETED_STATUS.equals(status)) {
+            throw new CompletionException(new IllegalStateException(String.valueOf(status)));
+        }
+        return status;
+    }
+}
@@ -0,0 +1,73 @@
+package io.origintrail.dkg.client.benchmark.load;
+
+import io.origintrail.dkg.client.exception.HttpResponseException;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The latencies, completions and errors of one operation during the measured part of a load test.
+ * <p>
+ * Each latency is recorded twice: from the time the operation was intended to start by the load schedule, which corrects
+ * for coordinated omission by including the time an operation waited behind slower ones, and from the time it was
+ * actually started, which is the latency seen by the client alone. Latencies are recorded in nanoseconds.
+ */
+final class OperationStats {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Recorder corrected = new Recorder(SIGNIFICANT_DIGITS);
+    private final Recorder uncorrected = new Recorder(SIGNIFICANT_DIGITS);
+    private final LongAdder completed = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    void record(long intendedStartNanos, long startNanos, long endNanos, Throwable error) {
+        corrected.recordValue(Math.max(0, endNanos - intendedStartNanos));
+        uncorrected.recordValue(Math.max(0, endNanos - startNanos));
+        if (error == null) {
+            completed.increment();
+        } else {
+            errors.computeIfAbsent(errorType(error), type -> new LongAdder()).increment();
+        }
+    }
+
+    Histogram correctedHistogram() {
+        return corrected.getIntervalHistogram();
+    }
+
+    Histogram uncorrectedHistogram() {
+        return uncorrected.getIntervalHistogram();
+    }
+
+    long completed() {
+        return completed.sum();
+    }
+
+    /**
+     * @return the number of errors of each type, e.g. {@code http_503} or {@code PollingTimeoutException}.
+     */
+    Map<String, Long> errors() {
+        Map<String, Long> errorCounts = new TreeMap<>();
+        errors.forEach((type, count) -> errorCounts.put(type, count.sum()));
+        return errorCounts;
+    }
+
+    private static String errorType(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof HttpResponseException) {
+            return "http_" + ((HttpResponseException) cause).getStatusCode();
+        }
+        if (cause instanceof IllegalStateException && cause.getMessage() != null) {
+            return "status_" + cause.getMessage();
+        }
+        return cause.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,124 @@
+package io.origintrail.dkg.client.metrics.micrometer;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.origintrail.dkg.client.exception.PollingTimeoutException;
+import io.origintrail.dkg.client.http.Endpoint;
+import io.origintrail.dkg.client.metrics.ClientMetrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the {@link ClientMetrics} of a {@code DkgClient} in a Micrometer {@link MeterRegistry}:
+ * <ul>
+ *     <li>{@code dkg.client.requests} - a timer of request latency, with a percentile histogram, tagged by
+ *     {@code endpoint}, {@code node} and {@code status}: the response status code, or the exception of a request
+ *     which failed without a response. Its count is the number of responses with each status code.</li>
+ *     <li>{@code dkg.client.requests.in.flight} - a gauge of the requests awaiting a response, tagged by {@code endpoint}
+ *     and {@code node}.</li>
+ *     <li>{@code dkg.client.request.bytes}, {@code dkg.client.response.bytes} - distribution summaries of the request and
+ *     response body sizes, where known, tagged by {@code endpoint} and {@code node}.</li>
+ *     <li>{@code dkg.client.polls} - a distribution summary of the result requests sent for each awaited operation,
+ *     tagged by result {@code endpoint}, {@code node} and {@code status}: the terminal status, {@code TIMEOUT}
+ *     or {@code ERROR}.</li>
+ *     <li>{@code dkg.client.time.to.terminal} - a timer of the time from receiving the {@code handler_id} of an
+ *     awaited operation to its terminal status, with a percentile histogram, tagged as {@code dkg.client.polls}.</li>
+ * </ul>
+ * The {@code endpoint} tag is the endpoint path, e.g. {@code query/result}, or {@code other} for a request whose URI is
+ * not an endpoint of the node. Handler ids are not used as tags.
+ */
+public class MicrometerClientMetrics implements ClientMetrics {
+
+    private static final String OTHER_ENDPOINT = "other";
+    private static final String TIMEOUT_STATUS = "TIMEOUT";
+    private static final String ERROR_STATUS = "ERROR";
+
+    private final MeterRegistry registry;
+    private final Map<Tags, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public MicrometerClientMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void requestStarted(Endpoint endpoint, String node) {
+        inFlight(tags(endpoint, node)).incrementAndGet();
+    }
+
+    @Override
+    public void requestCompleted(Endpoint endpoint, String node, int statusCode, long latencyNanos, long bytesSent,
+                                 long bytesReceived) {
+        Tags tags = tags(endpoint, node);
+        inFlight(tags).decrementAndGet();
+        requestTimer(tags.and("status", String.valueOf(statusCode))).record(latencyNanos, TimeUnit.NANOSECONDS);
+        if (bytesSent >= 0) {
+            bytesSummary("dkg.client.request.bytes", tags).record(bytesSent);
+        }
+        if (bytesReceived >= 0) {
+            bytesSummary("dkg.client.response.bytes", tags).record(bytesReceived);
+        }
+    }
+
+    @Override
+    public void requestFailed(Endpoint endpoint, String node, Throwable error, long latencyNanos) {
+        Tags tags = tags(endpoint, node);
+        inFlight(tags).decrementAndGet();
+        requestTimer(tags.and("status", error.getClass().getSimpleName())).record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void pollingCompleted(Endpoint resultEndpoint, String node, String handlerId, int polls, String status,
+                                 long timeToTerminalNanos) {
+        recordPolling(tags(resultEndpoint, node).and("status", String.valueOf(status)), polls, timeToTerminalNanos);
+    }
+
+    @Override
+    public void pollingFailed(Endpoint resultEndpoint, String node, String handlerId, int polls, Throwable error,
+                              long elapsedNanos) {
+        String status = error instanceof PollingTimeoutException ? TIMEOUT_STATUS : ERROR_STATUS;
+        recordPolling(tags(resultEndpoint, node).and("status", status), polls, elapsedNanos);
+    }
+
+    private void recordPolling(Tags tags, int polls, long elapsedNanos) {
+        DistributionSummary.builder("dkg.client.polls")
+                .description("Result requests sent for each awaited operation")
+                .tags(tags)
+                .register(registry)
+                .record(polls);
+        Timer.builder("dkg.client.time.to.terminal")
+                .description("Time from receiving the handler id of an awaited operation to its terminal status")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer requestTimer(Tags tags) {
+        return Timer.builder("dkg.client.requests")
+                .description("DKG API request latency")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private DistributionSummary bytesSummary(String name, Tags tags) {
+        return DistributionSummary.builder(name)
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(registry);
+    }
+
+    private AtomicInteger inFlight(Tags tags) {
+        return inFlight.computeIfAbsent(tags, key -> registry.gauge("dkg.client.requests.in.flight", key,
+                new AtomicInteger()));
+    }
+
+    private static Tags tags(Endpoint endpoint, String node) {
+        return Tags.of("endpoint", endpoint == null ? OTHER_ENDPOINT : endpoint.path(), "node", node);
+    }
+}
@@ -0,0 +1,58 @@
+package io.origintrail.dkg.client.metrics.micrometer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.origintrail.dkg.client.DkgClient;
+import io.origintrail.dkg.client.model.DkgClientOptions;
+import io.origintrail.dkg.client.model.PollingOptions;
+import io.origintrail.dkg.client.model.SparqlQueryType;
+import io.origintrail.dkg.client.simulator.DkgNodeSimulator;
+import io.origintrail.dkg.client.simulator.SimulatorOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MicrometerClientMetricsTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private DkgNodeSimulator simulator;
+
+    @AfterEach
+    void tearDown() {
+        if (simulator != null) {
+            simulator.close();
+        }
+    }
+
+    @Test
+    void queryAndAwait_requestsAndPollingRecordedInRegistry() throws IOException {
+        // given
+        simulator = DkgNodeSimulator.start(SimulatorOptions.builder().operationDuration(Duration.ofMillis(50)).build());
+        DkgClient dkgClient = new DkgClient(simulator.getHost(), simulator.getPort(), false,
+                DkgClientOptions.builder().metrics(new MicrometerClientMetrics(registry)).build());
+        String node = simulator.getHost() + ":" + simulator.getPort();
+
+        // when
+        dkgClient.queryAndAwait(SparqlQueryType.CONSTRUCT, "CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p ?o }",
+                PollingOptions.builder().interval(Duration.ofMillis(10)).build()).join();
+
+        // then
+        assertThat(registry.get("dkg.client.requests").tags("endpoint", "query", "node", node).timer().count())
+                .isEqualTo(1);
+        long resultRequests = registry.get("dkg.client.requests").tags("endpoint", "query/result").timer().count();
+        assertThat(resultRequests).isPositive();
+        assertThat(registry.get("dkg.client.requests.in.flight").tags("endpoint", "query/result").gauge().value())
+                .isZero();
+        assertThat(registry.get("dkg.client.request.bytes").tags("endpoint", "query").summary().totalAmount())
+                .isPositive();
+        assertThat(registry.get("dkg.client.polls").tags("endpoint", "query/result", "status", "COMPLETED")
+                .summary().totalAmount()).isEqualTo(resultRequests);
+        assertThat(registry.get("dkg.client.time.to.terminal").tags("status", "COMPLETED").timer()
+                .totalTime(TimeUnit.MILLISECONDS)).isPositive();
+    }
+}
@@ -2,26 +2,48 @@ package io.origintrail.dkg.client;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import io.origintrail.dkg.client.exception.RequestValidationException;
+import io.origintrail.dkg.client.index.EntityIdMatch;
 import io.origintrail.dkg.client.model.AssertionSearchOptions;
+import io.origintrail.dkg.client.model.DkgClientOptions;
 import io.origintrail.dkg.client.model.EntitySearchOptions;
 import io.origintrail.dkg.client.model.HttpUrlOptions;
 import io.origintrail.dkg.client.model.NQuad;
+import io.origintrail.dkg.client.model.PollingOptions;
 import io.origintrail.dkg.client.model.PublishOptions;
 import io.origintrail.dkg.client.model.SparqlQueryType;
+import io.origintrail.dkg.client.model.response.AskResult;
+import io.origintrail.dkg.client.model.response.AssertionSearchResult;
+import io.origintrail.dkg.client.model.response.AssertionSearchResultItem;
+import io.origintrail.dkg.client.model.response.EntitySearchResult;
+import io.origintrail.dkg.client.model.response.EntitySearchResultItem;
 import io.origintrail.dkg.client.model.response.HandlerId;
 import io.origintrail.dkg.client.model.response.NodeInfo;
 import io.origintrail.dkg.client.model.response.ProofsResult;
 import io.origintrail.dkg.client.model.response.PublishResult;
 import io.origintrail.dkg.client.model.response.QueryResult;
 import io.origintrail.dkg.client.model.response.ResolveResult;
+import io.origintrail.dkg.client.proof.ProofVerification;
+import io.origintrail.dkg.client.proof.ProofVerifier;
+import io.origintrail.dkg.client.proof.VerifiedResolveResult;
+import io.origintrail.dkg.client.rdf.QuadTable;
+import io.origintrail.dkg.client.rdf.TermDictionary;
 import io.origintrail.dkg.client.service.ApiRequestService;
+import io.origintrail.dkg.client.service.DiskBackedQueryResult;
 import io.origintrail.dkg.client.service.InfoService;
 import io.origintrail.dkg.client.service.PublishService;
 import io.origintrail.dkg.client.service.QueryService;
 import io.origintrail.dkg.client.service.ResolveService;
+import io.origintrail.dkg.client.service.SearchResultIterator;
 import io.origintrail.dkg.client.service.SearchService;
+import io.origintrail.dkg.client.service.VerifiedResolveService;
+import io.origintrail.dkg.client.sparql.PreparedSparqlQuery;
+import io.origintrail.dkg.client.sparql.SelectRow;
 import org.apache.jena.arq.querybuilder.AbstractQueryBuilder;
+import org.apache.jena.graph.Node;
 import org.apache.jena.query.Query;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.Quad;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,9 +52,15 @@ import java.net.http.HttpClient;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * The {@code DkgClient} provides a client interface for interacting with the OriginTrail Decentralized Knowledge Graph API.
@@ -47,6 +75,8 @@ public class DkgClient {
     private final ResolveService resolveService;
     private final SearchService searchService;
     private final QueryService queryService;
+    private final VerifiedResolveService verifiedResolveService;
+    private final ProofVerifier proofVerifier = new ProofVerifier();
 
     private static final String DEFAULT_HOST = "localhost";
     private static final int DEFAULT_PORT = 8900;
@@ -63,18 +93,33 @@ public class DkgClient {
     }
 
     public DkgClient(String host, int port, boolean sshEnabled) {
+        this(host, port, sshEnabled, DkgClientOptions.defaults());
+    }
+
+    /**
+     * Creates a DkgClient with optional features configured by {@code options}.
+     *
+     * @param host       the DKG node host.
+     * @param port       the DKG node port.
+     * @param sshEnabled {@code true} to connect using https.
+     * @param options    {@link DkgClientOptions} enabling optional client features.
+     */
+    public DkgClient(String host, int port, boolean sshEnabled, DkgClientOptions options) {
 
         HttpClient httpClient = HttpClient.newBuilder()
                 .version(HttpClient.Version.HTTP_2)
                 .build();
         HttpUrlOptions httpUrlOptions = new HttpUrlOptions(host, port, sshEnabled ? "https" : "http");
-        ApiRequestService apiRequestService = new ApiRequestService(httpClient, httpUrlOptions);
+        ApiRequestService apiRequestService = new ApiRequestService(httpClient, httpUrlOptions, options.getMetrics());
 
         infoService = new InfoService(apiRequestService);
-        publishService = new PublishService(apiRequestService);
-        resolveService = new ResolveService(apiRequestService);
-        searchService = new SearchService(apiRequestService);
-        queryService = new QueryService(apiRequestService);
+        queryService = new QueryService(apiRequestService, options.getQueryCache(), options.getProofCache());
+        publishService = new PublishService(apiRequestService, options.getKeywordIndex(),
+                options.getQueryCache() == null ? null : queryService::invalidateQueryCache);
+        resolveService = new ResolveService(apiRequestService, options.getKeywordIndex(), options.getEntityIdTrie());
+        verifiedResolveService = new VerifiedResolveService(resolveService, queryService, proofVerifier);
+        searchService = new SearchService(apiRequestService, options.getSearchCache(), options.getKeywordIndex(),
+                options.getEntityIdTrie());
     }
 
     /**
@@ -293,6 +338,47 @@ public class DkgClient {
         return resolveService.getResolveResult(handlerId);
     }
 
+    /**
+     * Resolve assertions and verify the proofs of known triples in them. The proofs request is sent alongside the resolve
+     * request, and both results are polled concurrently.
+     *
+     * @param assertionIds            {@code List<String>} of assertion ids to resolve.
+     * @param nQuads                  {@code List<NQuad>} of the triples to verify.
+     * @param rootHashesByAssertionId The root hash of each assertion, as returned when it was published or searched for.
+     * @param pollingOptions          {@link PollingOptions} the interval and maximum attempts when polling for each result.
+     * @return A {@code CompletableFuture<VerifiedResolveResult>} containing the resolve result, proofs result and verification.
+     * @throws CompletionException if the call to the DKG API returns an error status code,
+     *                             or if the response body is not in the expected format,
+     *                             or if a result is still pending after the maximum polling attempts,
+     *                             or if an unexpected exception occurs during processing of the request/response.
+     */
+    public CompletableFuture<VerifiedResolveResult> verifiedResolve(List<String> assertionIds, List<NQuad> nQuads,
+                                                                    Map<String, String> rootHashesByAssertionId,
+                                                                    PollingOptions pollingOptions) throws CompletionException {
+        return verifiedResolveService.verifiedResolve(assertionIds, nQuads, rootHashesByAssertionId, pollingOptions);
+    }
+
+    /**
+     * Resolve assertions and verify the proofs of triples selected from them. The proofs request is sent as soon as
+     * the resolve result is completed.
+     *
+     * @param assertionIds            {@code List<String>} of assertion ids to resolve.
+     * @param tripleSelector          selects the triples to verify from the completed {@code ResolveResult}.
+     * @param rootHashesByAssertionId The root hash of each assertion, as returned when it was published or searched for.
+     * @param pollingOptions          {@link PollingOptions} the interval and maximum attempts when polling for each result.
+     * @return A {@code CompletableFuture<VerifiedResolveResult>} containing the resolve result, proofs result and verification.
+     * @throws CompletionException if the call to the DKG API returns an error status code,
+     *                             or if the response body is not in the expected format,
+     *                             or if a result is still pending after the maximum polling attempts,
+     *                             or if an unexpected exception occurs during processing of the request/response.
+     */
+    public CompletableFuture<VerifiedResolveResult> verifiedResolve(List<String> assertionIds,
+                                                                    Function<ResolveResult, List<NQuad>> tripleSelector,
+                                                                    Map<String, String> rootHashesByAssertionId,
+                                                                    PollingOptions pollingOptions) throws CompletionException {
+        return verifiedResolveService.verifiedResolve(assertionIds, tripleSelector, rootHashesByAssertionId, pollingOptions);
+    }
+
     /**
      * Search for entities on the DKG.
      *
@@ -322,6 +408,50 @@ public class DkgClient {
         return searchService.getEntitiesSearchResult(handlerId);
     }
 
+    /**
+     * Get the result of a previous entities search request, mapped to an {@link EntitySearchResult}.
+     *
+     * @param handlerId The {@code handler_id} returned in the entities search response you want to retrieve.
+     * @return A {@code CompletableFuture<EntitySearchResult>} containing the entities search result.
+     * @throws CompletionException if the call to the DKG API returns an error status code,
+     *                             or if the response body is not in the expected format,
+     *                             or if an unexpected exception occurs during processing of the request/response.
+     */
+    public CompletableFuture<EntitySearchResult> getTypedEntitiesSearchResult(String handlerId)
+            throws CompletionException {
+        return searchService.getTypedEntitiesSearchResult(handlerId);
+    }
+
+    /**
+     * Stream the result of a previous entities search request.
+     * Items are parsed from the response as the iterator is advanced, so large results are never held in memory at once.
+     * The returned iterator must be closed once finished with.
+     *
+     * @param handlerId The {@code handler_id} returned in the entities search response you want to retrieve.
+     * @return A {@code CompletableFuture<SearchResultIterator>}, completed once the response headers have been received.
+     * @throws CompletionException if the call to the DKG API returns an error status code,
+     *                             or if an unexpected exception occurs during processing of the request/response.
+     */
+    public CompletableFuture<SearchResultIterator<EntitySearchResultItem>> streamEntitiesSearchResult(String handlerId)
+            throws CompletionException {
+        return searchService.streamEntitiesSearchResult(handlerId);
+    }
+
+    /**
+     * Stream the result of a previous entities search request, passing each item to {@code itemConsumer} as it is parsed.
+     *
+     * @param handlerId    The {@code handler_id} returned in the entities search response you want to retrieve.
+     * @param itemConsumer callback receiving each {@link EntitySearchResultItem}.
+     * @return A {@code CompletableFuture<Long>} containing the number of items consumed.
+     * @throws CompletionException if the call to the DKG API returns an error status code,
+     *                             or if the response body is not in the expected format,
+     *                             or if an unexpected exception occurs during processing of the request/response.
+     */
+    public CompletableFuture<Long> streamEntitiesSearchResult(String handlerId, Consumer<EntitySearchResultItem> itemConsumer)
+            throws CompletionException {
+        return searchService.streamEntitiesSearchResult(handlerId, itemConsumer);
+    }
+
     /**
      * Search for assertions on the DKG.
      *
@@ -351,6 +481,168 @@ public class DkgClient {
         return searchService.getAssertionsSearchResult(handlerId);
     }
 
+    /**
+     * Get the result of a previous assertions search request, mapped to an {@link AssertionSearchResult}.
+     *
+     * @param handlerId The {@code handler_id} returned in the assertions search response you want to retrieve.
+     * @return A {@code CompletableFuture<AssertionSearchResult>} containing the assertions search result.
+     * @throws CompletionException if the call to the DKG API returns an error status code,
+     *                             or if the response body is not in the expected format,
+     *                             or if an unexpected exception occurs during processing of the request/response.
+     */
+    public CompletableFuture<AssertionSearchResult> getTypedAssertionsSearchResult(String handlerId)
+            throws CompletionException {
+        return searchService.getTypedAssertionsSearchResult(handlerId);
+    }
+
+    /**
+     * Stream the result of a previous assertions search request.
+     * Items are parsed from the response as the iterator is advanced, so large results are never held in memory at once.
+     * The returned iterator must be closed once finished with.
+     *
+     * @param handlerId The {@code handler_id} returned in the assertions search response you want to retrieve.
+     * @return A {@code CompletableFuture<SearchResultIterator>}, completed once the response headers have been received.
+     * @throws CompletionException if the call to the DKG API returns an error status code,
+     *                             or if an unexpected exception occurs during processing of the request/response.
+     */
+    public CompletableFuture<SearchResultIterator<AssertionSearchResultItem>> streamAssertionsSearchResult(String handlerId)
+            throws CompletionException {
+        return searchService.streamAssertionsSearchResult(handlerId);
+    }
+
+    /**
+     * Stream the result of a previous assertions search request, passing each item to {@code itemConsumer} as it is parsed.
+     *
+     * @param handlerId    The {@code handler_id} returned in the assertions search response you want to retrieve.
+     * @param itemConsumer callback receiving each {@link AssertionSearchResultItem}.
+     * @return A {@code CompletableFuture<Long>} containing the number of items consumed.
+     * @throws CompletionException if the call to the DKG API returns an error status code,
+     *                             or if the response body is not in the expected format,
+     *                             or if an unexpected exception occurs during processing of the request/response.
+     */
+    public CompletableFuture<Long> streamAssertionsSearchResult(String handlerId, Consumer<AssertionSearchResultItem> itemConsumer)
+            throws CompletionException {
+        return searchService.streamAssertionsSearchResult(handlerId, itemConsumer);
+    }
+
+    /**
+     * Search for entities on the DKG, polling for the search result until it is no longer pending.
+     * If search caching is enabled in {@link DkgClientOptions}, cached results are returned without calling the DKG.
+     *
+     * @param entitySearchOptions {@link EntitySearchOptions} containing query parameters required for search.
+     * @param pollingOptions      {@link PollingOptions} configuring how the search result is polled for.
+     * @return A {@code CompletableFuture<EntitySearchResult>} containing the entities search result.
+     * @throws CompletionException        if the call to the DKG API returns an error status code,
+     *                                    or if the response body is not in the expected format,
+     *                                    or if the result is still pending after all polling attempts,
+     *                                    or if an unexpected exception occurs during processing of the request/response.
+     * @throws RequestValidationException if {@code EntitySearchOptions} is not valid. Either the {@code query} or {@code ids} parameter is required.
+     */
+    public CompletableFuture<EntitySearchResult> searchEntities(EntitySearchOptions entitySearchOptions, PollingOptions pollingOptions)
+            throws CompletionException, RequestValidationException {
+        return searchService.searchEntities(entitySearchOptions, pollingOptions);
+    }
+
+    /**
+     * Search for assertions on the DKG, polling for the search result until it is no longer pending.
+     * If search caching is enabled in {@link DkgClientOptions}, cached results are returned without calling the DKG.
+     *
+     * @param assertionSearchOptions {@link AssertionSearchOptions} containing query parameters required for search.
+     * @param pollingOptions         {@link PollingOptions} configuring how the search result is polled for.
+     * @return A {@code CompletableFuture<AssertionSearchResult>} containing the assertions search result.
+     * @throws CompletionException        if the call to the DKG API returns an error status code,
+     *                                    or if the response body is not in the expected format,
+     *                                    or if the result is still pending after all polling attempts,
+     *                                    or if an unexpected exception occurs during processing of the request/response.
+     * @throws RequestValidationException if {@code AssertionSearchOptions} is not valid. The {@code query} parameter is required.
+     */
+    public CompletableFuture<AssertionSearchResult> searchAssertions(AssertionSearchOptions assertionSearchOptions, PollingOptions pollingOptions)
+            throws CompletionException, RequestValidationException {
+        return searchService.searchAssertions(assertionSearchOptions, pollingOptions);
+    }
+
+    /**
+     * Page through entities search results. Pages of {@code pageSize} new items are requested as the subscriber
+     * signals demand, with the next page prefetched while the current page is consumed. Items are de-duplicated by id
+     * across pages. The {@code limit} of the search options, if set, is the maximum number of items published.
+     *
+     * @param entitySearchOptions {@link EntitySearchOptions} containing query parameters required for search.
+     * @param pageSize            the number of new items to request per page.
+     * @param pollingOptions      {@link PollingOptions} configuring how each page result is polled for.
+     * @return A {@code Flow.Publisher<EntitySearchResultItem>} publishing the search result items.
+     * @throws RequestValidationException if {@code EntitySearchOptions} is not valid. Either the {@code query} or {@code ids} parameter is required.
+     */
+    public Flow.Publisher<EntitySearchResultItem> entitiesSearchPublisher(EntitySearchOptions entitySearchOptions, int pageSize,
+                                                                          PollingOptions pollingOptions)
+            throws RequestValidationException {
+        return searchService.entitiesSearchPublisher(entitySearchOptions, pageSize, pollingOptions);
+    }
+
+    /**
+     * Page through assertions search results. Pages of {@code pageSize} new items are requested as the subscriber
+     * signals demand, with the next page prefetched while the current page is consumed. Items are de-duplicated by id
+     * across pages. The {@code limit} of the search options, if set, is the maximum number of items published.
+     *
+     * @param assertionSearchOptions {@link AssertionSearchOptions} containing query parameters required for search.
+     * @param pageSize               the number of new items to request per page.
+     * @param pollingOptions         {@link PollingOptions} configuring how each page result is polled for.
+     * @return A {@code Flow.Publisher<AssertionSearchResultItem>} publishing the search result items.
+     * @throws RequestValidationException if {@code AssertionSearchOptions} is not valid. The {@code query} parameter is required.
+     */
+    public Flow.Publisher<AssertionSearchResultItem> assertionsSearchPublisher(AssertionSearchOptions assertionSearchOptions, int pageSize,
+                                                                               PollingOptions pollingOptions)
+            throws RequestValidationException {
+        return searchService.assertionsSearchPublisher(assertionSearchOptions, pageSize, pollingOptions);
+    }
+
+    /**
+     * Remove all cached search results. Has no effect if search caching is not enabled in {@link DkgClientOptions}.
+     */
+    public void clearSearchCache() {
+        searchService.clearSearchCache();
+    }
+
+    /**
+     * Autocomplete entity ids starting with the {@code query} of {@code entitySearchOptions}. If an
+     * {@link io.origintrail.dkg.client.index.EntityIdTrie} is enabled in {@link DkgClientOptions} and the prefix, or a shorter
+     * prefix of it, has already been searched for, the matches are returned without calling the DKG.
+     * Otherwise a {@code prefix=true} entity search is run on the DKG and polled until complete.
+     *
+     * @param entitySearchOptions {@link EntitySearchOptions} containing the entity id prefix as the {@code query}.
+     * @param maxResults          the maximum number of matches to return.
+     * @param pollingOptions      {@link PollingOptions} the interval and maximum attempts when polling for the search result.
+     * @return A {@code CompletableFuture<List<EntityIdMatch>>} containing the matching entity ids and types.
+     * @throws CompletionException        if the call to the DKG API returns an error status code,
+     *                                    or if the response body is not in the expected format,
+     *                                    or if the result is still pending after the maximum polling attempts,
+     *                                    or if an unexpected exception occurs during processing of the request/response.
+     * @throws RequestValidationException if {@code EntitySearchOptions} is not valid. Either the {@code query} or {@code ids} parameter is required.
+     */
+    public CompletableFuture<List<EntityIdMatch>> autocompleteEntities(EntitySearchOptions entitySearchOptions, int maxResults,
+                                                                       PollingOptions pollingOptions)
+            throws CompletionException, RequestValidationException {
+        return searchService.autocompleteEntities(entitySearchOptions, maxResults, pollingOptions);
+    }
+
+    /**
+     * Find the ids of assertions with a keyword. If a {@link io.origintrail.dkg.client.index.KeywordIndex} is enabled
+     * in {@link DkgClientOptions} and contains matching assertions, the ids are returned without calling the DKG.
+     * Otherwise an assertion search is run on the DKG and polled until complete.
+     *
+     * @param keyword        the keyword to find assertions for.
+     * @param pollingOptions {@link PollingOptions} the interval and maximum attempts when polling for the search result.
+     * @return A {@code CompletableFuture<List<String>>} containing the matching assertion ids.
+     * @throws CompletionException        if the call to the DKG API returns an error status code,
+     *                                    or if the response body is not in the expected format,
+     *                                    or if the result is still pending after the maximum polling attempts,
+     *                                    or if an unexpected exception occurs during processing of the request/response.
+     * @throws RequestValidationException if {@code keyword} is blank and no assertions are indexed for it.
+     */
+    public CompletableFuture<List<String>> findAssertionIdsByKeyword(String keyword, PollingOptions pollingOptions)
+            throws CompletionException, RequestValidationException {
+        return searchService.findAssertionIdsByKeyword(keyword, pollingOptions);
+    }
+
     /**
      * Run a SPARQL query on the local DKG node.
      *
@@ -382,6 +674,67 @@ public class DkgClient {
         return queryService.query(type, query.toString());
     }
 
+    /**
+     * Run a prepared SPARQL query on the local DKG node, binding its parameters to the given values.
+     * The query is not rebuilt or re-serialised, only the bound values are formatted.
+     *
+     * @param preparedQuery The {@link PreparedSparqlQuery} to run.
+     * @param bindings      The IRI or literal value of each query parameter.
+     * @return A {@code CompletableFuture<HandlerId>} containing the {@link HandlerId} for the DKG SPARQL query.
+     * @throws CompletionException        if the call to the DKG API returns an error status code,
+     *                                    or if the response body is not in the expected format,
+     *                                    or if an unexpected exception occurs during processing of the request/response.
+     * @throws RequestValidationException if a query parameter is not bound, or is bound to an invalid value.
+     */
+    public CompletableFuture<HandlerId> query(PreparedSparqlQuery preparedQuery, Map<String, Node> bindings)
+            throws CompletionException, RequestValidationException {
+        return queryService.query(preparedQuery.getType(), preparedQuery.bind(bindings));
+    }
+
+    /**
+     * Run a SPARQL query on the local DKG node, and poll for its result.
+     * If a query cache is enabled in {@link DkgClientOptions}, the result of an equal query is returned from the cache.
+     *
+     * @param type           The {@code SparqlQueryType} of the SPARQL query.
+     * @param sparqlQuery    The SPARQL query as a {@code String}.
+     * @param pollingOptions {@link PollingOptions} the interval and maximum attempts when polling for the query result.
+     * @return A {@code CompletableFuture<QueryResult>} containing the completed query result.
+     * @throws CompletionException if the call to the DKG API returns an error status code,
+     *                             or if the response body is not in the expected format,
+     *                             or if the result is still pending after the maximum polling attempts,
+     *                             or if an unexpected exception occurs during processing of the request/response.
+     */
+    public CompletableFuture<QueryResult> queryAndAwait(SparqlQueryType type, String sparqlQuery, PollingOptions pollingOptions)
+            throws CompletionException {
+        return queryService.queryAndAwait(type, sparqlQuery, pollingOptions);
+    }
+
+    /**
+     * Run a SPARQL query on the local DKG node, and poll for its result.
+     * If a query cache is enabled in {@link DkgClientOptions}, the result of an equal query is returned from the cache.
+     *
+     * @param type               The {@code SparqlQueryType} of the SPARQL query.
+     * @param sparqlQueryBuilder The Apache Jena {@code AbstractQueryBuilder} used to build a SPARQL query.
+     * @param pollingOptions     {@link PollingOptions} the interval and maximum attempts when polling for the query result.
+     * @return A {@code CompletableFuture<QueryResult>} containing the completed query result.
+     * @throws CompletionException if the call to the DKG API returns an error status code,
+     *                             or if the response body is not in the expected format,
+     *                             or if the result is still pending after the maximum polling attempts,
+     *                             or if an unexpected exception occurs during processing of the request/response.
+     */
+    public CompletableFuture<QueryResult> queryAndAwait(SparqlQueryType type, AbstractQueryBuilder<?> sparqlQueryBuilder,
+                                                        PollingOptions pollingOptions) throws CompletionException {
+        return queryService.queryAndAwait(type, sparqlQueryBuilder.build().toString(), pollingOptions);
+    }
+
+    /**
+     * Remove all cached SPARQL query results. Cached results are also removed when this client
+     * publishes, provisions or updates an asset.
+     */
+    public void invalidateQueryCache() {
+        queryService.invalidateQueryCache();
+    }
+
     /**
      * Get the result of a previous SPARQL query.
      *
@@ -396,6 +749,188 @@ public class DkgClient {
         return queryService.getQueryResult(handlerId);
     }
 
+    /**
+     * Stream the N-Quads of a previous SPARQL query result into a Jena {@code StreamRDF}, as they are parsed from the response.
+     * The result data is not held in memory.
+     *
+     * @param handlerId The {@code handler_id} returned in the SPARQL query response you want to retrieve.
+     * @param sink      The Jena {@link StreamRDF} receiving the parsed quads.
+     * @return A {@code CompletableFuture<String>} containing the query result {@code status}, once the result has been streamed.
+     * @throws CompletionException if the call to the DKG API returns an error status code,
+     *                             or if the response body is not in the expected format,
+     *                             or if an unexpected exception occurs during processing of the request/response.
+     */
+    public CompletableFuture<String> streamQueryResult(String handlerId, StreamRDF sink)
+            throws CompletionException {
+        return queryService.streamQueryResult(handlerId, sink);
+    }
+
+    /**
+     * Stream the N-Quads of a previous SPARQL query result to a callback, as they are parsed from the response.
+     *
+     * @param handlerId    The {@code handler_id} returned in the SPARQL query response you want to retrieve.
+     * @param quadConsumer A {@code Consumer<Quad>} called with each parsed quad. Triples are passed in the default graph.
+     * @return A {@code CompletableFuture<String>} containing the query result {@code status}, once the result has been streamed.
+     * @throws CompletionException if the call to the DKG API returns an error status code,
+     *                             or if the response body is not in the expected format,
+     *                             or if an unexpected exception occurs during processing of the request/response.
+     */
+    public CompletableFuture<String> streamQueryResult(String handlerId, Consumer<Quad> quadConsumer)
+            throws CompletionException {
+        return queryService.streamQueryResult(handlerId, quadConsumer);
+    }
+
+    /**
+     * Get the result of a previous SPARQL query as a Jena {@code DatasetGraph}, parsed directly from the response.
+     *
+     * @param handlerId The {@code handler_id} returned in the SPARQL query response you want to retrieve.
+     * @return A {@code CompletableFuture<DatasetGraph>} containing the quads of the query result.
+     * @throws CompletionException if the call to the DKG API returns an error status code,
+     *                             or if the response body is not in the expected format,
+     *                             or if an unexpected exception occurs during processing of the request/response.
+     */
+    public CompletableFuture<DatasetGraph> getQueryResultDataset(String handlerId)
+            throws CompletionException {
+        return queryService.getQueryResultDataset(handlerId);
+    }
+
+    /**
+     * Stream the rows of a previous SPARQL {@code SELECT} query result to a callback, as they are parsed from the response.
+     *
+     * @param handlerId   The {@code handler_id} returned in the SPARQL query response you want to retrieve.
+     * @param columns     The variables to project, or {@code null} for all variables of the result.
+     * @param dictionary  The {@link TermDictionary} to encode row values in, or {@code null} to use a new dictionary.
+     * @param rowConsumer A {@code Consumer<SelectRow>} called with each row of the result.
+     * @return A {@code CompletableFuture<String>} containing the query result {@code status}, once the result has been streamed.
+     * @throws CompletionException if the call to the DKG API returns an error status code,
+     *                             or if the response body is not in the expected format,
+     *                             or if an unexpected exception occurs during processing of the request/response.
+     */
+    public CompletableFuture<String> streamSelectResult(String handlerId, List<String> columns, TermDictionary dictionary,
+                                                        Consumer<SelectRow> rowConsumer) throws CompletionException {
+        return queryService.streamSelectResult(handlerId, columns, dictionary, rowConsumer);
+    }
+
+    /**
+     * Run a SPARQL {@code SELECT} query on the local DKG node, poll for its result, and stream the rows of the completed
+     * result to a callback.
+     *
+     * @param sparqlQuery    The SPARQL {@code SELECT} query as a {@code String}.
+     * @param columns        The variables to project, or {@code null} for all variables of the result.
+     * @param dictionary     The {@link TermDictionary} to encode row values in, or {@code null} to use a new dictionary.
+     * @param rowConsumer    A {@code Consumer<SelectRow>} called with each row of the result.
+     * @param pollingOptions {@link PollingOptions} the interval and maximum attempts when polling for the query result.
+     * @return A {@code CompletableFuture<String>} containing the query result {@code status}, once the result has been streamed.
+     * @throws CompletionException if the call to the DKG API returns an error status code,
+     *                             or if the response body is not in the expected format,
+     *                             or if the result is still pending after the maximum polling attempts,
+     *                             or if an unexpected exception occurs during processing of the request/response.
+     */
+    public CompletableFuture<String> streamSelect(String sparqlQuery, List<String> columns, TermDictionary dictionary,
+                                                  Consumer<SelectRow> rowConsumer, PollingOptions pollingOptions)
+            throws CompletionException {
+        return queryService.streamSelect(sparqlQuery, columns, dictionary, rowConsumer, pollingOptions);
+    }
+
+    /**
+     * Get the result of a previous SPARQL {@code ASK} query.
+     *
+     * @param handlerId The {@code handler_id} returned in the SPARQL query response you want to retrieve.
+     * @return A {@code CompletableFuture<AskResult>} containing the query result {@code status} and boolean.
+     * @throws CompletionException if the call to the DKG API returns an error status code,
+     *                             or if the response body is not in the expected format,
+     *                             or if an unexpected exception occurs during processing of the request/response.
+     */
+    public CompletableFuture<AskResult> getAskResult(String handlerId) throws CompletionException {
+        return queryService.getAskResult(handlerId);
+    }
+
+    /**
+     * Run a SPARQL {@code ASK} query on the local DKG node, and poll for its result.
+     *
+     * @param sparqlQuery    The SPARQL {@code ASK} query as a {@code String}.
+     * @param pollingOptions {@link PollingOptions} the interval and maximum attempts when polling for the query result.
+     * @return A {@code CompletableFuture<AskResult>} containing the completed query result.
+     * @throws CompletionException if the call to the DKG API returns an error status code,
+     *                             or if the response body is not in the expected format,
+     *                             or if the result is still pending after the maximum polling attempts,
+     *                             or if an unexpected exception occurs during processing of the request/response.
+     */
+    public CompletableFuture<AskResult> askAndAwait(String sparqlQuery, PollingOptions pollingOptions) throws CompletionException {
+        return queryService.askAndAwait(sparqlQuery, pollingOptions);
+    }
+
+    /**
+     * Get the result of a previous SPARQL query as a {@code QuadTable}, parsed directly from the response.
+     * Terms are encoded once in a {@link TermDictionary}, and quads held as {@code int} term ids.
+     *
+     * @param handlerId  The {@code handler_id} returned in the SPARQL query response you want to retrieve.
+     * @param dictionary The {@link TermDictionary} to encode terms in, or {@code null} to use a new dictionary.
+     * @return A {@code CompletableFuture<QuadTable>} containing the quads of the query result.
+     * @throws CompletionException if the call to the DKG API returns an error status code,
+     *                             or if the response body is not in the expected format,
+     *                             or if an unexpected exception occurs during processing of the request/response.
+     */
+    public CompletableFuture<QuadTable> getQueryResultTable(String handlerId, TermDictionary dictionary)
+            throws CompletionException {
+        return queryService.getQueryResultTable(handlerId, dictionary);
+    }
+
+    /**
+     * Get the result of a previous SPARQL query, writing its N-Quad lines to a temporary memory-mapped file
+     * as they are read from the response. Use for results too large to hold on the heap.
+     * The returned {@code DiskBackedQueryResult} must be closed once finished with, to delete the file.
+     *
+     * @param handlerId The {@code handler_id} returned in the SPARQL query response you want to retrieve.
+     * @return A {@code CompletableFuture<DiskBackedQueryResult>} iterating the N-Quad lines of the query result.
+     * @throws CompletionException if the call to the DKG API returns an error status code,
+     *                             or if the response body is not in the expected format,
+     *                             or if the temporary file cannot be written,
+     *                             or if an unexpected exception occurs during processing of the request/response.
+     */
+    public CompletableFuture<DiskBackedQueryResult> getQueryResultOnDisk(String handlerId)
+            throws CompletionException {
+        return queryService.getQueryResultOnDisk(handlerId);
+    }
+
+    /**
+     * Get the result of a previous SPARQL query, writing its N-Quad lines to a temporary memory-mapped file
+     * in {@code directory} as they are read from the response.
+     * The returned {@code DiskBackedQueryResult} must be closed once finished with, to delete the file.
+     *
+     * @param handlerId The {@code handler_id} returned in the SPARQL query response you want to retrieve.
+     * @param directory The directory to create the temporary file in.
+     * @return A {@code CompletableFuture<DiskBackedQueryResult>} iterating the N-Quad lines of the query result.
+     * @throws CompletionException if the call to the DKG API returns an error status code,
+     *                             or if the response body is not in the expected format,
+     *                             or if the temporary file cannot be written,
+     *                             or if an unexpected exception occurs during processing of the request/response.
+     */
+    public CompletableFuture<DiskBackedQueryResult> getQueryResultOnDisk(String handlerId, Path directory)
+            throws CompletionException {
+        return queryService.getQueryResultOnDisk(handlerId, directory);
+    }
+
+    /**
+     * Run a SPARQL query on the local DKG node and poll for its result, streaming the N-Quads of the completed
+     * result into a Jena {@code StreamRDF}.
+     *
+     * @param type           The {@code SparqlQueryType} of the SPARQL query.
+     * @param sparqlQuery    The SPARQL query as a {@code String}.
+     * @param sink           The Jena {@link StreamRDF} receiving the parsed quads.
+     * @param pollingOptions {@link PollingOptions} the interval and maximum attempts when polling for the query result.
+     * @return A {@code CompletableFuture<String>} containing the query result {@code status}, once the result has been streamed.
+     * @throws CompletionException if the call to the DKG API returns an error status code,
+     *                             or if the response body is not in the expected format,
+     *                             or if the result is still pending after the maximum polling attempts,
+     *                             or if an unexpected exception occurs during processing of the request/response.
+     */
+    public CompletableFuture<String> streamQuery(SparqlQueryType type, String sparqlQuery, StreamRDF sink,
+                                                 PollingOptions pollingOptions)
+            throws CompletionException {
+        return queryService.streamQuery(type, sparqlQuery, sink, pollingOptions);
+    }
+
     /**
      * Query proofs for RDF triples in n-quads format.
      *
@@ -411,6 +946,37 @@ public class DkgClient {
         return queryService.proofs(nQuads, assertionIds);
     }
 
+    /**
+     * Query proofs for RDF triples in n-quads format, encoding the triples into the request body as it is sent,
+     * so the whole body is not held in memory. The iterator is consumed by the request.
+     *
+     * @param nQuads       {@code Iterator<NQuad>} of RDF triples.
+     * @param assertionIds the assertion ids to query.
+     * @return A {@code CompletableFuture<HandlerId>} containing the {@link HandlerId} for the DKG proofs query.
+     * @throws CompletionException if the call to the DKG API returns an error status code,
+     *                             or if the response body is not in the expected format,
+     *                             or if an unexpected exception occurs during processing of the request/response.
+     */
+    public CompletableFuture<HandlerId> proofs(Iterator<NQuad> nQuads, List<String> assertionIds)
+            throws CompletionException {
+        return queryService.proofs(nQuads, assertionIds);
+    }
+
+    /**
+     * Query proofs for RDF triples in n-quads format, encoding the triples into the request body as it is sent.
+     *
+     * @param nQuads       {@code Stream<NQuad>} of RDF triples.
+     * @param assertionIds the assertion ids to query.
+     * @return A {@code CompletableFuture<HandlerId>} containing the {@link HandlerId} for the DKG proofs query.
+     * @throws CompletionException if the call to the DKG API returns an error status code,
+     *                             or if the response body is not in the expected format,
+     *                             or if an unexpected exception occurs during processing of the request/response.
+     */
+    public CompletableFuture<HandlerId> proofs(Stream<NQuad> nQuads, List<String> assertionIds)
+            throws CompletionException {
+        return queryService.proofs(nQuads, assertionIds);
+    }
+
     /**
      * Get the result of a previous proofs query.
      *
@@ -424,4 +990,51 @@ public class DkgClient {
             throws CompletionException {
         return queryService.getProofsResult(handlerId);
     }
+
+    /**
+     * Query proofs for RDF triples in n-quads format and poll for the result. If a proof cache is enabled in the
+     * {@link DkgClientOptions}, only triples without cached proofs are requested, and cached and requested proofs
+     * are merged into one result.
+     *
+     * @param nQuads         {@code List<NQuad>} collection of RDF triples.
+     * @param assertionIds   the assertion ids to query.
+     * @param pollingOptions {@link PollingOptions} the interval and maximum attempts when polling for the proofs result.
+     * @return A {@code CompletableFuture<ProofsResult>} containing the proofs of each assertion, in the order of {@code nQuads}.
+     * @throws CompletionException if the call to the DKG API returns an error status code,
+     *                             or if the response body is not in the expected format,
+     *                             or if the result is still pending after the maximum polling attempts,
+     *                             or if an unexpected exception occurs during processing of the request/response.
+     */
+    public CompletableFuture<ProofsResult> proofsAndAwait(List<NQuad> nQuads, List<String> assertionIds,
+                                                          PollingOptions pollingOptions) throws CompletionException {
+        return queryService.proofsAndAwait(nQuads, assertionIds, pollingOptions);
+    }
+
+    /**
+     * Verify the Merkle proofs of a proofs result locally, recomputing each triple hash and walking its proof path
+     * to the root hash of the assertion.
+     *
+     * @param proofsResult            The {@code ProofsResult} of a proofs query.
+     * @param rootHashesByAssertionId The root hash of each assertion in the result, as returned when it was published or searched for.
+     * @return A {@link ProofVerification} containing the number of proofs verified and each invalid proof.
+     */
+    public ProofVerification verifyProofs(ProofsResult proofsResult, Map<String, String> rootHashesByAssertionId) {
+        return proofVerifier.verify(proofsResult, rootHashesByAssertionId);
+    }
+
+    /**
+     * Verify the Merkle proofs of a proofs result locally, and that a proof was returned for each requested triple
+     * of each requested assertion.
+     *
+     * @param proofsResult            The {@code ProofsResult} of a proofs query.
+     * @param rootHashesByAssertionId The root hash of each assertion in the result, as returned when it was published or searched for.
+     * @param assertionIds            The assertion ids the proofs were requested for.
+     * @param nQuads                  The triples the proofs were requested for.
+     * @return A {@link ProofVerification} containing the number of proofs verified, each invalid proof,
+     * and each requested triple without a proof.
+     */
+    public ProofVerification verifyProofs(ProofsResult proofsResult, Map<String, String> rootHashesByAssertionId,
+                                          List<String> assertionIds, List<NQuad> nQuads) {
+        return proofVerifier.verify(proofsResult, rootHashesByAssertionId, assertionIds, nQuads);
+    }
 }
@@ -0,0 +1,36 @@
+package io.origintrail.dkg.client.cache;
+
+import io.origintrail.dkg.client.codec.ResponseCodec;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * Class for configuring a {@link ResultCache}.
+ * <ul>
+ *     <li>{@code ttl} - how long a result is fresh for after it was loaded.</li>
+ *     <li>{@code negativeTtl} - how long an empty result is fresh for. Usually shorter than {@code ttl}.</li>
+ *     <li>{@code staleWhileRevalidate} - how long after expiry a stale result is still returned,
+ *     while it is refreshed in the background.</li>
+ *     <li>{@code maxEntries} - the maximum number of cached results. The least recently used result is evicted first.</li>
+ *     <li>{@code codec} - the codec results are stored encoded with, {@link ResponseCodec#json()} if not set.
+ *     Each cached result returned is decoded as a new copy, so it is not shared with other callers.</li>
+ * </ul>
+ */
+@Builder(toBuilder = true)
+@Getter
+@ToString
+public class CacheOptions {
+
+    @Builder.Default
+    private final Duration ttl = Duration.ofSeconds(30);
+    @Builder.Default
+    private final Duration negativeTtl = Duration.ofSeconds(5);
+    @Builder.Default
+    private final Duration staleWhileRevalidate = Duration.ZERO;
+    @Builder.Default
+    private final int maxEntries = 1000;
+    private final ResponseCodec codec;
+}
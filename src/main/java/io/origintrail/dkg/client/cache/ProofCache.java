@@ -0,0 +1,93 @@
+package io.origintrail.dkg.client.cache;
+
+import io.origintrail.dkg.client.model.response.Proof;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * A bounded, in-memory cache of triple proofs, keyed by assertion id and triple hash, configured with {@link CacheOptions}.
+ * <p>
+ * The proof of a triple in an assertion never changes, so proofs are cached individually rather than per request,
+ * and a request for proofs only needs to ask the DKG for the triples which are not cached.
+ * Only {@code ttl} and {@code maxEntries} apply. The least recently used proof is evicted first.
+ */
+public class ProofCache {
+
+    private final LongSupplier nanoClock;
+    private final long ttlNanos;
+
+    // guarded by this
+    private final Map<String, Entry> entries;
+
+    public ProofCache(CacheOptions options) {
+        this(options, System::nanoTime);
+    }
+
+    ProofCache(CacheOptions options, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        Duration ttl = options.getTtl();
+        this.ttlNanos = ttl == null ? 0 : ttl.toNanos();
+
+        int maxEntries = options.getMaxEntries();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @return the cached proof of the triple with {@code tripleHash} in the assertion, or {@code null} if it is not cached.
+     */
+    public Proof get(String assertionId, String tripleHash) {
+        String key = createKey(assertionId, tripleHash);
+        long now = nanoClock.getAsLong();
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (now - entry.expiresAt >= 0) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.proof;
+        }
+    }
+
+    public void put(String assertionId, Proof proof) {
+        if (ttlNanos <= 0 || proof.getTripleHash() == null) {
+            return;
+        }
+        Entry entry = new Entry(proof, nanoClock.getAsLong() + ttlNanos);
+        synchronized (this) {
+            entries.put(createKey(assertionId, proof.getTripleHash()), entry);
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static String createKey(String assertionId, String tripleHash) {
+        return assertionId + '\n' + tripleHash.toLowerCase();
+    }
+
+    private static class Entry {
+        private final Proof proof;
+        private final long expiresAt;
+
+        Entry(Proof proof, long expiresAt) {
+            this.proof = proof;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
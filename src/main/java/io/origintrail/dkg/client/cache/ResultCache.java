@@ -0,0 +1,209 @@
+package io.origintrail.dkg.client.cache;
+
+import io.origintrail.dkg.client.codec.ResponseCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A bounded, in-memory cache of DKG operation results, configured with {@link CacheOptions}.
+ * <p>
+ * Concurrent requests for the same missing key share a single load. Results which expired less than
+ * {@code staleWhileRevalidate} ago are returned immediately while being reloaded in the background.
+ * Failed loads are never cached, and nor are results which are not cacheable, such as the results of failed
+ * operations, or loads which were in progress when the cache was invalidated.
+ * <p>
+ * Results are stored encoded with the {@code codec} of the {@link CacheOptions}, or {@link ResponseCodec#json()} if
+ * none is set, and each cache hit decodes a new copy, so callers may modify the results they are returned.
+ *
+ * @param <K> the cache key type.
+ * @param <V> the cached result type.
+ */
+public class ResultCache<K, V> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResultCache.class);
+
+    private final Class<V> valueType;
+    private final Predicate<V> isCacheable;
+    private final Predicate<V> isNegative;
+    private final LongSupplier nanoClock;
+    private final ResponseCodec codec;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final long staleWhileRevalidateNanos;
+
+    // guarded by this
+    private final Map<K, Entry> entries;
+    // guarded by this, incremented by invalidateAll so that results of earlier loads are not cached
+    private long generation;
+    private final Map<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * @param options    the cache configuration.
+     * @param valueType   the cached result class, used when decoding results stored with a {@code codec}.
+     * @param isCacheable tests whether a result may be cached, e.g. whether its operation completed.
+     * @param isNegative  tests whether a result is empty, and should be cached for {@code negativeTtl}.
+     */
+    public ResultCache(CacheOptions options, Class<V> valueType, Predicate<V> isCacheable, Predicate<V> isNegative) {
+        this(options, valueType, isCacheable, isNegative, System::nanoTime);
+    }
+
+    ResultCache(CacheOptions options, Class<V> valueType, Predicate<V> isCacheable, Predicate<V> isNegative,
+                LongSupplier nanoClock) {
+        this.valueType = valueType;
+        this.isCacheable = isCacheable;
+        this.isNegative = isNegative;
+        this.nanoClock = nanoClock;
+        this.codec = options.getCodec() == null ? ResponseCodec.json() : options.getCodec();
+        this.ttlNanos = toNanos(options.getTtl());
+        this.negativeTtlNanos = toNanos(options.getNegativeTtl());
+        this.staleWhileRevalidateNanos = toNanos(options.getStaleWhileRevalidate());
+
+        int maxEntries = options.getMaxEntries();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached result for {@code key}, loading it with {@code loader} if missing or expired.
+     *
+     * @param key    the cache key.
+     * @param loader supplies the result when it is not cached.
+     * @return a {@code CompletableFuture} completed with the cached or loaded result.
+     */
+    public CompletableFuture<V> get(K key, Supplier<CompletableFuture<V>> loader) {
+        long now = nanoClock.getAsLong();
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+
+        if (entry != null) {
+            if (now - entry.expiresAt < 0) {
+                return CompletableFuture.completedFuture(entry.value());
+            }
+            if (now - entry.staleUntil < 0) {
+                LOGGER.debug("Returning stale cached result and refreshing, key: {}", key);
+                try {
+                    load(key, loader).exceptionally(ex -> {
+                        LOGGER.warn("Exception refreshing cached result, key: {}, {}", key, ex.getMessage());
+                        return null;
+                    });
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Exception refreshing cached result, key: {}, {}", key, e.getMessage());
+                }
+                return CompletableFuture.completedFuture(entry.value());
+            }
+        }
+        return load(key, loader);
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes all cached results. Loads in progress are not cached when they complete, and are not shared with
+     * later requests for the same key.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        loading.clear();
+        generation++;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private CompletableFuture<V> load(K key, Supplier<CompletableFuture<V>> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            loadGeneration = generation;
+        }
+        CompletableFuture<V> result = new CompletableFuture<>();
+        CompletableFuture<V> existing = loading.putIfAbsent(key, result);
+        if (existing != null) {
+            return existing.thenApply(this::copy);
+        }
+
+        CompletableFuture<V> loaded;
+        try {
+            loaded = loader.get();
+        } catch (RuntimeException e) {
+            loading.remove(key, result);
+            result.completeExceptionally(e);
+            throw e;
+        }
+
+        loaded.whenComplete((value, ex) -> {
+            if (ex == null) {
+                put(key, value, loadGeneration);
+            }
+            loading.remove(key, result);
+            if (ex == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(ex);
+            }
+        });
+        return result.thenApply(Function.identity());
+    }
+
+    private void put(K key, V value, long loadGeneration) {
+        if (value == null || !isCacheable.test(value)) {
+            return;
+        }
+        long ttl = isNegative.test(value) ? negativeTtlNanos : ttlNanos;
+        if (ttl <= 0) {
+            return;
+        }
+        long expiresAt = nanoClock.getAsLong() + ttl;
+        Entry entry = new Entry(codec.encode(value), expiresAt, expiresAt + staleWhileRevalidateNanos);
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                entries.put(key, entry);
+            }
+        }
+    }
+
+    /**
+     * Copies a result shared by concurrent requests for the same key, so that each caller is returned its own copy.
+     */
+    private V copy(V value) {
+        return value == null ? null : codec.decode(codec.encode(value), valueType);
+    }
+
+    private static long toNanos(Duration duration) {
+        return duration == null ? 0 : duration.toNanos();
+    }
+
+    private class Entry {
+        private final byte[] payload;
+        private final long expiresAt;
+        private final long staleUntil;
+
+        Entry(byte[] payload, long expiresAt, long staleUntil) {
+            this.payload = payload;
+            this.expiresAt = expiresAt;
+            this.staleUntil = staleUntil;
+        }
+
+        V value() {
+            return codec.decode(payload, valueType);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package io.origintrail.dkg.client.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+
+/**
+ * Deserializes a {@code LocalDateTime} from the ISO date times returned by the DKG, such as {@code 2022-01-31T13:35:25.505Z},
+ * by reading the fields at their fixed positions rather than through a {@code DateTimeFormatter}.
+ * <p>
+ * Strings of the form {@code yyyy-MM-ddTHH:mm:ss}, with an optional fraction of up to nine digits and an optional trailing
+ * {@code Z}, are parsed directly, with a trailing {@code Z} read as the UTC date time. Any other value is passed to the
+ * {@code JavaTimeModule} deserializer, so the accepted values and the errors raised are the same as without this deserializer.
+ */
+public final class IsoLocalDateTimeDeserializer extends StdScalarDeserializer<LocalDateTime> {
+
+    public static final IsoLocalDateTimeDeserializer INSTANCE = new IsoLocalDateTimeDeserializer();
+
+    private static final int SECONDS_LENGTH = 19;
+    private static final int MAX_FRACTION_DIGITS = 9;
+
+    private IsoLocalDateTimeDeserializer() {
+        super(LocalDateTime.class);
+    }
+
+    @Override
+    public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.hasToken(JsonToken.VALUE_STRING)) {
+            LocalDateTime dateTime = parse(parser.getText());
+            if (dateTime != null) {
+                return dateTime;
+            }
+        }
+        return LocalDateTimeDeserializer.INSTANCE.deserialize(parser, context);
+    }
+
+    /**
+     * @return the parsed date time, or {@code null} if {@code text} is not of the form {@code yyyy-MM-ddTHH:mm:ss[.S][Z]}.
+     */
+    static LocalDateTime parse(String text) {
+        int length = text.length();
+        if (length > 0 && text.charAt(length - 1) == 'Z') {
+            length--;
+        }
+        if (length < SECONDS_LENGTH || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T'
+                || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            return null;
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 7);
+        int day = digits(text, 8, 10);
+        int hour = digits(text, 11, 13);
+        int minute = digits(text, 14, 16);
+        int second = digits(text, 17, 19);
+        int nanos = 0;
+        if (length > SECONDS_LENGTH) {
+            int fractionDigits = length - SECONDS_LENGTH - 1;
+            if (text.charAt(SECONDS_LENGTH) != '.' || fractionDigits < 1 || fractionDigits > MAX_FRACTION_DIGITS) {
+                return null;
+            }
+            nanos = digits(text, SECONDS_LENGTH + 1, length);
+            for (int i = fractionDigits; i < MAX_FRACTION_DIGITS && nanos >= 0; i++) {
+                nanos *= 10;
+            }
+        }
+        if ((year | month | day | hour | minute | second | nanos) < 0) {
+            return null;
+        }
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second, nanos);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the value of the decimal digits from {@code start} to {@code end}, or {@code -1} if any is not a digit.
+     */
+    private static int digits(String text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,15 @@
+package io.origintrail.dkg.client.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * {@link ResponseCodec} encoding responses as JSON, the same format used by the DKG API.
+ */
+class JsonResponseCodec extends ObjectMapperResponseCodec {
+
+    static final JsonResponseCodec INSTANCE = new JsonResponseCodec();
+
+    private JsonResponseCodec() {
+        super(ObjectMappers.configure(new ObjectMapper()));
+    }
+}
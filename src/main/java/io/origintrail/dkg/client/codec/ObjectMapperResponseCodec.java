@@ -0,0 +1,50 @@
+package io.origintrail.dkg.client.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.origintrail.dkg.client.exception.CodecException;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Base {@link ResponseCodec} backed by a Jackson {@code ObjectMapper}.
+ * Readers and writers are resolved once per response class and reused for every subsequent call.
+ */
+abstract class ObjectMapperResponseCodec implements ResponseCodec {
+
+    private final ObjectMapper mapper;
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    ObjectMapperResponseCodec(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    ObjectMapper getMapper() {
+        return mapper;
+    }
+
+    @Override
+    public byte[] encode(Object value) throws CodecException {
+        if (value == null) {
+            throw new CodecException("Cannot encode null value.");
+        }
+        try {
+            return writers.computeIfAbsent(value.getClass(), mapper::writerFor).writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new CodecException(String.format("Exception encoding %s.", value.getClass().getSimpleName()), e);
+        }
+    }
+
+    @Override
+    public <T> T decode(byte[] payload, Class<T> type) throws CodecException {
+        try {
+            return readers.computeIfAbsent(type, mapper::readerFor).readValue(payload);
+        } catch (IOException e) {
+            throw new CodecException(String.format("Exception decoding %s.", type.getSimpleName()), e);
+        }
+    }
+}
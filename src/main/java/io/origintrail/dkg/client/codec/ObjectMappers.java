@@ -0,0 +1,45 @@
+package io.origintrail.dkg.client.codec;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+
+/**
+ * Configures the mappers used for DKG request and response bodies and by the {@link ResponseCodec}s,
+ * so that every format reads and writes response objects the same way.
+ */
+public final class ObjectMappers {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ObjectMappers.class);
+
+    private static final String BLACKBIRD_MODULE_CLASS = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+
+    private ObjectMappers() {
+    }
+
+    /**
+     * Registers the modules for response objects on {@code mapper}. Date times are read with the {@link IsoLocalDateTimeDeserializer},
+     * and the Jackson Blackbird module is registered when it is on the classpath, replacing reflective property access
+     * with generated accessors.
+     *
+     * @param mapper the mapper to configure, e.g. a mapper for the JSON or Smile format.
+     * @return the configured {@code mapper}.
+     */
+    public static ObjectMapper configure(ObjectMapper mapper) {
+        mapper.registerModule(new JavaTimeModule())
+                .registerModule(new SimpleModule("IsoLocalDateTimeModule")
+                        .addDeserializer(LocalDateTime.class, IsoLocalDateTimeDeserializer.INSTANCE));
+        try {
+            mapper.registerModule((Module) Class.forName(BLACKBIRD_MODULE_CLASS).getDeclaredConstructor().newInstance());
+            LOGGER.debug("Registered Jackson Blackbird module.");
+        } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+            LOGGER.debug("Jackson Blackbird module not available: {}", e.toString());
+        }
+        return mapper;
+    }
+}
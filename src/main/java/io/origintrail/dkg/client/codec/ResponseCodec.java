@@ -0,0 +1,43 @@
+package io.origintrail.dkg.client.codec;
+
+import io.origintrail.dkg.client.exception.CodecException;
+
+/**
+ * Encodes and decodes DKG API response objects (see {@code io.origintrail.dkg.client.model.response})
+ * to and from a {@code byte[]} payload, for storing responses in caches or on disk.
+ */
+public interface ResponseCodec {
+
+    /**
+     * Encodes the given response object.
+     *
+     * @param value the response object to encode.
+     * @return the encoded payload.
+     * @throws CodecException if the value cannot be encoded.
+     */
+    byte[] encode(Object value) throws CodecException;
+
+    /**
+     * Decodes a payload previously created by {@link #encode(Object)}.
+     *
+     * @param payload the encoded payload.
+     * @param type    the response class to decode into.
+     * @return the decoded response object.
+     * @throws CodecException if the payload cannot be decoded into {@code type}.
+     */
+    <T> T decode(byte[] payload, Class<T> type) throws CodecException;
+
+    /**
+     * @return a codec using the same JSON format the DKG API responds with.
+     */
+    static ResponseCodec json() {
+        return JsonResponseCodec.INSTANCE;
+    }
+
+    /**
+     * @return a codec using the binary Smile format, producing smaller payloads which are faster to decode than JSON.
+     */
+    static ResponseCodec smile() {
+        return SmileResponseCodec.INSTANCE;
+    }
+}
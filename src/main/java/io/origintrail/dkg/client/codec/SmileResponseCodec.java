@@ -0,0 +1,21 @@
+package io.origintrail.dkg.client.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+/**
+ * {@link ResponseCodec} encoding responses in the binary Smile format.
+ * Repeated property names and short string values (e.g. issuers, types, keywords) are back-referenced
+ * rather than written out again, so payloads are considerably smaller than the equivalent JSON.
+ */
+class SmileResponseCodec extends ObjectMapperResponseCodec {
+
+    static final SmileResponseCodec INSTANCE = new SmileResponseCodec();
+
+    private SmileResponseCodec() {
+        super(ObjectMappers.configure(new ObjectMapper(SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build())));
+    }
+}
@@ -0,0 +1,15 @@
+package io.origintrail.dkg.client.exception;
+
+/**
+ * Represents an error encoding or decoding a stored response payload.
+ */
+public class CodecException extends DkgClientException {
+
+    public CodecException(String message) {
+        super(message);
+    }
+
+    public CodecException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,15 @@
+package io.origintrail.dkg.client.exception;
+
+/**
+ * Represents a DKG operation result which was still pending after the maximum number of polling attempts.
+ */
+public class PollingTimeoutException extends DkgClientException {
+
+    public PollingTimeoutException(String message) {
+        super(message);
+    }
+
+    public PollingTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
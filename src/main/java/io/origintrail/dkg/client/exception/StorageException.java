@@ -0,0 +1,15 @@
+package io.origintrail.dkg.client.exception;
+
+/**
+ * Represents an error writing or reading a disk-backed result.
+ */
+public class StorageException extends DkgClientException {
+
+    public StorageException(String message) {
+        super(message);
+    }
+
+    public StorageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
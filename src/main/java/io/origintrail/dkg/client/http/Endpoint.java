@@ -0,0 +1,35 @@
+package io.origintrail.dkg.client.http;
+
+/**
+ * The DKG API endpoints, by path relative to the node base URL.
+ */
+public enum Endpoint {
+
+    INFO("info"),
+    PUBLISH("publish"),
+    PUBLISH_RESULT("publish/result"),
+    PROVISION("provision"),
+    PROVISION_RESULT("provision/result"),
+    UPDATE("update"),
+    UPDATE_RESULT("update/result"),
+    RESOLVE("resolve"),
+    RESOLVE_RESULT("resolve/result"),
+    ENTITIES_SEARCH("entities:search"),
+    ENTITIES_SEARCH_RESULT("entities:search/result"),
+    ASSERTIONS_SEARCH("assertions:search"),
+    ASSERTIONS_SEARCH_RESULT("assertions:search/result"),
+    QUERY("query"),
+    QUERY_RESULT("query/result"),
+    PROOFS("proofs:get"),
+    PROOFS_RESULT("proofs:get/result");
+
+    private final String path;
+
+    Endpoint(String path) {
+        this.path = path;
+    }
+
+    public String path() {
+        return path;
+    }
+}
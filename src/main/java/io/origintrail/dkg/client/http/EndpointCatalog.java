@@ -0,0 +1,206 @@
+package io.origintrail.dkg.client.http;
+
+import io.origintrail.dkg.client.exception.UriCreationException;
+import io.origintrail.dkg.client.model.HttpUrlOptions;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The request URIs of each {@link Endpoint} of a DKG node, built once from its {@link HttpUrlOptions}.
+ * <p>
+ * The base URI of each endpoint is validated and encoded when the catalog is created. Request URIs are created by
+ * appending only the encoded handler id or query string to the pre-encoded base, and parsed once.
+ * Path segments are encoded as in a URI path, and query parameters as {@code application/x-www-form-urlencoded},
+ * with characters which need no encoding appended without copying. Instances are immutable and thread safe.
+ */
+public final class EndpointCatalog {
+
+    private static final String INVALID_URI_MESSAGE = "Exception occurred creating Uri.";
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final boolean[] PATH_SAFE = createSafeCharacters("_-!.~'()*,;:$&+=@");
+    private static final boolean[] QUERY_SAFE = createSafeCharacters("-_.*");
+    private static final String RESULT_SEGMENT = "/result";
+    private static final Map<String, Endpoint> ENDPOINTS_BY_PATH = createEndpointsByPath();
+
+    private final HttpUrlOptions httpUrlOptions;
+    private final String[] baseUris;
+    private final URI[] uris;
+
+    /**
+     * @throws UriCreationException if the scheme, host or port do not form a valid URI.
+     */
+    public EndpointCatalog(HttpUrlOptions httpUrlOptions) throws UriCreationException {
+        this.httpUrlOptions = httpUrlOptions;
+        String host = httpUrlOptions.getHost();
+        if (host != null && host.indexOf(':') >= 0 && !host.startsWith("[")) {
+            host = "[" + host + "]";
+        }
+        String base = httpUrlOptions.getScheme() + "://" + host + ":" + httpUrlOptions.getPort() + "/";
+
+        Endpoint[] endpoints = Endpoint.values();
+        this.baseUris = new String[endpoints.length];
+        this.uris = new URI[endpoints.length];
+        for (Endpoint endpoint : endpoints) {
+            baseUris[endpoint.ordinal()] = base + endpoint.path();
+            URI uri = create(baseUris[endpoint.ordinal()]);
+            if (!uri.isAbsolute() || uri.getHost() == null || uri.getPort() < 0) {
+                throw new UriCreationException(INVALID_URI_MESSAGE);
+            }
+            uris[endpoint.ordinal()] = uri;
+        }
+    }
+
+    public HttpUrlOptions getHttpUrlOptions() {
+        return httpUrlOptions;
+    }
+
+    /**
+     * @return the URI of {@code endpoint}, without a query.
+     */
+    public URI uri(Endpoint endpoint) {
+        return uris[endpoint.ordinal()];
+    }
+
+    /**
+     * @return the URI of the result of the operation identified by {@code handlerId}, e.g. {@code query/result/<handlerId>}.
+     * @throws UriCreationException if {@code handlerId} is {@code null}.
+     */
+    public URI resultUri(Endpoint endpoint, String handlerId) throws UriCreationException {
+        if (handlerId == null) {
+            throw new UriCreationException(INVALID_URI_MESSAGE);
+        }
+        String base = baseUris[endpoint.ordinal()];
+        StringBuilder uri = new StringBuilder(base.length() + 1 + handlerId.length()).append(base).append('/');
+        appendEncoded(uri, handlerId, PATH_SAFE, false);
+        return create(uri.toString());
+    }
+
+    /**
+     * @return the endpoint {@code uri} is a request URI of, ignoring its query and any handler id,
+     * or {@code null} if its path is not the path of an endpoint.
+     */
+    public Endpoint endpoint(URI uri) {
+        String path = uri.getRawPath();
+        if (path == null || path.isEmpty()) {
+            return null;
+        }
+        path = path.substring(1);
+        int resultSegment = path.indexOf(RESULT_SEGMENT + "/");
+        if (resultSegment >= 0) {
+            path = path.substring(0, resultSegment + RESULT_SEGMENT.length());
+        }
+        return ENDPOINTS_BY_PATH.get(path);
+    }
+
+    /**
+     * @param parameters the query parameters, in the order of the map. Parameters with a blank value are left out.
+     * @return the URI of {@code endpoint} with a query string of {@code parameters}.
+     */
+    public URI uri(Endpoint endpoint, Map<String, String> parameters) throws UriCreationException {
+        if (parameters == null || parameters.isEmpty()) {
+            return uri(endpoint);
+        }
+        StringBuilder uri = new StringBuilder(baseUris[endpoint.ordinal()]);
+        char separator = '?';
+        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+            if (isNotBlank(parameter.getValue())) {
+                appendParameter(uri.append(separator), parameter.getKey(), parameter.getValue());
+                separator = '&';
+            }
+        }
+        return create(uri.toString());
+    }
+
+    /**
+     * @return the URI of {@code endpoint} with a query parameter {@code key} for each of {@code values}.
+     * Blank values are left out.
+     */
+    public URI uri(Endpoint endpoint, String key, List<String> values) throws UriCreationException {
+        if (!isNotBlank(key) || values == null || values.isEmpty()) {
+            return uri(endpoint);
+        }
+        StringBuilder uri = new StringBuilder(baseUris[endpoint.ordinal()]);
+        char separator = '?';
+        for (String value : values) {
+            if (isNotBlank(value)) {
+                appendParameter(uri.append(separator), key, value);
+                separator = '&';
+            }
+        }
+        return create(uri.toString());
+    }
+
+    private static void appendParameter(StringBuilder uri, String key, String value) {
+        appendEncoded(uri, key, QUERY_SAFE, true);
+        appendEncoded(uri.append('='), value, QUERY_SAFE, true);
+    }
+
+    /**
+     * Appends {@code value} percent-encoding each UTF-8 byte of characters which are not safe,
+     * and with spaces encoded as {@code +} if {@code formEncoded}.
+     */
+    static void appendEncoded(StringBuilder builder, String value, boolean[] safe, boolean formEncoded) {
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 128 && safe[c]) {
+                continue;
+            }
+            builder.append(value, start, i);
+            if (c == ' ' && formEncoded) {
+                builder.append('+');
+                start = i + 1;
+                continue;
+            }
+            int end = i + 1;
+            if (Character.isHighSurrogate(c) && end < value.length() && Character.isLowSurrogate(value.charAt(end))) {
+                end++;
+            }
+            for (byte b : value.substring(i, end).getBytes(StandardCharsets.UTF_8)) {
+                builder.append('%').append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+            }
+            i = end - 1;
+            start = end;
+        }
+        builder.append(value, start, value.length());
+    }
+
+    private static URI create(String uri) throws UriCreationException {
+        try {
+            return URI.create(uri);
+        } catch (IllegalArgumentException e) {
+            throw new UriCreationException(INVALID_URI_MESSAGE, e);
+        }
+    }
+
+    private static boolean isNotBlank(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static Map<String, Endpoint> createEndpointsByPath() {
+        Map<String, Endpoint> endpoints = new HashMap<>();
+        for (Endpoint endpoint : Endpoint.values()) {
+            endpoints.put(endpoint.path(), endpoint);
+        }
+        return endpoints;
+    }
+
+    private static boolean[] createSafeCharacters(String punctuation) {
+        boolean[] safe = new boolean[128];
+        for (char c = 'a'; c <= 'z'; c++) {
+            safe[c] = true;
+            safe[Character.toUpperCase(c)] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            safe[c] = true;
+        }
+        for (int i = 0; i < punctuation.length(); i++) {
+            safe[punctuation.charAt(i)] = true;
+        }
+        return safe;
+    }
+}
@@ -4,6 +4,7 @@ public enum HttpMediaType {
 
     APPLICATION_JSON("application/json; charset=utf-8"),
     APPLICATION_JSON_LD("application/ld+json; charset=utf-8"),
+    APPLICATION_N_QUADS("application/n-quads"),
     MULTIPART_FORM_DATA("multipart/form-data");
 
     private final String value;
@@ -3,8 +3,12 @@ package io.origintrail.dkg.client.http;
 import java.net.http.HttpRequest;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.StreamSupport;
 
 /**
  * The {@code MultiPartBody} provides the ability through the use of {@code MultiPartBodyBuilder}
@@ -20,26 +24,34 @@ public class MultiPartBody {
 
     public static class MultiPartBodyBuilder {
 
-        private final List<byte[]> partList = new ArrayList<>();
+        private final List<Iterable<byte[]>> partList = new ArrayList<>();
         private final String boundary = UUID.randomUUID().toString();
+        private long contentLength;
+        private boolean streaming;
 
         public String getBoundary() {
             return boundary;
         }
 
+        /**
+         * Builds the body publisher. The body has a known content length unless it has a streaming part.
+         */
         public HttpRequest.BodyPublisher build() {
             if (partList.size() == 0) {
                 throw new IllegalStateException("Must have at least one part to build multipart message.");
             }
             addFinalBoundaryPart();
 
-            return HttpRequest.BodyPublishers.ofByteArrays(partList);
+            HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.ofByteArrays(() -> partList.stream()
+                    .flatMap(part -> StreamSupport.stream(part.spliterator(), false))
+                    .iterator());
+            return streaming ? body : HttpRequest.BodyPublishers.fromPublisher(body, contentLength);
         }
 
         public MultiPartBodyBuilder addPart(String name, String value) {
             String part = getBoundaryStart(name) + "\r\n\r\n" + value + "\r\n";
 
-            partList.add(part.getBytes(StandardCharsets.UTF_8));
+            addBytes(part.getBytes(StandardCharsets.UTF_8));
             return this;
         }
 
@@ -47,7 +59,22 @@ public class MultiPartBody {
             String part = getBoundaryStart(name) + "\r\n"
                     + "Content-Type: " + contentType + "\r\n\r\n" + value + "\r\n";
 
-            partList.add(part.getBytes(StandardCharsets.UTF_8));
+            addBytes(part.getBytes(StandardCharsets.UTF_8));
+            return this;
+        }
+
+        /**
+         * Adds a part whose content is generated as the body is sent, in chunks from the iterator {@code chunks} supplies.
+         * The iterator is requested each time the body is sent.
+         */
+        public MultiPartBodyBuilder addStreamingPart(String name, String contentType, Supplier<Iterator<byte[]>> chunks) {
+            String partHeader = getBoundaryStart(name) + "\r\n"
+                    + "Content-Type: " + contentType + "\r\n\r\n";
+
+            addBytes(partHeader.getBytes(StandardCharsets.UTF_8));
+            partList.add(chunks::get);
+            streaming = true;
+            addBytes("\r\n".getBytes(StandardCharsets.UTF_8));
             return this;
         }
 
@@ -56,9 +83,9 @@ public class MultiPartBody {
                     + "; filename=" + fileName + "\r\n"
                     + "Content-Type: " + data.getContentType() + "\r\n\r\n";
 
-            partList.add(filePartHeader.getBytes(StandardCharsets.UTF_8));
-            partList.add(data.getData());
-            partList.add("\r\n".getBytes(StandardCharsets.UTF_8));
+            addBytes(filePartHeader.getBytes(StandardCharsets.UTF_8));
+            addBytes(data.getData());
+            addBytes("\r\n".getBytes(StandardCharsets.UTF_8));
             return this;
         }
 
@@ -68,7 +95,12 @@ public class MultiPartBody {
 
         private void addFinalBoundaryPart() {
             String part = "--" + boundary + "--";
-            partList.add(part.getBytes(StandardCharsets.UTF_8));
+            addBytes(part.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private void addBytes(byte[] bytes) {
+            partList.add(Collections.singletonList(bytes));
+            contentLength += bytes.length;
         }
     }
 }
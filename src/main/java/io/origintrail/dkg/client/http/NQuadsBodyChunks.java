@@ -0,0 +1,70 @@
+package io.origintrail.dkg.client.http;
+
+import io.origintrail.dkg.client.model.NQuad;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Encodes {@link NQuad}s as newline terminated N-Quads text, in UTF-8 chunks of about {@code chunkSize} bytes.
+ * <p>
+ * Quads are read from the source iterator only as chunks are requested, so a request body of many quads
+ * is never held in memory as a single {@code String} or {@code byte[]}. A line longer than {@code chunkSize}
+ * is returned in a single larger chunk.
+ */
+public class NQuadsBodyChunks implements Iterator<byte[]> {
+
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    private final Iterator<NQuad> nQuads;
+    private final int chunkSize;
+    private final StringBuilder lines;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    public NQuadsBodyChunks(Iterator<NQuad> nQuads) {
+        this(nQuads, DEFAULT_CHUNK_SIZE);
+    }
+
+    public NQuadsBodyChunks(Iterator<NQuad> nQuads, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1 byte.");
+        }
+        this.nQuads = nQuads;
+        this.chunkSize = chunkSize;
+        this.lines = new StringBuilder(Math.min(chunkSize, DEFAULT_CHUNK_SIZE));
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nQuads.hasNext();
+    }
+
+    @Override
+    public byte[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        lines.setLength(0);
+        // UTF-8 encodes a char in at most 3 bytes, so stop once the encoded lines may exceed the chunk size
+        while (nQuads.hasNext() && lines.length() * 3 < chunkSize) {
+            nQuads.next().appendTo(lines).append('\n');
+        }
+        return encode(lines);
+    }
+
+    private byte[] encode(CharSequence chars) {
+        ByteBuffer bytes = ByteBuffer.allocate(chars.length() * 3);
+        encoder.reset();
+        encoder.encode(CharBuffer.wrap(chars), bytes, true);
+        encoder.flush(bytes);
+        return bytes.position() == bytes.capacity() ? bytes.array() : Arrays.copyOf(bytes.array(), bytes.position());
+    }
+}
@@ -0,0 +1,22 @@
+package io.origintrail.dkg.client.index;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * An entity id matching a prefix lookup, with the entity type if known.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class EntityIdMatch {
+
+    private final String id;
+    private final String type;
+
+    public EntityIdMatch(String id, String type) {
+        this.id = id;
+        this.type = type;
+    }
+}
@@ -0,0 +1,244 @@
+package io.origintrail.dkg.client.index;
+
+import io.origintrail.dkg.client.model.response.EntitySearchResult;
+import io.origintrail.dkg.client.model.response.EntitySearchResultItem;
+import io.origintrail.dkg.client.model.response.Metadata;
+import io.origintrail.dkg.client.model.response.ResolveResult;
+import io.origintrail.dkg.client.model.response.ResolveResultData;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * A concurrent radix trie of entity ids and their types, built from entity search and resolve results,
+ * for answering entity id prefix lookups without calling the DKG.
+ * <p>
+ * The trie also records which prefixes have been searched for on the DKG with a complete result. Any longer prefix
+ * of a searched prefix can then be answered locally, since every matching entity id was added to the trie.
+ */
+public class EntityIdTrie {
+
+    private static final String ALL_TYPES = "";
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // guarded by lock
+    private final Node root = new Node("");
+    private final Map<String, Set<String>> searchedPrefixesByTypes = new TreeMap<>();
+    private int size;
+
+    public void indexEntitySearchResult(EntitySearchResult searchResult) {
+        if (searchResult == null || searchResult.getItemListElement() == null) {
+            return;
+        }
+        for (EntitySearchResultItem item : searchResult.getItemListElement()) {
+            put(item.getId(), item.getEntityType());
+        }
+    }
+
+    public void indexResolveResult(ResolveResult resolveResult) {
+        if (resolveResult == null || resolveResult.getData() == null) {
+            return;
+        }
+        for (ResolveResultData data : resolveResult.getData()) {
+            Metadata metadata = data.getResult() != null ? data.getResult().getMetadata()
+                    : data.getAssertion() != null ? data.getAssertion().getMetadata() : null;
+            put(data.getId(), metadata != null ? metadata.getType() : null);
+        }
+    }
+
+    /**
+     * Adds an entity id, or updates its type if already present. A {@code null} type does not replace a known type.
+     */
+    public void put(String id, String type) {
+        if (id == null || id.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Node node = root;
+            int i = 0;
+            while (i < id.length()) {
+                Node child = node.children.get(id.charAt(i));
+                if (child == null) {
+                    child = new Node(id.substring(i));
+                    node.children.put(id.charAt(i), child);
+                    node = child;
+                    break;
+                }
+                int common = commonPrefixLength(child.label, id, i);
+                if (common < child.label.length()) {
+                    Node split = new Node(child.label.substring(0, common));
+                    child.label = child.label.substring(common);
+                    split.children.put(child.label.charAt(0), child);
+                    node.children.put(id.charAt(i), split);
+                    child = split;
+                }
+                node = child;
+                i += common;
+            }
+            if (!node.terminal) {
+                node.terminal = true;
+                size++;
+            }
+            if (type != null) {
+                node.type = type;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds entity ids starting with {@code prefix}, in lexicographic order.
+     *
+     * @param prefix     the entity id prefix.
+     * @param types      comma separated entity types to match, case-insensitive, or {@code null} to match all types.
+     * @param maxResults the maximum number of matches to return.
+     */
+    public List<EntityIdMatch> find(String prefix, String types, int maxResults) {
+        if (prefix == null || maxResults <= 0) {
+            return Collections.emptyList();
+        }
+        Set<String> typeFilter = parseTypes(types);
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            StringBuilder path = new StringBuilder();
+            int i = 0;
+            while (i < prefix.length()) {
+                Node child = node.children.get(prefix.charAt(i));
+                if (child == null) {
+                    return Collections.emptyList();
+                }
+                int common = commonPrefixLength(child.label, prefix, i);
+                if (i + common < prefix.length() && common < child.label.length()) {
+                    return Collections.emptyList();
+                }
+                path.append(child.label);
+                node = child;
+                i += common;
+            }
+
+            List<EntityIdMatch> matches = new ArrayList<>(Math.min(maxResults, size));
+            collect(node, path, typeFilter, matches, maxResults);
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Records that every entity id starting with {@code prefix} and matching {@code types} has been added to the trie.
+     */
+    public void markSearched(String prefix, String types) {
+        if (prefix == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            searchedPrefixesByTypes.computeIfAbsent(typesKey(types), key -> new HashSet<>()).add(prefix);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Tests whether {@code prefix}, or a shorter prefix of it, has been searched for with all types or the same {@code types}.
+     */
+    public boolean isSearched(String prefix, String types) {
+        if (prefix == null) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return isSearched(searchedPrefixesByTypes.get(ALL_TYPES), prefix)
+                    || isSearched(searchedPrefixesByTypes.get(typesKey(types)), prefix);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean isSearched(Set<String> searchedPrefixes, String prefix) {
+        if (searchedPrefixes == null) {
+            return false;
+        }
+        for (int length = 0; length <= prefix.length(); length++) {
+            if (searchedPrefixes.contains(prefix.substring(0, length))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void collect(Node node, StringBuilder path, Set<String> typeFilter, List<EntityIdMatch> matches, int maxResults) {
+        if (node.terminal && (typeFilter == null || (node.type != null && typeFilter.contains(node.type.toLowerCase(Locale.ROOT))))) {
+            matches.add(new EntityIdMatch(path.toString(), node.type));
+        }
+        for (Node child : node.children.values()) {
+            if (matches.size() >= maxResults) {
+                return;
+            }
+            int length = path.length();
+            path.append(child.label);
+            collect(child, path, typeFilter, matches, maxResults);
+            path.setLength(length);
+        }
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static Set<String> parseTypes(String types) {
+        if (types == null || types.isBlank()) {
+            return null;
+        }
+        return Arrays.stream(types.split(","))
+                .map(type -> type.trim().toLowerCase(Locale.ROOT))
+                .filter(type -> !type.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    private static String typesKey(String types) {
+        Set<String> parsedTypes = parseTypes(types);
+        return parsedTypes == null ? ALL_TYPES : String.join(",", new TreeSet<>(parsedTypes));
+    }
+
+    private static class Node {
+        private String label;
+        private final Map<Character, Node> children = new TreeMap<>();
+        private boolean terminal;
+        private String type;
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package io.origintrail.dkg.client.index;
+
+import io.origintrail.dkg.client.model.PublishOptions;
+import io.origintrail.dkg.client.model.response.AssertionSearchResult;
+import io.origintrail.dkg.client.model.response.AssertionSearchResultItem;
+import io.origintrail.dkg.client.model.response.Metadata;
+import io.origintrail.dkg.client.model.response.PublishResult;
+import io.origintrail.dkg.client.model.response.ResolveResult;
+import io.origintrail.dkg.client.model.response.ResolveResultData;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory inverted index of assertion ids by keyword, issuer and type, built from the metadata
+ * of assertions published, resolved or searched for through the client.
+ * <p>
+ * Assertion ids are interned to {@code int}s and each keyword, issuer and type maps to a compressed
+ * {@link RoaringBitmap} of the interned ids, so lookups and intersections are answered without calling the DKG.
+ * Terms are matched case-insensitively.
+ */
+public class KeywordIndex {
+
+    private static final int MAX_PENDING_PUBLISHES = 10_000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // guarded by lock
+    private final Map<String, Integer> internedIds = new HashMap<>();
+    private final List<String> assertionIds = new ArrayList<>();
+    private final Map<String, RoaringBitmap> keywordPostings = new HashMap<>();
+    private final Map<String, RoaringBitmap> issuerPostings = new HashMap<>();
+    private final Map<String, RoaringBitmap> typePostings = new HashMap<>();
+
+    // guarded by itself
+    private final Map<String, List<String>> pendingPublishKeywords = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<String>> eldest) {
+            return size() > MAX_PENDING_PUBLISHES;
+        }
+    };
+
+    /**
+     * Records the keywords of a publish request, to be indexed once the publish result for {@code handlerId} is indexed.
+     */
+    public void registerPublish(String handlerId, PublishOptions publishOptions) {
+        if (handlerId == null || publishOptions == null || publishOptions.getKeywords() == null) {
+            return;
+        }
+        synchronized (pendingPublishKeywords) {
+            pendingPublishKeywords.put(handlerId, publishOptions.getKeywords());
+        }
+    }
+
+    /**
+     * Indexes a completed publish, provision or update result, including the keywords registered for {@code handlerId}.
+     */
+    public void indexPublishResult(String handlerId, PublishResult publishResult) {
+        if (publishResult == null || publishResult.getData() == null || publishResult.getData().getId() == null) {
+            return;
+        }
+        List<String> keywords;
+        synchronized (pendingPublishKeywords) {
+            keywords = pendingPublishKeywords.remove(handlerId);
+        }
+        String assertionId = publishResult.getData().getId();
+        index(assertionId, publishResult.getData().getMetadata());
+        index(assertionId, keywords, null, null);
+    }
+
+    public void indexResolveResult(ResolveResult resolveResult) {
+        if (resolveResult == null || resolveResult.getData() == null) {
+            return;
+        }
+        for (ResolveResultData data : resolveResult.getData()) {
+            if (data.getAssertion() != null) {
+                String id = data.getAssertion().getId() != null ? data.getAssertion().getId() : data.getId();
+                index(id, data.getAssertion().getMetadata());
+            }
+            if (data.getResult() != null) {
+                index(data.getId(), data.getResult().getMetadata());
+            }
+        }
+    }
+
+    public void indexAssertionSearchResult(AssertionSearchResult searchResult) {
+        if (searchResult == null || searchResult.getItemListElement() == null) {
+            return;
+        }
+        for (AssertionSearchResultItem item : searchResult.getItemListElement()) {
+            if (item.getResult() != null) {
+                index(item.getId(), item.getResult().getMetadata());
+            }
+        }
+    }
+
+    public void index(String assertionId, Metadata metadata) {
+        if (metadata != null) {
+            index(assertionId, metadata.getKeywords(), metadata.getIssuer(), metadata.getType());
+        }
+    }
+
+    public void index(String assertionId, List<String> keywords, String issuer, String type) {
+        if (assertionId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int internedId = intern(assertionId);
+            if (keywords != null) {
+                keywords.forEach(keyword -> addPosting(keywordPostings, keyword, internedId));
+            }
+            addPosting(issuerPostings, issuer, internedId);
+            addPosting(typePostings, type, internedId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<String> findByKeyword(String keyword) {
+        return find(keyword, null, null);
+    }
+
+    public List<String> findByIssuer(String issuer) {
+        return find(null, issuer, null);
+    }
+
+    public List<String> findByType(String type) {
+        return find(null, null, type);
+    }
+
+    /**
+     * Finds assertion ids matching all the given terms. {@code null} terms are ignored.
+     *
+     * @return the matching assertion ids, in the order they were first indexed.
+     * Empty if no terms are given or nothing matches.
+     */
+    public List<String> find(String keyword, String issuer, String type) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = null;
+            matches = intersect(matches, keywordPostings, keyword);
+            matches = intersect(matches, issuerPostings, issuer);
+            matches = intersect(matches, typePostings, type);
+            if (matches == null || matches.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            List<String> result = new ArrayList<>(matches.getCardinality());
+            matches.forEach((int internedId) -> result.add(assertionIds.get(internedId)));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return assertionIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int intern(String assertionId) {
+        return internedIds.computeIfAbsent(assertionId, id -> {
+            assertionIds.add(id);
+            return assertionIds.size() - 1;
+        });
+    }
+
+    private static void addPosting(Map<String, RoaringBitmap> postings, String term, int internedId) {
+        String normalisedTerm = normalise(term);
+        if (normalisedTerm != null) {
+            postings.computeIfAbsent(normalisedTerm, t -> new RoaringBitmap()).add(internedId);
+        }
+    }
+
+    private static RoaringBitmap intersect(RoaringBitmap matches, Map<String, RoaringBitmap> postings, String term) {
+        String normalisedTerm = normalise(term);
+        if (normalisedTerm == null) {
+            return matches;
+        }
+        RoaringBitmap termPostings = postings.getOrDefault(normalisedTerm, new RoaringBitmap());
+        return matches == null ? termPostings : RoaringBitmap.and(matches, termPostings);
+    }
+
+    private static String normalise(String term) {
+        if (term == null || term.isBlank()) {
+            return null;
+        }
+        return term.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,70 @@
+package io.origintrail.dkg.client.metrics;
+
+import io.origintrail.dkg.client.http.Endpoint;
+
+/**
+ * Receives measurements of the requests a {@code DkgClient} sends and the operation results it polls for,
+ * e.g. to record them in a metrics library. Enabled by setting {@code DkgClientOptions.metrics}.
+ * <p>
+ * Each measurement is labelled with the {@link Endpoint} and the node, as {@code host:port}. The endpoint is
+ * {@code null} for a request whose URI is not an endpoint of the node. Methods are called on HTTP client and polling
+ * threads, concurrently, so implementations must be thread safe and should not block. All methods do nothing by default.
+ */
+public interface ClientMetrics {
+
+    /**
+     * Records nothing. Used when no metrics are configured.
+     */
+    ClientMetrics NOOP = new ClientMetrics() {
+    };
+
+    /**
+     * Called when a request is sent. Each call is followed by a call to {@link #requestCompleted} or {@link #requestFailed}.
+     */
+    default void requestStarted(Endpoint endpoint, String node) {
+    }
+
+    /**
+     * Called when the response to a request is received, whatever its status code. For a streamed response,
+     * called when the response headers are received.
+     *
+     * @param latencyNanos  the time from sending the request to receiving the response.
+     * @param bytesSent     the length of the request body, or {@code -1} if unknown.
+     * @param bytesReceived the UTF-8 length of the response body, or for a streamed response, its {@code Content-Length}
+     *                      header, or {@code -1} if unknown.
+     */
+    default void requestCompleted(Endpoint endpoint, String node, int statusCode, long latencyNanos, long bytesSent,
+                                  long bytesReceived) {
+    }
+
+    /**
+     * Called when a request fails without a response, e.g. if the connection is refused or the request times out.
+     *
+     * @param latencyNanos the time from sending the request to the failure.
+     */
+    default void requestFailed(Endpoint endpoint, String node, Throwable error, long latencyNanos) {
+    }
+
+    /**
+     * Called when polling for the result of an operation ends with a status other than {@code PENDING}.
+     *
+     * @param resultEndpoint      the result endpoint polled, e.g. {@link Endpoint#QUERY_RESULT}.
+     * @param polls               the number of result requests sent.
+     * @param status              the terminal status, e.g. {@code COMPLETED} or {@code FAILED}.
+     * @param timeToTerminalNanos the time from receiving the {@code handler_id} to receiving the terminal status.
+     */
+    default void pollingCompleted(Endpoint resultEndpoint, String node, String handlerId, int polls, String status,
+                                  long timeToTerminalNanos) {
+    }
+
+    /**
+     * Called when polling for the result of an operation ends without a terminal status, because the result was still
+     * pending after every polling attempt or a result request failed.
+     *
+     * @param error        a {@code PollingTimeoutException}, or the failure of the result request.
+     * @param elapsedNanos the time from receiving the {@code handler_id} to the failure.
+     */
+    default void pollingFailed(Endpoint resultEndpoint, String node, String handlerId, int polls, Throwable error,
+                               long elapsedNanos) {
+    }
+}
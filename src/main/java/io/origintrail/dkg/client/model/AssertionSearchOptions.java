@@ -16,10 +16,16 @@ public class AssertionSearchOptions {
 
     private final String query;
     private final Boolean load;
+    private final Integer limit;
 
     public AssertionSearchOptions(String query, Boolean load) {
+        this(query, load, null);
+    }
+
+    public AssertionSearchOptions(String query, Boolean load, Integer limit) {
         this.query = query;
         this.load = load;
+        this.limit = limit;
     }
 
     public static AssertionSearchOptions.AssertionSearchOptionsBuilder builder(String query) {
@@ -29,6 +35,7 @@ public class AssertionSearchOptions {
     public static class AssertionSearchOptionsBuilder {
         private final String query;
         private Boolean load;
+        private Integer limit;
 
         AssertionSearchOptionsBuilder(String query) {
             this.query = query;
@@ -39,8 +46,13 @@ public class AssertionSearchOptions {
             return this;
         }
 
+        public AssertionSearchOptions.AssertionSearchOptionsBuilder limit(int limit) {
+            this.limit = limit;
+            return this;
+        }
+
         public AssertionSearchOptions build() {
-            return new AssertionSearchOptions(query, load);
+            return new AssertionSearchOptions(query, load, limit);
         }
     }
 
@@ -53,6 +65,9 @@ public class AssertionSearchOptions {
         if (load != null) {
             queryParams.put("load", load.toString());
         }
+        if (limit != null) {
+            queryParams.put("limit", limit.toString());
+        }
 
         return queryParams;
     }
@@ -0,0 +1,58 @@
+package io.origintrail.dkg.client.model;
+
+import io.origintrail.dkg.client.cache.CacheOptions;
+import io.origintrail.dkg.client.index.EntityIdTrie;
+import io.origintrail.dkg.client.index.KeywordIndex;
+import io.origintrail.dkg.client.metrics.ClientMetrics;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Class for configuring optional {@code DkgClient} features. All features are disabled by default.
+ */
+@Builder
+@Getter
+@ToString
+public class DkgClientOptions {
+
+    private static final DkgClientOptions DEFAULT = DkgClientOptions.builder().build();
+
+    /**
+     * Enables caching of entity and assertion search results if set.
+     */
+    private final CacheOptions searchCache;
+
+    /**
+     * Enables caching of awaited SPARQL query results if set. Cached results are invalidated
+     * when the client publishes, provisions or updates an asset.
+     */
+    private final CacheOptions queryCache;
+
+    /**
+     * Enables caching of awaited triple proofs if set, keyed by assertion id and triple hash,
+     * so only triples without cached proofs are requested from the DKG.
+     */
+    private final CacheOptions proofCache;
+
+    /**
+     * Indexes the keywords and metadata of published, resolved and searched assertions if set,
+     * answering keyword lookups locally.
+     */
+    private final KeywordIndex keywordIndex;
+
+    /**
+     * Indexes the ids and types of searched and resolved entities if set, answering entity id prefix searches locally.
+     */
+    private final EntityIdTrie entityIdTrie;
+
+    /**
+     * Receives the latency, status code and size of each request, and the number of polls and time to terminal status
+     * of each awaited operation, if set.
+     */
+    private final ClientMetrics metrics;
+
+    public static DkgClientOptions defaults() {
+        return DEFAULT;
+    }
+}
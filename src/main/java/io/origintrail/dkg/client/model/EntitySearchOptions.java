@@ -11,7 +11,7 @@ import java.util.Map;
 /**
  * Class for encapsulating DKG GET /entities:search request parameters.
  */
-@Builder
+@Builder(toBuilder = true)
 @Getter
 @ToString
 public class EntitySearchOptions {
@@ -0,0 +1,28 @@
+package io.origintrail.dkg.client.model;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * Class for configuring a search sent to multiple DKG nodes.
+ * <ul>
+ *     <li>{@code deadline} - how long to wait for node results. Nodes which have not returned a result by then are ignored.</li>
+ *     <li>{@code topK} - the maximum number of merged items returned, highest {@code resultScore} first.</li>
+ *     <li>{@code pollingOptions} - how each node's search result is polled for.</li>
+ * </ul>
+ */
+@Builder
+@Getter
+@ToString
+public class FanOutSearchOptions {
+
+    @Builder.Default
+    private final Duration deadline = Duration.ofSeconds(10);
+    @Builder.Default
+    private final int topK = 100;
+    @Builder.Default
+    private final PollingOptions pollingOptions = PollingOptions.defaults();
+}
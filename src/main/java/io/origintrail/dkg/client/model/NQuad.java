@@ -28,12 +28,21 @@ public class NQuad {
     @Override
     @JsonValue
     public String toString() {
-        String nQuad =  subject + " " + predicate + " " + object;
+        return appendTo(new StringBuilder()).toString();
+    }
+
+    /**
+     * Appends the N-Quad line, without a line terminator, to {@code builder}.
+     *
+     * @return {@code builder}.
+     */
+    public StringBuilder appendTo(StringBuilder builder) {
+        builder.append(subject).append(' ').append(predicate).append(' ').append(object);
 
         if (StringUtils.isNotBlank(graph)) {
-            nQuad  = nQuad + " " + graph;
+            builder.append(' ').append(graph);
         }
-        return nQuad + " .";
+        return builder.append(" .");
     }
 
     public static class NQuadBuilder {
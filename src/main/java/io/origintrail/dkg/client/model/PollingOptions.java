@@ -0,0 +1,29 @@
+package io.origintrail.dkg.client.model;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * Class for configuring how the result of a DKG operation is polled for, using the operation's {@code handler_id}.
+ * The result endpoint is requested every {@code interval}, until the operation is no longer pending
+ * or {@code maxAttempts} requests have been made.
+ */
+@Builder
+@Getter
+@ToString
+public class PollingOptions {
+
+    private static final PollingOptions DEFAULT = PollingOptions.builder().build();
+
+    @Builder.Default
+    private final Duration interval = Duration.ofMillis(500);
+    @Builder.Default
+    private final int maxAttempts = 60;
+
+    public static PollingOptions defaults() {
+        return DEFAULT;
+    }
+}
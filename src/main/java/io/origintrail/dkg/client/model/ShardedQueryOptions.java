@@ -0,0 +1,26 @@
+package io.origintrail.dkg.client.model;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Class for configuring a {@code CONSTRUCT} query split into shards over a list of IRIs.
+ * <ul>
+ *     <li>{@code shardSize} - the maximum number of IRIs in the {@code VALUES} block of each shard.</li>
+ *     <li>{@code maxConcurrentShards} - the maximum number of shards running at once, across all nodes.</li>
+ *     <li>{@code pollingOptions} - how each shard's query result is polled for.</li>
+ * </ul>
+ */
+@Builder
+@Getter
+@ToString
+public class ShardedQueryOptions {
+
+    @Builder.Default
+    private final int shardSize = 100;
+    @Builder.Default
+    private final int maxConcurrentShards = 4;
+    @Builder.Default
+    private final PollingOptions pollingOptions = PollingOptions.defaults();
+}
@@ -7,7 +7,9 @@ import lombok.Getter;
  */
 @Getter
 public enum SparqlQueryType {
-    CONSTRUCT("construct");
+    CONSTRUCT("construct"),
+    SELECT("select"),
+    ASK("ask");
 
     private final String value;
 
@@ -0,0 +1,13 @@
+package io.origintrail.dkg.client.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AskResult {
+    private String status;
+    private Boolean data;
+}
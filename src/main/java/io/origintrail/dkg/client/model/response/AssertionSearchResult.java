@@ -0,0 +1,21 @@
+package io.origintrail.dkg.client.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Represents the JSON-LD {@code ItemList} response from the DKG GET /assertions:search/result API endpoint.
+ * The {@code status} is only set while the search is still in progress.
+ */
+@Data
+public class AssertionSearchResult {
+    private String status;
+    @JsonProperty("@context")
+    private JsonNode context;
+    @JsonProperty("@type")
+    private String type;
+    private List<AssertionSearchResultItem> itemListElement;
+}
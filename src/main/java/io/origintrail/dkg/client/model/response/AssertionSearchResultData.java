@@ -0,0 +1,13 @@
+package io.origintrail.dkg.client.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+@Data
+public class AssertionSearchResultData {
+    @JsonProperty("@id")
+    private String id;
+    private Metadata metadata;
+    private String signature;
+    private String rootHash;
+}
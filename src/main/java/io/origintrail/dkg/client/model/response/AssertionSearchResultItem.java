@@ -0,0 +1,27 @@
+package io.origintrail.dkg.client.model.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A single assertion returned by an assertions search.
+ */
+@Data
+public class AssertionSearchResultItem {
+    @JsonProperty("@type")
+    private String type;
+    private AssertionSearchResultData result;
+    private List<String> nodes;
+    private Double resultScore;
+
+    /**
+     * @return the id of the assertion, or {@code null} if the item has no result.
+     */
+    @JsonIgnore
+    public String getId() {
+        return result == null ? null : result.getId();
+    }
+}
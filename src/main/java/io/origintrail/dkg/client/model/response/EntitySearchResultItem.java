@@ -0,0 +1,38 @@
+package io.origintrail.dkg.client.model.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A single entity returned by an entities search.
+ */
+@Data
+public class EntitySearchResultItem {
+    @JsonProperty("@type")
+    private String type;
+    private JsonNode result;
+    private List<String> issuers;
+    private List<String> assertions;
+    private List<String> nodes;
+    private Double resultScore;
+
+    /**
+     * @return the {@code @id} of the entity, or {@code null} if the result has no id.
+     */
+    @JsonIgnore
+    public String getId() {
+        return result == null ? null : result.path("@id").textValue();
+    }
+
+    /**
+     * @return the {@code @type} of the entity, or {@code null} if the result has no type.
+     */
+    @JsonIgnore
+    public String getEntityType() {
+        return result == null ? null : result.path("@type").textValue();
+    }
+}
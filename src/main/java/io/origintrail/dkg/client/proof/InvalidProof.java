@@ -0,0 +1,59 @@
+package io.origintrail.dkg.client.proof;
+
+import io.origintrail.dkg.client.model.response.Proof;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A proof which failed verification, with the assertion it was checked against and the reason it is invalid,
+ * or a requested triple of an assertion for which no proof was returned.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class InvalidProof {
+
+    private final String assertionId;
+    private final String triple;
+    private final Proof proof;
+    private final Reason reason;
+
+    public InvalidProof(String assertionId, Proof proof, Reason reason) {
+        this(assertionId, proof.getTriple(), proof, reason);
+    }
+
+    /**
+     * @param triple the triple of the proof, or the requested triple if no proof was returned.
+     * @param proof  the invalid proof, or {@code null} if no proof was returned.
+     */
+    public InvalidProof(String assertionId, String triple, Proof proof, Reason reason) {
+        this.assertionId = assertionId;
+        this.triple = triple;
+        this.proof = proof;
+        this.reason = reason;
+    }
+
+    public enum Reason {
+        /**
+         * The hash of the triple is not its {@code tripleHash}.
+         */
+        TRIPLE_HASH_MISMATCH,
+        /**
+         * The proof path does not lead to the root hash of the assertion.
+         */
+        ROOT_HASH_MISMATCH,
+        /**
+         * No root hash was given for the assertion.
+         */
+        MISSING_ROOT_HASH,
+        /**
+         * The triple, a hash, or a step of the proof path is missing or not a hex encoded SHA-256 hash.
+         */
+        MALFORMED,
+        /**
+         * No proof of the requested triple was returned for the assertion.
+         */
+        MISSING_PROOF
+    }
+}
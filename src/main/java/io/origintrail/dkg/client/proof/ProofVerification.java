@@ -0,0 +1,33 @@
+package io.origintrail.dkg.client.proof;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * The outcome of verifying the proofs of a proofs result: the number of proofs verified, and each invalid proof.
+ * When verified against the requested triples, each requested triple without a proof is also reported as invalid.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class ProofVerification {
+
+    private final int proofCount;
+    private final List<InvalidProof> invalidProofs;
+
+    public ProofVerification(int proofCount, List<InvalidProof> invalidProofs) {
+        this.proofCount = proofCount;
+        this.invalidProofs = List.copyOf(invalidProofs);
+    }
+
+    /**
+     * @return {@code true} if every proof is valid, and when verified against the requested triples, every requested
+     * triple has a proof.
+     */
+    public boolean isValid() {
+        return invalidProofs.isEmpty();
+    }
+}
@@ -0,0 +1,344 @@
+package io.origintrail.dkg.client.proof;
+
+import io.origintrail.dkg.client.exception.UnexpectedException;
+import io.origintrail.dkg.client.model.NQuad;
+import io.origintrail.dkg.client.model.response.Proof;
+import io.origintrail.dkg.client.model.response.ProofData;
+import io.origintrail.dkg.client.model.response.ProofsResult;
+import io.origintrail.dkg.client.model.response.ProofsResultData;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Verifies the Merkle proofs of a proofs result locally, against the root hash of each assertion.
+ * <p>
+ * For each proof, the SHA-256 hash of the UTF-8 encoded {@code triple} is recomputed and compared with its {@code tripleHash}.
+ * The proof path is then walked from the triple hash: a step with a {@code left} sibling hashes the sibling followed by the
+ * current hash, and a step with a {@code right} sibling hashes the current hash followed by the sibling. The proof is valid
+ * if the final hash is the root hash of the assertion. A proof with no path is valid if the triple hash is the root hash.
+ * <p>
+ * Hashes are decoded from hex into reused per-thread buffers and hashed with a reused per-thread {@code MessageDigest},
+ * so no strings or arrays are created per step. Large results are split across the threads of a {@code ForkJoinPool}.
+ * Instances are thread safe.
+ */
+public final class ProofVerifier {
+
+    static final int HASH_LENGTH = 32;
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final int PARALLEL_THRESHOLD = 512;
+    private static final byte[] HEX_DIGITS = createHexDigits();
+    private static final char[] LOWER_HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<Hasher> HASHER = ThreadLocal.withInitial(Hasher::new);
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a {@code ProofVerifier} verifying large results in the common {@code ForkJoinPool}.
+     */
+    public ProofVerifier() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool the {@code ForkJoinPool} large results are verified in.
+     */
+    public ProofVerifier(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Verifies a single proof.
+     *
+     * @param proof    the proof of a triple.
+     * @param rootHash the hex encoded root hash of the assertion containing the triple.
+     * @return {@code true} if the proof is valid.
+     */
+    public boolean verify(Proof proof, String rootHash) {
+        return verify(proof, rootHash, HASHER.get()) == null;
+    }
+
+    /**
+     * Computes the hash of a triple, as it is expected in the {@code tripleHash} of its proof.
+     *
+     * @param triple the triple as an N-Quads line, without a line terminator.
+     * @return the hex encoded SHA-256 hash of the UTF-8 encoded triple.
+     */
+    public static String tripleHash(String triple) {
+        Hasher hasher = HASHER.get();
+        hasher.hashTriple(triple);
+        char[] hex = new char[HASH_LENGTH * 2];
+        for (int i = 0; i < HASH_LENGTH; i++) {
+            hex[i * 2] = LOWER_HEX_DIGITS[(hasher.sibling[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = LOWER_HEX_DIGITS[hasher.sibling[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * Verifies each proof of a proofs result.
+     *
+     * @param proofsResult             the proofs result.
+     * @param rootHashesByAssertionId  the hex encoded root hash of each assertion in the result.
+     * @return a {@code ProofVerification} with the number of proofs verified and each invalid proof.
+     */
+    public ProofVerification verify(ProofsResult proofsResult, Map<String, String> rootHashesByAssertionId) {
+        List<String> assertionIds = new ArrayList<>();
+        List<Proof> proofs = new ArrayList<>();
+        if (proofsResult.getData() != null) {
+            for (ProofsResultData data : proofsResult.getData()) {
+                if (data.getProofs() != null) {
+                    for (Proof proof : data.getProofs()) {
+                        assertionIds.add(data.getAssertionId());
+                        proofs.add(proof);
+                    }
+                }
+            }
+        }
+
+        InvalidProof.Reason[] reasons = new InvalidProof.Reason[proofs.size()];
+        VerifyTask task = new VerifyTask(assertionIds, proofs, rootHashesByAssertionId, reasons, 0, proofs.size());
+        if (proofs.size() <= PARALLEL_THRESHOLD) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+
+        List<InvalidProof> invalidProofs = new ArrayList<>();
+        for (int i = 0; i < reasons.length; i++) {
+            if (reasons[i] != null) {
+                invalidProofs.add(new InvalidProof(assertionIds.get(i), proofs.get(i), reasons[i]));
+            }
+        }
+        return new ProofVerification(proofs.size(), invalidProofs);
+    }
+
+    /**
+     * Verifies each proof of a proofs result, and that a proof was returned for each requested triple of each
+     * requested assertion. The {@code triple} of a proof must be the N-Quad line of the requested triple.
+     * A requested triple without a proof is reported as an {@link InvalidProof} with reason
+     * {@link InvalidProof.Reason#MISSING_PROOF}, so a result with no, or too few, proofs is not valid.
+     *
+     * @param proofsResult            the proofs result.
+     * @param rootHashesByAssertionId the hex encoded root hash of each assertion in the result.
+     * @param assertionIds            the assertion ids the proofs were requested for.
+     * @param nQuads                  the triples the proofs were requested for.
+     * @return a {@code ProofVerification} with the number of proofs verified, each invalid proof and each missing proof.
+     */
+    public ProofVerification verify(ProofsResult proofsResult, Map<String, String> rootHashesByAssertionId,
+                                    List<String> assertionIds, List<NQuad> nQuads) {
+        ProofVerification verification = verify(proofsResult, rootHashesByAssertionId);
+
+        Map<String, Set<String>> provenTriples = new HashMap<>();
+        if (proofsResult.getData() != null) {
+            for (ProofsResultData data : proofsResult.getData()) {
+                if (data.getProofs() != null) {
+                    Set<String> triples = provenTriples.computeIfAbsent(data.getAssertionId(), id -> new HashSet<>());
+                    for (Proof proof : data.getProofs()) {
+                        triples.add(proof.getTriple());
+                    }
+                }
+            }
+        }
+
+        Set<String> requestedTriples = new LinkedHashSet<>();
+        for (NQuad nQuad : nQuads) {
+            requestedTriples.add(nQuad.toString());
+        }
+        List<InvalidProof> invalidProofs = new ArrayList<>(verification.getInvalidProofs());
+        for (String assertionId : new LinkedHashSet<>(assertionIds)) {
+            Set<String> triples = provenTriples.getOrDefault(assertionId, Set.of());
+            for (String triple : requestedTriples) {
+                if (!triples.contains(triple)) {
+                    invalidProofs.add(new InvalidProof(assertionId, triple, null, InvalidProof.Reason.MISSING_PROOF));
+                }
+            }
+        }
+        return new ProofVerification(verification.getProofCount(), invalidProofs);
+    }
+
+    /**
+     * @return the reason the proof is invalid, or {@code null} if it is valid.
+     */
+    private static InvalidProof.Reason verify(Proof proof, String rootHash, Hasher hasher) {
+        if (rootHash == null) {
+            return InvalidProof.Reason.MISSING_ROOT_HASH;
+        }
+        if (proof.getTriple() == null || !decodeHex(proof.getTripleHash(), hasher.current)) {
+            return InvalidProof.Reason.MALFORMED;
+        }
+        hasher.hashTriple(proof.getTriple());
+        if (!MessageDigest.isEqual(hasher.current, hasher.sibling)) {
+            return InvalidProof.Reason.TRIPLE_HASH_MISMATCH;
+        }
+        if (proof.getProof() != null) {
+            for (ProofData step : proof.getProof()) {
+                boolean left = step.getLeft() != null;
+                if (left == (step.getRight() != null) || !decodeHex(left ? step.getLeft() : step.getRight(), hasher.sibling)) {
+                    return InvalidProof.Reason.MALFORMED;
+                }
+                hasher.hashPair(left);
+            }
+        }
+        if (!decodeHex(rootHash, hasher.sibling)) {
+            return InvalidProof.Reason.MALFORMED;
+        }
+        return MessageDigest.isEqual(hasher.current, hasher.sibling) ? null : InvalidProof.Reason.ROOT_HASH_MISMATCH;
+    }
+
+    /**
+     * Decodes a hex hash, with or without a {@code 0x} prefix, into {@code target}.
+     *
+     * @return {@code false} if {@code hex} is not a hex encoded hash of {@link #HASH_LENGTH} bytes.
+     */
+    static boolean decodeHex(String hex, byte[] target) {
+        if (hex == null) {
+            return false;
+        }
+        int offset = hex.startsWith("0x") || hex.startsWith("0X") ? 2 : 0;
+        if (hex.length() - offset != HASH_LENGTH * 2) {
+            return false;
+        }
+        for (int i = 0; i < HASH_LENGTH; i++) {
+            char high = hex.charAt(offset + i * 2);
+            char low = hex.charAt(offset + i * 2 + 1);
+            if (high >= HEX_DIGITS.length || low >= HEX_DIGITS.length) {
+                return false;
+            }
+            int highValue = HEX_DIGITS[high];
+            int lowValue = HEX_DIGITS[low];
+            if (highValue < 0 || lowValue < 0) {
+                return false;
+            }
+            target[i] = (byte) (highValue << 4 | lowValue);
+        }
+        return true;
+    }
+
+    private static byte[] createHexDigits() {
+        byte[] digits = new byte['f' + 1];
+        Arrays.fill(digits, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            digits['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            digits['a' + i] = (byte) (10 + i);
+            digits['A' + i] = (byte) (10 + i);
+        }
+        return digits;
+    }
+
+    /**
+     * The per-thread digest and hash buffers used while verifying proofs.
+     */
+    private static final class Hasher {
+
+        private final MessageDigest digest;
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final byte[] current = new byte[HASH_LENGTH];
+        private final byte[] sibling = new byte[HASH_LENGTH];
+        private ByteBuffer tripleBuffer = ByteBuffer.allocate(256);
+
+        Hasher() {
+            try {
+                this.digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            } catch (NoSuchAlgorithmException e) {
+                throw new UnexpectedException(String.format("%s is not supported.", HASH_ALGORITHM), e);
+            }
+        }
+
+        /**
+         * Hashes the UTF-8 encoding of {@code triple} into {@code sibling}, leaving the expected triple hash in {@code current}.
+         */
+        void hashTriple(String triple) {
+            CharBuffer chars = CharBuffer.wrap(triple);
+            tripleBuffer.clear();
+            encoder.reset();
+            while (encoder.encode(chars, tripleBuffer, true).isOverflow()) {
+                grow();
+            }
+            while (encoder.flush(tripleBuffer).isOverflow()) {
+                grow();
+            }
+            tripleBuffer.flip();
+            digest.update(tripleBuffer);
+            finish(sibling);
+        }
+
+        /**
+         * Hashes {@code sibling} and {@code current} into {@code current}, with the sibling first if it is the left node.
+         */
+        void hashPair(boolean siblingIsLeft) {
+            digest.update(siblingIsLeft ? sibling : current);
+            digest.update(siblingIsLeft ? current : sibling);
+            finish(current);
+        }
+
+        private void grow() {
+            tripleBuffer.flip();
+            tripleBuffer = ByteBuffer.allocate(tripleBuffer.capacity() * 2).put(tripleBuffer);
+        }
+
+        private void finish(byte[] target) {
+            try {
+                digest.digest(target, 0, HASH_LENGTH);
+            } catch (DigestException e) {
+                throw new UnexpectedException("Exception computing proof hash.", e);
+            }
+        }
+    }
+
+    private static final class VerifyTask extends RecursiveAction {
+
+        private final List<String> assertionIds;
+        private final List<Proof> proofs;
+        private final Map<String, String> rootHashes;
+        private final InvalidProof.Reason[] reasons;
+        private final int from;
+        private final int to;
+
+        VerifyTask(List<String> assertionIds, List<Proof> proofs, Map<String, String> rootHashes,
+                   InvalidProof.Reason[] reasons, int from, int to) {
+            this.assertionIds = assertionIds;
+            this.proofs = proofs;
+            this.rootHashes = rootHashes;
+            this.reasons = reasons;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > PARALLEL_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new VerifyTask(assertionIds, proofs, rootHashes, reasons, from, middle),
+                        new VerifyTask(assertionIds, proofs, rootHashes, reasons, middle, to));
+                return;
+            }
+            Hasher hasher = HASHER.get();
+            for (int i = from; i < to; i++) {
+                reasons[i] = verify(proofs.get(i), rootHashes.get(assertionIds.get(i)), hasher);
+            }
+        }
+    }
+}
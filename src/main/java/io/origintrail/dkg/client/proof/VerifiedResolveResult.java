@@ -0,0 +1,37 @@
+package io.origintrail.dkg.client.proof;
+
+import io.origintrail.dkg.client.model.response.ProofsResult;
+import io.origintrail.dkg.client.model.response.ResolveResult;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The result of resolving assertions together with the proofs of selected triples and their verification.
+ * <p>
+ * {@code proofsResult} and {@code verification} are {@code null} if the resolve did not complete,
+ * or no triples were selected. {@code verification} is {@code null} if the proofs request did not complete.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class VerifiedResolveResult {
+
+    private final ResolveResult resolveResult;
+    private final ProofsResult proofsResult;
+    private final ProofVerification verification;
+
+    public VerifiedResolveResult(ResolveResult resolveResult, ProofsResult proofsResult, ProofVerification verification) {
+        this.resolveResult = resolveResult;
+        this.proofsResult = proofsResult;
+        this.verification = verification;
+    }
+
+    /**
+     * @return {@code true} if the selected triples were verified, a proof was returned for each of them in each
+     * assertion, and every proof is valid.
+     */
+    public boolean isVerified() {
+        return verification != null && verification.isValid();
+    }
+}
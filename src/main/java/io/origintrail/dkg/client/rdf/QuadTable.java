@@ -0,0 +1,250 @@
+package io.origintrail.dkg.client.rdf;
+
+import io.origintrail.dkg.client.exception.RequestValidationException;
+import io.origintrail.dkg.client.model.NQuad;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.RiotException;
+import org.apache.jena.riot.out.NodeFmtLib;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.shared.JenaException;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.util.NodeFactoryExtra;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A compact, append-only table of quads, each held as four {@code int} term ids in primitive columns.
+ * <p>
+ * Terms are encoded in a {@link TermDictionary}, so a term repeated across many quads is held once,
+ * and quads are compared by their ids rather than their terms. Quads in the default graph have the graph id {@link #DEFAULT_GRAPH}.
+ * <p>
+ * Quads can be added from Jena {@link Quad}s, {@link NQuad}s, N-Quads text, or streamed in as a {@link StreamRDF},
+ * and read back as any of them. Instances are not thread safe, though the dictionary may be shared between tables.
+ */
+public class QuadTable implements Iterable<Quad> {
+
+    /**
+     * The graph id of a quad in the default graph.
+     */
+    public static final int DEFAULT_GRAPH = -1;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final TermDictionary dictionary;
+    private final Map<String, Integer> termIdsByText = new HashMap<>();
+
+    private int[] subjects;
+    private int[] predicates;
+    private int[] objects;
+    private int[] graphs;
+    private int size;
+
+    public QuadTable() {
+        this(new TermDictionary());
+    }
+
+    /**
+     * @param dictionary the dictionary to encode terms in, which may be shared with other tables and results.
+     */
+    public QuadTable(TermDictionary dictionary) {
+        this.dictionary = dictionary;
+        this.subjects = new int[INITIAL_CAPACITY];
+        this.predicates = new int[INITIAL_CAPACITY];
+        this.objects = new int[INITIAL_CAPACITY];
+        this.graphs = new int[INITIAL_CAPACITY];
+    }
+
+    public void add(Quad quad) {
+        Node graph = quad.getGraph();
+        add(dictionary.encode(quad.getSubject()), dictionary.encode(quad.getPredicate()), dictionary.encode(quad.getObject()),
+                graph == null || Quad.isDefaultGraph(graph) ? DEFAULT_GRAPH : dictionary.encode(graph));
+    }
+
+    /**
+     * Adds an {@code NQuad}, whose terms are in N-Triples syntax. Terms which are not IRIs, blank nodes or quoted literals
+     * are added as plain literals.
+     */
+    public void add(NQuad nQuad) {
+        String graph = nQuad.getGraph();
+        add(encodeText(nQuad.getSubject()), encodeText(nQuad.getPredicate()), encodeText(nQuad.getObject()),
+                graph == null || graph.isBlank() ? DEFAULT_GRAPH : encodeText(graph));
+    }
+
+    /**
+     * Parses and adds each quad of the UTF-8 N-Quads text in {@code inputStream}. Triples are added in the default graph.
+     *
+     * @throws RequestValidationException if the text is not valid N-Quads.
+     */
+    public void addNQuads(InputStream inputStream) throws RequestValidationException {
+        try {
+            RDFParser.create().source(inputStream).lang(Lang.NQUADS).parse(asStreamRDF());
+        } catch (RiotException e) {
+            throw new RequestValidationException("Invalid N-Quads text.", e);
+        }
+    }
+
+    /**
+     * @return a {@code StreamRDF} adding each triple and quad sent to it to this table, for streaming in query results.
+     */
+    public StreamRDF asStreamRDF() {
+        return new StreamRDFBase() {
+            @Override
+            public void triple(Triple triple) {
+                add(dictionary.encode(triple.getSubject()), dictionary.encode(triple.getPredicate()),
+                        dictionary.encode(triple.getObject()), DEFAULT_GRAPH);
+            }
+
+            @Override
+            public void quad(Quad quad) {
+                QuadTable.this.add(quad);
+            }
+        };
+    }
+
+    private void add(int subject, int predicate, int object, int graph) {
+        if (size == subjects.length) {
+            int capacity = size * 2;
+            subjects = Arrays.copyOf(subjects, capacity);
+            predicates = Arrays.copyOf(predicates, capacity);
+            objects = Arrays.copyOf(objects, capacity);
+            graphs = Arrays.copyOf(graphs, capacity);
+        }
+        subjects[size] = subject;
+        predicates[size] = predicate;
+        objects[size] = object;
+        graphs[size] = graph;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public TermDictionary getDictionary() {
+        return dictionary;
+    }
+
+    public int getSubjectId(int index) {
+        return subjects[checkIndex(index)];
+    }
+
+    public int getPredicateId(int index) {
+        return predicates[checkIndex(index)];
+    }
+
+    public int getObjectId(int index) {
+        return objects[checkIndex(index)];
+    }
+
+    /**
+     * @return the graph id of the quad at {@code index}, or {@link #DEFAULT_GRAPH}.
+     */
+    public int getGraphId(int index) {
+        return graphs[checkIndex(index)];
+    }
+
+    public Quad get(int index) {
+        checkIndex(index);
+        return Quad.create(graphs[index] == DEFAULT_GRAPH ? Quad.defaultGraphIRI : dictionary.decode(graphs[index]),
+                dictionary.decode(subjects[index]), dictionary.decode(predicates[index]), dictionary.decode(objects[index]));
+    }
+
+    /**
+     * @return the quad at {@code index} as an {@code NQuad}, with its terms in N-Triples syntax.
+     */
+    public NQuad getNQuad(int index) {
+        checkIndex(index);
+        return new NQuad(NodeFmtLib.str(dictionary.decode(subjects[index])), NodeFmtLib.str(dictionary.decode(predicates[index])),
+                NodeFmtLib.str(dictionary.decode(objects[index])),
+                graphs[index] == DEFAULT_GRAPH ? null : NodeFmtLib.str(dictionary.decode(graphs[index])));
+    }
+
+    /**
+     * Writes each quad as a line of N-Quads text.
+     */
+    public void writeNQuads(Writer writer) throws IOException {
+        for (int i = 0; i < size; i++) {
+            writer.write(getNQuad(i).toString());
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * @return the index of the first quad with the same term ids as {@code quad}, or {@code -1} if there is none.
+     */
+    public int indexOf(Quad quad) {
+        int subject = dictionary.lookup(quad.getSubject());
+        int predicate = dictionary.lookup(quad.getPredicate());
+        int object = dictionary.lookup(quad.getObject());
+        int graph = Quad.isDefaultGraph(quad.getGraph()) ? DEFAULT_GRAPH : dictionary.lookup(quad.getGraph());
+        if (subject == TermDictionary.NOT_FOUND || predicate == TermDictionary.NOT_FOUND || object == TermDictionary.NOT_FOUND
+                || (graph == TermDictionary.NOT_FOUND && !Quad.isDefaultGraph(quad.getGraph()))) {
+            return -1;
+        }
+        for (int i = 0; i < size; i++) {
+            if (subjects[i] == subject && predicates[i] == predicate && objects[i] == object && graphs[i] == graph) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Iterator<Quad> iterator() {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Quad next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return get(next++);
+            }
+        };
+    }
+
+    private int encodeText(String term) {
+        Integer id = termIdsByText.get(term);
+        if (id == null) {
+            id = dictionary.encode(parseTerm(term));
+            termIdsByText.put(term, id);
+        }
+        return id;
+    }
+
+    private static Node parseTerm(String term) {
+        if (term.startsWith("<") || term.startsWith("\"") || term.startsWith("_:")) {
+            try {
+                return NodeFactoryExtra.parseNode(term);
+            } catch (JenaException e) {
+                throw new RequestValidationException(String.format("Invalid N-Quad term: %s", term), e);
+            }
+        }
+        return NodeFactory.createLiteral(term);
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for size %d", index, size));
+        }
+        return index;
+    }
+}
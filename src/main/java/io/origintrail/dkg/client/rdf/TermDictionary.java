@@ -0,0 +1,92 @@
+package io.origintrail.dkg.client.rdf;
+
+import org.apache.jena.graph.Node;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A dictionary encoding RDF terms as dense {@code int} ids, assigned in the order terms are first encoded.
+ * <p>
+ * Each distinct term is held once however many times it is encoded, so results with repeated values,
+ * e.g. the same predicate or type on many rows, hold an {@code int} per value rather than a term.
+ * A dictionary can be shared across results, in which case equal terms in different results have the same id.
+ * Instances are thread safe.
+ */
+public class TermDictionary {
+
+    /**
+     * The id returned by {@link #lookup(Node)} for a term not in the dictionary.
+     */
+    public static final int NOT_FOUND = -1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // guarded by lock
+    private final Map<Node, Integer> ids = new HashMap<>();
+    private final List<Node> terms = new ArrayList<>();
+
+    /**
+     * Returns the id of {@code term}, adding it to the dictionary if not already present.
+     */
+    public int encode(Node term) {
+        if (term == null) {
+            throw new IllegalArgumentException("Term cannot be null.");
+        }
+        int id = lookup(term);
+        if (id != NOT_FOUND) {
+            return id;
+        }
+        lock.writeLock().lock();
+        try {
+            return ids.computeIfAbsent(term, t -> {
+                terms.add(t);
+                return terms.size() - 1;
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the id of {@code term}, or {@link #NOT_FOUND} if it is not in the dictionary.
+     */
+    public int lookup(Node term) {
+        lock.readLock().lock();
+        try {
+            Integer id = ids.get(term);
+            return id == null ? NOT_FOUND : id;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the term with the given id.
+     * @throws IndexOutOfBoundsException if no term has the id.
+     */
+    public Node decode(int id) {
+        lock.readLock().lock();
+        try {
+            return terms.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of distinct terms encoded.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
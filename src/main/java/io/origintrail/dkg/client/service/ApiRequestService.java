@@ -1,26 +1,46 @@
 package io.origintrail.dkg.client.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.origintrail.dkg.client.codec.ObjectMappers;
 import io.origintrail.dkg.client.exception.DkgClientException;
 import io.origintrail.dkg.client.exception.HttpResponseException;
 import io.origintrail.dkg.client.exception.ResponseBodyException;
 import io.origintrail.dkg.client.exception.UnexpectedException;
+import io.origintrail.dkg.client.http.Endpoint;
+import io.origintrail.dkg.client.http.EndpointCatalog;
 import io.origintrail.dkg.client.http.HttpMediaType;
 import io.origintrail.dkg.client.http.MultiPartBody;
+import io.origintrail.dkg.client.metrics.ClientMetrics;
 import io.origintrail.dkg.client.model.HttpUrlOptions;
+import io.origintrail.dkg.client.model.response.AssertionSearchResult;
+import io.origintrail.dkg.client.model.response.EntitySearchResult;
+import io.origintrail.dkg.client.model.response.HandlerId;
+import io.origintrail.dkg.client.model.response.NodeInfo;
+import io.origintrail.dkg.client.model.response.ProofsResult;
+import io.origintrail.dkg.client.model.response.PublishResult;
+import io.origintrail.dkg.client.model.response.QueryResult;
+import io.origintrail.dkg.client.model.response.ResolveResult;
 import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 
 /**
  * Class containing common methods for sending and managing HTTP requests to the DKG.
@@ -30,15 +50,40 @@ public class ApiRequestService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ApiRequestService.class);
 
-    public static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+    public static final ObjectMapper OBJECT_MAPPER = ObjectMappers.configure(new ObjectMapper());
+
+    /**
+     * Readers for each response class, resolved once so the root deserializer is not looked up on every response.
+     */
+    private static final Map<Class<?>, ObjectReader> READERS = createReaders(List.of(HandlerId.class, NodeInfo.class,
+            PublishResult.class, ResolveResult.class, QueryResult.class, ProofsResult.class, EntitySearchResult.class,
+            AssertionSearchResult.class, JsonNode.class));
+
+    private static final BiConsumer<HttpResponse<?>, Throwable> NOT_MEASURED = (response, error) -> {
+    };
+
+    private static final String RESULT_PATH = "/result";
 
     private static final Duration DEFAULT_TIMEOUT_DURATION = Duration.ofSeconds(10);
     private final HttpClient httpClient;
     private final HttpUrlOptions httpUrlOptions;
+    private final EndpointCatalog endpointCatalog;
+    private final ClientMetrics metrics;
+    private final String node;
 
     public ApiRequestService(HttpClient httpClient, HttpUrlOptions httpUrlOptions) {
+        this(httpClient, httpUrlOptions, null);
+    }
+
+    /**
+     * @param metrics receives the measurements of each request sent, or {@code null} to measure nothing.
+     */
+    public ApiRequestService(HttpClient httpClient, HttpUrlOptions httpUrlOptions, ClientMetrics metrics) {
         this.httpClient = httpClient;
         this.httpUrlOptions = httpUrlOptions;
+        this.endpointCatalog = new EndpointCatalog(httpUrlOptions);
+        this.metrics = metrics == null ? ClientMetrics.NOOP : metrics;
+        this.node = httpUrlOptions.getHost() + ":" + httpUrlOptions.getPort();
     }
 
     HttpRequest createHttpGETRequest(URI uri) {
@@ -70,7 +115,9 @@ public class ApiRequestService {
     public CompletableFuture<String> sendAsyncRequest(HttpRequest request)
             throws CompletionException {
         LOGGER.debug("Sending async request: {}", request.uri().toString());
+        BiConsumer<HttpResponse<?>, Throwable> requestMeasurement = startMeasurement(request);
         return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete(requestMeasurement)
                 .thenApply(r -> {
                     if (!isSuccessResponse(r)) {
                         LOGGER.warn("Unsuccessful response status: {}, {}", r.statusCode(), r.body());
@@ -87,17 +134,129 @@ public class ApiRequestService {
                 });
     }
 
-    private boolean isSuccessResponse(HttpResponse<String> httpResponse) {
+    /**
+     * Sends the request and completes as soon as the response headers have been received,
+     * allowing the response body to be consumed as it arrives. The caller is responsible for closing the stream.
+     */
+    public CompletableFuture<InputStream> sendAsyncStreamRequest(HttpRequest request)
+            throws CompletionException {
+        LOGGER.debug("Sending async stream request: {}", request.uri().toString());
+        BiConsumer<HttpResponse<?>, Throwable> requestMeasurement = startMeasurement(request);
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+                .whenComplete(requestMeasurement)
+                .thenApply(r -> {
+                    if (!isSuccessResponse(r)) {
+                        String body = readErrorBody(r.body());
+                        LOGGER.warn("Unsuccessful response status: {}, {}", r.statusCode(), body);
+                        throw new HttpResponseException(r.statusCode(), body);
+                    }
+                    return r.body();
+                })
+                .exceptionally(ex -> {
+                    if (ex.getCause() instanceof DkgClientException) {
+                        throw new CompletionException(ex.getCause());
+                    }
+                    LOGGER.error("Unexpected error sending http request: {}", ex.getMessage());
+                    throw new CompletionException(new UnexpectedException(ex.getMessage(), ex.getCause()));
+                });
+    }
+
+    /**
+     * Reports the start of {@code request} to the {@link ClientMetrics} and begins its {@link RequestEvent},
+     * returning the action reporting its response or failure. Nothing is measured if no metrics are configured
+     * and the event is disabled.
+     */
+    private BiConsumer<HttpResponse<?>, Throwable> startMeasurement(HttpRequest request) {
+        RequestEvent event = new RequestEvent();
+        if (metrics == ClientMetrics.NOOP && !event.isEnabled()) {
+            return NOT_MEASURED;
+        }
+        Endpoint endpoint = endpointCatalog.endpoint(request.uri());
+        long bytesSent = request.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength).orElse(0L);
+        metrics.requestStarted(endpoint, node);
+        event.begin();
+        long start = System.nanoTime();
+        return (response, error) -> {
+            long latency = System.nanoTime() - start;
+            event.end();
+            long bytesReceived = response == null ? -1 : responseBytes(response);
+            if (response != null) {
+                metrics.requestCompleted(endpoint, node, response.statusCode(), latency, bytesSent, bytesReceived);
+            } else {
+                metrics.requestFailed(endpoint, node, error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error, latency);
+            }
+            if (event.shouldCommit()) {
+                event.endpoint = endpoint == null ? null : endpoint.path();
+                event.node = node;
+                event.handlerId = handlerId(request.uri(), endpoint);
+                event.requestBytes = bytesSent;
+                event.responseBytes = bytesReceived;
+                event.statusCode = response == null ? 0 : response.statusCode();
+                event.commit();
+            }
+        };
+    }
+
+    /**
+     * @return the UTF-8 length of a response body read as a string, or for a streamed body, its {@code Content-Length},
+     * or -1 if the response has none, e.g. as it is chunked.
+     */
+    private static long responseBytes(HttpResponse<?> response) {
+        if (response.body() instanceof String) {
+            return ParseEvent.utf8Length((String) response.body());
+        }
+        return response.headers().firstValueAsLong("Content-Length").orElse(-1);
+    }
+
+    /**
+     * @return the handler id of a result request, or {@code null} if {@code endpoint} is not a result endpoint.
+     */
+    private static String handlerId(URI uri, Endpoint endpoint) {
+        if (endpoint == null || !endpoint.path().endsWith(RESULT_PATH)) {
+            return null;
+        }
+        String path = uri.getPath();
+        int handlerIdStart = endpoint.path().length() + 2;
+        return path.length() > handlerIdStart ? path.substring(handlerIdStart) : null;
+    }
+
+    private String readErrorBody(InputStream body) {
+        try (body) {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private boolean isSuccessResponse(HttpResponse<?> httpResponse) {
         return httpResponse.statusCode() >= 200 && httpResponse.statusCode() <= 299;
     }
 
-    @SuppressWarnings("unchecked")
     protected <T> T transformBody(String body, Class<T> contentClass) throws ResponseBodyException {
+        ParseEvent event = new ParseEvent();
+        event.begin();
         try {
-            return OBJECT_MAPPER.readValue(body, contentClass);
+            T content = READERS.computeIfAbsent(contentClass, OBJECT_MAPPER::readerFor).readValue(body);
+            event.end();
+            if (event.shouldCommit()) {
+                event.responseType = contentClass.getSimpleName();
+                event.payloadBytes = ParseEvent.utf8Length(body);
+                event.handlerId = content instanceof HandlerId ? ((HandlerId) content).getHandlerId() : null;
+                event.commit();
+            }
+            return content;
         } catch (JsonProcessingException e) {
             LOGGER.error("Exception parsing response body content: {}", e.getMessage());
             throw new ResponseBodyException("Exception parsing response body content.", e.getCause());
         }
     }
+
+    private static Map<Class<?>, ObjectReader> createReaders(List<Class<?>> contentClasses) {
+        Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+        for (Class<?> contentClass : contentClasses) {
+            readers.put(contentClass, OBJECT_MAPPER.readerFor(contentClass));
+        }
+        return readers;
+    }
 }
@@ -0,0 +1,42 @@
+package io.origintrail.dkg.client.service;
+
+import io.origintrail.dkg.client.storage.MappedRecordFile;
+
+import java.util.Iterator;
+
+/**
+ * A query result with its N-Quad lines stored in a temporary memory-mapped file rather than on the heap.
+ * <p>
+ * Iterating reads the lines back from the file. The result must be closed once finished with, to delete the file.
+ */
+public class DiskBackedQueryResult implements Iterable<String>, AutoCloseable {
+
+    private final String status;
+    private final MappedRecordFile records;
+
+    DiskBackedQueryResult(String status, MappedRecordFile records) {
+        this.status = status;
+        this.records = records;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the number of N-Quad lines in the result.
+     */
+    public long size() {
+        return records.size();
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return records.iterator();
+    }
+
+    @Override
+    public void close() {
+        records.close();
+    }
+}
@@ -0,0 +1,236 @@
+package io.origintrail.dkg.client.service;
+
+import io.origintrail.dkg.client.exception.RequestValidationException;
+import io.origintrail.dkg.client.model.AssertionSearchOptions;
+import io.origintrail.dkg.client.model.EntitySearchOptions;
+import io.origintrail.dkg.client.model.FanOutSearchOptions;
+import io.origintrail.dkg.client.model.HttpUrlOptions;
+import io.origintrail.dkg.client.model.response.AssertionSearchResult;
+import io.origintrail.dkg.client.model.response.AssertionSearchResultItem;
+import io.origintrail.dkg.client.model.response.EntitySearchResult;
+import io.origintrail.dkg.client.model.response.EntitySearchResultItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Sends entity and assertion searches to multiple DKG nodes in parallel, merging the results.
+ * <p>
+ * Node results not returned within the search {@code deadline}, which fail, or whose search did not complete, are left out
+ * of the merged result. The merged result has status {@code COMPLETED} if the search completed on at least one node,
+ * and {@code FAILED} otherwise.
+ * Items are de-duplicated by id, keeping the highest scoring item and combining the {@code nodes} it was found on,
+ * and the {@code topK} highest scoring items are returned.
+ */
+public class FanOutSearchService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FanOutSearchService.class);
+
+    private static final String COMPLETED_STATUS = "COMPLETED";
+    private static final String FAILED_STATUS = "FAILED";
+
+    private final List<SearchService> nodeSearchServices;
+
+    public FanOutSearchService(List<SearchService> nodeSearchServices) {
+        if (nodeSearchServices == null || nodeSearchServices.isEmpty()) {
+            throw new IllegalArgumentException("At least one node search service is required.");
+        }
+        this.nodeSearchServices = List.copyOf(nodeSearchServices);
+    }
+
+    /**
+     * Creates a {@code FanOutSearchService} searching each of the given nodes, sharing a single {@code HttpClient}.
+     */
+    public static FanOutSearchService forNodes(List<HttpUrlOptions> nodes) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .build();
+
+        return new FanOutSearchService(nodes.stream()
+                .map(node -> new SearchService(new ApiRequestService(httpClient, node)))
+                .collect(Collectors.toList()));
+    }
+
+    public CompletableFuture<EntitySearchResult> searchEntities(EntitySearchOptions entitySearchOptions,
+                                                                FanOutSearchOptions fanOutSearchOptions)
+            throws CompletionException, RequestValidationException {
+
+        List<CompletableFuture<EntitySearchResult>> nodeResults = new ArrayList<>();
+        for (SearchService searchService : nodeSearchServices) {
+            nodeResults.add(withDeadline(
+                    searchService.searchEntities(entitySearchOptions, fanOutSearchOptions.getPollingOptions()),
+                    fanOutSearchOptions));
+        }
+
+        return CompletableFuture.allOf(nodeResults.toArray(new CompletableFuture<?>[0]))
+                .thenApply(v -> {
+                    List<EntitySearchResult> results = completedResults(nodeResults, EntitySearchResult::getStatus);
+                    EntitySearchResult merged = new EntitySearchResult();
+                    merged.setStatus(results.isEmpty() ? FAILED_STATUS : COMPLETED_STATUS);
+                    results.stream().findFirst().ifPresent(first -> {
+                        merged.setContext(first.getContext());
+                        merged.setType(first.getType());
+                    });
+                    merged.setItemListElement(mergeTopK(
+                            results.stream().map(EntitySearchResult::getItemListElement).collect(Collectors.toList()),
+                            EntitySearchResultItem::getId,
+                            item -> score(item.getResultScore()),
+                            FanOutSearchService::combineEntityItems,
+                            fanOutSearchOptions.getTopK()));
+                    return merged;
+                });
+    }
+
+    public CompletableFuture<AssertionSearchResult> searchAssertions(AssertionSearchOptions assertionSearchOptions,
+                                                                     FanOutSearchOptions fanOutSearchOptions)
+            throws CompletionException, RequestValidationException {
+
+        List<CompletableFuture<AssertionSearchResult>> nodeResults = new ArrayList<>();
+        for (SearchService searchService : nodeSearchServices) {
+            nodeResults.add(withDeadline(
+                    searchService.searchAssertions(assertionSearchOptions, fanOutSearchOptions.getPollingOptions()),
+                    fanOutSearchOptions));
+        }
+
+        return CompletableFuture.allOf(nodeResults.toArray(new CompletableFuture<?>[0]))
+                .thenApply(v -> {
+                    List<AssertionSearchResult> results = completedResults(nodeResults, AssertionSearchResult::getStatus);
+                    AssertionSearchResult merged = new AssertionSearchResult();
+                    merged.setStatus(results.isEmpty() ? FAILED_STATUS : COMPLETED_STATUS);
+                    results.stream().findFirst().ifPresent(first -> {
+                        merged.setContext(first.getContext());
+                        merged.setType(first.getType());
+                    });
+                    merged.setItemListElement(mergeTopK(
+                            results.stream().map(AssertionSearchResult::getItemListElement).collect(Collectors.toList()),
+                            AssertionSearchResultItem::getId,
+                            item -> score(item.getResultScore()),
+                            FanOutSearchService::combineAssertionItems,
+                            fanOutSearchOptions.getTopK()));
+                    return merged;
+                });
+    }
+
+    private <T> CompletableFuture<T> withDeadline(CompletableFuture<T> nodeResult, FanOutSearchOptions fanOutSearchOptions) {
+        return nodeResult
+                .completeOnTimeout(null, fanOutSearchOptions.getDeadline().toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(ex -> {
+                    LOGGER.warn("Node search failed, excluding from merged result: {}", ex.getMessage());
+                    return null;
+                });
+    }
+
+    private static <T> List<T> completedResults(List<CompletableFuture<T>> nodeResults, Function<T, String> status) {
+        return nodeResults.stream()
+                .map(CompletableFuture::join)
+                .filter(Objects::nonNull)
+                .filter(result -> {
+                    if (SearchService.isCompleted(status.apply(result))) {
+                        return true;
+                    }
+                    LOGGER.warn("Node search ended with status {}, excluding from merged result", status.apply(result));
+                    return false;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Merges node result items, de-duplicating by id, and returns the {@code k} highest scoring items in descending score order.
+     * Every de-duplicated item is held until all node results are merged, but only {@code k} of them are kept in the
+     * top-k heap, so the full merged result is never sorted.
+     */
+    static <T> List<T> mergeTopK(List<List<T>> nodeItems, Function<T, String> idExtractor, ToDoubleFunction<T> scoreExtractor,
+                                 BinaryOperator<T> combiner, int k) {
+        Map<String, T> itemsById = new LinkedHashMap<>();
+        List<T> itemsWithoutId = new ArrayList<>();
+        for (List<T> items : nodeItems) {
+            if (items == null) {
+                continue;
+            }
+            for (T item : items) {
+                String id = idExtractor.apply(item);
+                if (id == null) {
+                    itemsWithoutId.add(item);
+                } else {
+                    itemsById.merge(id, item, combiner);
+                }
+            }
+        }
+
+        Comparator<T> byScore = Comparator.comparingDouble(scoreExtractor);
+        PriorityQueue<T> topK = new PriorityQueue<>(Math.max(1, k), byScore);
+        offerAll(topK, itemsById.values(), k, byScore);
+        offerAll(topK, itemsWithoutId, k, byScore);
+
+        List<T> result = new ArrayList<>(topK);
+        result.sort(byScore.reversed());
+        return result;
+    }
+
+    private static <T> void offerAll(PriorityQueue<T> topK, Collection<T> items, int k, Comparator<T> byScore) {
+        for (T item : items) {
+            if (topK.size() < k) {
+                topK.offer(item);
+            } else if (k > 0 && byScore.compare(item, topK.peek()) > 0) {
+                topK.poll();
+                topK.offer(item);
+            }
+        }
+    }
+
+    private static double score(Double resultScore) {
+        return resultScore == null ? 0 : resultScore;
+    }
+
+    private static EntitySearchResultItem combineEntityItems(EntitySearchResultItem first, EntitySearchResultItem second) {
+        EntitySearchResultItem best = score(second.getResultScore()) > score(first.getResultScore()) ? second : first;
+        EntitySearchResultItem combined = new EntitySearchResultItem();
+        combined.setType(best.getType());
+        combined.setResult(best.getResult());
+        combined.setResultScore(best.getResultScore());
+        combined.setIssuers(union(first.getIssuers(), second.getIssuers()));
+        combined.setAssertions(union(first.getAssertions(), second.getAssertions()));
+        combined.setNodes(union(first.getNodes(), second.getNodes()));
+        return combined;
+    }
+
+    private static AssertionSearchResultItem combineAssertionItems(AssertionSearchResultItem first, AssertionSearchResultItem second) {
+        AssertionSearchResultItem best = score(second.getResultScore()) > score(first.getResultScore()) ? second : first;
+        AssertionSearchResultItem combined = new AssertionSearchResultItem();
+        combined.setType(best.getType());
+        combined.setResult(best.getResult());
+        combined.setResultScore(best.getResultScore());
+        combined.setNodes(union(first.getNodes(), second.getNodes()));
+        return combined;
+    }
+
+    private static List<String> union(List<String> first, List<String> second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        Set<String> union = new LinkedHashSet<>(first);
+        union.addAll(second);
+        return new ArrayList<>(union);
+    }
+}
@@ -0,0 +1,34 @@
+package io.origintrail.dkg.client.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for awaiting the result of an operation, lasting from receiving its handler id until its
+ * result is no longer pending or polling fails.
+ */
+@Name("io.origintrail.dkg.HandlerComplete")
+@Label("DKG Handler Complete")
+@Category("DKG Client")
+@Description("An awaited operation reaching a terminal status")
+@StackTrace(false)
+final class HandlerCompleteEvent extends Event {
+
+    @Label("Endpoint")
+    @Description("The result endpoint polled")
+    String endpoint;
+
+    @Label("Handler Id")
+    String handlerId;
+
+    @Label("Polls")
+    int polls;
+
+    @Label("Status")
+    @Description("The terminal status, TIMEOUT if the result was still pending after every attempt, or ERROR if a poll failed")
+    String status;
+}
@@ -1,7 +1,7 @@
 package io.origintrail.dkg.client.service;
 
+import io.origintrail.dkg.client.http.Endpoint;
 import io.origintrail.dkg.client.model.response.NodeInfo;
-import io.origintrail.dkg.client.util.UriUtil;
 
 import java.net.URI;
 import java.net.http.HttpRequest;
@@ -10,8 +10,6 @@ import java.util.concurrent.CompletionException;
 
 public class InfoService{
 
-    private static final String INFO_PATH = "info";
-
     private final ApiRequestService apiRequestService;
 
     public InfoService(ApiRequestService apiRequestService) {
@@ -20,10 +18,7 @@ public class InfoService{
 
     public CompletableFuture<NodeInfo> getNodeInfo() throws CompletionException {
 
-        URI uri = UriUtil.builder()
-                .httpUrlOptions(apiRequestService.getHttpUrlOptions())
-                .path(INFO_PATH)
-                .build();
+        URI uri = apiRequestService.getEndpointCatalog().uri(Endpoint.INFO);
 
         HttpRequest request = apiRequestService.createHttpGETRequest(uri);
         return apiRequestService.sendAsyncRequest(request)
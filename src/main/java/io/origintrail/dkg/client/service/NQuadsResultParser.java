@@ -0,0 +1,189 @@
+package io.origintrail.dkg.client.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.origintrail.dkg.client.exception.ResponseBodyException;
+import io.origintrail.dkg.client.exception.StorageException;
+import io.origintrail.dkg.client.storage.MappedRecordFile;
+import org.apache.jena.atlas.AtlasException;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.RiotException;
+import org.apache.jena.riot.system.StreamRDF;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+import static io.origintrail.dkg.client.service.ApiRequestService.OBJECT_MAPPER;
+
+/**
+ * Parses the N-Quad lines of a query result response straight into a Jena {@link StreamRDF}, or a {@link MappedRecordFile}.
+ * <p>
+ * The {@code data} array is read token by token from the response stream and exposed to the Jena N-Quads parser
+ * as a single newline separated UTF-8 {@link InputStream}, encoding the characters of each line from the JSON parser's
+ * buffer. No list of lines, or {@code String} per line, is created.
+ */
+final class NQuadsResultParser {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NQuadsResultParser.class);
+
+    private static final String DATA_FIELD = "data";
+    private static final String STATUS_FIELD = "status";
+
+    private NQuadsResultParser() {
+    }
+
+    /**
+     * Parses the query result in {@code inputStream} into {@code sink}, closing the stream once finished.
+     * The {@code sink} is only started if the response contains a {@code data} array.
+     *
+     * @return the {@code status} of the query result.
+     * @throws ResponseBodyException if the response is not valid JSON, or contains invalid N-Quads.
+     */
+    static String parse(InputStream inputStream, StreamRDF sink) throws ResponseBodyException {
+        return readResult(inputStream, parser -> RDFParser.create()
+                .source(new DataArrayInputStream(parser))
+                .lang(Lang.NQUADS)
+                .parse(sink));
+    }
+
+    /**
+     * Appends the N-Quad lines of the query result in {@code inputStream} to {@code records} without parsing them,
+     * encoding each line from the JSON parser's buffer. The stream is closed once finished.
+     *
+     * @return the {@code status} of the query result.
+     * @throws ResponseBodyException if the response is not valid JSON.
+     * @throws StorageException      if a line cannot be written to {@code records}.
+     */
+    static String spill(InputStream inputStream, MappedRecordFile records) throws ResponseBodyException, StorageException {
+        return readResult(inputStream, parser -> {
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.VALUE_STRING) {
+                records.append(CharBuffer.wrap(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength()));
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new JsonParseException(parser, "Expected query result data to be an array of N-Quad strings.");
+            }
+        });
+    }
+
+    private static String readResult(InputStream inputStream, DataArrayHandler dataArrayHandler) {
+        String status = null;
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected query result to be a JSON object.");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken valueToken = parser.nextToken();
+                if (DATA_FIELD.equals(fieldName) && valueToken == JsonToken.START_ARRAY) {
+                    dataArrayHandler.handle(parser);
+                } else {
+                    if (STATUS_FIELD.equals(fieldName) && valueToken == JsonToken.VALUE_STRING) {
+                        status = parser.getText();
+                    }
+                    parser.skipChildren();
+                }
+            }
+            if (token != JsonToken.END_OBJECT) {
+                throw new JsonParseException(parser, "Unexpected end of query result.");
+            }
+        } catch (IOException | AtlasException | RiotException e) {
+            LOGGER.error("Exception parsing response body content: {}", e.getMessage());
+            throw new ResponseBodyException("Exception parsing response body content.", e);
+        }
+        return status;
+    }
+
+    /**
+     * Reads a {@code data} array, from the parser positioned at its start to its end.
+     */
+    private interface DataArrayHandler {
+        void handle(JsonParser parser) throws IOException;
+    }
+
+    /**
+     * Reads the string elements of a JSON array as newline terminated UTF-8 lines, ending at the end of the array.
+     */
+    private static class DataArrayInputStream extends InputStream {
+
+        private static final int BUFFER_SIZE = 8192;
+
+        private final JsonParser parser;
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE).flip();
+
+        private CharBuffer line = CharBuffer.allocate(0);
+        private boolean lineTerminated = true;
+        private boolean finished;
+
+        DataArrayInputStream(JsonParser parser) {
+            this.parser = parser;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            int read = 0;
+            while (read < length) {
+                if (bytes.hasRemaining()) {
+                    int count = Math.min(length - read, bytes.remaining());
+                    bytes.get(buffer, offset + read, count);
+                    read += count;
+                } else if (line.hasRemaining()) {
+                    bytes.clear();
+                    encoder.encode(line, bytes, true);
+                    bytes.flip();
+                } else if (!lineTerminated) {
+                    buffer[offset + read++] = '\n';
+                    lineTerminated = true;
+                } else if (read > 0 || !nextLine()) {
+                    break;
+                }
+            }
+            return read == 0 ? -1 : read;
+        }
+
+        private boolean nextLine() throws IOException {
+            if (finished) {
+                return false;
+            }
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.END_ARRAY) {
+                finished = true;
+                return false;
+            }
+            if (token != JsonToken.VALUE_STRING) {
+                throw new JsonParseException(parser, "Expected query result data to be an array of N-Quad strings.");
+            }
+            line = CharBuffer.wrap(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            encoder.reset();
+            lineTerminated = false;
+            return true;
+        }
+
+        @Override
+        public void close() {
+            // the JSON parser is closed once the whole response has been read
+        }
+    }
+}
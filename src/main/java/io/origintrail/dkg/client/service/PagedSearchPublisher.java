@@ -0,0 +1,206 @@
+package io.origintrail.dkg.client.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * A {@link Flow.Publisher} paging through search results.
+ * <p>
+ * The DKG search endpoints only accept a {@code limit}, so page {@code n} is requested with a limit of
+ * {@code n * pageSize} and any items already published are skipped, de-duplicated by id.
+ * Pages are only requested once the subscriber signals demand. While the current page is being consumed,
+ * the next page is prefetched, so at most two pages of items are buffered at any time.
+ * <p>
+ * Each subscription starts a new cursor from the first page.
+ *
+ * @param <T> the search result item type.
+ */
+class PagedSearchPublisher<T> implements Flow.Publisher<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PagedSearchPublisher.class);
+
+    private final IntFunction<CompletableFuture<List<T>>> pageRequest;
+    private final Function<T, String> idExtractor;
+    private final int pageSize;
+    private final int maxItems;
+
+    /**
+     * @param pageRequest requests search results for the given limit.
+     * @param idExtractor extracts the id used for de-duplicating items across pages.
+     * @param pageSize    the number of new items requested per page.
+     * @param maxItems    the maximum number of items to publish, or {@code null} for no maximum.
+     */
+    PagedSearchPublisher(IntFunction<CompletableFuture<List<T>>> pageRequest, Function<T, String> idExtractor,
+                         int pageSize, Integer maxItems) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than 0.");
+        }
+        this.pageRequest = pageRequest;
+        this.idExtractor = idExtractor;
+        this.pageSize = pageSize;
+        this.maxItems = maxItems == null ? Integer.MAX_VALUE : maxItems;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+        PageSubscription subscription = new PageSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private class PageSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicInteger wip = new AtomicInteger();
+
+        // guarded by this
+        private final Deque<T> buffer = new ArrayDeque<>();
+        private final Set<String> seenIds = new HashSet<>();
+        private long demand;
+        private int pages;
+        private int enqueued;
+        private boolean fetching;
+        private boolean exhausted;
+        private Throwable error;
+
+        private volatile boolean terminated;
+
+        PageSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                if (n <= 0) {
+                    buffer.clear();
+                    error = new IllegalArgumentException("Requested items must be greater than 0, was: " + n);
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            terminated = true;
+            synchronized (this) {
+                buffer.clear();
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                T item;
+                while (!terminated && (item = nextItem()) != null) {
+                    subscriber.onNext(item);
+                }
+                if (terminated) {
+                    return;
+                }
+
+                Throwable terminalError;
+                boolean complete;
+                boolean requestPage;
+                synchronized (this) {
+                    terminalError = buffer.isEmpty() ? error : null;
+                    complete = buffer.isEmpty() && exhausted && !fetching;
+                    requestPage = !fetching && !exhausted && error == null
+                            && (demand > 0 || !buffer.isEmpty()) && buffer.size() <= pageSize;
+                    if (requestPage) {
+                        fetching = true;
+                        pages++;
+                    }
+                }
+
+                if (terminalError != null) {
+                    terminated = true;
+                    subscriber.onError(terminalError);
+                    return;
+                }
+                if (complete) {
+                    terminated = true;
+                    subscriber.onComplete();
+                    return;
+                }
+                if (requestPage) {
+                    requestPage();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private synchronized T nextItem() {
+            if (demand == 0 || buffer.isEmpty()) {
+                return null;
+            }
+            demand--;
+            return buffer.poll();
+        }
+
+        private void requestPage() {
+            int limit;
+            synchronized (this) {
+                limit = (int) Math.min((long) pages * pageSize, maxItems);
+            }
+            LOGGER.debug("Requesting search page with limit: {}", limit);
+
+            CompletableFuture<List<T>> page;
+            try {
+                page = pageRequest.apply(limit);
+            } catch (RuntimeException e) {
+                page = CompletableFuture.failedFuture(e);
+            }
+            page.whenComplete((items, ex) -> {
+                synchronized (this) {
+                    fetching = false;
+                    if (ex != null) {
+                        error = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    } else {
+                        addPage(items, limit);
+                    }
+                }
+                drain();
+            });
+        }
+
+        // guarded by this
+        private void addPage(List<T> items, int limit) {
+            int added = 0;
+            if (items != null) {
+                for (T item : items) {
+                    if (enqueued >= maxItems) {
+                        break;
+                    }
+                    String id = idExtractor.apply(item);
+                    if (id == null || seenIds.add(id)) {
+                        buffer.add(item);
+                        enqueued++;
+                        added++;
+                    }
+                }
+            }
+            if (items == null || items.size() < limit || added == 0 || enqueued >= maxItems) {
+                exhausted = true;
+            }
+        }
+    }
+}
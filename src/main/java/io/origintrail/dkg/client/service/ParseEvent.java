@@ -0,0 +1,48 @@
+package io.origintrail.dkg.client.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for reading a response body into a response object.
+ */
+@Name("io.origintrail.dkg.Parse")
+@Label("DKG Response Parse")
+@Category("DKG Client")
+@Description("A response body read into a response object")
+@StackTrace(false)
+final class ParseEvent extends Event {
+
+    @Label("Response Type")
+    String responseType;
+
+    @Label("Payload Bytes")
+    @Description("The UTF-8 length of the response body")
+    @DataAmount
+    long payloadBytes;
+
+    @Label("Handler Id")
+    @Description("The handler id read from the response of a submitted operation")
+    String handlerId;
+
+    /**
+     * @return the number of bytes {@code text} is encoded in as UTF-8, without encoding it.
+     */
+    static long utf8Length(String text) {
+        long length = text.length();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x800) {
+                length += Character.isSurrogate(c) ? 1 : 2;
+            } else if (c >= 0x80) {
+                length++;
+            }
+        }
+        return length;
+    }
+}
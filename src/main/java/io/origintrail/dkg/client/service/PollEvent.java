@@ -0,0 +1,32 @@
+package io.origintrail.dkg.client.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for each request for the result of an awaited operation, lasting until the result is read.
+ */
+@Name("io.origintrail.dkg.Poll")
+@Label("DKG Poll")
+@Category("DKG Client")
+@Description("A request for the result of an awaited operation")
+@StackTrace(false)
+final class PollEvent extends Event {
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Handler Id")
+    String handlerId;
+
+    @Label("Attempt")
+    int attempt;
+
+    @Label("Status")
+    @Description("The status of the result, or ERROR if the request failed")
+    String status;
+}
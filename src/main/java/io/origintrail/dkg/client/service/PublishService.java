@@ -2,23 +2,25 @@ package io.origintrail.dkg.client.service;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import io.origintrail.dkg.client.exception.RequestValidationException;
+import io.origintrail.dkg.client.http.Endpoint;
 import io.origintrail.dkg.client.http.HttpMediaType;
 import io.origintrail.dkg.client.http.MultiPartBody;
 import io.origintrail.dkg.client.http.MultiPartData;
+import io.origintrail.dkg.client.index.KeywordIndex;
 import io.origintrail.dkg.client.model.PublishOptions;
 import io.origintrail.dkg.client.model.response.HandlerId;
 import io.origintrail.dkg.client.model.response.PublishResult;
 import io.origintrail.dkg.client.util.JsonUtil;
-import io.origintrail.dkg.client.util.UriUtil;
 import org.apache.commons.io.FilenameUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.URI;
 import java.net.http.HttpRequest;
-import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static io.origintrail.dkg.client.service.ApiRequestService.OBJECT_MAPPER;
 import static java.lang.String.format;
@@ -27,47 +29,63 @@ public class PublishService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PublishService.class);
 
-    private static final String PUBLISH_PATH = "publish";
-    private static final String PUBLISH_RESULT_PATH = "publish/result";
-    private static final String PROVISION_PATH = "provision";
-    private static final String PROVISION_RESULT_PATH = "provision/result";
-    private static final String UPDATE_PATH = "update";
-    private static final String UPDATE_RESULT_PATH = "update/result";
-
     private final ApiRequestService apiRequestService;
+    private final KeywordIndex keywordIndex;
+    private final Runnable assetsChangedListener;
+    // handler ids of accepted requests whose result has not yet been read with a terminal status
+    private final Set<String> unfinishedHandlerIds = ConcurrentHashMap.newKeySet();
 
     public PublishService(ApiRequestService apiRequestService) {
+        this(apiRequestService, null);
+    }
+
+    public PublishService(ApiRequestService apiRequestService, KeywordIndex keywordIndex) {
+        this(apiRequestService, keywordIndex, null);
+    }
+
+    /**
+     * @param apiRequestService     the service used to send requests to the DKG.
+     * @param keywordIndex          if not {@code null}, the keywords and metadata of completed publish,
+     *                              provision and update requests are added to the index.
+     * @param assetsChangedListener if not {@code null}, run when a publish, provision or update request is accepted,
+     *                              and again the first time its result is read with a status which is no longer pending,
+     *                              e.g. to invalidate cached query results. Later reads of the result, and reads of
+     *                              results of requests not sent by this service, do not run it.
+     */
+    public PublishService(ApiRequestService apiRequestService, KeywordIndex keywordIndex, Runnable assetsChangedListener) {
         this.apiRequestService = apiRequestService;
+        this.keywordIndex = keywordIndex;
+        this.assetsChangedListener = assetsChangedListener;
     }
 
     public CompletableFuture<HandlerId> publish(String fileName, byte[] fileData, PublishOptions publishOptions)
             throws CompletionException, RequestValidationException {
 
-        return publishData(fileName, fileData, publishOptions, PUBLISH_PATH);
+        return publishData(fileName, fileData, publishOptions, Endpoint.PUBLISH);
     }
 
     public CompletableFuture<PublishResult> getPublishResult(String handlerId) throws CompletionException {
-        return getPublishResult(handlerId, PUBLISH_RESULT_PATH);
+        return getPublishResult(handlerId, Endpoint.PUBLISH_RESULT);
     }
 
     public CompletableFuture<HandlerId> provision(String fileName, byte[] fileData, PublishOptions publishOptions)
             throws CompletionException, RequestValidationException {
 
-        return publishData(fileName, fileData, publishOptions, PROVISION_PATH);
+        return publishData(fileName, fileData, publishOptions, Endpoint.PROVISION);
     }
 
     public CompletableFuture<PublishResult> getProvisionResult(String handlerId) throws CompletionException {
-        return getPublishResult(handlerId, PROVISION_RESULT_PATH);
+        return getPublishResult(handlerId, Endpoint.PROVISION_RESULT);
     }
 
     public CompletableFuture<HandlerId> update(String fileName, byte[] fileData, PublishOptions publishOptions)
             throws CompletionException, RequestValidationException {
 
-        return publishData(fileName, fileData, publishOptions, UPDATE_PATH);
+        return publishData(fileName, fileData, publishOptions, Endpoint.UPDATE);
     }
 
     public CompletableFuture<PublishResult> getUpdateResult(String handlerId) throws CompletionException {
-        return getPublishResult(handlerId, UPDATE_RESULT_PATH);
+        return getPublishResult(handlerId, Endpoint.UPDATE_RESULT);
     }
 
     private void validateRequest(String fileName, byte[] fileData, PublishOptions publishOptions) {
@@ -88,12 +106,10 @@ public class PublishService {
         }
     }
 
-    private CompletableFuture<HandlerId> publishData(String fileName, byte[] fileData, PublishOptions publishOptions, String path) {
+    private CompletableFuture<HandlerId> publishData(String fileName, byte[] fileData, PublishOptions publishOptions, Endpoint endpoint) {
         validateRequest(fileName, fileData, publishOptions);
 
-        URI uri = UriUtil.builder().httpUrlOptions(apiRequestService.getHttpUrlOptions())
-                .path(path)
-                .build();
+        URI uri = apiRequestService.getEndpointCatalog().uri(endpoint);
 
         ArrayNode keywordArray = OBJECT_MAPPER.createArrayNode();
         publishOptions.getKeywords().forEach(keywordArray::add);
@@ -107,17 +123,48 @@ public class PublishService {
                 .addPart("ual", publishOptions.getUal());
 
         HttpRequest request = apiRequestService.createMultiPartFormRequest(uri, bodyPublisher);
-        return apiRequestService.sendAsyncRequest(request)
+        CompletableFuture<HandlerId> handlerId = apiRequestService.sendAsyncRequest(request)
                 .thenApply(body -> apiRequestService.transformBody(body, HandlerId.class));
+
+        if (keywordIndex == null && assetsChangedListener == null) {
+            return handlerId;
+        }
+        return handlerId.thenApply(id -> {
+            if (keywordIndex != null) {
+                keywordIndex.registerPublish(id.getHandlerId(), publishOptions);
+            }
+            if (assetsChangedListener != null) {
+                unfinishedHandlerIds.add(id.getHandlerId());
+            }
+            notifyAssetsChanged();
+            return id;
+        });
     }
 
-    private CompletableFuture<PublishResult> getPublishResult(String handlerId, String path) {
-        URI uri = UriUtil.builder().httpUrlOptions(apiRequestService.getHttpUrlOptions())
-                .pathSegments(List.of(path, handlerId))
-                .build();
+    private CompletableFuture<PublishResult> getPublishResult(String handlerId, Endpoint endpoint) {
+        URI uri = apiRequestService.getEndpointCatalog().resultUri(endpoint, handlerId);
 
         HttpRequest request = apiRequestService.createHttpGETRequest(uri);
-        return apiRequestService.sendAsyncRequest(request)
+        CompletableFuture<PublishResult> publishResult = apiRequestService.sendAsyncRequest(request)
                 .thenApply(body -> apiRequestService.transformBody(body, PublishResult.class));
+
+        if (keywordIndex == null && assetsChangedListener == null) {
+            return publishResult;
+        }
+        return publishResult.thenApply(result -> {
+            if (keywordIndex != null) {
+                keywordIndex.indexPublishResult(handlerId, result);
+            }
+            if (!ResultPoller.isPending(result.getStatus()) && unfinishedHandlerIds.remove(handlerId)) {
+                notifyAssetsChanged();
+            }
+            return result;
+        });
+    }
+
+    private void notifyAssetsChanged() {
+        if (assetsChangedListener != null) {
+            assetsChangedListener.run();
+        }
     }
 }
@@ -1,41 +1,97 @@
 package io.origintrail.dkg.client.service;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.origintrail.dkg.client.cache.CacheOptions;
+import io.origintrail.dkg.client.cache.ProofCache;
+import io.origintrail.dkg.client.cache.ResultCache;
+import io.origintrail.dkg.client.exception.StorageException;
+import io.origintrail.dkg.client.http.Endpoint;
+import io.origintrail.dkg.client.http.HttpMediaType;
 import io.origintrail.dkg.client.http.MultiPartBody;
+import io.origintrail.dkg.client.http.NQuadsBodyChunks;
 import io.origintrail.dkg.client.model.NQuad;
+import io.origintrail.dkg.client.model.PollingOptions;
 import io.origintrail.dkg.client.model.SparqlQueryType;
+import io.origintrail.dkg.client.model.response.AskResult;
 import io.origintrail.dkg.client.model.response.HandlerId;
+import io.origintrail.dkg.client.model.response.Proof;
 import io.origintrail.dkg.client.model.response.ProofsResult;
+import io.origintrail.dkg.client.model.response.ProofsResultData;
 import io.origintrail.dkg.client.model.response.QueryResult;
-import io.origintrail.dkg.client.util.UriUtil;
+import io.origintrail.dkg.client.proof.ProofVerifier;
+import io.origintrail.dkg.client.rdf.QuadTable;
+import io.origintrail.dkg.client.rdf.TermDictionary;
+import io.origintrail.dkg.client.sparql.SelectRow;
+import io.origintrail.dkg.client.sparql.SparqlText;
+import io.origintrail.dkg.client.storage.MappedRecordFile;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.riot.system.StreamRDFLib;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.core.Quad;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static io.origintrail.dkg.client.service.ApiRequestService.OBJECT_MAPPER;
 
 public class QueryService {
 
-    private static final String QUERY_PATH = "query";
-    private static final String QUERY_RESULT_PATH = "query/result";
-    private static final String PROOFS_PATH = "proofs:get";
-    private static final String PROOFS_RESULT_PATH = "proofs:get/result";
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryService.class);
+
+    private static final String COMPLETED_STATUS = "COMPLETED";
 
     private final ApiRequestService apiRequestService;
+    private final ResultCache<String, QueryResult> queryCache;
+    private final ProofCache proofCache;
 
     public QueryService(ApiRequestService apiRequestService) {
-       this.apiRequestService = apiRequestService;
+        this(apiRequestService, null);
+    }
+
+    public QueryService(ApiRequestService apiRequestService, CacheOptions queryCacheOptions) {
+        this(apiRequestService, queryCacheOptions, null);
+    }
+
+    /**
+     * @param apiRequestService the service used to send requests to the DKG.
+     * @param queryCacheOptions if not {@code null}, results of {@link #queryAndAwait(SparqlQueryType, String, PollingOptions)}
+     *                          are cached, keyed by the query type and normalised query text. Results of queries
+     *                          which did not complete are not cached.
+     * @param proofCacheOptions if not {@code null}, proofs returned by
+     *                          {@link #proofsAndAwait(List, List, PollingOptions)} are cached, keyed by assertion id and triple hash.
+     */
+    public QueryService(ApiRequestService apiRequestService, CacheOptions queryCacheOptions, CacheOptions proofCacheOptions) {
+        this.apiRequestService = apiRequestService;
+        this.queryCache = queryCacheOptions == null ? null
+                : new ResultCache<>(queryCacheOptions, QueryResult.class,
+                        result -> COMPLETED_STATUS.equals(result.getStatus()), result -> isEmpty(result.getData()));
+        this.proofCache = proofCacheOptions == null ? null : new ProofCache(proofCacheOptions);
     }
 
     public CompletableFuture<HandlerId> query(SparqlQueryType type, String query) throws CompletionException {
-        URI uri = UriUtil.builder().httpUrlOptions(apiRequestService.getHttpUrlOptions())
-                .path(QUERY_PATH)
-                .queryParameters(Collections.singletonMap("type", type.getValue()))
-                .build();
+        URI uri = apiRequestService.getEndpointCatalog().uri(Endpoint.QUERY, Collections.singletonMap("type", type.getValue()));
 
 //        String sparqlQuery = createSparqlRequestBody(query);
 //        HttpRequest request = apiRequestService.createHttpPOSTRequest(uri, sparqlQuery);
@@ -55,9 +111,7 @@ public class QueryService {
     }
 
     public CompletableFuture<QueryResult> getQueryResult(String handlerId) throws CompletionException {
-        URI uri = UriUtil.builder().httpUrlOptions(apiRequestService.getHttpUrlOptions())
-                .pathSegments(List.of(QUERY_RESULT_PATH, handlerId))
-                .build();
+        URI uri = apiRequestService.getEndpointCatalog().resultUri(Endpoint.QUERY_RESULT, handlerId);
 
         HttpRequest request = apiRequestService.createHttpGETRequest(uri);
 
@@ -65,17 +119,256 @@ public class QueryService {
                 .thenApply(body -> apiRequestService.transformBody(body, QueryResult.class));
     }
 
+    /**
+     * Streams the N-Quads of a query result into {@code sink} as they are parsed from the response,
+     * without holding the result data in memory.
+     *
+     * @return a {@code CompletableFuture} completed with the {@code status} of the query result once the response is parsed.
+     */
+    public CompletableFuture<String> streamQueryResult(String handlerId, StreamRDF sink) throws CompletionException {
+        HttpRequest request = apiRequestService.createHttpGETRequest(createQueryResultUri(handlerId));
+
+        return apiRequestService.sendAsyncStreamRequest(request)
+                .thenApply(inputStream -> NQuadsResultParser.parse(inputStream, sink));
+    }
+
+    public CompletableFuture<String> streamQueryResult(String handlerId, Consumer<Quad> quadConsumer) throws CompletionException {
+        return streamQueryResult(handlerId, toStreamRDF(quadConsumer));
+    }
+
+    /**
+     * Creates a {@code StreamRDF} passing each quad to {@code quadConsumer}, with triples passed in the default graph.
+     */
+    static StreamRDF toStreamRDF(Consumer<Quad> quadConsumer) {
+        return new StreamRDFBase() {
+            @Override
+            public void triple(Triple triple) {
+                quadConsumer.accept(Quad.create(Quad.defaultGraphIRI, triple));
+            }
+
+            @Override
+            public void quad(Quad quad) {
+                quadConsumer.accept(quad);
+            }
+        };
+    }
+
+    public CompletableFuture<DatasetGraph> getQueryResultDataset(String handlerId) throws CompletionException {
+        DatasetGraph dataset = DatasetGraphFactory.create();
+        return streamQueryResult(handlerId, StreamRDFLib.dataset(dataset))
+                .thenApply(status -> dataset);
+    }
+
+    /**
+     * Gets the quads of a query result as a {@link QuadTable}, parsed directly from the response.
+     *
+     * @param dictionary the dictionary to encode terms in, or {@code null} to use a new dictionary for the result.
+     */
+    public CompletableFuture<QuadTable> getQueryResultTable(String handlerId, TermDictionary dictionary) throws CompletionException {
+        QuadTable quadTable = new QuadTable(dictionary == null ? new TermDictionary() : dictionary);
+        return streamQueryResult(handlerId, quadTable.asStreamRDF())
+                .thenApply(status -> quadTable);
+    }
+
+    public CompletableFuture<DiskBackedQueryResult> getQueryResultOnDisk(String handlerId) throws CompletionException {
+        return getQueryResultOnDisk(handlerId, Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Writes the N-Quad lines of a query result to a temporary memory-mapped file in {@code directory} as they are read
+     * from the response, for results too large to hold on the heap.
+     *
+     * @return a {@code CompletableFuture} completed with the disk-backed result, which must be closed to delete the file.
+     */
+    public CompletableFuture<DiskBackedQueryResult> getQueryResultOnDisk(String handlerId, Path directory)
+            throws CompletionException {
+
+        HttpRequest request = apiRequestService.createHttpGETRequest(createQueryResultUri(handlerId));
+
+        return apiRequestService.sendAsyncStreamRequest(request)
+                .thenApply(inputStream -> {
+                    MappedRecordFile records;
+                    try {
+                        records = new MappedRecordFile(directory, MappedRecordFile.DEFAULT_SEGMENT_SIZE);
+                    } catch (StorageException e) {
+                        closeQuietly(inputStream);
+                        throw e;
+                    }
+                    try {
+                        return new DiskBackedQueryResult(NQuadsResultParser.spill(inputStream, records), records);
+                    } catch (RuntimeException e) {
+                        records.close();
+                        throw e;
+                    }
+                });
+    }
+
+    private static void closeQuietly(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            LOGGER.warn("Exception closing query result stream: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Runs a query and polls for its result, streaming the N-Quads of the completed result into {@code sink}.
+     * Pending poll responses contain no data, so only the completed result is passed to {@code sink}.
+     *
+     * @return a {@code CompletableFuture} completed with the {@code status} of the completed query result.
+     */
+    public CompletableFuture<String> streamQuery(SparqlQueryType type, String query, StreamRDF sink, PollingOptions pollingOptions)
+            throws CompletionException {
+
+        return query(type, query)
+                .thenCompose(handlerId -> ResultPoller.poll(apiRequestService, Endpoint.QUERY_RESULT, handlerId.getHandlerId(),
+                        () -> streamQueryResult(handlerId.getHandlerId(), sink),
+                        Function.identity(),
+                        pollingOptions));
+    }
+
+    /**
+     * Streams the rows of a {@code SELECT} query result to {@code rowConsumer} as they are parsed from the response,
+     * without holding the result in memory.
+     *
+     * @param columns     the variables to project, or {@code null} for all variables of the result.
+     *                    Values of other variables are skipped without being decoded.
+     * @param dictionary  the dictionary to encode row values in, or {@code null} to use a new dictionary for the result.
+     * @param rowConsumer called with each row, in the order of the result.
+     * @return a {@code CompletableFuture} completed with the {@code status} of the query result once the response is parsed.
+     */
+    public CompletableFuture<String> streamSelectResult(String handlerId, List<String> columns, TermDictionary dictionary,
+                                                        Consumer<SelectRow> rowConsumer) throws CompletionException {
+
+        HttpRequest request = apiRequestService.createHttpGETRequest(createQueryResultUri(handlerId));
+        TermDictionary rowDictionary = dictionary == null ? new TermDictionary() : dictionary;
+
+        return apiRequestService.sendAsyncStreamRequest(request)
+                .thenApply(inputStream -> SelectResultParser.parse(inputStream, columns, rowDictionary, rowConsumer).getStatus());
+    }
+
+    /**
+     * Runs a {@code SELECT} query and polls for its result, streaming the rows of the completed result to {@code rowConsumer}.
+     *
+     * @return a {@code CompletableFuture} completed with the {@code status} of the completed query result.
+     * @see #streamSelectResult(String, List, TermDictionary, Consumer)
+     */
+    public CompletableFuture<String> streamSelect(String query, List<String> columns, TermDictionary dictionary,
+                                                  Consumer<SelectRow> rowConsumer, PollingOptions pollingOptions)
+            throws CompletionException {
+
+        return query(SparqlQueryType.SELECT, query)
+                .thenCompose(handlerId -> ResultPoller.poll(apiRequestService, Endpoint.QUERY_RESULT, handlerId.getHandlerId(),
+                        () -> streamSelectResult(handlerId.getHandlerId(), columns, dictionary, rowConsumer),
+                        Function.identity(),
+                        pollingOptions));
+    }
+
+    public CompletableFuture<AskResult> getAskResult(String handlerId) throws CompletionException {
+        HttpRequest request = apiRequestService.createHttpGETRequest(createQueryResultUri(handlerId));
+
+        return apiRequestService.sendAsyncStreamRequest(request)
+                .thenApply(inputStream -> {
+                    SelectResultParser.Result result = SelectResultParser.parse(inputStream, List.of(), new TermDictionary(), row -> {
+                    });
+                    return new AskResult(result.getStatus(), result.getBooleanValue());
+                });
+    }
+
+    /**
+     * Runs an {@code ASK} query and polls for its result.
+     *
+     * @return a {@code CompletableFuture} completed with the completed query result.
+     */
+    public CompletableFuture<AskResult> askAndAwait(String query, PollingOptions pollingOptions) throws CompletionException {
+        return query(SparqlQueryType.ASK, query)
+                .thenCompose(handlerId -> ResultPoller.poll(apiRequestService, Endpoint.QUERY_RESULT, handlerId.getHandlerId(),
+                        () -> getAskResult(handlerId.getHandlerId()),
+                        AskResult::getStatus,
+                        pollingOptions));
+    }
+
+    /**
+     * Runs a query and polls for its result. If a query cache is configured, the result of an equal query is returned
+     * from the cache without calling the DKG. Queries are equal if their type and normalised text are equal.
+     *
+     * @return a {@code CompletableFuture} completed with the completed query result.
+     */
+    public CompletableFuture<QueryResult> queryAndAwait(SparqlQueryType type, String query, PollingOptions pollingOptions)
+            throws CompletionException {
+
+        if (queryCache == null) {
+            return queryAndAwaitUncached(type, query, pollingOptions);
+        }
+        return queryCache.get(createCacheKey(type, query), () -> queryAndAwaitUncached(type, query, pollingOptions));
+    }
+
+    private CompletableFuture<QueryResult> queryAndAwaitUncached(SparqlQueryType type, String query, PollingOptions pollingOptions) {
+        return query(type, query)
+                .thenCompose(handlerId -> ResultPoller.poll(apiRequestService, Endpoint.QUERY_RESULT, handlerId.getHandlerId(),
+                        () -> getQueryResult(handlerId.getHandlerId()),
+                        QueryResult::getStatus,
+                        pollingOptions));
+    }
+
+    /**
+     * Removes all cached query results. Called when this client publishes, provisions or updates an asset,
+     * as the change may alter the result of any query. Has no effect if no query cache is configured.
+     */
+    public void invalidateQueryCache() {
+        if (queryCache != null) {
+            LOGGER.debug("Invalidating query result cache");
+            queryCache.invalidateAll();
+        }
+    }
+
+    private static String createCacheKey(SparqlQueryType type, String query) {
+        return type.getValue() + '\n' + SparqlText.normalise(query);
+    }
+
+    private static boolean isEmpty(List<String> data) {
+        return data == null || data.isEmpty();
+    }
+
+    private URI createQueryResultUri(String handlerId) {
+        return apiRequestService.getEndpointCatalog().resultUri(Endpoint.QUERY_RESULT, handlerId);
+    }
+
     public CompletableFuture<HandlerId> proofs(List<NQuad> nQuads, List<String> assertionIds)
             throws CompletionException {
 
-        URI uri = UriUtil.builder().httpUrlOptions(apiRequestService.getHttpUrlOptions())
-                .path(PROOFS_PATH)
-                .queryParameters("assertions", assertionIds)
-                .build();
+        return proofs(() -> new NQuadsBodyChunks(nQuads.iterator()), assertionIds);
+    }
+
+    /**
+     * Requests proofs for the N-Quads of {@code nQuads}, which are encoded into the request body as it is sent.
+     * The iterator is consumed by the request, so the body can only be sent once. If the HTTP client sends it again,
+     * e.g. on a redirect, the request fails with an {@code IllegalStateException} rather than sending part of the N-Quads.
+     */
+    public CompletableFuture<HandlerId> proofs(Iterator<NQuad> nQuads, List<String> assertionIds)
+            throws CompletionException {
+
+        AtomicBoolean sent = new AtomicBoolean();
+        return proofs(() -> {
+            if (sent.getAndSet(true)) {
+                throw new IllegalStateException("N-Quads iterator already consumed, the proofs request body cannot be sent again.");
+            }
+            return new NQuadsBodyChunks(nQuads);
+        }, assertionIds);
+    }
+
+    public CompletableFuture<HandlerId> proofs(Stream<NQuad> nQuads, List<String> assertionIds)
+            throws CompletionException {
+
+        return proofs(nQuads.iterator(), assertionIds);
+    }
+
+    private CompletableFuture<HandlerId> proofs(Supplier<Iterator<byte[]>> nQuadsChunks, List<String> assertionIds) {
+        URI uri = apiRequestService.getEndpointCatalog().uri(Endpoint.PROOFS, "assertions", assertionIds);
 
         MultiPartBody.MultiPartBodyBuilder bodyPublisher = MultiPartBody
                 .builder()
-                .addPart("nquads", nQuads.toString());
+                .addStreamingPart("nquads", HttpMediaType.APPLICATION_N_QUADS.value(), nQuadsChunks);
 
         HttpRequest request = apiRequestService.createMultiPartFormRequest(uri, bodyPublisher);
         return apiRequestService.sendAsyncRequest(request)
@@ -88,13 +381,130 @@ public class QueryService {
 //    }
 
     public CompletableFuture<ProofsResult> getProofsResult(String handlerId) throws CompletionException {
-        URI uri = UriUtil.builder().httpUrlOptions(apiRequestService.getHttpUrlOptions())
-                .pathSegments(List.of(PROOFS_RESULT_PATH, handlerId))
-                .build();
+        URI uri = apiRequestService.getEndpointCatalog().resultUri(Endpoint.PROOFS_RESULT, handlerId);
 
         HttpRequest request = apiRequestService.createHttpGETRequest(uri);
 
         return apiRequestService.sendAsyncRequest(request)
                 .thenApply(body -> apiRequestService.transformBody(body, ProofsResult.class));
     }
+
+    /**
+     * Requests proofs for the N-Quads in each assertion and polls for the result. If a proof cache is configured,
+     * only the triples without a cached proof for every assertion are requested, and the cached and requested proofs
+     * are merged into one result. If every proof is cached, the DKG is not called.
+     * <p>
+     * Cached proofs are looked up by the hash of each N-Quad line, and requested proofs cached by their {@code tripleHash}.
+     *
+     * @return a {@code CompletableFuture} completed with the proofs result, with the proofs of each assertion
+     * in the order of {@code nQuads}.
+     */
+    public CompletableFuture<ProofsResult> proofsAndAwait(List<NQuad> nQuads, List<String> assertionIds,
+                                                          PollingOptions pollingOptions) throws CompletionException {
+        if (proofCache == null) {
+            return proofsAndAwaitUncached(nQuads, assertionIds, pollingOptions);
+        }
+
+        List<String> tripleHashes = new ArrayList<>(nQuads.size());
+        Map<String, Map<String, Proof>> cachedProofs = new HashMap<>();
+        List<NQuad> missingNQuads = new ArrayList<>();
+        for (NQuad nQuad : nQuads) {
+            String tripleHash = ProofVerifier.tripleHash(nQuad.toString());
+            tripleHashes.add(tripleHash);
+            boolean missing = false;
+            for (String assertionId : assertionIds) {
+                Proof proof = proofCache.get(assertionId, tripleHash);
+                if (proof == null) {
+                    missing = true;
+                } else {
+                    cachedProofs.computeIfAbsent(assertionId, id -> new HashMap<>()).put(tripleHash, proof);
+                }
+            }
+            if (missing) {
+                missingNQuads.add(nQuad);
+            }
+        }
+
+        if (missingNQuads.isEmpty()) {
+            LOGGER.debug("Returning {} cached proofs for {} assertions", nQuads.size(), assertionIds.size());
+            return CompletableFuture.completedFuture(mergeProofs(tripleHashes, assertionIds, cachedProofs, null));
+        }
+        LOGGER.debug("Requesting proofs for {} of {} triples", missingNQuads.size(), nQuads.size());
+        return proofsAndAwaitUncached(missingNQuads, assertionIds, pollingOptions)
+                .thenApply(result -> {
+                    if (!COMPLETED_STATUS.equals(result.getStatus())) {
+                        return result;
+                    }
+                    if (result.getData() != null) {
+                        for (ProofsResultData data : result.getData()) {
+                            if (data.getProofs() != null) {
+                                data.getProofs().forEach(proof -> proofCache.put(data.getAssertionId(), proof));
+                            }
+                        }
+                    }
+                    return mergeProofs(tripleHashes, assertionIds, cachedProofs, result);
+                });
+    }
+
+    private CompletableFuture<ProofsResult> proofsAndAwaitUncached(List<NQuad> nQuads, List<String> assertionIds,
+                                                                   PollingOptions pollingOptions) {
+        return proofs(nQuads, assertionIds)
+                .thenCompose(handlerId -> ResultPoller.poll(apiRequestService, Endpoint.PROOFS_RESULT, handlerId.getHandlerId(),
+                        () -> getProofsResult(handlerId.getHandlerId()),
+                        ProofsResult::getStatus,
+                        pollingOptions));
+    }
+
+    /**
+     * Merges the cached proofs of each triple with the proofs of a completed request, in the order of {@code tripleHashes}.
+     * Requested proofs which do not match a triple hash are appended, so no returned proof is dropped.
+     */
+    private static ProofsResult mergeProofs(List<String> tripleHashes, List<String> assertionIds,
+                                            Map<String, Map<String, Proof>> cachedProofs, ProofsResult requested) {
+        Map<String, Map<String, Proof>> requestedProofs = new HashMap<>();
+        if (requested != null && requested.getData() != null) {
+            for (ProofsResultData data : requested.getData()) {
+                Map<String, Proof> proofsByHash = requestedProofs.computeIfAbsent(data.getAssertionId(), id -> new HashMap<>());
+                if (data.getProofs() != null) {
+                    data.getProofs().forEach(proof -> proofsByHash.put(String.valueOf(proof.getTripleHash()).toLowerCase(), proof));
+                }
+            }
+        }
+
+        List<ProofsResultData> mergedData = new ArrayList<>(assertionIds.size());
+        for (String assertionId : assertionIds) {
+            Map<String, Proof> proofsByHash = requestedProofs.getOrDefault(assertionId, new HashMap<>());
+            Map<String, Proof> cachedProofsByHash = cachedProofs.getOrDefault(assertionId, Map.of());
+            List<Proof> proofs = new ArrayList<>(tripleHashes.size());
+            for (String tripleHash : tripleHashes) {
+                Proof proof = proofsByHash.remove(tripleHash);
+                if (proof == null) {
+                    proof = cachedProofsByHash.get(tripleHash);
+                }
+                if (proof != null) {
+                    proofs.add(proof);
+                }
+            }
+            proofs.addAll(proofsByHash.values());
+
+            ProofsResultData data = new ProofsResultData();
+            data.setAssertionId(assertionId);
+            data.setProofs(proofs);
+            mergedData.add(data);
+        }
+
+        ProofsResult merged = new ProofsResult();
+        merged.setStatus(COMPLETED_STATUS);
+        merged.setData(mergedData);
+        return merged;
+    }
+
+    /**
+     * Removes all cached proofs. Has no effect if no proof cache is configured.
+     */
+    public void invalidateProofCache() {
+        if (proofCache != null) {
+            proofCache.invalidateAll();
+        }
+    }
 }
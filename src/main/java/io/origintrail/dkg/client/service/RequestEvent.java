@@ -0,0 +1,46 @@
+package io.origintrail.dkg.client.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for each request sent to a DKG node, submitting an operation or requesting its result,
+ * lasting until the response is received. For a streamed response, it ends when the response headers are received.
+ */
+@Name("io.origintrail.dkg.Request")
+@Label("DKG Request")
+@Category("DKG Client")
+@Description("A request sent to a DKG node")
+@StackTrace(false)
+final class RequestEvent extends Event {
+
+    @Label("Endpoint")
+    @Description("The endpoint path, or null if the request URI is not an endpoint of the node")
+    String endpoint;
+
+    @Label("Node")
+    String node;
+
+    @Label("Handler Id")
+    @Description("The handler id of a result request")
+    String handlerId;
+
+    @Label("Request Bytes")
+    @Description("The length of the request body, or -1 if unknown")
+    @DataAmount
+    long requestBytes;
+
+    @Label("Response Bytes")
+    @Description("The length of the response body, or of a streamed response its Content-Length, or -1 if unknown")
+    @DataAmount
+    long responseBytes;
+
+    @Label("Status Code")
+    @Description("The response status code, or 0 if the request failed without a response")
+    int statusCode;
+}
@@ -1,8 +1,11 @@
 package io.origintrail.dkg.client.service;
 
+import io.origintrail.dkg.client.http.Endpoint;
+import io.origintrail.dkg.client.index.EntityIdTrie;
+import io.origintrail.dkg.client.index.KeywordIndex;
+import io.origintrail.dkg.client.model.PollingOptions;
 import io.origintrail.dkg.client.model.response.HandlerId;
 import io.origintrail.dkg.client.model.response.ResolveResult;
-import io.origintrail.dkg.client.util.UriUtil;
 
 import java.net.URI;
 import java.net.http.HttpRequest;
@@ -12,20 +15,27 @@ import java.util.concurrent.CompletionException;
 
 public class ResolveService {
 
-    private static final String RESOLVE_PATH = "resolve";
-    private static final String RESOLVE_RESULT_PATH = "resolve/result";
-
     private final ApiRequestService apiRequestService;
+    private final KeywordIndex keywordIndex;
+    private final EntityIdTrie entityIdTrie;
 
     public ResolveService(ApiRequestService apiRequestService) {
-       this.apiRequestService = apiRequestService;
+        this(apiRequestService, null, null);
+    }
+
+    /**
+     * @param apiRequestService the service used to send requests to the DKG.
+     * @param keywordIndex      if not {@code null}, the metadata of resolved assertions is added to the index.
+     * @param entityIdTrie      if not {@code null}, the ids and types of resolved entities are added to the trie.
+     */
+    public ResolveService(ApiRequestService apiRequestService, KeywordIndex keywordIndex, EntityIdTrie entityIdTrie) {
+        this.apiRequestService = apiRequestService;
+        this.keywordIndex = keywordIndex;
+        this.entityIdTrie = entityIdTrie;
     }
 
     public CompletableFuture<HandlerId> resolve(List<String> assertionIds) throws CompletionException {
-        URI uri = UriUtil.builder().httpUrlOptions(apiRequestService.getHttpUrlOptions())
-                .path(RESOLVE_PATH)
-                .queryParameters("ids", assertionIds)
-                .build();
+        URI uri = apiRequestService.getEndpointCatalog().uri(Endpoint.RESOLVE, "ids", assertionIds);
 
         HttpRequest request = apiRequestService.createHttpGETRequest(uri);
 
@@ -33,12 +43,38 @@ public class ResolveService {
     }
 
     public CompletableFuture<ResolveResult> getResolveResult(String handlerId) throws CompletionException {
-        URI uri = UriUtil.builder().httpUrlOptions(apiRequestService.getHttpUrlOptions())
-                .pathSegments(List.of(RESOLVE_RESULT_PATH, handlerId))
-                .build();
+        URI uri = apiRequestService.getEndpointCatalog().resultUri(Endpoint.RESOLVE_RESULT, handlerId);
 
         HttpRequest request = apiRequestService.createHttpGETRequest(uri);
 
-        return apiRequestService.sendAsyncRequest(request).thenApply(body -> apiRequestService.transformBody(body, ResolveResult.class));
+        CompletableFuture<ResolveResult> resolveResult = apiRequestService.sendAsyncRequest(request)
+                .thenApply(body -> apiRequestService.transformBody(body, ResolveResult.class));
+
+        if (keywordIndex == null && entityIdTrie == null) {
+            return resolveResult;
+        }
+        return resolveResult.thenApply(result -> {
+            if (keywordIndex != null) {
+                keywordIndex.indexResolveResult(result);
+            }
+            if (entityIdTrie != null) {
+                entityIdTrie.indexResolveResult(result);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Resolves the assertions and polls for the result.
+     *
+     * @return a {@code CompletableFuture} completed with the first resolve result which is no longer pending.
+     */
+    public CompletableFuture<ResolveResult> resolveAndAwait(List<String> assertionIds, PollingOptions pollingOptions)
+            throws CompletionException {
+        return resolve(assertionIds)
+                .thenCompose(handlerId -> ResultPoller.poll(apiRequestService, Endpoint.RESOLVE_RESULT, handlerId.getHandlerId(),
+                        () -> getResolveResult(handlerId.getHandlerId()),
+                        ResolveResult::getStatus,
+                        pollingOptions));
     }
 }
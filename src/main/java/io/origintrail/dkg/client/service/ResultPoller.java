@@ -0,0 +1,127 @@
+package io.origintrail.dkg.client.service;
+
+import io.origintrail.dkg.client.exception.PollingTimeoutException;
+import io.origintrail.dkg.client.http.Endpoint;
+import io.origintrail.dkg.client.metrics.ClientMetrics;
+import io.origintrail.dkg.client.model.PollingOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Polls a DKG result endpoint until the operation identified by a {@code handler_id} is no longer pending.
+ * Polls are scheduled without blocking a thread between attempts. The number of polls and the time to the terminal
+ * status are reported to the {@link ClientMetrics} of the {@link ApiRequestService}, and recorded in a
+ * {@link HandlerCompleteEvent}, with a {@link PollEvent} for each poll, when Flight Recorder events are enabled.
+ */
+class ResultPoller {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResultPoller.class);
+
+    static final String PENDING_STATUS = "PENDING";
+    private static final String TIMEOUT_STATUS = "TIMEOUT";
+    private static final String ERROR_STATUS = "ERROR";
+
+    private ResultPoller() {
+    }
+
+    static boolean isPending(String status) {
+        return PENDING_STATUS.equals(status);
+    }
+
+    /**
+     * @param apiRequestService the service sending the result requests, whose metrics polling is reported to.
+     * @param resultEndpoint    the result endpoint polled.
+     * @param handlerId         the {@code handler_id} of the operation.
+     * @param resultRequest     supplies a request for the current result of the operation.
+     * @param status            the status of a result.
+     * @param pollingOptions    the polling interval and maximum number of attempts.
+     * @return a {@code CompletableFuture} completed with the first result which is no longer pending,
+     * or completed exceptionally with a {@link PollingTimeoutException} if all attempts are exhausted.
+     */
+    static <T> CompletableFuture<T> poll(ApiRequestService apiRequestService, Endpoint resultEndpoint, String handlerId,
+                                         Supplier<CompletableFuture<T>> resultRequest, Function<T, String> status,
+                                         PollingOptions pollingOptions) {
+        ClientMetrics metrics = apiRequestService.getMetrics();
+        HandlerCompleteEvent event = new HandlerCompleteEvent();
+        if (metrics == ClientMetrics.NOOP && !event.isEnabled() && !new PollEvent().isEnabled()) {
+            return poll(resultRequest, status, pollingOptions, 1);
+        }
+        AtomicInteger polls = new AtomicInteger();
+        event.begin();
+        long start = System.nanoTime();
+        return poll(() -> request(resultEndpoint, handlerId, resultRequest, status, polls.incrementAndGet()),
+                status, pollingOptions, 1).whenComplete((result, error) -> {
+            long elapsed = System.nanoTime() - start;
+            event.end();
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (error == null) {
+                metrics.pollingCompleted(resultEndpoint, apiRequestService.getNode(), handlerId, polls.get(),
+                        status.apply(result), elapsed);
+            } else {
+                metrics.pollingFailed(resultEndpoint, apiRequestService.getNode(), handlerId, polls.get(), cause, elapsed);
+            }
+            if (event.shouldCommit()) {
+                event.endpoint = resultEndpoint.path();
+                event.handlerId = handlerId;
+                event.polls = polls.get();
+                if (error == null) {
+                    event.status = status.apply(result);
+                } else {
+                    event.status = cause instanceof PollingTimeoutException ? TIMEOUT_STATUS : ERROR_STATUS;
+                }
+                event.commit();
+            }
+        });
+    }
+
+    /**
+     * Requests the current result, recording the request in a {@link PollEvent} if the event is enabled.
+     */
+    private static <T> CompletableFuture<T> request(Endpoint resultEndpoint, String handlerId,
+                                                    Supplier<CompletableFuture<T>> resultRequest,
+                                                    Function<T, String> status, int attempt) {
+        PollEvent event = new PollEvent();
+        if (!event.isEnabled()) {
+            return resultRequest.get();
+        }
+        event.begin();
+        return resultRequest.get().whenComplete((result, error) -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.endpoint = resultEndpoint.path();
+                event.handlerId = handlerId;
+                event.attempt = attempt;
+                event.status = error == null ? status.apply(result) : ERROR_STATUS;
+                event.commit();
+            }
+        });
+    }
+
+    private static <T> CompletableFuture<T> poll(Supplier<CompletableFuture<T>> resultRequest, Function<T, String> status,
+                                                 PollingOptions pollingOptions, int attempt) {
+        Executor delayedExecutor = CompletableFuture.delayedExecutor(
+                pollingOptions.getInterval().toMillis(), TimeUnit.MILLISECONDS);
+
+        return CompletableFuture.supplyAsync(resultRequest, delayedExecutor)
+                .thenCompose(request -> request)
+                .thenCompose(result -> {
+                    if (!isPending(status.apply(result))) {
+                        return CompletableFuture.completedFuture(result);
+                    }
+                    if (attempt >= pollingOptions.getMaxAttempts()) {
+                        LOGGER.warn("Result still pending after {} polling attempts", attempt);
+                        throw new CompletionException(new PollingTimeoutException(
+                                String.format("Result still pending after %d polling attempts.", attempt)));
+                    }
+                    return poll(resultRequest, status, pollingOptions, attempt + 1);
+                });
+    }
+}
@@ -0,0 +1,154 @@
+package io.origintrail.dkg.client.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.origintrail.dkg.client.exception.ResponseBodyException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static io.origintrail.dkg.client.service.ApiRequestService.OBJECT_MAPPER;
+
+/**
+ * Iterates the {@code itemListElement} entries of a search result response, parsing each item from the
+ * response stream as it is requested. Only the current item is held in memory.
+ * <p>
+ * The iterator must be closed once finished with, to release the underlying HTTP connection.
+ *
+ * @param <T> the search result item type.
+ */
+public class SearchResultIterator<T> implements Iterator<T>, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SearchResultIterator.class);
+
+    private static final String ITEM_LIST_FIELD = "itemListElement";
+    private static final String STATUS_FIELD = "status";
+
+    private final JsonParser parser;
+    private final ObjectReader itemReader;
+
+    private String status;
+    private boolean inItemList;
+    private boolean finished;
+    private T nextItem;
+
+    SearchResultIterator(InputStream inputStream, ObjectReader itemReader) throws ResponseBodyException {
+        this.itemReader = itemReader;
+        try {
+            this.parser = OBJECT_MAPPER.getFactory().createParser(inputStream);
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected search result to be a JSON object.");
+            }
+            inItemList = seekItemList();
+        } catch (IOException e) {
+            closeQuietly(inputStream);
+            LOGGER.error("Exception parsing response body content: {}", e.getMessage());
+            throw new ResponseBodyException("Exception parsing response body content.", e);
+        }
+    }
+
+    /**
+     * @return the {@code status} of the search if present in the response, i.e. while the search is still in progress.
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    @Override
+    public boolean hasNext() throws ResponseBodyException {
+        if (nextItem != null) {
+            return true;
+        }
+        if (finished) {
+            return false;
+        }
+        try {
+            nextItem = readNextItem();
+        } catch (IOException e) {
+            LOGGER.error("Exception parsing response body content: {}", e.getMessage());
+            close();
+            throw new ResponseBodyException("Exception parsing response body content.", e);
+        }
+        if (nextItem == null) {
+            close();
+        }
+        return nextItem != null;
+    }
+
+    @Override
+    public T next() throws ResponseBodyException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T item = nextItem;
+        nextItem = null;
+        return item;
+    }
+
+    @Override
+    public void close() {
+        finished = true;
+        try {
+            parser.close();
+        } catch (IOException e) {
+            LOGGER.warn("Exception closing search result stream: {}", e.getMessage());
+        }
+    }
+
+    private T readNextItem() throws IOException {
+        while (inItemList) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT) {
+                return itemReader.readValue(parser);
+            }
+            if (token == JsonToken.END_ARRAY) {
+                inItemList = seekItemList();
+            } else if (token == null) {
+                return null;
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Advances through the top level fields of the response until the start of the item list,
+     * recording the {@code status} field if seen.
+     *
+     * @return {@code true} if positioned at the start of the item list, {@code false} if the end of the response was reached.
+     */
+    private boolean seekItemList() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken valueToken = parser.nextToken();
+            if (ITEM_LIST_FIELD.equals(fieldName) && valueToken == JsonToken.START_ARRAY) {
+                return true;
+            }
+            if (STATUS_FIELD.equals(fieldName) && valueToken == JsonToken.VALUE_STRING) {
+                status = parser.getText();
+            }
+            parser.skipChildren();
+        }
+        if (token != JsonToken.END_OBJECT) {
+            throw new JsonParseException(parser, "Unexpected end of search result.");
+        }
+        return false;
+    }
+
+    private static void closeQuietly(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            LOGGER.warn("Exception closing search result stream: {}", e.getMessage());
+        }
+    }
+}
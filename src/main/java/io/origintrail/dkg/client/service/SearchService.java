@@ -1,34 +1,93 @@
 package io.origintrail.dkg.client.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.origintrail.dkg.client.cache.CacheOptions;
+import io.origintrail.dkg.client.cache.ResultCache;
 import io.origintrail.dkg.client.exception.RequestValidationException;
+import io.origintrail.dkg.client.http.Endpoint;
+import io.origintrail.dkg.client.index.EntityIdMatch;
+import io.origintrail.dkg.client.index.EntityIdTrie;
+import io.origintrail.dkg.client.index.KeywordIndex;
 import io.origintrail.dkg.client.model.AssertionSearchOptions;
 import io.origintrail.dkg.client.model.EntitySearchOptions;
+import io.origintrail.dkg.client.model.PollingOptions;
+import io.origintrail.dkg.client.model.response.AssertionSearchResult;
+import io.origintrail.dkg.client.model.response.AssertionSearchResultItem;
+import io.origintrail.dkg.client.model.response.EntitySearchResult;
+import io.origintrail.dkg.client.model.response.EntitySearchResultItem;
 import io.origintrail.dkg.client.model.response.HandlerId;
-import io.origintrail.dkg.client.util.UriUtil;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.URI;
 import java.net.http.HttpRequest;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static io.origintrail.dkg.client.service.ApiRequestService.OBJECT_MAPPER;
 
 public class SearchService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SearchService.class);
 
-    private static final String ENTITIES_SEARCH_PATH = "entities:search";
-    private static final String ENTITIES_SEARCH_RESULT_PATH = "entities:search/result";
-    private static final String ASSERTIONS_SEARCH_PATH = "assertions:search";
-    private static final String ASSERTIONS_SEARCH_RESULT_PATH = "assertions:search/result";
+    private static final ObjectReader ENTITY_ITEM_READER = OBJECT_MAPPER.readerFor(EntitySearchResultItem.class);
+    private static final ObjectReader ASSERTION_ITEM_READER = OBJECT_MAPPER.readerFor(AssertionSearchResultItem.class);
+
+    private static final String COMPLETED_STATUS = "COMPLETED";
+
+    static final int AUTOCOMPLETE_SEARCH_LIMIT = 100;
 
     private final ApiRequestService apiRequestService;
+    private final ResultCache<Map<String, String>, EntitySearchResult> entitiesSearchCache;
+    private final ResultCache<Map<String, String>, AssertionSearchResult> assertionsSearchCache;
+    private final KeywordIndex keywordIndex;
+    private final EntityIdTrie entityIdTrie;
 
     public SearchService(ApiRequestService apiRequestService) {
-       this.apiRequestService = apiRequestService;
+        this(apiRequestService, null);
+    }
+
+    public SearchService(ApiRequestService apiRequestService, CacheOptions searchCacheOptions) {
+        this(apiRequestService, searchCacheOptions, null, null);
+    }
+
+    /**
+     * @param apiRequestService  the service used to send requests to the DKG.
+     * @param searchCacheOptions if not {@code null}, results of {@link #searchEntities(EntitySearchOptions, PollingOptions)}
+     *                           and {@link #searchAssertions(AssertionSearchOptions, PollingOptions)} are cached,
+     *                           keyed by their normalised query parameters. Results of searches which did not
+     *                           complete, e.g. with status {@code FAILED}, are not cached. Each result returned
+     *                           from the cache is a copy, not shared with other callers.
+     * @param keywordIndex       if not {@code null}, the metadata of assertion search results is added to the index,
+     *                           and {@link #findAssertionIdsByKeyword(String, PollingOptions)} is answered from it.
+     * @param entityIdTrie       if not {@code null}, the ids and types of entity search results are added to the trie,
+     *                           and {@link #autocompleteEntities(EntitySearchOptions, int, PollingOptions)} is answered from it
+     *                           for prefixes already searched for.
+     */
+    public SearchService(ApiRequestService apiRequestService, CacheOptions searchCacheOptions, KeywordIndex keywordIndex,
+                         EntityIdTrie entityIdTrie) {
+        this.apiRequestService = apiRequestService;
+        this.keywordIndex = keywordIndex;
+        this.entityIdTrie = entityIdTrie;
+        if (searchCacheOptions != null) {
+            entitiesSearchCache = new ResultCache<>(searchCacheOptions, EntitySearchResult.class,
+                    result -> isCompleted(result.getStatus()), result -> isEmpty(result.getItemListElement()));
+            assertionsSearchCache = new ResultCache<>(searchCacheOptions, AssertionSearchResult.class,
+                    result -> isCompleted(result.getStatus()), result -> isEmpty(result.getItemListElement()));
+        } else {
+            entitiesSearchCache = null;
+            assertionsSearchCache = null;
+        }
     }
 
     public CompletableFuture<HandlerId> entitiesSearch(EntitySearchOptions entitySearchOptions)
@@ -36,10 +95,7 @@ public class SearchService {
 
         validateEntitySearchOptions(entitySearchOptions);
 
-        URI uri = UriUtil.builder().httpUrlOptions(apiRequestService.getHttpUrlOptions())
-                .path(ENTITIES_SEARCH_PATH)
-                .queryParameters(entitySearchOptions.getQueryParameters())
-                .build();
+        URI uri = apiRequestService.getEndpointCatalog().uri(Endpoint.ENTITIES_SEARCH, entitySearchOptions.getQueryParameters());
 
         HttpRequest request = apiRequestService.createHttpGETRequest(uri);
 
@@ -59,9 +115,7 @@ public class SearchService {
     public CompletableFuture<JsonNode> getEntitiesSearchResult(String handlerId)
             throws CompletionException {
 
-        URI uri = UriUtil.builder().httpUrlOptions(apiRequestService.getHttpUrlOptions())
-                .pathSegments(List.of(ENTITIES_SEARCH_RESULT_PATH, handlerId))
-                .build();
+        URI uri = apiRequestService.getEndpointCatalog().resultUri(Endpoint.ENTITIES_SEARCH_RESULT, handlerId);
 
         HttpRequest request = apiRequestService.createHttpGETRequest(uri);
 
@@ -69,15 +123,41 @@ public class SearchService {
                 .thenApply(body -> apiRequestService.transformBody(body, JsonNode.class));
     }
 
+    public CompletableFuture<EntitySearchResult> getTypedEntitiesSearchResult(String handlerId)
+            throws CompletionException {
+
+        HttpRequest request = apiRequestService.createHttpGETRequest(createResultUri(Endpoint.ENTITIES_SEARCH_RESULT, handlerId));
+
+        CompletableFuture<EntitySearchResult> searchResult = apiRequestService.sendAsyncRequest(request)
+                .thenApply(body -> apiRequestService.transformBody(body, EntitySearchResult.class));
+
+        if (entityIdTrie == null) {
+            return searchResult;
+        }
+        return searchResult.thenApply(result -> {
+            entityIdTrie.indexEntitySearchResult(result);
+            return result;
+        });
+    }
+
+    public CompletableFuture<SearchResultIterator<EntitySearchResultItem>> streamEntitiesSearchResult(String handlerId)
+            throws CompletionException {
+
+        return streamSearchResult(Endpoint.ENTITIES_SEARCH_RESULT, handlerId, ENTITY_ITEM_READER);
+    }
+
+    public CompletableFuture<Long> streamEntitiesSearchResult(String handlerId, Consumer<EntitySearchResultItem> itemConsumer)
+            throws CompletionException {
+
+        return streamEntitiesSearchResult(handlerId).thenApply(iterator -> consumeItems(iterator, itemConsumer));
+    }
+
     public CompletableFuture<HandlerId> assertionsSearch(AssertionSearchOptions assertionSearchOptions)
             throws CompletionException, RequestValidationException {
 
         validateAssertionSearchOptions(assertionSearchOptions);
 
-        URI uri = UriUtil.builder().httpUrlOptions(apiRequestService.getHttpUrlOptions())
-                .path(ASSERTIONS_SEARCH_PATH)
-                .queryParameters(assertionSearchOptions.getQueryParameters())
-                .build();
+        URI uri = apiRequestService.getEndpointCatalog().uri(Endpoint.ASSERTIONS_SEARCH, assertionSearchOptions.getQueryParameters());
 
         HttpRequest request = apiRequestService.createHttpGETRequest(uri);
 
@@ -96,13 +176,223 @@ public class SearchService {
     public CompletableFuture<JsonNode> getAssertionsSearchResult(String handlerId)
             throws CompletionException {
 
-        URI uri = UriUtil.builder().httpUrlOptions(apiRequestService.getHttpUrlOptions())
-                .pathSegments(List.of(ASSERTIONS_SEARCH_RESULT_PATH, handlerId))
-                .build();
+        URI uri = apiRequestService.getEndpointCatalog().resultUri(Endpoint.ASSERTIONS_SEARCH_RESULT, handlerId);
 
         HttpRequest request = apiRequestService.createHttpGETRequest(uri);
 
         return apiRequestService.sendAsyncRequest(request)
                 .thenApply(body -> apiRequestService.transformBody(body, JsonNode.class));
     }
+
+    public CompletableFuture<AssertionSearchResult> getTypedAssertionsSearchResult(String handlerId)
+            throws CompletionException {
+
+        HttpRequest request = apiRequestService.createHttpGETRequest(createResultUri(Endpoint.ASSERTIONS_SEARCH_RESULT, handlerId));
+
+        CompletableFuture<AssertionSearchResult> searchResult = apiRequestService.sendAsyncRequest(request)
+                .thenApply(body -> apiRequestService.transformBody(body, AssertionSearchResult.class));
+
+        if (keywordIndex == null) {
+            return searchResult;
+        }
+        return searchResult.thenApply(result -> {
+            keywordIndex.indexAssertionSearchResult(result);
+            return result;
+        });
+    }
+
+    public CompletableFuture<SearchResultIterator<AssertionSearchResultItem>> streamAssertionsSearchResult(String handlerId)
+            throws CompletionException {
+
+        return streamSearchResult(Endpoint.ASSERTIONS_SEARCH_RESULT, handlerId, ASSERTION_ITEM_READER);
+    }
+
+    public CompletableFuture<Long> streamAssertionsSearchResult(String handlerId, Consumer<AssertionSearchResultItem> itemConsumer)
+            throws CompletionException {
+
+        return streamAssertionsSearchResult(handlerId).thenApply(iterator -> consumeItems(iterator, itemConsumer));
+    }
+
+    private URI createResultUri(Endpoint endpoint, String handlerId) {
+        return apiRequestService.getEndpointCatalog().resultUri(endpoint, handlerId);
+    }
+
+    private <T> CompletableFuture<SearchResultIterator<T>> streamSearchResult(Endpoint endpoint, String handlerId, ObjectReader itemReader) {
+        HttpRequest request = apiRequestService.createHttpGETRequest(createResultUri(endpoint, handlerId));
+
+        return apiRequestService.sendAsyncStreamRequest(request)
+                .thenApply(inputStream -> new SearchResultIterator<>(inputStream, itemReader));
+    }
+
+    private <T> long consumeItems(SearchResultIterator<T> iterator, Consumer<T> itemConsumer) {
+        long count = 0;
+        try (iterator) {
+            while (iterator.hasNext()) {
+                itemConsumer.accept(iterator.next());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public CompletableFuture<EntitySearchResult> searchEntities(EntitySearchOptions entitySearchOptions, PollingOptions pollingOptions)
+            throws CompletionException, RequestValidationException {
+
+        if (entitiesSearchCache == null) {
+            return searchEntitiesUncached(entitySearchOptions, pollingOptions);
+        }
+        validateEntitySearchOptions(entitySearchOptions);
+        return entitiesSearchCache.get(createCacheKey(entitySearchOptions.getQueryParameters()),
+                () -> searchEntitiesUncached(entitySearchOptions, pollingOptions));
+    }
+
+    private CompletableFuture<EntitySearchResult> searchEntitiesUncached(EntitySearchOptions entitySearchOptions, PollingOptions pollingOptions) {
+        return entitiesSearch(entitySearchOptions)
+                .thenCompose(handlerId -> ResultPoller.poll(apiRequestService, Endpoint.ENTITIES_SEARCH_RESULT, handlerId.getHandlerId(),
+                        () -> getTypedEntitiesSearchResult(handlerId.getHandlerId()),
+                        EntitySearchResult::getStatus,
+                        pollingOptions));
+    }
+
+    public CompletableFuture<AssertionSearchResult> searchAssertions(AssertionSearchOptions assertionSearchOptions, PollingOptions pollingOptions)
+            throws CompletionException, RequestValidationException {
+
+        if (assertionsSearchCache == null) {
+            return searchAssertionsUncached(assertionSearchOptions, pollingOptions);
+        }
+        validateAssertionSearchOptions(assertionSearchOptions);
+        return assertionsSearchCache.get(createCacheKey(assertionSearchOptions.getQueryParameters()),
+                () -> searchAssertionsUncached(assertionSearchOptions, pollingOptions));
+    }
+
+    private CompletableFuture<AssertionSearchResult> searchAssertionsUncached(AssertionSearchOptions assertionSearchOptions, PollingOptions pollingOptions) {
+        return assertionsSearch(assertionSearchOptions)
+                .thenCompose(handlerId -> ResultPoller.poll(apiRequestService, Endpoint.ASSERTIONS_SEARCH_RESULT, handlerId.getHandlerId(),
+                        () -> getTypedAssertionsSearchResult(handlerId.getHandlerId()),
+                        AssertionSearchResult::getStatus,
+                        pollingOptions));
+    }
+
+    /**
+     * Finds the ids of assertions with the given keyword. If a {@link KeywordIndex} is configured and contains
+     * matching assertions, the result is returned from the index without calling the DKG. Otherwise the assertions
+     * are searched for on the DKG. The search may also match assertions which do not have the keyword, so found
+     * assertions are only added to the index with the metadata returned for them.
+     */
+    public CompletableFuture<List<String>> findAssertionIdsByKeyword(String keyword, PollingOptions pollingOptions)
+            throws CompletionException, RequestValidationException {
+
+        if (keywordIndex != null) {
+            List<String> indexedIds = keywordIndex.findByKeyword(keyword);
+            if (!indexedIds.isEmpty()) {
+                return CompletableFuture.completedFuture(indexedIds);
+            }
+        }
+
+        return searchAssertions(AssertionSearchOptions.builder(keyword).build(), pollingOptions)
+                .thenApply(result -> isEmpty(result.getItemListElement()) ? List.of() : result.getItemListElement().stream()
+                        .map(AssertionSearchResultItem::getId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Finds entities with ids starting with the {@code query} of {@code entitySearchOptions}, returning at most {@code maxResults} matches.
+     * If an {@link EntityIdTrie} is configured and the prefix, or a shorter prefix of it, has already been searched for,
+     * the matches are returned from the trie without calling the DKG. Otherwise a {@code prefix=true} entity search
+     * is run on the DKG and, when not truncated by its {@code limit}, the prefix is recorded as searched. The search is
+     * always sent with a {@code limit}, by default the larger of {@code maxResults} and {@value #AUTOCOMPLETE_SEARCH_LIMIT},
+     * so that a result truncated by the node's own default limit is not taken as complete.
+     */
+    public CompletableFuture<List<EntityIdMatch>> autocompleteEntities(EntitySearchOptions entitySearchOptions, int maxResults,
+                                                                       PollingOptions pollingOptions)
+            throws CompletionException, RequestValidationException {
+
+        validateEntitySearchOptions(entitySearchOptions);
+        String prefix = entitySearchOptions.getQuery();
+        boolean answerableLocally = entityIdTrie != null && StringUtils.isNotBlank(prefix)
+                && StringUtils.isAllBlank(entitySearchOptions.getIds(), entitySearchOptions.getIssuers(),
+                entitySearchOptions.getFramingCriteria());
+
+        if (answerableLocally && entityIdTrie.isSearched(prefix, entitySearchOptions.getTypes())) {
+            return CompletableFuture.completedFuture(entityIdTrie.find(prefix, entitySearchOptions.getTypes(), maxResults));
+        }
+
+        int limit = entitySearchOptions.getLimit() != null ? entitySearchOptions.getLimit()
+                : Math.max(maxResults, AUTOCOMPLETE_SEARCH_LIMIT);
+        EntitySearchOptions prefixSearchOptions = entitySearchOptions.toBuilder().prefix(true).limit(limit).build();
+        return searchEntities(prefixSearchOptions, pollingOptions)
+                .thenApply(result -> {
+                    List<EntitySearchResultItem> items = isEmpty(result.getItemListElement()) ? List.of() : result.getItemListElement();
+                    if (answerableLocally && items.size() < limit) {
+                        entityIdTrie.indexEntitySearchResult(result);
+                        entityIdTrie.markSearched(prefix, prefixSearchOptions.getTypes());
+                    }
+                    return items.stream()
+                            .filter(item -> item.getId() != null)
+                            .limit(Math.max(0, maxResults))
+                            .map(item -> new EntityIdMatch(item.getId(), item.getEntityType()))
+                            .collect(Collectors.toList());
+                });
+    }
+
+    public Flow.Publisher<EntitySearchResultItem> entitiesSearchPublisher(EntitySearchOptions entitySearchOptions, int pageSize,
+                                                                          PollingOptions pollingOptions)
+            throws RequestValidationException {
+
+        validateEntitySearchOptions(entitySearchOptions);
+
+        return new PagedSearchPublisher<>(
+                limit -> searchEntities(entitySearchOptions.toBuilder().limit(limit).build(), pollingOptions)
+                        .thenApply(EntitySearchResult::getItemListElement),
+                EntitySearchResultItem::getId,
+                pageSize,
+                entitySearchOptions.getLimit());
+    }
+
+    public Flow.Publisher<AssertionSearchResultItem> assertionsSearchPublisher(AssertionSearchOptions assertionSearchOptions, int pageSize,
+                                                                               PollingOptions pollingOptions)
+            throws RequestValidationException {
+
+        validateAssertionSearchOptions(assertionSearchOptions);
+
+        return new PagedSearchPublisher<>(
+                limit -> searchAssertions(new AssertionSearchOptions(assertionSearchOptions.getQuery(), assertionSearchOptions.getLoad(), limit), pollingOptions)
+                        .thenApply(AssertionSearchResult::getItemListElement),
+                AssertionSearchResultItem::getId,
+                pageSize,
+                assertionSearchOptions.getLimit());
+    }
+
+    /**
+     * Removes all cached search results. Has no effect if search result caching is not enabled.
+     */
+    public void clearSearchCache() {
+        if (entitiesSearchCache != null) {
+            entitiesSearchCache.invalidateAll();
+            assertionsSearchCache.invalidateAll();
+        }
+    }
+
+    /**
+     * Creates a cache key from search query parameters, independent of parameter order and surrounding whitespace.
+     * The key holds the parameters themselves, so no two different sets of parameters share a key.
+     */
+    static Map<String, String> createCacheKey(Map<String, String> queryParameters) {
+        Map<String, String> key = new TreeMap<>();
+        queryParameters.forEach((name, value) -> key.put(name, value == null ? "" : value.trim()));
+        return Collections.unmodifiableMap(key);
+    }
+
+    /**
+     * A completed search result has status {@code COMPLETED}, or no status, as the status is only set while the search
+     * is in progress or once it failed.
+     */
+    static boolean isCompleted(String status) {
+        return status == null || COMPLETED_STATUS.equals(status);
+    }
+
+    private static boolean isEmpty(List<?> items) {
+        return items == null || items.isEmpty();
+    }
 }
@@ -0,0 +1,302 @@
+package io.origintrail.dkg.client.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.origintrail.dkg.client.exception.ResponseBodyException;
+import io.origintrail.dkg.client.rdf.TermDictionary;
+import io.origintrail.dkg.client.sparql.SelectRow;
+import org.apache.jena.atlas.AtlasException;
+import org.apache.jena.datatypes.TypeMapper;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.riot.RiotException;
+import org.apache.jena.shared.JenaException;
+import org.apache.jena.sparql.util.NodeFactoryExtra;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static io.origintrail.dkg.client.service.ApiRequestService.OBJECT_MAPPER;
+
+/**
+ * Parses the rows of a {@code SELECT}, or the boolean of an {@code ASK}, query result token by token from the response stream.
+ * <p>
+ * The {@code data} of the result may be a SPARQL 1.1 JSON results object, with {@code head.vars} and
+ * {@code results.bindings} or {@code boolean}, or an array of binding objects. Binding values may be SPARQL JSON
+ * term objects, or strings in N-Triples term syntax, with other strings read as plain literals.
+ * <p>
+ * Each row is passed on as soon as it is read, with its values encoded in a {@link TermDictionary}.
+ * Values of variables not in the projected columns are skipped without being decoded.
+ */
+final class SelectResultParser {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SelectResultParser.class);
+
+    private static final String DATA_FIELD = "data";
+    private static final String STATUS_FIELD = "status";
+    private static final String HEAD_FIELD = "head";
+    private static final String VARS_FIELD = "vars";
+    private static final String RESULTS_FIELD = "results";
+    private static final String BINDINGS_FIELD = "bindings";
+    private static final String BOOLEAN_FIELD = "boolean";
+
+    private SelectResultParser() {
+    }
+
+    /**
+     * Parses the result in {@code inputStream}, passing each row to {@code rowConsumer}, and closes the stream once finished.
+     *
+     * @param columns     the variables to project, or {@code null} for the variables in the result {@code head},
+     *                    or if there is none, the variables bound in the rows. Each row then has the columns
+     *                    of the variables bound in it and the rows before it.
+     * @param dictionary  the dictionary to encode values in.
+     * @param rowConsumer called with each row, in the order of the result.
+     * @return the {@code status} and {@code boolean} of the result.
+     * @throws ResponseBodyException if the response is not valid JSON, or contains an invalid binding.
+     */
+    static Result parse(InputStream inputStream, List<String> columns, TermDictionary dictionary, Consumer<SelectRow> rowConsumer)
+            throws ResponseBodyException {
+
+        RowReader rowReader = new RowReader(columns, dictionary, rowConsumer);
+        Result result = new Result();
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected query result to be a JSON object.");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken valueToken = parser.nextToken();
+                if (DATA_FIELD.equals(fieldName)) {
+                    readData(parser, valueToken, rowReader, result);
+                } else {
+                    if (STATUS_FIELD.equals(fieldName) && valueToken == JsonToken.VALUE_STRING) {
+                        result.status = parser.getText();
+                    }
+                    parser.skipChildren();
+                }
+            }
+            if (token != JsonToken.END_OBJECT) {
+                throw new JsonParseException(parser, "Unexpected end of query result.");
+            }
+        } catch (IOException | AtlasException | RiotException e) {
+            LOGGER.error("Exception parsing response body content: {}", e.getMessage());
+            throw new ResponseBodyException("Exception parsing response body content.", e);
+        }
+        return result;
+    }
+
+    private static void readData(JsonParser parser, JsonToken token, RowReader rowReader, Result result) throws IOException {
+        if (token == JsonToken.START_ARRAY) {
+            rowReader.readBindings(parser);
+        } else if (token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE) {
+            result.booleanValue = token == JsonToken.VALUE_TRUE;
+        } else if (token == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken valueToken = parser.nextToken();
+                if (HEAD_FIELD.equals(fieldName) && valueToken == JsonToken.START_OBJECT) {
+                    rowReader.readHead(parser);
+                } else if (RESULTS_FIELD.equals(fieldName) && valueToken == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String resultsFieldName = parser.getCurrentName();
+                        if (parser.nextToken() == JsonToken.START_ARRAY && BINDINGS_FIELD.equals(resultsFieldName)) {
+                            rowReader.readBindings(parser);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else if (BOOLEAN_FIELD.equals(fieldName) && valueToken.isBoolean()) {
+                    result.booleanValue = valueToken == JsonToken.VALUE_TRUE;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } else {
+            parser.skipChildren();
+        }
+    }
+
+    /**
+     * The {@code status} and {@code boolean} of a parsed result.
+     */
+    static final class Result {
+        private String status;
+        private Boolean booleanValue;
+
+        String getStatus() {
+            return status;
+        }
+
+        /**
+         * @return the {@code boolean} of an {@code ASK} result, or {@code null} if the result has none.
+         */
+        Boolean getBooleanValue() {
+            return booleanValue;
+        }
+    }
+
+    private static class RowReader {
+
+        private final TermDictionary dictionary;
+        private final Consumer<SelectRow> rowConsumer;
+
+        private List<String> columns;
+        private Map<String, Integer> columnIndexes;
+        private boolean growColumns;
+
+        RowReader(List<String> columns, TermDictionary dictionary, Consumer<SelectRow> rowConsumer) {
+            this.dictionary = dictionary;
+            this.rowConsumer = rowConsumer;
+            if (columns != null) {
+                setColumns(List.copyOf(columns));
+            }
+        }
+
+        private void setColumns(List<String> columns) {
+            this.columns = columns;
+            this.columnIndexes = new HashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                columnIndexes.putIfAbsent(columns.get(i), i);
+            }
+        }
+
+        void readHead(JsonParser parser) throws IOException {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                if (parser.nextToken() == JsonToken.START_ARRAY && VARS_FIELD.equals(fieldName)) {
+                    List<String> vars = new ArrayList<>();
+                    JsonToken token;
+                    while ((token = parser.nextToken()) == JsonToken.VALUE_STRING) {
+                        vars.add(parser.getText());
+                    }
+                    if (token != JsonToken.END_ARRAY) {
+                        throw new JsonParseException(parser, "Expected query result variables to be an array of strings.");
+                    }
+                    if (columns == null) {
+                        setColumns(List.copyOf(vars));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        void readBindings(JsonParser parser) throws IOException {
+            JsonToken token;
+            if (columns == null) {
+                setColumns(List.of());
+                growColumns = true;
+            }
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                rowConsumer.accept(readRow(parser));
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new JsonParseException(parser, "Expected query result bindings to be an array of objects.");
+            }
+        }
+
+        private SelectRow readRow(JsonParser parser) throws IOException {
+            int[] termIds = new int[columns.size()];
+            Arrays.fill(termIds, SelectRow.UNBOUND);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String variable = parser.getCurrentName();
+                Integer column = columnIndexes.get(variable);
+                parser.nextToken();
+                if (column == null && growColumns) {
+                    column = addColumn(variable);
+                    termIds = Arrays.copyOf(termIds, columns.size());
+                    termIds[column] = SelectRow.UNBOUND;
+                }
+                if (column == null) {
+                    parser.skipChildren();
+                } else {
+                    termIds[column] = dictionary.encode(readTerm(parser));
+                }
+            }
+            return new SelectRow(columns, termIds, dictionary);
+        }
+
+        /**
+         * Adds a column for a variable first bound in a result without a {@code head}.
+         */
+        private int addColumn(String variable) {
+            List<String> grownColumns = new ArrayList<>(columns);
+            grownColumns.add(variable);
+            columns = List.copyOf(grownColumns);
+            columnIndexes.put(variable, columns.size() - 1);
+            return columns.size() - 1;
+        }
+
+        private static Node readTerm(JsonParser parser) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                return parseTerm(parser.getText());
+            }
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected query result binding to be a term object or string.");
+            }
+            String type = null;
+            String value = null;
+            String datatype = null;
+            String language = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                parser.nextToken();
+                switch (fieldName) {
+                    case "type":
+                        type = parser.getValueAsString();
+                        break;
+                    case "value":
+                        value = parser.getValueAsString();
+                        break;
+                    case "datatype":
+                        datatype = parser.getValueAsString();
+                        break;
+                    case "xml:lang":
+                        language = parser.getValueAsString();
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            if (type == null || value == null) {
+                throw new JsonParseException(parser, "Query result binding requires a type and value.");
+            }
+            switch (type) {
+                case "uri":
+                    return NodeFactory.createURI(value);
+                case "bnode":
+                    return NodeFactory.createBlankNode(value);
+                case "literal":
+                case "typed-literal":
+                    if (language != null && !language.isEmpty()) {
+                        return NodeFactory.createLiteral(value, language);
+                    }
+                    return datatype == null ? NodeFactory.createLiteral(value)
+                            : NodeFactory.createLiteral(value, TypeMapper.getInstance().getSafeTypeByName(datatype));
+                default:
+                    throw new JsonParseException(parser, String.format("Unsupported query result binding type: %s", type));
+            }
+        }
+
+        private static Node parseTerm(String term) {
+            if (term.startsWith("<") || term.startsWith("\"") || term.startsWith("_:")) {
+                try {
+                    return NodeFactoryExtra.parseNode(term);
+                } catch (JenaException e) {
+                    LOGGER.debug("Binding is not an N-Triples term, reading as a literal: {}", term);
+                }
+            }
+            return NodeFactory.createLiteral(term);
+        }
+    }
+}
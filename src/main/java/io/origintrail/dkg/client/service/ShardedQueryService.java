@@ -0,0 +1,215 @@
+package io.origintrail.dkg.client.service;
+
+import io.origintrail.dkg.client.exception.RequestValidationException;
+import io.origintrail.dkg.client.exception.UnexpectedException;
+import io.origintrail.dkg.client.model.HttpUrlOptions;
+import io.origintrail.dkg.client.model.ShardedQueryOptions;
+import io.origintrail.dkg.client.model.SparqlQueryType;
+import io.origintrail.dkg.client.sparql.SparqlText;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryException;
+import org.apache.jena.query.QueryFactory;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.syntax.PatternVars;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Runs a {@code CONSTRUCT} query over a large list of IRIs as shards, each binding a variable of the query
+ * to a slice of the IRIs with a {@code VALUES} block, spread across one or more DKG nodes.
+ * <p>
+ * At most {@code maxConcurrentShards} shards run at once. A shard is started as soon as a running shard completes,
+ * without blocking a thread while waiting. Shards are assigned to nodes in turn.
+ * The quads of completed shards are streamed as each shard's result is parsed, de-duplicated across shards.
+ */
+public class ShardedQueryService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardedQueryService.class);
+
+    private static final Pattern VARIABLE_NAME = Pattern.compile("[A-Za-z0-9_]+");
+    private static final String COMPLETED_STATUS = "COMPLETED";
+
+    private final List<QueryService> nodeQueryServices;
+
+    public ShardedQueryService(List<QueryService> nodeQueryServices) {
+        if (nodeQueryServices == null || nodeQueryServices.isEmpty()) {
+            throw new IllegalArgumentException("At least one node query service is required.");
+        }
+        this.nodeQueryServices = List.copyOf(nodeQueryServices);
+    }
+
+    /**
+     * Creates a {@code ShardedQueryService} spreading shards across each of the given nodes, sharing a single {@code HttpClient}.
+     */
+    public static ShardedQueryService forNodes(List<HttpUrlOptions> nodes) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .build();
+
+        return new ShardedQueryService(nodes.stream()
+                .map(node -> new QueryService(new ApiRequestService(httpClient, node)))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Runs a {@code CONSTRUCT} query once per shard of {@code iris}, streaming the distinct quads of all shards to {@code quadConsumer}.
+     * {@code quadConsumer} is called by one thread at a time. Triples are passed in the default graph.
+     *
+     * @param query          the {@code CONSTRUCT} query, without a trailing {@code VALUES} block.
+     * @param valuesVariable the name of the query variable bound to the IRIs, without the leading {@code ?}.
+     * @param iris           the IRIs to bind {@code valuesVariable} to.
+     * @param options        the shard size, concurrency and polling of the shards.
+     * @param quadConsumer   called with each distinct quad.
+     * @return a {@code CompletableFuture} completed with the number of distinct quads once all shards have completed,
+     * or completed exceptionally as soon as any shard fails, in which case no more shards are started.
+     * @throws RequestValidationException if the query is not a valid {@code CONSTRUCT} query using {@code valuesVariable},
+     *                                    or an IRI is invalid.
+     */
+    public CompletableFuture<Long> construct(String query, String valuesVariable, List<String> iris, ShardedQueryOptions options,
+                                             Consumer<Quad> quadConsumer) throws CompletionException, RequestValidationException {
+
+        validateQuery(query, valuesVariable);
+        if (options.getShardSize() < 1 || options.getMaxConcurrentShards() < 1) {
+            throw new RequestValidationException("Shard size and maximum concurrent shards must be at least 1.");
+        }
+        List<String> shardQueries = createShardQueries(query, valuesVariable, iris, options.getShardSize());
+        return new ShardRun(shardQueries, options, quadConsumer).start();
+    }
+
+    private static void validateQuery(String query, String valuesVariable) {
+        if (valuesVariable == null || !VARIABLE_NAME.matcher(valuesVariable).matches()) {
+            throw new RequestValidationException(String.format("Invalid query variable name: %s", valuesVariable));
+        }
+        Query parsedQuery;
+        try {
+            parsedQuery = QueryFactory.create(query);
+        } catch (QueryException e) {
+            LOGGER.error("Sharded query is not valid SPARQL: {}", e.getMessage());
+            throw new RequestValidationException("Sharded query is not valid SPARQL.", e);
+        }
+        if (!parsedQuery.isConstructType()) {
+            throw new RequestValidationException("Sharded query must be a CONSTRUCT query.");
+        }
+        if (parsedQuery.hasValues()) {
+            throw new RequestValidationException("Sharded query cannot have a trailing VALUES block.");
+        }
+        if (!PatternVars.vars(parsedQuery.getQueryPattern()).contains(Var.alloc(valuesVariable))) {
+            throw new RequestValidationException(String.format("Sharded query does not use variable: ?%s", valuesVariable));
+        }
+    }
+
+    /**
+     * Appends a {@code VALUES} block binding {@code valuesVariable} to each slice of {@code shardSize} IRIs to the query.
+     */
+    static List<String> createShardQueries(String query, String valuesVariable, List<String> iris, int shardSize) {
+        String valuesClause = "\nVALUES ?" + valuesVariable + " {";
+        List<String> shardQueries = new ArrayList<>((iris.size() + shardSize - 1) / shardSize);
+        for (int start = 0; start < iris.size(); start += shardSize) {
+            List<String> shardIris = iris.subList(start, Math.min(start + shardSize, iris.size()));
+            int length = query.length() + valuesClause.length() + 2;
+            for (String iri : shardIris) {
+                if (!SparqlText.isValidIri(iri)) {
+                    throw new RequestValidationException(String.format("Invalid IRI: %s", iri));
+                }
+                length += iri.length() + 3;
+            }
+            StringBuilder shardQuery = new StringBuilder(length).append(query).append(valuesClause);
+            for (String iri : shardIris) {
+                shardQuery.append(" <").append(iri).append('>');
+            }
+            shardQueries.add(shardQuery.append(" }").toString());
+        }
+        return shardQueries;
+    }
+
+    private class ShardRun {
+
+        private final List<String> shardQueries;
+        private final ShardedQueryOptions options;
+        private final Consumer<Quad> quadConsumer;
+        private final StreamRDF sink;
+
+        private final AtomicInteger nextShard = new AtomicInteger();
+        private final AtomicInteger remainingShards;
+        private final Set<Quad> seenQuads = ConcurrentHashMap.newKeySet();
+        private final CompletableFuture<Long> result = new CompletableFuture<>();
+
+        // guarded by this
+        private long distinctQuads;
+
+        ShardRun(List<String> shardQueries, ShardedQueryOptions options, Consumer<Quad> quadConsumer) {
+            this.shardQueries = shardQueries;
+            this.options = options;
+            this.quadConsumer = quadConsumer;
+            this.remainingShards = new AtomicInteger(shardQueries.size());
+            this.sink = QueryService.toStreamRDF(this::accept);
+        }
+
+        CompletableFuture<Long> start() {
+            if (shardQueries.isEmpty()) {
+                result.complete(0L);
+            }
+            int initialShards = Math.min(options.getMaxConcurrentShards(), shardQueries.size());
+            for (int i = 0; i < initialShards; i++) {
+                runNextShard();
+            }
+            return result;
+        }
+
+        private void runNextShard() {
+            int shard = nextShard.getAndIncrement();
+            if (shard >= shardQueries.size() || result.isDone()) {
+                return;
+            }
+            QueryService queryService = nodeQueryServices.get(shard % nodeQueryServices.size());
+            CompletableFuture<String> shardResult;
+            try {
+                shardResult = queryService.streamQuery(SparqlQueryType.CONSTRUCT, shardQueries.get(shard), sink,
+                        options.getPollingOptions());
+            } catch (RuntimeException e) {
+                shardResult = CompletableFuture.failedFuture(e);
+            }
+
+            shardResult.whenComplete((status, ex) -> {
+                if (ex != null) {
+                    LOGGER.error("Query shard {} failed: {}", shard, ex.getMessage());
+                    result.completeExceptionally(ex);
+                } else if (!COMPLETED_STATUS.equals(status)) {
+                    LOGGER.error("Query shard {} finished with status: {}", shard, status);
+                    result.completeExceptionally(new UnexpectedException(
+                            String.format("Query shard finished with status: %s", status)));
+                } else if (remainingShards.decrementAndGet() == 0) {
+                    synchronized (this) {
+                        result.complete(distinctQuads);
+                    }
+                } else {
+                    runNextShard();
+                }
+            });
+        }
+
+        private void accept(Quad quad) {
+            if (!seenQuads.add(quad)) {
+                return;
+            }
+            synchronized (this) {
+                distinctQuads++;
+                quadConsumer.accept(quad);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package io.origintrail.dkg.client.service;
+
+import io.origintrail.dkg.client.model.NQuad;
+import io.origintrail.dkg.client.model.PollingOptions;
+import io.origintrail.dkg.client.model.response.ProofsResult;
+import io.origintrail.dkg.client.model.response.ResolveResult;
+import io.origintrail.dkg.client.proof.ProofVerifier;
+import io.origintrail.dkg.client.proof.VerifiedResolveResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Resolves assertions, requests proofs for triples of the assertions, and verifies the proofs, as one pipelined operation.
+ * <p>
+ * When the triples are known up front, the proofs request is sent alongside the resolve request and both results
+ * are polled concurrently. When the triples are selected from the resolved assertions, the proofs request is sent
+ * as soon as the resolve result completes. Proofs are verified as soon as they are returned, and a proof is required
+ * for each requested triple of each assertion.
+ */
+public class VerifiedResolveService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VerifiedResolveService.class);
+
+    private static final String COMPLETED_STATUS = "COMPLETED";
+
+    private final ResolveService resolveService;
+    private final QueryService queryService;
+    private final ProofVerifier proofVerifier;
+
+    public VerifiedResolveService(ResolveService resolveService, QueryService queryService, ProofVerifier proofVerifier) {
+        this.resolveService = resolveService;
+        this.queryService = queryService;
+        this.proofVerifier = proofVerifier;
+    }
+
+    /**
+     * Resolves the assertions while requesting and verifying the proofs of {@code nQuads}, overlapping both requests.
+     *
+     * @param rootHashesByAssertionId the root hash of each assertion, used to verify the proofs.
+     * @return a {@code CompletableFuture} completed with the resolve result, proofs result and verification
+     * once both requests have completed.
+     */
+    public CompletableFuture<VerifiedResolveResult> verifiedResolve(List<String> assertionIds, List<NQuad> nQuads,
+                                                                    Map<String, String> rootHashesByAssertionId,
+                                                                    PollingOptions pollingOptions) throws CompletionException {
+
+        CompletableFuture<ResolveResult> resolveResult = resolveService.resolveAndAwait(assertionIds, pollingOptions);
+        if (nQuads.isEmpty()) {
+            return resolveResult.thenApply(result -> new VerifiedResolveResult(result, null, null));
+        }
+        CompletableFuture<ProofsResult> proofsResult = queryService.proofsAndAwait(nQuads, assertionIds, pollingOptions);
+        return resolveResult.thenCombine(proofsResult, (resolved, proofs) -> {
+            if (!COMPLETED_STATUS.equals(resolved.getStatus())) {
+                LOGGER.warn("Resolve finished with status: {}", resolved.getStatus());
+                return new VerifiedResolveResult(resolved, null, null);
+            }
+            return verify(resolved, proofs, rootHashesByAssertionId, assertionIds, nQuads);
+        });
+    }
+
+    /**
+     * Resolves the assertions, then requests and verifies the proofs of the triples selected from the resolve result.
+     *
+     * @param tripleSelector          selects the triples to verify from the completed resolve result.
+     * @param rootHashesByAssertionId the root hash of each assertion, used to verify the proofs.
+     * @return a {@code CompletableFuture} completed with the resolve result, proofs result and verification.
+     */
+    public CompletableFuture<VerifiedResolveResult> verifiedResolve(List<String> assertionIds,
+                                                                    Function<ResolveResult, List<NQuad>> tripleSelector,
+                                                                    Map<String, String> rootHashesByAssertionId,
+                                                                    PollingOptions pollingOptions) throws CompletionException {
+
+        return resolveService.resolveAndAwait(assertionIds, pollingOptions)
+                .thenCompose(resolved -> {
+                    if (!COMPLETED_STATUS.equals(resolved.getStatus())) {
+                        LOGGER.warn("Resolve finished with status: {}", resolved.getStatus());
+                        return CompletableFuture.completedFuture(new VerifiedResolveResult(resolved, null, null));
+                    }
+                    List<NQuad> nQuads = tripleSelector.apply(resolved);
+                    if (nQuads == null || nQuads.isEmpty()) {
+                        return CompletableFuture.completedFuture(new VerifiedResolveResult(resolved, null, null));
+                    }
+                    return queryService.proofsAndAwait(nQuads, assertionIds, pollingOptions)
+                            .thenApply(proofs -> verify(resolved, proofs, rootHashesByAssertionId, assertionIds, nQuads));
+                });
+    }
+
+    private VerifiedResolveResult verify(ResolveResult resolved, ProofsResult proofs, Map<String, String> rootHashesByAssertionId,
+                                         List<String> assertionIds, List<NQuad> nQuads) {
+        if (!COMPLETED_STATUS.equals(proofs.getStatus())) {
+            LOGGER.warn("Proofs request finished with status: {}", proofs.getStatus());
+            return new VerifiedResolveResult(resolved, proofs, null);
+        }
+        return new VerifiedResolveResult(resolved, proofs,
+                proofVerifier.verify(proofs, rootHashesByAssertionId, assertionIds, nQuads));
+    }
+}
@@ -0,0 +1,229 @@
+package io.origintrail.dkg.client.sparql;
+
+import io.origintrail.dkg.client.exception.RequestValidationException;
+import io.origintrail.dkg.client.model.SparqlQueryType;
+import org.apache.jena.arq.querybuilder.AbstractQueryBuilder;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * A SPARQL query compiled once into a template with parameter slots, for queries run repeatedly with different values.
+ * <p>
+ * The query text is split around each occurrence of a parameter variable, e.g. {@code ?assertionId}, when prepared.
+ * Binding only concatenates the pre-split segments with the escaped parameter values, so the query is not rebuilt
+ * or re-serialised on each call. Variables inside IRIs and string literals are not treated as parameters.
+ * <p>
+ * Parameters are substituted everywhere they occur in the query, so should not be projected in a {@code SELECT} clause.
+ * Instances are immutable and thread safe.
+ */
+public final class PreparedSparqlQuery {
+
+    private static final Pattern PARAMETER_NAME = Pattern.compile("[A-Za-z0-9_]+");
+    private static final String XSD_STRING = XSDDatatype.XSDstring.getURI();
+
+    private final SparqlQueryType type;
+    private final String[] parameterNames;
+    private final String[] segments;
+    private final int[] slotParameters;
+    private final int segmentsLength;
+
+    private PreparedSparqlQuery(SparqlQueryType type, String[] parameterNames, String[] segments, int[] slotParameters) {
+        this.type = type;
+        this.parameterNames = parameterNames;
+        this.segments = segments;
+        this.slotParameters = slotParameters;
+        this.segmentsLength = Arrays.stream(segments).mapToInt(String::length).sum();
+    }
+
+    /**
+     * Prepares a query built with an Apache Jena query builder, building and serialising it once.
+     *
+     * @param type           the {@code SparqlQueryType} of the query.
+     * @param queryBuilder   the query builder, using a variable for each parameter.
+     * @param parameterNames the names of the variables to bind as parameters, without the leading {@code ?}.
+     * @throws IllegalArgumentException if a parameter name is not a valid variable name, or does not occur in the query.
+     */
+    public static PreparedSparqlQuery prepare(SparqlQueryType type, AbstractQueryBuilder<?> queryBuilder, String... parameterNames) {
+        return prepare(type, queryBuilder.build().toString(), parameterNames);
+    }
+
+    /**
+     * Prepares a query from its SPARQL text.
+     *
+     * @param type           the {@code SparqlQueryType} of the query.
+     * @param query          the SPARQL query, using a variable for each parameter.
+     * @param parameterNames the names of the variables to bind as parameters, without the leading {@code ?}.
+     * @throws IllegalArgumentException if a parameter name is not a valid variable name, or does not occur in the query.
+     */
+    public static PreparedSparqlQuery prepare(SparqlQueryType type, String query, String... parameterNames) {
+        Map<String, Integer> parameterIndexes = new HashMap<>();
+        for (int i = 0; i < parameterNames.length; i++) {
+            if (parameterNames[i] == null || !PARAMETER_NAME.matcher(parameterNames[i]).matches()) {
+                throw new IllegalArgumentException(String.format("Invalid query parameter name: %s", parameterNames[i]));
+            }
+            parameterIndexes.put(parameterNames[i], i);
+        }
+
+        List<String> segments = new ArrayList<>();
+        List<Integer> slotParameters = new ArrayList<>();
+        boolean[] parameterUsed = new boolean[parameterNames.length];
+        int segmentStart = 0;
+        int i = 0;
+        while (i < query.length()) {
+            char c = query.charAt(i);
+            if (c == '"' || c == '\'') {
+                i = SparqlText.skipString(query, i);
+            } else if (c == '<') {
+                i = SparqlText.skipIri(query, i);
+            } else if (c == '#') {
+                i = SparqlText.skipComment(query, i);
+            } else if (c == '?' || c == '$') {
+                int end = i + 1;
+                while (end < query.length() && isVariableChar(query.charAt(end))) {
+                    end++;
+                }
+                Integer parameterIndex = parameterIndexes.get(query.substring(i + 1, end));
+                if (parameterIndex != null) {
+                    segments.add(query.substring(segmentStart, i));
+                    slotParameters.add(parameterIndex);
+                    parameterUsed[parameterIndex] = true;
+                    segmentStart = end;
+                }
+                i = end;
+            } else {
+                i++;
+            }
+        }
+        segments.add(query.substring(segmentStart));
+
+        for (int p = 0; p < parameterNames.length; p++) {
+            if (!parameterUsed[p]) {
+                throw new IllegalArgumentException(String.format("Query parameter does not occur in query: %s", parameterNames[p]));
+            }
+        }
+
+        return new PreparedSparqlQuery(type, parameterNames.clone(), segments.toArray(new String[0]),
+                slotParameters.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    public SparqlQueryType getType() {
+        return type;
+    }
+
+    public List<String> getParameterNames() {
+        return List.of(parameterNames);
+    }
+
+    /**
+     * Creates the query text with each parameter replaced by its bound value.
+     *
+     * @param bindings the value of each parameter, as an IRI or literal {@link Node}.
+     * @throws RequestValidationException if a parameter is not bound, or is bound to a value other than an IRI or literal,
+     *                                    or an IRI containing characters not allowed in a SPARQL IRI.
+     */
+    public String bind(Map<String, Node> bindings) throws RequestValidationException {
+        String[] values = new String[parameterNames.length];
+        for (int p = 0; p < parameterNames.length; p++) {
+            Node value = bindings.get(parameterNames[p]);
+            if (value == null) {
+                throw new RequestValidationException(String.format("Missing binding for query parameter: %s", parameterNames[p]));
+            }
+            values[p] = format(parameterNames[p], value);
+        }
+
+        int length = segmentsLength;
+        for (int slotParameter : slotParameters) {
+            length += values[slotParameter].length();
+        }
+        StringBuilder query = new StringBuilder(length);
+        for (int s = 0; s < slotParameters.length; s++) {
+            query.append(segments[s]).append(values[slotParameters[s]]);
+        }
+        return query.append(segments[segments.length - 1]).toString();
+    }
+
+    /**
+     * Creates an IRI parameter value.
+     */
+    public static Node iri(String iri) {
+        return NodeFactory.createURI(iri);
+    }
+
+    /**
+     * Creates a plain string literal parameter value.
+     */
+    public static Node literal(String value) {
+        return NodeFactory.createLiteral(value);
+    }
+
+    private static String format(String parameterName, Node value) {
+        if (value.isURI()) {
+            return formatIri(parameterName, value.getURI());
+        }
+        if (value.isLiteral()) {
+            StringBuilder literal = new StringBuilder(value.getLiteralLexicalForm().length() + 2);
+            appendEscapedString(literal, value.getLiteralLexicalForm());
+            String language = value.getLiteralLanguage();
+            String datatype = value.getLiteralDatatypeURI();
+            if (language != null && !language.isEmpty()) {
+                literal.append('@').append(language);
+            } else if (datatype != null && !XSD_STRING.equals(datatype)) {
+                literal.append("^^").append(formatIri(parameterName, datatype));
+            }
+            return literal.toString();
+        }
+        throw new RequestValidationException(String.format("Query parameter must be bound to an IRI or literal: %s", parameterName));
+    }
+
+    private static String formatIri(String parameterName, String iri) {
+        if (!SparqlText.isValidIri(iri)) {
+            throw new RequestValidationException(String.format("Invalid IRI bound to query parameter: %s", parameterName));
+        }
+        return "<" + iri + ">";
+    }
+
+    private static void appendEscapedString(StringBuilder builder, String value) {
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                case '\b':
+                    builder.append("\\b");
+                    break;
+                case '\f':
+                    builder.append("\\f");
+                    break;
+                default:
+                    builder.append(c);
+            }
+        }
+        builder.append('"');
+    }
+
+    private static boolean isVariableChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '\u00B7';
+    }
+}
@@ -0,0 +1,75 @@
+package io.origintrail.dkg.client.sparql;
+
+import io.origintrail.dkg.client.rdf.TermDictionary;
+import org.apache.jena.graph.Node;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A row of a SPARQL {@code SELECT} result, holding the {@link TermDictionary} id of the value bound to each column.
+ */
+public final class SelectRow {
+
+    /**
+     * The term id of a column not bound in the row.
+     */
+    public static final int UNBOUND = -1;
+
+    private final List<String> columns;
+    private final int[] termIds;
+    private final TermDictionary dictionary;
+
+    public SelectRow(List<String> columns, int[] termIds, TermDictionary dictionary) {
+        if (columns.size() != termIds.length) {
+            throw new IllegalArgumentException("A term id is required for each column.");
+        }
+        this.columns = columns;
+        this.termIds = termIds;
+        this.dictionary = dictionary;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public TermDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * @return the dictionary id of the value bound to {@code column}, or {@link #UNBOUND}.
+     */
+    public int getTermId(int column) {
+        return termIds[column];
+    }
+
+    public boolean isBound(int column) {
+        return termIds[column] != UNBOUND;
+    }
+
+    /**
+     * @return the value bound to {@code column}, or {@code null} if unbound.
+     */
+    public Node get(int column) {
+        int termId = termIds[column];
+        return termId == UNBOUND ? null : dictionary.decode(termId);
+    }
+
+    /**
+     * @return the value bound to the column named {@code column}, or {@code null} if unbound.
+     * @throws IllegalArgumentException if the result has no column named {@code column}.
+     */
+    public Node get(String column) {
+        int index = columns.indexOf(column);
+        if (index < 0) {
+            throw new IllegalArgumentException(String.format("Result has no column: %s", column));
+        }
+        return get(index);
+    }
+
+    @Override
+    public String toString() {
+        return "SelectRow(columns=" + columns + ", termIds=" + Arrays.toString(termIds) + ")";
+    }
+}
@@ -0,0 +1,121 @@
+package io.origintrail.dkg.client.sparql;
+
+/**
+ * Lexical helpers for SPARQL query text, which skip over IRIs, string literals and comments
+ * without parsing the query.
+ */
+public final class SparqlText {
+
+    private SparqlText() {
+    }
+
+    /**
+     * Normalises the layout of a SPARQL query, so queries differing only in whitespace and comments are equal.
+     * Comments are removed, runs of whitespace are collapsed to a single space, and whitespace next to
+     * braces, parentheses, commas and semicolons is removed. IRIs and string literals are left unchanged.
+     *
+     * @param query the SPARQL query text.
+     * @return the normalised query text.
+     */
+    public static String normalise(String query) {
+        StringBuilder normalised = new StringBuilder(query.length());
+        boolean pendingSpace = false;
+        int i = 0;
+        while (i < query.length()) {
+            char c = query.charAt(i);
+            int end;
+            if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+                i++;
+                continue;
+            } else if (c == '#') {
+                pendingSpace = true;
+                i = skipComment(query, i);
+                continue;
+            } else if (c == '"' || c == '\'') {
+                end = skipString(query, i);
+            } else if (c == '<') {
+                end = skipIri(query, i);
+            } else {
+                end = i + 1;
+            }
+
+            if (pendingSpace && normalised.length() > 0
+                    && !isPunctuation(normalised.charAt(normalised.length() - 1)) && !isPunctuation(c)) {
+                normalised.append(' ');
+            }
+            pendingSpace = false;
+            normalised.append(query, i, end);
+            i = end;
+        }
+        return normalised.toString();
+    }
+
+    /**
+     * @return {@code true} if {@code iri} contains no characters which are not allowed in a SPARQL IRI reference.
+     */
+    public static boolean isValidIri(String iri) {
+        if (iri == null) {
+            return false;
+        }
+        for (int i = 0; i < iri.length(); i++) {
+            char c = iri.charAt(i);
+            if (c <= ' ' || c == '<' || c == '>' || c == '"' || c == '{' || c == '}' || c == '|' || c == '^' || c == '`' || c == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPunctuation(char c) {
+        return c == '{' || c == '}' || c == '(' || c == ')' || c == ',' || c == ';';
+    }
+
+    /**
+     * @return the index after the string literal starting at {@code start}, or the end of the query if unterminated.
+     */
+    static int skipString(String query, int start) {
+        char quote = query.charAt(start);
+        boolean isLong = query.startsWith(String.valueOf(quote).repeat(3), start);
+        int i = start + (isLong ? 3 : 1);
+        while (i < query.length()) {
+            char c = query.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == quote && (!isLong || query.startsWith(String.valueOf(quote).repeat(3), i))) {
+                return i + (isLong ? 3 : 1);
+            } else {
+                i++;
+            }
+        }
+        return query.length();
+    }
+
+    /**
+     * Skips an IRI reference. A {@code <} not followed by a complete IRI is a comparison operator.
+     *
+     * @return the index after the IRI starting at {@code start}, or after the {@code <} if it is an operator.
+     */
+    static int skipIri(String query, int start) {
+        int i = start + 1;
+        while (i < query.length()) {
+            char c = query.charAt(i);
+            if (c == '>') {
+                return i + 1;
+            }
+            if (c <= ' ' || c == '<' || c == '"' || c == '{' || c == '}') {
+                return start + 1;
+            }
+            i++;
+        }
+        return start + 1;
+    }
+
+    /**
+     * @return the index after the line ending of the comment starting at {@code start}.
+     */
+    static int skipComment(String query, int start) {
+        int end = query.indexOf('\n', start);
+        return end < 0 ? query.length() : end + 1;
+    }
+}
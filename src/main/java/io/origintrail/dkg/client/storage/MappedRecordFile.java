@@ -0,0 +1,212 @@
+package io.origintrail.dkg.client.storage;
+
+import io.origintrail.dkg.client.exception.StorageException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An append-only file of UTF-8 string records, written through memory-mapped segments of a temporary file.
+ * <p>
+ * Each record is stored as its {@code int} byte length followed by its UTF-8 bytes. Records are held in the
+ * page cache rather than on the heap, so only the record being read or written is held in memory.
+ * The temporary file is deleted when the {@code MappedRecordFile} is closed.
+ * <p>
+ * Records must all be appended before iterating. Iterators are not affected by each other,
+ * but must not be used after the file is closed.
+ */
+public class MappedRecordFile implements Iterable<String>, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappedRecordFile.class);
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final String FILE_PREFIX = "dkg-client-";
+    private static final String FILE_SUFFIX = ".records";
+
+    private final Path path;
+    private final FileChannel channel;
+    private final int segmentSize;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private ByteBuffer scratch = ByteBuffer.allocate(1024);
+    private long fileSize;
+    private long size;
+    private boolean closed;
+
+    /**
+     * Creates a record file in the default temporary-file directory, with the default segment size.
+     */
+    public MappedRecordFile() throws StorageException {
+        this(Paths.get(System.getProperty("java.io.tmpdir")), DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * @param directory   the directory to create the temporary file in.
+     * @param segmentSize the size in bytes of each mapped segment. Records larger than a segment are mapped individually.
+     */
+    public MappedRecordFile(Path directory, int segmentSize) throws StorageException {
+        if (segmentSize < Integer.BYTES) {
+            throw new IllegalArgumentException("Segment size must be at least " + Integer.BYTES + " bytes.");
+        }
+        this.segmentSize = segmentSize;
+        try {
+            this.path = Files.createTempFile(directory, FILE_PREFIX, FILE_SUFFIX);
+            this.channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            LOGGER.error("Exception creating record file in directory: {}, {}", directory, e.getMessage());
+            throw new StorageException(String.format("Exception creating record file in directory: %s", directory), e);
+        }
+    }
+
+    public void append(String record) throws StorageException {
+        append(CharBuffer.wrap(record));
+    }
+
+    /**
+     * Appends the remaining characters of {@code record}, encoded as UTF-8.
+     */
+    public void append(CharBuffer record) throws StorageException {
+        checkOpen();
+        ByteBuffer bytes = encode(record);
+        int length = bytes.remaining();
+
+        MappedByteBuffer segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (segment == null || segment.remaining() < Integer.BYTES + length) {
+            segment = mapSegment(Math.max(segmentSize, Integer.BYTES + length));
+        }
+        segment.putInt(length);
+        segment.put(bytes);
+        size++;
+    }
+
+    /**
+     * @return the number of records appended.
+     */
+    public long size() {
+        return size;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        checkOpen();
+        List<ByteBuffer> readSegments = new ArrayList<>(segments.size());
+        for (MappedByteBuffer segment : segments) {
+            readSegments.add(segment.duplicate().flip());
+        }
+        return new RecordIterator(readSegments);
+    }
+
+    /**
+     * Closes and deletes the temporary file. Has no effect if already closed.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        segments.clear();
+        try {
+            channel.close();
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOGGER.warn("Exception deleting record file: {}, deleting on exit. {}", path, e.getMessage());
+            path.toFile().deleteOnExit();
+        }
+    }
+
+    private ByteBuffer encode(CharBuffer record) {
+        int maxLength = (int) Math.ceil(record.remaining() * (double) encoder.maxBytesPerChar());
+        if (scratch.capacity() < maxLength) {
+            scratch = ByteBuffer.allocate(Math.max(maxLength, scratch.capacity() * 2));
+        }
+        scratch.clear();
+        encoder.reset();
+        // malformed input is replaced, and the scratch buffer fits the maximum encoded length, so encoding always completes
+        encoder.encode(record, scratch, true);
+        encoder.flush(scratch);
+        return scratch.flip();
+    }
+
+    private MappedByteBuffer mapSegment(int mappedSize) {
+        MappedByteBuffer last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (last != null) {
+            // truncate the previous segment to the bytes written, so the next segment starts after them
+            fileSize -= last.remaining();
+            last.limit(last.position());
+        }
+        try {
+            MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, fileSize, mappedSize);
+            fileSize += mappedSize;
+            segments.add(segment);
+            return segment;
+        } catch (IOException e) {
+            LOGGER.error("Exception mapping record file segment: {}, {}", path, e.getMessage());
+            throw new StorageException(String.format("Exception mapping record file segment: %s", path), e);
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Record file is closed.");
+        }
+    }
+
+    private class RecordIterator implements Iterator<String> {
+
+        private final List<ByteBuffer> readSegments;
+        private int segmentIndex;
+
+        RecordIterator(List<ByteBuffer> readSegments) {
+            this.readSegments = readSegments;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (segmentIndex < readSegments.size()) {
+                if (readSegments.get(segmentIndex).hasRemaining()) {
+                    return true;
+                }
+                segmentIndex++;
+            }
+            return false;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            checkOpen();
+            ByteBuffer segment = readSegments.get(segmentIndex);
+            int length = segment.getInt();
+            byte[] bytes = new byte[length];
+            segment.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
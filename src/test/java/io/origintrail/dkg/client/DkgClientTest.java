@@ -1,36 +1,73 @@
 package io.origintrail.dkg.client;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.origintrail.dkg.client.cache.CacheOptions;
+import io.origintrail.dkg.client.exception.HttpResponseException;
+import io.origintrail.dkg.client.exception.PollingTimeoutException;
 import io.origintrail.dkg.client.exception.RequestValidationException;
 import io.origintrail.dkg.client.exception.ResponseBodyException;
+import io.origintrail.dkg.client.index.EntityIdMatch;
+import io.origintrail.dkg.client.index.EntityIdTrie;
+import io.origintrail.dkg.client.index.KeywordIndex;
 import io.origintrail.dkg.client.model.AssertionSearchOptions;
+import io.origintrail.dkg.client.model.DkgClientOptions;
 import io.origintrail.dkg.client.model.EntitySearchOptions;
 import io.origintrail.dkg.client.model.NQuad;
+import io.origintrail.dkg.client.model.PollingOptions;
 import io.origintrail.dkg.client.model.PublishOptions;
 import io.origintrail.dkg.client.model.SparqlQueryType;
+import io.origintrail.dkg.client.model.response.AskResult;
+import io.origintrail.dkg.client.model.response.AssertionSearchResult;
+import io.origintrail.dkg.client.model.response.AssertionSearchResultItem;
+import io.origintrail.dkg.client.model.response.EntitySearchResult;
+import io.origintrail.dkg.client.model.response.EntitySearchResultItem;
 import io.origintrail.dkg.client.model.response.HandlerId;
 import io.origintrail.dkg.client.model.response.NodeInfo;
+import io.origintrail.dkg.client.model.response.Proof;
 import io.origintrail.dkg.client.model.response.ProofsResult;
 import io.origintrail.dkg.client.model.response.PublishResult;
 import io.origintrail.dkg.client.model.response.QueryResult;
 import io.origintrail.dkg.client.model.response.ResolveResult;
+import io.origintrail.dkg.client.proof.ProofVerifier;
+import io.origintrail.dkg.client.rdf.QuadTable;
+import io.origintrail.dkg.client.service.ApiRequestService;
+import io.origintrail.dkg.client.service.DiskBackedQueryResult;
+import io.origintrail.dkg.client.service.SearchResultIterator;
+import io.origintrail.dkg.client.sparql.PreparedSparqlQuery;
+import io.origintrail.dkg.client.sparql.SelectRow;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
 import org.apache.commons.io.FileUtils;
 import org.apache.jena.arq.querybuilder.ConstructBuilder;
+import org.apache.jena.atlas.iterator.Iter;
+import org.apache.jena.riot.lang.StreamRDFCounting;
+import org.apache.jena.riot.system.StreamRDFLib;
+import org.apache.jena.sparql.core.DatasetGraph;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowableOfType;
@@ -273,6 +310,224 @@ class DkgClientTest {
         assertThat(request.getPath()).isEqualTo("/entities:search/result/" + HANDLER_ID);
     }
 
+    @Test
+    void getTypedEntitiesSearchResult_byHandlerId_returnsEntitySearchResult() throws InterruptedException, IOException {
+        // given
+        String entitiesResponse = "example-responses/entities-search-response-body.json";
+        byte[] fileData = getFileData(entitiesResponse);
+        mockWebServer.enqueue(new MockResponse().setBody(new String(fileData)).setResponseCode(200));
+
+        // when
+        EntitySearchResult result = dkgClient.getTypedEntitiesSearchResult(HANDLER_ID).join();
+
+        // then
+        assertThat(result.getItemListElement()).hasSize(1);
+        assertThat(result.getItemListElement().get(0).getId()).isEqualTo("0ba6ee0852f653c450dccc94feb37a506d5f0ef8a7f540165793c31c2ec17d99");
+        assertThat(result.getItemListElement().get(0).getEntityType()).isEqualTo("PRODUCT");
+        assertThat(result.getItemListElement().get(0).getAssertions()).hasSize(6);
+
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertThat(request.getPath()).isEqualTo("/entities:search/result/" + HANDLER_ID);
+    }
+
+    @Test
+    void streamEntitiesSearchResult_withConsumer_consumesEachItem() throws IOException {
+        // given
+        String entitiesResponse = "example-responses/entities-search-response-body.json";
+        byte[] fileData = getFileData(entitiesResponse);
+        mockWebServer.enqueue(new MockResponse().setBody(new String(fileData)).setResponseCode(200));
+        List<EntitySearchResultItem> items = new ArrayList<>();
+
+        // when
+        long count = dkgClient.streamEntitiesSearchResult(HANDLER_ID, items::add).join();
+
+        // then
+        assertThat(count).isEqualTo(1);
+        assertThat(items).extracting(EntitySearchResultItem::getId)
+                .containsExactly("0ba6ee0852f653c450dccc94feb37a506d5f0ef8a7f540165793c31c2ec17d99");
+    }
+
+    @Test
+    void searchEntities_resultPendingThenCompleted_pollsUntilCompleted() throws IOException, InterruptedException {
+        // given
+        mockWebServer.enqueue(new MockResponse().setBody("{\"handler_id\": \"" + HANDLER_ID + "\"}").setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"status\": \"PENDING\"}").setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody(new String(getFileData("example-responses/entities-search-response-body.json"))).setResponseCode(200));
+        PollingOptions pollingOptions = PollingOptions.builder().interval(Duration.ofMillis(10)).build();
+
+        // when
+        EntitySearchResult result = dkgClient.searchEntities(EntitySearchOptions.builder().query("aKeyword").build(), pollingOptions).join();
+
+        // then
+        assertThat(result.getStatus()).isNull();
+        assertThat(result.getItemListElement()).hasSize(1);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(3);
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/entities:search?query=aKeyword");
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/entities:search/result/" + HANDLER_ID);
+    }
+
+    @Test
+    void searchEntities_resultStillPendingAfterMaxAttempts_throwsPollingTimeoutException() {
+        // given
+        mockWebServer.enqueue(new MockResponse().setBody("{\"handler_id\": \"" + HANDLER_ID + "\"}").setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"status\": \"PENDING\"}").setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"status\": \"PENDING\"}").setResponseCode(200));
+        PollingOptions pollingOptions = PollingOptions.builder().interval(Duration.ofMillis(10)).maxAttempts(2).build();
+
+        // when
+        CompletionException throwable = catchThrowableOfType(
+                () -> dkgClient.searchEntities(EntitySearchOptions.builder().query("aKeyword").build(), pollingOptions).join(),
+                CompletionException.class);
+
+        // then
+        assertThat(throwable.getCause()).isInstanceOf(PollingTimeoutException.class);
+        assertThat(throwable.getCause().getMessage()).isEqualTo("Result still pending after 2 polling attempts.");
+    }
+
+    @Test
+    void searchEntities_searchCacheEnabled_repeatedSearchReturnedFromCache() throws IOException {
+        // given
+        DkgClient cachingDkgClient = new DkgClient(mockWebServer.getHostName(), mockWebServer.getPort(), false,
+                DkgClientOptions.builder().searchCache(CacheOptions.builder().build()).build());
+        mockWebServer.enqueue(new MockResponse().setBody("{\"handler_id\": \"" + HANDLER_ID + "\"}").setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody(new String(getFileData("example-responses/entities-search-response-body.json"))).setResponseCode(200));
+        PollingOptions pollingOptions = PollingOptions.builder().interval(Duration.ofMillis(1)).build();
+
+        // when
+        EntitySearchResult result = cachingDkgClient.searchEntities(EntitySearchOptions.builder().query("aKeyword").limit(5).build(), pollingOptions).join();
+        EntitySearchResult cachedResult = cachingDkgClient.searchEntities(EntitySearchOptions.builder().limit(5).query("aKeyword ").build(), pollingOptions).join();
+
+        // then
+        assertThat(cachedResult).isEqualTo(result).isNotSameAs(result);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void searchEntities_searchCacheEnabledAndSearchFailed_repeatedSearchSentToNode() throws IOException {
+        // given
+        DkgClient cachingDkgClient = new DkgClient(mockWebServer.getHostName(), mockWebServer.getPort(), false,
+                DkgClientOptions.builder().searchCache(CacheOptions.builder().build()).build());
+        mockWebServer.enqueue(new MockResponse().setBody("{\"handler_id\": \"" + HANDLER_ID + "\"}").setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"status\": \"FAILED\"}").setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"handler_id\": \"" + HANDLER_ID + "\"}").setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody(new String(getFileData("example-responses/entities-search-response-body.json"))).setResponseCode(200));
+        PollingOptions pollingOptions = PollingOptions.builder().interval(Duration.ofMillis(1)).build();
+
+        // when
+        EntitySearchResult failedResult = cachingDkgClient.searchEntities(EntitySearchOptions.builder().query("aKeyword").build(), pollingOptions).join();
+        EntitySearchResult result = cachingDkgClient.searchEntities(EntitySearchOptions.builder().query("aKeyword").build(), pollingOptions).join();
+
+        // then
+        assertThat(failedResult.getStatus()).isEqualTo("FAILED");
+        assertThat(result.getItemListElement()).hasSize(1);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(4);
+    }
+
+    @Test
+    void findAssertionIdsByKeyword_keywordNotInFoundMetadata_keywordNotAddedToIndex() throws IOException {
+        // given
+        KeywordIndex keywordIndex = new KeywordIndex();
+        DkgClient indexingDkgClient = new DkgClient(mockWebServer.getHostName(), mockWebServer.getPort(), false,
+                DkgClientOptions.builder().keywordIndex(keywordIndex).build());
+        mockWebServer.enqueue(new MockResponse().setBody("{\"handler_id\": \"" + HANDLER_ID + "\"}").setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody(new String(getFileData("example-responses/assertions-search-response-body.json"))).setResponseCode(200));
+        PollingOptions pollingOptions = PollingOptions.builder().interval(Duration.ofMillis(1)).build();
+
+        // when
+        List<String> result = indexingDkgClient.findAssertionIdsByKeyword("aKeyword", pollingOptions).join();
+
+        // then
+        assertThat(result).contains("5285f5da78edeaa9a7cb853ebd85121fae7d93191490d182490464668f2d21cc");
+        assertThat(keywordIndex.findByKeyword("aKeyword")).isEmpty();
+    }
+
+    @Test
+    void autocompleteEntities_longerPrefixOfSearchedPrefix_answeredWithoutRequest() throws IOException, InterruptedException {
+        // given
+        DkgClient autocompleteDkgClient = new DkgClient(mockWebServer.getHostName(), mockWebServer.getPort(), false,
+                DkgClientOptions.builder().entityIdTrie(new EntityIdTrie()).build());
+        mockWebServer.enqueue(new MockResponse().setBody("{\"handler_id\": \"" + HANDLER_ID + "\"}").setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody(new String(getFileData("example-responses/entities-search-response-body.json"))).setResponseCode(200));
+        PollingOptions pollingOptions = PollingOptions.builder().interval(Duration.ofMillis(1)).build();
+
+        // when
+        List<EntityIdMatch> result = autocompleteDkgClient.autocompleteEntities(
+                EntitySearchOptions.builder().query("0b").build(), 10, pollingOptions).join();
+        List<EntityIdMatch> localResult = autocompleteDkgClient.autocompleteEntities(
+                EntitySearchOptions.builder().query("0ba6").build(), 10, pollingOptions).join();
+
+        // then
+        assertThat(localResult).isEqualTo(result).extracting(EntityIdMatch::getId)
+                .containsExactly("0ba6ee0852f653c450dccc94feb37a506d5f0ef8a7f540165793c31c2ec17d99");
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/entities:search?prefix=true&query=0b&limit=100");
+    }
+
+    @Test
+    void autocompleteEntities_resultTruncatedByLimit_longerPrefixSearchedOnNode() throws IOException {
+        // given
+        DkgClient autocompleteDkgClient = new DkgClient(mockWebServer.getHostName(), mockWebServer.getPort(), false,
+                DkgClientOptions.builder().entityIdTrie(new EntityIdTrie()).build());
+        for (int i = 0; i < 2; i++) {
+            mockWebServer.enqueue(new MockResponse().setBody("{\"handler_id\": \"" + HANDLER_ID + "\"}").setResponseCode(200));
+            mockWebServer.enqueue(new MockResponse().setBody(new String(getFileData("example-responses/entities-search-response-body.json"))).setResponseCode(200));
+        }
+        PollingOptions pollingOptions = PollingOptions.builder().interval(Duration.ofMillis(1)).build();
+
+        // when
+        autocompleteDkgClient.autocompleteEntities(EntitySearchOptions.builder().query("0b").limit(1).build(), 10, pollingOptions).join();
+        List<EntityIdMatch> result = autocompleteDkgClient.autocompleteEntities(
+                EntitySearchOptions.builder().query("0ba6").limit(1).build(), 10, pollingOptions).join();
+
+        // then
+        assertThat(result).extracting(EntityIdMatch::getId)
+                .containsExactly("0ba6ee0852f653c450dccc94feb37a506d5f0ef8a7f540165793c31c2ec17d99");
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(4);
+    }
+
+    @Test
+    void assertionsSearchPublisher_subscribe_publishesAllItemsFromPages() throws IOException, InterruptedException {
+        // given
+        String page = new String(getFileData("example-responses/assertions-search-response-body.json"));
+        for (int i = 0; i < 2; i++) {
+            mockWebServer.enqueue(new MockResponse().setBody("{\"handler_id\": \"" + HANDLER_ID + "\"}").setResponseCode(200));
+            mockWebServer.enqueue(new MockResponse().setBody(page).setResponseCode(200));
+        }
+        PollingOptions pollingOptions = PollingOptions.builder().interval(Duration.ofMillis(1)).build();
+        List<String> ids = new CopyOnWriteArrayList<>();
+
+        // when
+        dkgClient.assertionsSearchPublisher(AssertionSearchOptions.builder("aKeyword").build(), 6, pollingOptions)
+                .subscribe(new Flow.Subscriber<>() {
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        subscription.request(Long.MAX_VALUE);
+                    }
+
+                    @Override
+                    public void onNext(AssertionSearchResultItem item) {
+                        ids.add(item.getId());
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        ids.add("complete");
+                    }
+                });
+
+        // then
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/assertions:search?query=aKeyword&limit=6");
+        mockWebServer.takeRequest();
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/assertions:search?query=aKeyword&limit=12");
+        mockWebServer.takeRequest();
+        await(() -> ids.contains("complete"));
+        assertThat(ids).hasSize(7).doesNotHaveDuplicates();
+    }
+
     @Test
     void assertionsSearch_searchAssertionsByQuery_returnsHandlerId() throws InterruptedException {
         // given
@@ -317,6 +572,55 @@ class DkgClientTest {
         assertThat(request.getPath()).isEqualTo("/assertions:search/result/" + HANDLER_ID);
     }
 
+    @Test
+    void getTypedAssertionsSearchResult_byHandlerId_returnsAssertionSearchResult() throws InterruptedException, IOException {
+        // given
+        String assertionsResponse = "example-responses/assertions-search-response-body.json";
+        byte[] fileData = getFileData(assertionsResponse);
+        mockWebServer.enqueue(new MockResponse().setBody(new String(fileData)).setResponseCode(200));
+
+        // when
+        AssertionSearchResult result = dkgClient.getTypedAssertionsSearchResult(HANDLER_ID).join();
+
+        // then
+        assertThat(result.getItemListElement()).hasSize(6);
+        assertThat(result.getItemListElement().get(0).getId()).isEqualTo("5285f5da78edeaa9a7cb853ebd85121fae7d93191490d182490464668f2d21cc");
+        assertThat(result.getItemListElement().get(0).getResult().getMetadata().getType()).isEqualTo("Product");
+
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertThat(request.getPath()).isEqualTo("/assertions:search/result/" + HANDLER_ID);
+    }
+
+    @Test
+    void streamAssertionsSearchResult_iterateResult_returnsItemsInOrder() throws IOException {
+        // given
+        String assertionsResponse = "example-responses/assertions-search-response-body.json";
+        byte[] fileData = getFileData(assertionsResponse);
+        mockWebServer.enqueue(new MockResponse().setBody(new String(fileData)).setResponseCode(200));
+        List<String> ids = new ArrayList<>();
+
+        // when
+        try (SearchResultIterator<AssertionSearchResultItem> iterator = dkgClient.streamAssertionsSearchResult(HANDLER_ID).join()) {
+            iterator.forEachRemaining(item -> ids.add(item.getId()));
+        }
+
+        // then
+        assertThat(ids).hasSize(6).startsWith("5285f5da78edeaa9a7cb853ebd85121fae7d93191490d182490464668f2d21cc");
+    }
+
+    @Test
+    void streamAssertionsSearchResult_unsuccessfulResponseStatus_throwsHttpResponseException() {
+        // given
+        mockWebServer.enqueue(new MockResponse().setBody("Not found").setResponseCode(404));
+
+        // when
+        CompletionException throwable = catchThrowableOfType(() -> dkgClient.streamAssertionsSearchResult(HANDLER_ID).join(), CompletionException.class);
+
+        // then
+        assertThat(throwable.getCause()).isInstanceOf(HttpResponseException.class);
+        assertThat(((HttpResponseException) throwable.getCause()).getReasonPhrase()).isEqualTo("Not found");
+    }
+
     @Test
     void query_queryBySparqlString_returnsHandlerId() throws InterruptedException {
         // given
@@ -366,6 +670,151 @@ class DkgClientTest {
         assertThat(request.getPath()).isEqualTo("/query?type=construct");
     }
 
+    @Test
+    void query_preparedQueryWithBindings_sendsBoundQuery() throws InterruptedException {
+        // given
+        mockWebServer.enqueue(new MockResponse().setBody("{\"handler_id\": \"" + HANDLER_ID + "\"}").setResponseCode(200));
+
+        PreparedSparqlQuery preparedQuery = PreparedSparqlQuery.prepare(SparqlQueryType.CONSTRUCT, new ConstructBuilder()
+                .addPrefix("schema", "http://schema.org/")
+                .addConstruct("?s", "schema:hasKeyword", "?o")
+                .addGraph("?g", "?s", "schema:hasKeyword", "?o")
+                .addWhere("?s", "schema:hasKeyword", "?keyword"), "keyword");
+
+        // when
+        HandlerId handlerId = dkgClient.query(preparedQuery, Map.of("keyword", PreparedSparqlQuery.literal("aKeyword"))).join();
+
+        // then
+        assertThat(handlerId.getHandlerId()).isEqualTo(HANDLER_ID);
+
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertThat(request.getMethod()).isEqualTo("POST");
+        assertThat(request.getPath()).isEqualTo("/query?type=construct");
+        assertThat(request.getBody().readUtf8()).contains("\"aKeyword\"").doesNotContain("?keyword");
+    }
+
+    @Test
+    void queryAndAwait_queryCacheEnabled_repeatedQueryReturnedFromCacheUntilPublish() throws IOException {
+        // given
+        DkgClient cachingDkgClient = new DkgClient(mockWebServer.getHostName(), mockWebServer.getPort(), false,
+                DkgClientOptions.builder().queryCache(CacheOptions.builder().build()).build());
+        String queryResponse = new String(getFileData("example-responses/query-response-body.json"));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"handler_id\": \"" + HANDLER_ID + "\"}").setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody(queryResponse).setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"handler_id\": \"" + HANDLER_ID + "\"}").setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"handler_id\": \"" + HANDLER_ID + "\"}").setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody(queryResponse).setResponseCode(200));
+        PollingOptions pollingOptions = PollingOptions.builder().interval(Duration.ofMillis(1)).build();
+
+        // when
+        QueryResult result = cachingDkgClient.queryAndAwait(SparqlQueryType.CONSTRUCT,
+                "CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p ?o }", pollingOptions).join();
+        QueryResult cachedResult = cachingDkgClient.queryAndAwait(SparqlQueryType.CONSTRUCT,
+                "CONSTRUCT {\n  ?s ?p ?o\n}\nWHERE {\n  ?s ?p ?o\n}", pollingOptions).join();
+        cachingDkgClient.publishAssertion(PUBLISH_ASSERTION_FILE_NAME, publishFileData, PUBLISH_OPTIONS).join();
+        QueryResult resultAfterPublish = cachingDkgClient.queryAndAwait(SparqlQueryType.CONSTRUCT,
+                "CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p ?o }", pollingOptions).join();
+
+        // then
+        assertThat(result.getData()).hasSize(18);
+        assertThat(cachedResult).isEqualTo(result).isNotSameAs(result);
+        assertThat(resultAfterPublish).isNotSameAs(result).isEqualTo(result);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(5);
+    }
+
+    @Test
+    void getPublishAssertionResult_resultReadAgainAfterCompleted_queryCacheNotInvalidated() throws IOException {
+        // given
+        DkgClient cachingDkgClient = new DkgClient(mockWebServer.getHostName(), mockWebServer.getPort(), false,
+                DkgClientOptions.builder().queryCache(CacheOptions.builder().build()).build());
+        String publishResultResponse = new String(getFileData("example-responses/publish-response-body.json"));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"handler_id\": \"" + HANDLER_ID + "\"}").setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody(publishResultResponse).setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"handler_id\": \"" + HANDLER_ID + "\"}").setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody(new String(getFileData("example-responses/query-response-body.json"))).setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody(publishResultResponse).setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody(publishResultResponse).setResponseCode(200));
+        PollingOptions pollingOptions = PollingOptions.builder().interval(Duration.ofMillis(1)).build();
+        cachingDkgClient.publishAssertion(PUBLISH_ASSERTION_FILE_NAME, publishFileData, PUBLISH_OPTIONS).join();
+        cachingDkgClient.getPublishAssertionResult(HANDLER_ID).join();
+        QueryResult result = cachingDkgClient.queryAndAwait(SparqlQueryType.CONSTRUCT,
+                "CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p ?o }", pollingOptions).join();
+
+        // when
+        cachingDkgClient.getPublishAssertionResult(HANDLER_ID).join();
+        cachingDkgClient.getPublishAssertionResult("anotherHandlerId").join();
+        QueryResult cachedResult = cachingDkgClient.queryAndAwait(SparqlQueryType.CONSTRUCT,
+                "CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p ?o }", pollingOptions).join();
+
+        // then
+        assertThat(cachedResult).isEqualTo(result);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(6);
+    }
+
+    @Test
+    void queryAndAwait_queryCacheEnabledAndQueryFailed_repeatedQuerySentToNode() throws IOException {
+        // given
+        DkgClient cachingDkgClient = new DkgClient(mockWebServer.getHostName(), mockWebServer.getPort(), false,
+                DkgClientOptions.builder().queryCache(CacheOptions.builder().build()).build());
+        mockWebServer.enqueue(new MockResponse().setBody("{\"handler_id\": \"" + HANDLER_ID + "\"}").setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"status\": \"FAILED\"}").setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"handler_id\": \"" + HANDLER_ID + "\"}").setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody(new String(getFileData("example-responses/query-response-body.json"))).setResponseCode(200));
+        PollingOptions pollingOptions = PollingOptions.builder().interval(Duration.ofMillis(1)).build();
+
+        // when
+        QueryResult failedResult = cachingDkgClient.queryAndAwait(SparqlQueryType.CONSTRUCT,
+                "CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p ?o }", pollingOptions).join();
+        QueryResult result = cachingDkgClient.queryAndAwait(SparqlQueryType.CONSTRUCT,
+                "CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p ?o }", pollingOptions).join();
+
+        // then
+        assertThat(failedResult.getStatus()).isEqualTo("FAILED");
+        assertThat(result.getData()).hasSize(18);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(4);
+    }
+
+    @Test
+    void streamSelect_resultPendingThenCompleted_streamsProjectedRows() throws InterruptedException {
+        // given
+        mockWebServer.enqueue(new MockResponse().setBody("{\"handler_id\": \"" + HANDLER_ID + "\"}").setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"status\": \"PENDING\"}").setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"status\": \"COMPLETED\", \"data\": {\"head\": {\"vars\": [\"s\", \"o\"]}, "
+                + "\"results\": {\"bindings\": [{\"s\": {\"type\": \"uri\", \"value\": \"did:dkg:a\"}, \"o\": {\"type\": \"literal\", \"value\": \"Anvil\"}}]}}}")
+                .setResponseCode(200));
+        List<SelectRow> rows = new ArrayList<>();
+
+        // when
+        String status = dkgClient.streamSelect("SELECT ?s ?o WHERE { ?s ?p ?o }", List.of("o"), null, rows::add,
+                PollingOptions.builder().interval(Duration.ofMillis(1)).build()).join();
+
+        // then
+        assertThat(status).isEqualTo("COMPLETED");
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getColumns()).containsExactly("o");
+        assertThat(rows.get(0).get(0).getLiteralLexicalForm()).isEqualTo("Anvil");
+
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertThat(request.getPath()).isEqualTo("/query?type=select");
+    }
+
+    @Test
+    void askAndAwait_completedResult_returnsBoolean() throws InterruptedException {
+        // given
+        mockWebServer.enqueue(new MockResponse().setBody("{\"handler_id\": \"" + HANDLER_ID + "\"}").setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"status\": \"COMPLETED\", \"data\": {\"head\": {}, \"boolean\": false}}").setResponseCode(200));
+
+        // when
+        AskResult result = dkgClient.askAndAwait("ASK { ?s ?p ?o }", PollingOptions.builder().interval(Duration.ofMillis(1)).build()).join();
+
+        // then
+        assertThat(result.getStatus()).isEqualTo("COMPLETED");
+        assertThat(result.getData()).isFalse();
+
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertThat(request.getPath()).isEqualTo("/query?type=ask");
+    }
+
     @Test
     void getQueryResult_byHandlerId_returnsQueryResultJsonNode() throws InterruptedException, IOException {
         // given
@@ -387,6 +836,74 @@ class DkgClientTest {
         assertThat(request.getPath()).isEqualTo("/query/result/" + HANDLER_ID);
     }
 
+    @Test
+    void getQueryResultDataset_byHandlerId_returnsDatasetOfQueryResultQuads() throws InterruptedException, IOException {
+        // given
+        mockWebServer.enqueue(new MockResponse().setBody(new String(getFileData("example-responses/query-response-body.json"))).setResponseCode(200));
+
+        // when
+        DatasetGraph dataset = dkgClient.getQueryResultDataset(HANDLER_ID).join();
+
+        // then
+        assertThat(Iter.count(dataset.find())).isEqualTo(18);
+
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertThat(request.getPath()).isEqualTo("/query/result/" + HANDLER_ID);
+    }
+
+    @Test
+    void getQueryResultOnDisk_byHandlerId_iteratesQueryResultLinesAndDeletesFileOnClose(@TempDir Path directory) throws IOException {
+        // given
+        byte[] fileData = getFileData("example-responses/query-response-body.json");
+        mockWebServer.enqueue(new MockResponse().setBody(new String(fileData)).setResponseCode(200));
+        QueryResult expected = ApiRequestService.OBJECT_MAPPER.readValue(fileData, QueryResult.class);
+
+        // when
+        List<String> lines = new ArrayList<>();
+        try (DiskBackedQueryResult result = dkgClient.getQueryResultOnDisk(HANDLER_ID, directory).join()) {
+            result.forEach(lines::add);
+
+            // then
+            assertThat(result.getStatus()).isEqualTo("COMPLETED");
+            assertThat(result.size()).isEqualTo(18);
+        }
+        assertThat(lines).containsExactlyElementsOf(expected.getData());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void getQueryResultTable_byHandlerId_returnsEncodedQuads() throws IOException {
+        // given
+        mockWebServer.enqueue(new MockResponse().setBody(new String(getFileData("example-responses/query-response-body.json"))).setResponseCode(200));
+
+        // when
+        QuadTable quadTable = dkgClient.getQueryResultTable(HANDLER_ID, null).join();
+
+        // then
+        assertThat(quadTable.size()).isEqualTo(18);
+        assertThat(quadTable.getDictionary().size()).isLessThan(18 * 4);
+    }
+
+    @Test
+    void streamQuery_resultPendingThenCompleted_streamsCompletedQuadsToConsumer() throws IOException {
+        // given
+        mockWebServer.enqueue(new MockResponse().setBody("{\"handler_id\": \"" + HANDLER_ID + "\"}").setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"status\": \"PENDING\"}").setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody(new String(getFileData("example-responses/query-response-body.json"))).setResponseCode(200));
+        StreamRDFCounting counting = StreamRDFLib.count();
+
+        // when
+        String status = dkgClient.streamQuery(SparqlQueryType.CONSTRUCT, "CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p ?o }", counting,
+                PollingOptions.builder().interval(Duration.ofMillis(1)).build()).join();
+
+        // then
+        assertThat(status).isEqualTo("COMPLETED");
+        assertThat(counting.count()).isEqualTo(18);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(3);
+    }
+
     @Test
     void proofs_getProofsForTriples_returnsHandlerId() throws InterruptedException {
         // given
@@ -408,6 +925,78 @@ class DkgClientTest {
         RecordedRequest request = mockWebServer.takeRequest();
         assertThat(request.getMethod()).isEqualTo("POST");
         assertThat(request.getPath()).isEqualTo("/proofs:get?assertions=" + assertionId);
+        assertThat(request.getBody().readUtf8()).contains("Content-Disposition: form-data; name=nquads\r\n"
+                + "Content-Type: application/n-quads\r\n\r\n"
+                + "<did:dkg:" + assertionId + "> <http://schema.org/hasKeyword> aKeyword .\n\r\n");
+    }
+
+    @Test
+    void proofs_streamOfNQuads_nQuadLinesWrittenToBody() throws InterruptedException {
+        // given
+        mockWebServer.enqueue(new MockResponse().setBody("{\"handler_id\": \"" + HANDLER_ID + "\"}").setResponseCode(200));
+        Stream<NQuad> nQuads = Stream.iterate(0, i -> i + 1)
+                .limit(10_000)
+                .map(i -> NQuad.builder("<did:dkg:" + i + ">", "<http://schema.org/name>", "\"name\"").build());
+
+        // when
+        HandlerId handlerId = dkgClient.proofs(nQuads, List.of("assertionId")).join();
+
+        // then
+        assertThat(handlerId.getHandlerId()).isEqualTo(HANDLER_ID);
+
+        String body = mockWebServer.takeRequest().getBody().readUtf8();
+        assertThat(body).contains("<did:dkg:0> <http://schema.org/name> \"name\" .\n<did:dkg:1> ",
+                "<did:dkg:9999> <http://schema.org/name> \"name\" .\n\r\n");
+    }
+
+    @Test
+    void proofsAndAwait_proofCacheEnabled_onlyTriplesWithoutCachedProofsRequested() throws InterruptedException {
+        // given
+        DkgClient cachingDkgClient = new DkgClient(mockWebServer.getHostName(), mockWebServer.getPort(), false,
+                DkgClientOptions.builder().proofCache(CacheOptions.builder().ttl(Duration.ofHours(1)).build()).build());
+        String assertionId = "5285f5da78edeaa9a7cb853ebd85121fae7d93191490d182490464668f2d21cc";
+        NQuad first = NQuad.builder("<did:dkg:" + assertionId + ">", "<http://schema.org/name>", "\"first\"").build();
+        NQuad second = NQuad.builder("<did:dkg:" + assertionId + ">", "<http://schema.org/name>", "\"second\"").build();
+        NQuad third = NQuad.builder("<did:dkg:" + assertionId + ">", "<http://schema.org/name>", "\"third\"").build();
+        mockWebServer.enqueue(new MockResponse().setBody("{\"handler_id\": \"" + HANDLER_ID + "\"}").setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody(createProofsResponse(assertionId, first, second)).setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"handler_id\": \"" + HANDLER_ID + "\"}").setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody(createProofsResponse(assertionId, third)).setResponseCode(200));
+        PollingOptions pollingOptions = PollingOptions.builder().interval(Duration.ofMillis(1)).build();
+
+        // when
+        cachingDkgClient.proofsAndAwait(List.of(first, second), List.of(assertionId), pollingOptions).join();
+        ProofsResult mergedResult = cachingDkgClient.proofsAndAwait(List.of(first, second, third), List.of(assertionId),
+                pollingOptions).join();
+        ProofsResult cachedResult = cachingDkgClient.proofsAndAwait(List.of(third, first), List.of(assertionId),
+                pollingOptions).join();
+
+        // then
+        assertThat(mergedResult.getStatus()).isEqualTo("COMPLETED");
+        assertThat(mergedResult.getData().get(0).getProofs())
+                .extracting(Proof::getTriple)
+                .containsExactly(first.toString(), second.toString(), third.toString());
+        assertThat(cachedResult.getData().get(0).getProofs())
+                .extracting(Proof::getTriple)
+                .containsExactly(third.toString(), first.toString());
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(4);
+
+        mockWebServer.takeRequest();
+        mockWebServer.takeRequest();
+        String missingTriplesBody = mockWebServer.takeRequest().getBody().readUtf8();
+        assertThat(missingTriplesBody).contains(third.toString()).doesNotContain(first.toString(), second.toString());
+    }
+
+    private static String createProofsResponse(String assertionId, NQuad... nQuads) {
+        ObjectNode response = ApiRequestService.OBJECT_MAPPER.createObjectNode().put("status", "COMPLETED");
+        ArrayNode proofs = response.putArray("data").addObject().put("assertionId", assertionId).putArray("proofs");
+        for (NQuad nQuad : nQuads) {
+            proofs.addObject()
+                    .put("triple", nQuad.toString())
+                    .put("tripleHash", ProofVerifier.tripleHash(nQuad.toString()))
+                    .putArray("proof");
+        }
+        return response.toString();
     }
 
     @Test
@@ -430,4 +1019,10 @@ class DkgClientTest {
         assertThat(request.getMethod()).isEqualTo("GET");
         assertThat(request.getPath()).isEqualTo("/proofs:get/result/" + HANDLER_ID);
     }
-}
\ No newline at end of file
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 100 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(20);
+        }
+    }
+}
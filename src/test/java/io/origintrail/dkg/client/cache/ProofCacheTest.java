@@ -0,0 +1,62 @@
+package io.origintrail.dkg.client.cache;
+
+import io.origintrail.dkg.client.model.response.Proof;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProofCacheTest {
+
+    private static final CacheOptions OPTIONS = CacheOptions.builder()
+            .ttl(Duration.ofSeconds(10))
+            .maxEntries(2)
+            .build();
+
+    private final AtomicLong clock = new AtomicLong();
+    private final ProofCache cache = new ProofCache(OPTIONS, clock::get);
+
+    @Test
+    void get_proofCachedForAssertion_returnedOnlyForThatAssertionUntilExpired() {
+        // given
+        Proof proof = createProof("ABC123");
+        cache.put("assertion1", proof);
+
+        // when
+        Proof cachedProof = cache.get("assertion1", "abc123");
+        Proof otherAssertionProof = cache.get("assertion2", "abc123");
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+        Proof expiredProof = cache.get("assertion1", "abc123");
+
+        // then
+        assertThat(cachedProof).isSameAs(proof);
+        assertThat(otherAssertionProof).isNull();
+        assertThat(expiredProof).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void put_maxEntriesExceeded_leastRecentlyUsedProofEvicted() {
+        // given
+        cache.put("assertion", createProof("a"));
+        cache.put("assertion", createProof("b"));
+        cache.get("assertion", "a");
+
+        // when
+        cache.put("assertion", createProof("c"));
+
+        // then
+        assertThat(cache.get("assertion", "a")).isNotNull();
+        assertThat(cache.get("assertion", "b")).isNull();
+        assertThat(cache.get("assertion", "c")).isNotNull();
+    }
+
+    private static Proof createProof(String tripleHash) {
+        Proof proof = new Proof();
+        proof.setTriple("<did:dkg:a> <http://schema.org/name> \"" + tripleHash + "\" .");
+        proof.setTripleHash(tripleHash);
+        return proof;
+    }
+}
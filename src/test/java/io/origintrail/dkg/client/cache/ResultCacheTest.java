@@ -0,0 +1,269 @@
+package io.origintrail.dkg.client.cache;
+
+import io.origintrail.dkg.client.codec.ResponseCodec;
+import io.origintrail.dkg.client.exception.HttpResponseException;
+import io.origintrail.dkg.client.model.response.QueryResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class ResultCacheTest {
+
+    private static final CacheOptions OPTIONS = CacheOptions.builder()
+            .ttl(Duration.ofSeconds(10))
+            .negativeTtl(Duration.ofSeconds(1))
+            .staleWhileRevalidate(Duration.ofSeconds(5))
+            .maxEntries(2)
+            .build();
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void get_freshResultCached_loaderCalledOnce() {
+        // given
+        ResultCache<String, QueryResult> cache = createCache(OPTIONS);
+
+        // when
+        cache.get("key", () -> load("a")).join();
+        QueryResult result = cache.get("key", () -> load("b")).join();
+
+        // then
+        assertThat(result.getData()).containsExactly("a");
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void get_emptyResultAfterNegativeTtl_resultReloaded() {
+        // given
+        ResultCache<String, QueryResult> cache = createCache(OPTIONS.toBuilder().staleWhileRevalidate(Duration.ZERO).build());
+        cache.get("key", () -> load()).join();
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+
+        // when
+        QueryResult result = cache.get("key", () -> load("a")).join();
+
+        // then
+        assertThat(result.getData()).containsExactly("a");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void get_expiredWithinStaleWindow_returnsStaleResultAndRefreshes() {
+        // given
+        ResultCache<String, QueryResult> cache = createCache(OPTIONS);
+        cache.get("key", () -> load("a")).join();
+        clock.addAndGet(Duration.ofSeconds(12).toNanos());
+
+        // when
+        QueryResult staleResult = cache.get("key", () -> load("b")).join();
+        QueryResult refreshedResult = cache.get("key", () -> load("c")).join();
+
+        // then
+        assertThat(staleResult.getData()).containsExactly("a");
+        assertThat(refreshedResult.getData()).containsExactly("b");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void get_expiredWithinStaleWindowAndRefreshThrows_returnsStaleResult() {
+        // given
+        ResultCache<String, QueryResult> cache = createCache(OPTIONS);
+        cache.get("key", () -> load("a")).join();
+        clock.addAndGet(Duration.ofSeconds(12).toNanos());
+
+        // when
+        QueryResult staleResult = cache.get("key", () -> {
+            throw new IllegalStateException("Refresh failed");
+        }).join();
+        QueryResult refreshedResult = cache.get("key", () -> load("b")).join();
+
+        // then
+        assertThat(staleResult.getData()).containsExactly("a");
+        assertThat(refreshedResult.getData()).containsExactly("a");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void get_expiredAfterStaleWindow_loadsResult() {
+        // given
+        ResultCache<String, QueryResult> cache = createCache(OPTIONS);
+        cache.get("key", () -> load("a")).join();
+        clock.addAndGet(Duration.ofSeconds(16).toNanos());
+
+        // when
+        QueryResult result = cache.get("key", () -> load("b")).join();
+
+        // then
+        assertThat(result.getData()).containsExactly("b");
+    }
+
+    @Test
+    void get_concurrentLoadsForSameKey_shareSingleLoad() {
+        // given
+        ResultCache<String, QueryResult> cache = createCache(OPTIONS);
+        CompletableFuture<QueryResult> pendingLoad = new CompletableFuture<>();
+
+        // when
+        CompletableFuture<QueryResult> first = cache.get("key", () -> {
+            loads.incrementAndGet();
+            return pendingLoad;
+        });
+        CompletableFuture<QueryResult> second = cache.get("key", () -> load("b"));
+        pendingLoad.complete(result("a"));
+
+        // then
+        assertThat(first.join().getData()).containsExactly("a");
+        assertThat(second.join().getData()).containsExactly("a");
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void get_loadFails_failureNotCached() {
+        // given
+        ResultCache<String, QueryResult> cache = createCache(OPTIONS);
+
+        // when
+        CompletionException throwable = catchThrowableOfType(
+                () -> cache.get("key", () -> CompletableFuture.failedFuture(new HttpResponseException(500, null))).join(),
+                CompletionException.class);
+        QueryResult result = cache.get("key", () -> load("a")).join();
+
+        // then
+        assertThat(throwable.getCause()).isInstanceOf(HttpResponseException.class);
+        assertThat(result.getData()).containsExactly("a");
+    }
+
+    @Test
+    void get_resultNotCacheable_resultNotCached() {
+        // given
+        ResultCache<String, QueryResult> cache = createCache(OPTIONS);
+        cache.get("key", () -> {
+            loads.incrementAndGet();
+            QueryResult failed = new QueryResult();
+            failed.setStatus("FAILED");
+            return CompletableFuture.completedFuture(failed);
+        }).join();
+
+        // when
+        QueryResult result = cache.get("key", () -> load("a")).join();
+
+        // then
+        assertThat(result.getData()).containsExactly("a");
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void get_moreThanMaxEntries_leastRecentlyUsedEvicted() {
+        // given
+        ResultCache<String, QueryResult> cache = createCache(OPTIONS);
+        cache.get("key1", () -> load("a")).join();
+        cache.get("key2", () -> load("b")).join();
+        cache.get("key1", () -> load("a")).join();
+
+        // when
+        cache.get("key3", () -> load("c")).join();
+        cache.get("key2", () -> load("d")).join();
+
+        // then
+        assertThat(loads.get()).isEqualTo(4);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void get_withCodec_returnsDecodedCopyOfResult() {
+        // given
+        ResultCache<String, QueryResult> cache = createCache(OPTIONS.toBuilder().codec(ResponseCodec.smile()).build());
+        QueryResult loaded = cache.get("key", () -> load("a")).join();
+
+        // when
+        QueryResult cached = cache.get("key", () -> load("b")).join();
+
+        // then
+        assertThat(cached).isEqualTo(loaded).isNotSameAs(loaded);
+    }
+
+    @Test
+    void get_resultModifiedByCaller_cachedResultUnchanged() {
+        // given
+        ResultCache<String, QueryResult> cache = createCache(OPTIONS);
+        CompletableFuture<QueryResult> pendingLoad = new CompletableFuture<>();
+        CompletableFuture<QueryResult> first = cache.get("key", () -> pendingLoad);
+        CompletableFuture<QueryResult> second = cache.get("key", () -> load("b"));
+        pendingLoad.complete(result("a"));
+
+        // when
+        first.join().setData(List.of("modified"));
+        second.join().setData(List.of("modified"));
+        cache.get("key", () -> load("c")).join().setData(List.of("modified"));
+        QueryResult cached = cache.get("key", () -> load("d")).join();
+
+        // then
+        assertThat(cached.getData()).containsExactly("a");
+        assertThat(loads.get()).isZero();
+    }
+
+    @Test
+    void invalidateAll_cachedResults_resultsReloaded() {
+        // given
+        ResultCache<String, QueryResult> cache = createCache(OPTIONS);
+        cache.get("key", () -> load("a")).join();
+
+        // when
+        cache.invalidateAll();
+        QueryResult result = cache.get("key", () -> load("b")).join();
+
+        // then
+        assertThat(result.getData()).containsExactly("b");
+    }
+
+    @Test
+    void invalidateAll_loadPending_loadedResultNotCachedOrShared() {
+        // given
+        ResultCache<String, QueryResult> cache = createCache(OPTIONS);
+        CompletableFuture<QueryResult> pendingLoad = new CompletableFuture<>();
+        CompletableFuture<QueryResult> first = cache.get("key", () -> {
+            loads.incrementAndGet();
+            return pendingLoad;
+        });
+
+        // when
+        cache.invalidateAll();
+        CompletableFuture<QueryResult> second = cache.get("key", () -> load("b"));
+        pendingLoad.complete(result("a"));
+        QueryResult cached = cache.get("key", () -> load("c")).join();
+
+        // then
+        assertThat(first.join().getData()).containsExactly("a");
+        assertThat(second.join().getData()).containsExactly("b");
+        assertThat(cached.getData()).containsExactly("b");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private ResultCache<String, QueryResult> createCache(CacheOptions options) {
+        return new ResultCache<>(options, QueryResult.class, r -> "COMPLETED".equals(r.getStatus()),
+                r -> r.getData().isEmpty(), clock::get);
+    }
+
+    private CompletableFuture<QueryResult> load(String... data) {
+        loads.incrementAndGet();
+        return CompletableFuture.completedFuture(result(data));
+    }
+
+    private QueryResult result(String... data) {
+        QueryResult result = new QueryResult();
+        result.setStatus("COMPLETED");
+        result.setData(data.length == 0 ? Collections.emptyList() : List.of(data));
+        return result;
+    }
+}
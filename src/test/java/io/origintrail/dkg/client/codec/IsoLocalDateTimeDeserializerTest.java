@@ -0,0 +1,79 @@
+package io.origintrail.dkg.client.codec;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.origintrail.dkg.client.model.response.AssertionSearchResult;
+import io.origintrail.dkg.client.model.response.Metadata;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+
+import static io.origintrail.dkg.client.service.ApiRequestService.OBJECT_MAPPER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class IsoLocalDateTimeDeserializerTest {
+
+    private static final ObjectMapper JAVA_TIME_MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void parse_utcTimestampWithMillis_returnsUtcDateTime() {
+        // when
+        LocalDateTime dateTime = IsoLocalDateTimeDeserializer.parse("2022-01-31T13:35:25.505Z");
+
+        // then
+        assertThat(dateTime).isEqualTo(LocalDateTime.of(2022, 1, 31, 13, 35, 25, 505_000_000));
+    }
+
+    @Test
+    void parse_otherForms_parsedOrLeftToJavaTimeModule() {
+        // then
+        assertThat(IsoLocalDateTimeDeserializer.parse("2022-01-31T13:35:25")).isEqualTo(LocalDateTime.of(2022, 1, 31, 13, 35, 25));
+        assertThat(IsoLocalDateTimeDeserializer.parse("2022-01-31T13:35:25.123456789"))
+                .isEqualTo(LocalDateTime.of(2022, 1, 31, 13, 35, 25, 123_456_789));
+        assertThat(IsoLocalDateTimeDeserializer.parse("2022-01-31T13:35")).isNull();
+        assertThat(IsoLocalDateTimeDeserializer.parse("2022-01-31T13:35:25+02:00")).isNull();
+        assertThat(IsoLocalDateTimeDeserializer.parse("2022-02-30T13:35:25Z")).isNull();
+        assertThat(IsoLocalDateTimeDeserializer.parse("2022-01-31T13:35:25.Z")).isNull();
+    }
+
+    @Test
+    void deserialize_assertionsSearchResponse_sameTimestampsAsJavaTimeModule() throws IOException {
+        // given
+        byte[] body = getFileData("example-responses/assertions-search-response-body.json");
+
+        // when
+        AssertionSearchResult result = OBJECT_MAPPER.readValue(body, AssertionSearchResult.class);
+
+        // then
+        AssertionSearchResult expected = JAVA_TIME_MAPPER.readValue(body, AssertionSearchResult.class);
+        assertThat(result).isEqualTo(expected);
+        assertThat(result.getItemListElement().get(0).getResult().getMetadata().getTimestamp())
+                .isEqualTo(LocalDateTime.of(2022, 1, 31, 13, 35, 25, 505_000_000));
+    }
+
+    @Test
+    void deserialize_nonIsoForms_sameAsJavaTimeModule() throws IOException {
+        // given
+        String body = "{\"timestamp\": [2022, 1, 31, 13, 35, 25, 505000000], \"latestState\": \"2022-01-31T13:35\"}";
+
+        // when
+        Metadata metadata = OBJECT_MAPPER.readValue(body, Metadata.class);
+        JsonMappingException exception = catchThrowableOfType(() -> OBJECT_MAPPER.readValue("{\"timestamp\": \"31/01/2022\"}",
+                Metadata.class), JsonMappingException.class);
+
+        // then
+        assertThat(metadata).isEqualTo(JAVA_TIME_MAPPER.readValue(body, Metadata.class));
+        assertThat(exception).isNotNull();
+    }
+
+    private byte[] getFileData(String fileName) throws IOException {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(fileName)) {
+            return IOUtils.toByteArray(inputStream);
+        }
+    }
+}
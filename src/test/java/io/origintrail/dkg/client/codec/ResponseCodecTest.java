@@ -0,0 +1,98 @@
+package io.origintrail.dkg.client.codec;
+
+import io.origintrail.dkg.client.exception.CodecException;
+import io.origintrail.dkg.client.model.response.ResolveResult;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+import static io.origintrail.dkg.client.service.ApiRequestService.OBJECT_MAPPER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class ResponseCodecTest {
+
+    private static final String RESOLVE_RESPONSE = "example-responses/resolve-response-body.json";
+
+    @Test
+    void smile_encodeAndDecodeResolveResult_decodedResultEqualsOriginal() throws IOException {
+        // given
+        ResolveResult resolveResult = OBJECT_MAPPER.readValue(getFileData(RESOLVE_RESPONSE), ResolveResult.class);
+
+        // when
+        byte[] payload = ResponseCodec.smile().encode(resolveResult);
+        ResolveResult decoded = ResponseCodec.smile().decode(payload, ResolveResult.class);
+
+        // then
+        assertThat(decoded).isEqualTo(resolveResult);
+        assertThat(decoded.getData().get(0).getAssertion().getMetadata().getTimestamp())
+                .isEqualTo(resolveResult.getData().get(0).getAssertion().getMetadata().getTimestamp());
+    }
+
+    @Test
+    void smile_encodeResolveResult_payloadIsSmallerThanJson() throws IOException {
+        // given
+        ResolveResult resolveResult = OBJECT_MAPPER.readValue(getFileData(RESOLVE_RESPONSE), ResolveResult.class);
+
+        // when
+        byte[] smilePayload = ResponseCodec.smile().encode(resolveResult);
+        byte[] jsonPayload = ResponseCodec.json().encode(resolveResult);
+
+        // then
+        assertThat(smilePayload.length).isLessThan(jsonPayload.length);
+    }
+
+    @Test
+    void json_encodeAndDecodeResolveResult_decodedResultEqualsOriginal() throws IOException {
+        // given
+        ResolveResult resolveResult = OBJECT_MAPPER.readValue(getFileData(RESOLVE_RESPONSE), ResolveResult.class);
+
+        // when
+        ResolveResult decoded = ResponseCodec.json().decode(ResponseCodec.json().encode(resolveResult), ResolveResult.class);
+
+        // then
+        assertThat(decoded).isEqualTo(resolveResult);
+    }
+
+    @Test
+    void smileAndJson_mappers_registerSameModulesAsApiMapper() {
+        // when
+        Set<Object> smileModules = ((ObjectMapperResponseCodec) ResponseCodec.smile()).getMapper().getRegisteredModuleIds();
+        Set<Object> jsonModules = ((ObjectMapperResponseCodec) ResponseCodec.json()).getMapper().getRegisteredModuleIds();
+
+        // then
+        assertThat(smileModules).contains("IsoLocalDateTimeModule").isEqualTo(OBJECT_MAPPER.getRegisteredModuleIds());
+        assertThat(jsonModules).isEqualTo(OBJECT_MAPPER.getRegisteredModuleIds());
+    }
+
+    @Test
+    void decode_invalidPayload_throwsCodecException() {
+        // when
+        CodecException throwable = catchThrowableOfType(
+                () -> ResponseCodec.smile().decode(new byte[]{1, 2, 3}, ResolveResult.class), CodecException.class);
+
+        // then
+        assertThat(throwable.getMessage()).isEqualTo("Exception decoding ResolveResult.");
+    }
+
+    @Test
+    void encode_nullValue_throwsCodecException() {
+        // when
+        CodecException throwable = catchThrowableOfType(() -> ResponseCodec.smile().encode(null), CodecException.class);
+
+        // then
+        assertThat(throwable.getMessage()).isEqualTo("Cannot encode null value.");
+    }
+
+    private byte[] getFileData(String fileName) throws IOException {
+        try (InputStream inputStream = ResponseCodecTest.class.getClassLoader().getResourceAsStream(fileName)) {
+            if (inputStream == null) {
+                throw new IllegalArgumentException("File not found: " + fileName);
+            }
+            return IOUtils.toByteArray(inputStream);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package io.origintrail.dkg.client.http;
+
+import io.origintrail.dkg.client.exception.UriCreationException;
+import io.origintrail.dkg.client.model.HttpUrlOptions;
+import io.origintrail.dkg.client.util.UriUtil;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class EndpointCatalogTest {
+
+    private static final HttpUrlOptions HTTP_URL_OPTIONS = new HttpUrlOptions("localhost", 8900, "http");
+
+    private final EndpointCatalog endpointCatalog = new EndpointCatalog(HTTP_URL_OPTIONS);
+
+    @Test
+    void uri_queryParameters_encodedAsUriBuilderEncodesThem() {
+        // given
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put("query", "a keyword: caf\u00E9 & more/?*~");
+        parameters.put("ids", " ");
+        parameters.put("limit", "20");
+
+        // when
+        URI uri = endpointCatalog.uri(Endpoint.ENTITIES_SEARCH, parameters);
+
+        // then
+        URI expectedUri = UriUtil.builder().httpUrlOptions(HTTP_URL_OPTIONS)
+                .path("entities:search")
+                .queryParameters(parameters)
+                .build();
+        assertThat(uri).isEqualTo(expectedUri);
+        assertThat(uri.toString()).isEqualTo("http://localhost:8900/entities:search?query=a+keyword%3A+caf%C3%A9+%26+more%2F%3F*%7E&limit=20");
+    }
+
+    @Test
+    void uri_repeatedParameterValues_eachValueAdded() {
+        // when
+        URI uri = endpointCatalog.uri(Endpoint.PROOFS, "assertions", List.of("a1", "", "a2"));
+
+        // then
+        assertThat(uri.toString()).isEqualTo("http://localhost:8900/proofs:get?assertions=a1&assertions=a2");
+        assertThat(endpointCatalog.uri(Endpoint.PROOFS, "assertions", List.of())).isSameAs(endpointCatalog.uri(Endpoint.PROOFS));
+    }
+
+    @Test
+    void resultUri_handlerId_appendedAsEncodedPathSegment() {
+        // when
+        URI uri = endpointCatalog.resultUri(Endpoint.QUERY_RESULT, "ffd8a00e-bf22-4432-8d88-804f4f9baa27");
+        URI unsafeUri = endpointCatalog.resultUri(Endpoint.QUERY_RESULT, "a b/c?d");
+
+        // then
+        assertThat(uri.toString()).isEqualTo("http://localhost:8900/query/result/ffd8a00e-bf22-4432-8d88-804f4f9baa27");
+        assertThat(unsafeUri.getRawPath()).isEqualTo("/query/result/a%20b%2Fc%3Fd");
+    }
+
+    @Test
+    void endpoint_requestUris_endpointOfEachUri() {
+        // when
+        Endpoint query = endpointCatalog.endpoint(endpointCatalog.uri(Endpoint.QUERY, Map.of("type", "construct")));
+        Endpoint queryResult = endpointCatalog.endpoint(endpointCatalog.resultUri(Endpoint.QUERY_RESULT, "a b/result/c"));
+        Endpoint search = endpointCatalog.endpoint(endpointCatalog.uri(Endpoint.ENTITIES_SEARCH));
+        Endpoint unknown = endpointCatalog.endpoint(URI.create("http://localhost:8900/path"));
+
+        // then
+        assertThat(query).isEqualTo(Endpoint.QUERY);
+        assertThat(queryResult).isEqualTo(Endpoint.QUERY_RESULT);
+        assertThat(search).isEqualTo(Endpoint.ENTITIES_SEARCH);
+        assertThat(unknown).isNull();
+    }
+
+    @Test
+    void constructor_invalidHost_throwsUriCreationException() {
+        // when
+        UriCreationException throwable = catchThrowableOfType(
+                () -> new EndpointCatalog(new HttpUrlOptions("invalid host", 8900, "http")), UriCreationException.class);
+
+        // then
+        assertThat(throwable.getMessage()).isEqualTo("Exception occurred creating Uri.");
+    }
+}
@@ -0,0 +1,49 @@
+package io.origintrail.dkg.client.http;
+
+import io.origintrail.dkg.client.model.NQuad;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NQuadsBodyChunksTest {
+
+    @Test
+    void next_manyNQuads_encodedAsNewlineTerminatedLinesInBoundedChunks() {
+        // given
+        List<NQuad> nQuads = IntStream.range(0, 100)
+                .mapToObj(i -> NQuad.builder("<did:dkg:" + i + ">", "<http://schema.org/name>", "\"na\u00EFve " + i + "\"")
+                        .graph("<did:dkg:g>")
+                        .build())
+                .collect(Collectors.toList());
+        NQuadsBodyChunks chunks = new NQuadsBodyChunks(nQuads.iterator(), 512);
+
+        // when
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        List<byte[]> chunkList = new ArrayList<>();
+        chunks.forEachRemaining(chunk -> {
+            chunkList.add(chunk);
+            body.writeBytes(chunk);
+        });
+
+        // then
+        String expected = nQuads.stream().map(nQuad -> nQuad + "\n").collect(Collectors.joining());
+        assertThat(body.toString(StandardCharsets.UTF_8)).isEqualTo(expected);
+        assertThat(chunkList).hasSizeGreaterThan(1).allSatisfy(chunk -> assertThat(chunk.length).isLessThan(512 + 100));
+    }
+
+    @Test
+    void hasNext_noNQuads_returnsFalse() {
+        // when
+        NQuadsBodyChunks chunks = new NQuadsBodyChunks(List.<NQuad>of().iterator());
+
+        // then
+        assertThat(chunks.hasNext()).isFalse();
+    }
+}
@@ -0,0 +1,97 @@
+package io.origintrail.dkg.client.index;
+
+import io.origintrail.dkg.client.model.response.EntitySearchResult;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static io.origintrail.dkg.client.service.ApiRequestService.OBJECT_MAPPER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityIdTrieTest {
+
+    private static final String ENTITIES_SEARCH_RESPONSE = "example-responses/entities-search-response-body.json";
+
+    private final EntityIdTrie entityIdTrie = new EntityIdTrie();
+
+    @Test
+    void find_sharedPrefixes_returnsMatchesInLexicographicOrder() {
+        // given
+        entityIdTrie.put("abcd", "Product");
+        entityIdTrie.put("abc", "Person");
+        entityIdTrie.put("abd", "Product");
+        entityIdTrie.put("b", "Product");
+
+        // when
+        List<EntityIdMatch> result = entityIdTrie.find("ab", null, 10);
+
+        // then
+        assertThat(result).containsExactly(
+                new EntityIdMatch("abc", "Person"),
+                new EntityIdMatch("abcd", "Product"),
+                new EntityIdMatch("abd", "Product"));
+        assertThat(entityIdTrie.size()).isEqualTo(4);
+    }
+
+    @Test
+    void find_prefixEndsWithinEdgeLabel_returnsMatches() {
+        // given
+        entityIdTrie.put("abcdef", null);
+
+        // then
+        assertThat(entityIdTrie.find("abc", null, 10)).containsExactly(new EntityIdMatch("abcdef", null));
+        assertThat(entityIdTrie.find("abx", null, 10)).isEmpty();
+        assertThat(entityIdTrie.find("abcdefg", null, 10)).isEmpty();
+    }
+
+    @Test
+    void find_maxResultsAndTypes_returnsBoundedMatchingTypes() {
+        // given
+        entityIdTrie.put("a1", "Product");
+        entityIdTrie.put("a2", "Person");
+        entityIdTrie.put("a3", "Product");
+        entityIdTrie.put("a4", "Product");
+
+        // then
+        assertThat(entityIdTrie.find("a", "product", 2)).extracting(EntityIdMatch::getId).containsExactly("a1", "a3");
+        assertThat(entityIdTrie.find("a", null, 3)).hasSize(3);
+    }
+
+    @Test
+    void isSearched_shorterPrefixSearched_returnsTrue() {
+        // given
+        entityIdTrie.markSearched("ab", null);
+        entityIdTrie.markSearched("cd", "Person");
+
+        // then
+        assertThat(entityIdTrie.isSearched("abc", "Product")).isTrue();
+        assertThat(entityIdTrie.isSearched("cde", "person")).isTrue();
+        assertThat(entityIdTrie.isSearched("cde", null)).isFalse();
+        assertThat(entityIdTrie.isSearched("a", null)).isFalse();
+    }
+
+    @Test
+    void indexEntitySearchResult_searchResultItems_idsAndTypesAdded() throws IOException {
+        // given
+        EntitySearchResult searchResult = OBJECT_MAPPER.readValue(getFileData(ENTITIES_SEARCH_RESPONSE), EntitySearchResult.class);
+
+        // when
+        entityIdTrie.indexEntitySearchResult(searchResult);
+
+        // then
+        assertThat(entityIdTrie.find("0ba6", null, 10)).containsExactly(
+                new EntityIdMatch("0ba6ee0852f653c450dccc94feb37a506d5f0ef8a7f540165793c31c2ec17d99", "PRODUCT"));
+    }
+
+    private byte[] getFileData(String fileName) throws IOException {
+        try (InputStream inputStream = EntityIdTrieTest.class.getClassLoader().getResourceAsStream(fileName)) {
+            if (inputStream == null) {
+                throw new IllegalArgumentException("File not found: " + fileName);
+            }
+            return IOUtils.toByteArray(inputStream);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.origintrail.dkg.client.index;
+
+import io.origintrail.dkg.client.model.PublishOptions;
+import io.origintrail.dkg.client.model.response.Metadata;
+import io.origintrail.dkg.client.model.response.PublishResult;
+import io.origintrail.dkg.client.model.response.PublishResultData;
+import io.origintrail.dkg.client.model.response.ResolveResult;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static io.origintrail.dkg.client.service.ApiRequestService.OBJECT_MAPPER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeywordIndexTest {
+
+    private static final String RESOLVE_RESPONSE = "example-responses/resolve-response-body.json";
+    private static final String RESOLVED_ASSERTION_ID = "d4a9bd3c6b326d25ecf30151629cf55d96180d86534ea8492ab3013b9bc4e7e3";
+
+    private final KeywordIndex keywordIndex = new KeywordIndex();
+
+    @Test
+    void indexResolveResult_resolvedMetadata_assertionFoundByKeywordIssuerAndType() throws IOException {
+        // given
+        ResolveResult resolveResult = OBJECT_MAPPER.readValue(getFileData(RESOLVE_RESPONSE), ResolveResult.class);
+
+        // when
+        keywordIndex.indexResolveResult(resolveResult);
+
+        // then
+        assertThat(keywordIndex.findByKeyword("1234test3")).containsExactly(RESOLVED_ASSERTION_ID);
+        assertThat(keywordIndex.findByIssuer("0x31c98399d3d162fc9bfbfe25c3fc1e41d19ed711")).containsExactly(RESOLVED_ASSERTION_ID);
+        assertThat(keywordIndex.findByType("Person")).containsExactly(RESOLVED_ASSERTION_ID);
+    }
+
+    @Test
+    void indexPublishResult_registeredPublishOptions_assertionFoundByPublishKeywords() {
+        // given
+        keywordIndex.registerPublish("handlerId", PublishOptions.builder(List.of("Supplier", "Product")).build());
+        PublishResultData data = new PublishResultData();
+        data.setId("assertionId");
+        PublishResult publishResult = new PublishResult();
+        publishResult.setData(data);
+
+        // when
+        keywordIndex.indexPublishResult("handlerId", publishResult);
+
+        // then
+        assertThat(keywordIndex.findByKeyword("supplier")).containsExactly("assertionId");
+        assertThat(keywordIndex.findByKeyword(" PRODUCT ")).containsExactly("assertionId");
+    }
+
+    @Test
+    void find_multipleTerms_returnsAssertionsMatchingAllTerms() {
+        // given
+        keywordIndex.index("a1", List.of("car", "red"), "issuer1", "Product");
+        keywordIndex.index("a2", List.of("car", "blue"), "issuer2", "Product");
+        keywordIndex.index("a3", List.of("car"), "issuer1", "Person");
+
+        // when
+        List<String> result = keywordIndex.find("car", "issuer1", "Product");
+
+        // then
+        assertThat(result).containsExactly("a1");
+        assertThat(keywordIndex.findByKeyword("car")).containsExactly("a1", "a2", "a3");
+    }
+
+    @Test
+    void index_sameAssertionIndexedTwice_assertionInternedOnce() {
+        // given
+        Metadata metadata = new Metadata();
+        metadata.setKeywords(List.of("car"));
+
+        // when
+        keywordIndex.index("a1", metadata);
+        keywordIndex.index("a1", List.of("red"), null, null);
+
+        // then
+        assertThat(keywordIndex.size()).isEqualTo(1);
+        assertThat(keywordIndex.find("car", null, null)).containsExactly("a1");
+        assertThat(keywordIndex.find("red", null, null)).containsExactly("a1");
+    }
+
+    @Test
+    void find_unknownOrNoTerms_returnsEmptyList() {
+        // given
+        keywordIndex.index("a1", List.of("car"), null, null);
+
+        // then
+        assertThat(keywordIndex.findByKeyword("boat")).isEmpty();
+        assertThat(keywordIndex.find(null, null, null)).isEmpty();
+    }
+
+    private byte[] getFileData(String fileName) throws IOException {
+        try (InputStream inputStream = KeywordIndexTest.class.getClassLoader().getResourceAsStream(fileName)) {
+            if (inputStream == null) {
+                throw new IllegalArgumentException("File not found: " + fileName);
+            }
+            return IOUtils.toByteArray(inputStream);
+        }
+    }
+}
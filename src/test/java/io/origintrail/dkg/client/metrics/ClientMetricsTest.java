@@ -0,0 +1,211 @@
+package io.origintrail.dkg.client.metrics;
+
+import io.origintrail.dkg.client.DkgClient;
+import io.origintrail.dkg.client.exception.PollingTimeoutException;
+import io.origintrail.dkg.client.http.Endpoint;
+import io.origintrail.dkg.client.model.AssertionSearchOptions;
+import io.origintrail.dkg.client.model.DkgClientOptions;
+import io.origintrail.dkg.client.model.PollingOptions;
+import io.origintrail.dkg.client.model.PublishOptions;
+import io.origintrail.dkg.client.model.SparqlQueryType;
+import io.origintrail.dkg.client.simulator.DkgNodeSimulator;
+import io.origintrail.dkg.client.simulator.SimulatorOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class ClientMetricsTest {
+
+    private static final byte[] ASSET = ("{\"@context\": \"https://schema.org/\", \"@type\": \"Product\", "
+            + "\"@id\": \"urn:product:anvil\", \"name\": \"Executive Anvil\"}").getBytes(StandardCharsets.UTF_8);
+    private static final PollingOptions POLLING_OPTIONS = PollingOptions.builder().interval(Duration.ofMillis(10)).build();
+
+    private final RecordingMetrics metrics = new RecordingMetrics();
+    private DkgNodeSimulator simulator;
+    private DkgClient dkgClient;
+
+    @AfterEach
+    void tearDown() {
+        if (simulator != null) {
+            simulator.close();
+        }
+    }
+
+    @Test
+    void queryAndAwait_metricsEnabled_recordsEachRequestAndPolling() throws IOException {
+        // given
+        start(SimulatorOptions.builder().operationDuration(Duration.ofMillis(50)).build());
+
+        // when
+        dkgClient.queryAndAwait(SparqlQueryType.CONSTRUCT, "CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p ?o }", POLLING_OPTIONS).join();
+
+        // then
+        String node = simulator.getHost() + ":" + simulator.getPort();
+        assertThat(metrics.started).containsOnly(Endpoint.QUERY, Endpoint.QUERY_RESULT);
+        assertThat(metrics.completed).hasSameSizeAs(metrics.started).allSatisfy(request -> {
+            assertThat(request.node).isEqualTo(node);
+            assertThat(request.statusCode).isBetween(200, 299);
+            assertThat(request.latencyNanos).isPositive();
+            assertThat(request.bytesReceived).isPositive();
+        });
+        assertThat(metrics.completed.stream().filter(request -> request.endpoint == Endpoint.QUERY))
+                .singleElement().satisfies(request -> assertThat(request.bytesSent).isPositive());
+
+        assertThat(metrics.polled).singleElement().satisfies(polling -> {
+            assertThat(polling.endpoint).isEqualTo(Endpoint.QUERY_RESULT);
+            assertThat(polling.status).isEqualTo("COMPLETED");
+            assertThat(polling.polls).isEqualTo((int) metrics.started.stream().filter(Endpoint.QUERY_RESULT::equals).count());
+            assertThat(polling.elapsedNanos).isPositive();
+        });
+    }
+
+    @Test
+    void publishAssertion_metricsEnabled_recordsMultiPartBodyLength() throws IOException {
+        // given
+        start(SimulatorOptions.defaults());
+
+        // when
+        dkgClient.publishAssertion("asset.json", ASSET, PublishOptions.builder(List.of("anvil")).build()).join();
+
+        // then
+        assertThat(metrics.completed).singleElement().satisfies(request -> {
+            assertThat(request.endpoint).isEqualTo(Endpoint.PUBLISH);
+            assertThat(request.bytesSent).isGreaterThan(ASSET.length);
+        });
+    }
+
+    @Test
+    void resolve_errorStatus_recordsStatusCode() throws IOException {
+        // given
+        start(SimulatorOptions.builder().errorRate(1).errorStatus(503).build());
+
+        // when
+        catchThrowableOfType(() -> dkgClient.resolve(List.of("assertionId")).join(), CompletionException.class);
+
+        // then
+        assertThat(metrics.completed).singleElement().satisfies(request -> {
+            assertThat(request.endpoint).isEqualTo(Endpoint.RESOLVE);
+            assertThat(request.statusCode).isEqualTo(503);
+        });
+    }
+
+    @Test
+    void searchAssertions_stillPending_recordsPollingTimeout() throws IOException {
+        // given
+        start(SimulatorOptions.builder().operationDuration(Duration.ofMinutes(1)).build());
+        PollingOptions pollingOptions = PollingOptions.builder().interval(Duration.ofMillis(10)).maxAttempts(3).build();
+
+        // when
+        catchThrowableOfType(() -> dkgClient.searchAssertions(AssertionSearchOptions.builder("anvil").build(), pollingOptions)
+                .join(), CompletionException.class);
+
+        // then
+        assertThat(metrics.polled).singleElement().satisfies(polling -> {
+            assertThat(polling.endpoint).isEqualTo(Endpoint.ASSERTIONS_SEARCH_RESULT);
+            assertThat(polling.polls).isEqualTo(3);
+            assertThat(polling.error).isInstanceOf(PollingTimeoutException.class);
+        });
+    }
+
+    @Test
+    void getNodeInfo_nodeUnavailable_recordsRequestFailure() throws IOException {
+        // given
+        start(SimulatorOptions.defaults());
+        simulator.close();
+
+        // when
+        catchThrowableOfType(() -> dkgClient.getNodeInfo().join(), CompletionException.class);
+
+        // then
+        assertThat(metrics.completed).isEmpty();
+        assertThat(metrics.failed.stream().map(request -> request.endpoint).collect(Collectors.toList()))
+                .containsExactly(Endpoint.INFO);
+    }
+
+    private void start(SimulatorOptions options) throws IOException {
+        simulator = DkgNodeSimulator.start(options);
+        dkgClient = new DkgClient(simulator.getHost(), simulator.getPort(), false,
+                DkgClientOptions.builder().metrics(metrics).build());
+    }
+
+    private static class RecordingMetrics implements ClientMetrics {
+
+        private final Queue<Endpoint> started = new ConcurrentLinkedQueue<>();
+        private final Queue<Request> completed = new ConcurrentLinkedQueue<>();
+        private final Queue<Request> failed = new ConcurrentLinkedQueue<>();
+        private final Queue<Polling> polled = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public void requestStarted(Endpoint endpoint, String node) {
+            started.add(endpoint);
+        }
+
+        @Override
+        public void requestCompleted(Endpoint endpoint, String node, int statusCode, long latencyNanos, long bytesSent,
+                                     long bytesReceived) {
+            completed.add(new Request(endpoint, node, statusCode, latencyNanos, bytesSent, bytesReceived));
+        }
+
+        @Override
+        public void requestFailed(Endpoint endpoint, String node, Throwable error, long latencyNanos) {
+            failed.add(new Request(endpoint, node, 0, latencyNanos, 0, 0));
+        }
+
+        @Override
+        public void pollingCompleted(Endpoint resultEndpoint, String node, String handlerId, int polls, String status,
+                                     long timeToTerminalNanos) {
+            polled.add(new Polling(resultEndpoint, polls, status, null, timeToTerminalNanos));
+        }
+
+        @Override
+        public void pollingFailed(Endpoint resultEndpoint, String node, String handlerId, int polls, Throwable error,
+                                  long elapsedNanos) {
+            polled.add(new Polling(resultEndpoint, polls, null, error, elapsedNanos));
+        }
+    }
+
+    private static class Request {
+        private final Endpoint endpoint;
+        private final String node;
+        private final int statusCode;
+        private final long latencyNanos;
+        private final long bytesSent;
+        private final long bytesReceived;
+
+        private Request(Endpoint endpoint, String node, int statusCode, long latencyNanos, long bytesSent, long bytesReceived) {
+            this.endpoint = endpoint;
+            this.node = node;
+            this.statusCode = statusCode;
+            this.latencyNanos = latencyNanos;
+            this.bytesSent = bytesSent;
+            this.bytesReceived = bytesReceived;
+        }
+    }
+
+    private static class Polling {
+        private final Endpoint endpoint;
+        private final int polls;
+        private final String status;
+        private final Throwable error;
+        private final long elapsedNanos;
+
+        private Polling(Endpoint endpoint, int polls, String status, Throwable error, long elapsedNanos) {
+            this.endpoint = endpoint;
+            this.polls = polls;
+            this.status = status;
+            this.error = error;
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+}
@@ -21,6 +21,18 @@ class AssertionSearchOptionsTest {
         assertThat(queryParameters).containsOnly(entry("query", "keyword"),entry("load", "false"));
     }
 
+    @Test
+    void getQueryParameters_optionsHasLimitParameter_returnsMapWithLimitParameter() {
+        // given
+        AssertionSearchOptions assertionSearchOptions = AssertionSearchOptions.builder("keyword").limit(20).build();
+
+        // when
+        Map<String, String> queryParameters = assertionSearchOptions.getQueryParameters();
+
+        // then
+        assertThat(queryParameters).containsOnly(entry("query", "keyword"), entry("limit", "20"));
+    }
+
     @Test
     void getQueryParameters_optionsHasQueryParameter_returnsMapWithQueryParameterOnly() {
         // given
@@ -0,0 +1,238 @@
+package io.origintrail.dkg.client.proof;
+
+import io.origintrail.dkg.client.model.NQuad;
+import io.origintrail.dkg.client.model.response.Proof;
+import io.origintrail.dkg.client.model.response.ProofData;
+import io.origintrail.dkg.client.model.response.ProofsResult;
+import io.origintrail.dkg.client.model.response.ProofsResultData;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ProofVerifierTest {
+
+    private static final String ASSERTION_ID = "5285f5da78edeaa9a7cb853ebd85121fae7d93191490d182490464668f2d21cc";
+
+    private final ProofVerifier proofVerifier = new ProofVerifier();
+
+    @Test
+    void verify_proofsOfFourTripleTree_allValid() throws Exception {
+        // given
+        MerkleTree tree = new MerkleTree(triples(4));
+
+        // when
+        ProofVerification verification = proofVerifier.verify(tree.proofsResult(), Map.of(ASSERTION_ID, tree.rootHash()));
+
+        // then
+        assertThat(verification.getProofCount()).isEqualTo(4);
+        assertThat(verification.isValid()).isTrue();
+    }
+
+    @Test
+    void verify_tamperedTripleAndPath_returnsInvalidProofs() throws Exception {
+        // given
+        MerkleTree tree = new MerkleTree(triples(4));
+        ProofsResult proofsResult = tree.proofsResult();
+        List<Proof> proofs = proofsResult.getData().get(0).getProofs();
+        proofs.get(0).setTriple("<did:dkg:x> <http://schema.org/name> \"tampered\" .");
+        proofs.get(1).getProof().get(0).setLeft(proofs.get(3).getTripleHash());
+        proofs.get(2).getProof().get(0).setRight("not a hash");
+
+        // when
+        ProofVerification verification = proofVerifier.verify(proofsResult, Map.of(ASSERTION_ID, tree.rootHash()));
+
+        // then
+        assertThat(verification.getInvalidProofs())
+                .extracting(InvalidProof::getReason)
+                .containsExactly(InvalidProof.Reason.TRIPLE_HASH_MISMATCH, InvalidProof.Reason.ROOT_HASH_MISMATCH,
+                        InvalidProof.Reason.MALFORMED);
+        assertThat(verification.getInvalidProofs().get(0).getAssertionId()).isEqualTo(ASSERTION_ID);
+    }
+
+    @Test
+    void verify_rootHashNotGiven_returnsMissingRootHash() throws Exception {
+        // given
+        MerkleTree tree = new MerkleTree(triples(2));
+
+        // when
+        ProofVerification verification = proofVerifier.verify(tree.proofsResult(), Map.of());
+
+        // then
+        assertThat(verification.getInvalidProofs())
+                .extracting(InvalidProof::getReason)
+                .containsOnly(InvalidProof.Reason.MISSING_ROOT_HASH);
+    }
+
+    @Test
+    void verify_requestedTriplesMissingOrReplaced_returnsMissingProofs() throws Exception {
+        // given
+        MerkleTree tree = new MerkleTree(triples(4));
+        ProofsResult proofsResult = tree.proofsResult();
+        proofsResult.getData().get(0).getProofs().subList(2, 4).clear();
+        List<NQuad> requested = List.of(nQuad(0), nQuad(1), nQuad(5));
+        String otherAssertionId = "881061eedb794178d7a5bb7a8e7d43de324b2ceee98c3f24097cb0a64da647b2";
+
+        // when
+        ProofVerification verification = proofVerifier.verify(proofsResult, Map.of(ASSERTION_ID, tree.rootHash()),
+                List.of(ASSERTION_ID, otherAssertionId), requested);
+
+        // then
+        assertThat(verification.getProofCount()).isEqualTo(2);
+        assertThat(verification.isValid()).isFalse();
+        assertThat(verification.getInvalidProofs())
+                .extracting(InvalidProof::getAssertionId, InvalidProof::getTriple, InvalidProof::getReason)
+                .containsExactly(
+                        tuple(ASSERTION_ID, tree.triples.get(0).replace("0\"", "5\""), InvalidProof.Reason.MISSING_PROOF),
+                        tuple(otherAssertionId, tree.triples.get(0), InvalidProof.Reason.MISSING_PROOF),
+                        tuple(otherAssertionId, tree.triples.get(1), InvalidProof.Reason.MISSING_PROOF),
+                        tuple(otherAssertionId, tree.triples.get(0).replace("0\"", "5\""), InvalidProof.Reason.MISSING_PROOF));
+    }
+
+    @Test
+    void verify_noProofsReturnedForRequestedTriples_notValid() {
+        // given
+        ProofsResult proofsResult = new ProofsResult();
+        proofsResult.setData(List.of());
+
+        // when
+        ProofVerification verification = proofVerifier.verify(proofsResult, Map.of(ASSERTION_ID, ASSERTION_ID),
+                List.of(ASSERTION_ID), List.of(nQuad(0)));
+
+        // then
+        assertThat(verification.getProofCount()).isZero();
+        assertThat(verification.isValid()).isFalse();
+    }
+
+    @Test
+    void verify_singleTripleWithoutPath_validAgainstTripleHash() throws Exception {
+        // given
+        MerkleTree tree = new MerkleTree(triples(1));
+        Proof proof = tree.proofsResult().getData().get(0).getProofs().get(0);
+        proof.setProof(null);
+
+        // then
+        assertThat(proofVerifier.verify(proof, tree.rootHash())).isTrue();
+        assertThat(proofVerifier.verify(proof, "0x" + tree.rootHash().toUpperCase())).isTrue();
+    }
+
+    @Test
+    void verify_largeResultInCustomPool_allValidAndOneInvalid() throws Exception {
+        // given
+        MerkleTree tree = new MerkleTree(triples(3000));
+        ProofsResult proofsResult = tree.proofsResult();
+        proofsResult.getData().get(0).getProofs().get(2500).setTripleHash(tree.rootHash());
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        // when
+        ProofVerification verification;
+        try {
+            verification = new ProofVerifier(pool).verify(proofsResult, Map.of(ASSERTION_ID, tree.rootHash()));
+        } finally {
+            pool.shutdown();
+        }
+
+        // then
+        assertThat(verification.getProofCount()).isEqualTo(3000);
+        assertThat(verification.getInvalidProofs()).hasSize(1);
+        assertThat(verification.getInvalidProofs().get(0).getProof().getTriple()).isEqualTo(tree.triples.get(2500));
+    }
+
+    private static NQuad nQuad(int index) {
+        return NQuad.builder("<did:dkg:" + ASSERTION_ID + ">", "<http://schema.org/hasKeyword>",
+                String.format("\"keyword \u00E9 %d\"", index)).build();
+    }
+
+    private static List<String> triples(int count) {
+        List<String> triples = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            triples.add(String.format("<did:dkg:%s> <http://schema.org/hasKeyword> \"keyword \u00E9 %d\" .", ASSERTION_ID, i));
+        }
+        return triples;
+    }
+
+    /**
+     * A Merkle tree of SHA-256 triple hashes, with an odd node promoted to the next level unhashed.
+     */
+    private static class MerkleTree {
+
+        private final List<String> triples;
+        private final List<List<byte[]>> levels = new ArrayList<>();
+
+        MerkleTree(List<String> triples) throws NoSuchAlgorithmException {
+            this.triples = triples;
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            List<byte[]> level = new ArrayList<>();
+            for (String triple : triples) {
+                level.add(digest.digest(triple.getBytes(StandardCharsets.UTF_8)));
+            }
+            levels.add(level);
+            while (level.size() > 1) {
+                List<byte[]> parents = new ArrayList<>();
+                for (int i = 0; i < level.size(); i += 2) {
+                    if (i + 1 == level.size()) {
+                        parents.add(level.get(i));
+                    } else {
+                        digest.update(level.get(i));
+                        parents.add(digest.digest(level.get(i + 1)));
+                    }
+                }
+                levels.add(parents);
+                level = parents;
+            }
+        }
+
+        String rootHash() {
+            return hex(levels.get(levels.size() - 1).get(0));
+        }
+
+        ProofsResult proofsResult() {
+            List<Proof> proofs = new ArrayList<>();
+            for (int leaf = 0; leaf < triples.size(); leaf++) {
+                List<ProofData> path = new ArrayList<>();
+                int index = leaf;
+                for (List<byte[]> level : levels.subList(0, levels.size() - 1)) {
+                    int siblingIndex = index % 2 == 0 ? index + 1 : index - 1;
+                    if (siblingIndex < level.size()) {
+                        ProofData step = new ProofData();
+                        if (index % 2 == 0) {
+                            step.setRight(hex(level.get(siblingIndex)));
+                        } else {
+                            step.setLeft(hex(level.get(siblingIndex)));
+                        }
+                        path.add(step);
+                    }
+                    index /= 2;
+                }
+                Proof proof = new Proof();
+                proof.setTriple(triples.get(leaf));
+                proof.setTripleHash(hex(levels.get(0).get(leaf)));
+                proof.setProof(path);
+                proofs.add(proof);
+            }
+            ProofsResultData data = new ProofsResultData();
+            data.setAssertionId(ASSERTION_ID);
+            data.setProofs(proofs);
+            ProofsResult proofsResult = new ProofsResult();
+            proofsResult.setStatus("COMPLETED");
+            proofsResult.setData(List.of(data));
+            return proofsResult;
+        }
+
+        private static String hex(byte[] bytes) {
+            StringBuilder hex = new StringBuilder(bytes.length * 2);
+            for (byte b : bytes) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package io.origintrail.dkg.client.rdf;
+
+import io.origintrail.dkg.client.exception.RequestValidationException;
+import io.origintrail.dkg.client.model.NQuad;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.sparql.core.Quad;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class QuadTableTest {
+
+    private static final String N_QUADS = "<did:dkg:a> <http://schema.org/name> \"Anvil \\\"Executive\\\"\"@en <did:dkg:g> .\n"
+            + "<did:dkg:a> <http://schema.org/age> \"5\"^^<http://www.w3.org/2001/XMLSchema#integer> <did:dkg:g> .\n"
+            + "<did:dkg:b> <http://schema.org/name> \"Anvil\" .\n";
+
+    private final QuadTable quadTable = new QuadTable();
+
+    @Test
+    void addNQuads_repeatedTerms_termsEncodedOnce() {
+        // when
+        quadTable.addNQuads(nQuads(N_QUADS));
+
+        // then
+        assertThat(quadTable.size()).isEqualTo(3);
+        assertThat(quadTable.getDictionary().size()).isEqualTo(8);
+        assertThat(quadTable.getSubjectId(0)).isEqualTo(quadTable.getSubjectId(1));
+        assertThat(quadTable.getGraphId(2)).isEqualTo(QuadTable.DEFAULT_GRAPH);
+        assertThat(quadTable.get(1).getObject()).isEqualTo(NodeFactory.createLiteral("5", XSDDatatype.XSDinteger));
+    }
+
+    @Test
+    void writeNQuads_parsedNQuads_writesSameNQuads() throws IOException {
+        // given
+        quadTable.addNQuads(nQuads(N_QUADS));
+        StringWriter writer = new StringWriter();
+
+        // when
+        quadTable.writeNQuads(writer);
+
+        // then
+        assertThat(writer.toString()).isEqualTo(N_QUADS);
+    }
+
+    @Test
+    void addNQuad_nQuadTerms_convertsBackToEqualNQuad() {
+        // given
+        NQuad nQuad = NQuad.builder("<did:dkg:a>", "<http://schema.org/name>", "\"Anvil\"").graph("<did:dkg:g>").build();
+
+        // when
+        quadTable.add(nQuad);
+        quadTable.add(NQuad.builder("<did:dkg:a>", "<http://schema.org/hasKeyword>", "aKeyword").build());
+
+        // then
+        assertThat(quadTable.getNQuad(0).toString()).isEqualTo(nQuad.toString());
+        assertThat(quadTable.getNQuad(1).toString()).isEqualTo("<did:dkg:a> <http://schema.org/hasKeyword> \"aKeyword\" .");
+        assertThat(quadTable.indexOf(Quad.create(NodeFactory.createURI("did:dkg:g"), NodeFactory.createURI("did:dkg:a"),
+                NodeFactory.createURI("http://schema.org/name"), NodeFactory.createLiteral("Anvil")))).isZero();
+    }
+
+    @Test
+    void add_sharedDictionary_equalTermsHaveEqualIds() {
+        // given
+        QuadTable otherTable = new QuadTable(quadTable.getDictionary());
+
+        // when
+        quadTable.addNQuads(nQuads(N_QUADS));
+        otherTable.add(NQuad.builder("<did:dkg:b>", "<http://schema.org/name>", "\"Anvil\"").build());
+
+        // then
+        assertThat(otherTable.getSubjectId(0)).isEqualTo(quadTable.getSubjectId(2));
+        assertThat(otherTable.getObjectId(0)).isEqualTo(quadTable.getObjectId(2));
+    }
+
+    @Test
+    void addNQuads_invalidNQuads_throwsRequestValidationException() {
+        // when
+        RequestValidationException throwable = catchThrowableOfType(
+                () -> quadTable.addNQuads(nQuads("not an n-quad")), RequestValidationException.class);
+
+        // then
+        assertThat(throwable.getMessage()).isEqualTo("Invalid N-Quads text.");
+    }
+
+    private static InputStream nQuads(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,41 @@
+package io.origintrail.dkg.client.rdf;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TermDictionaryTest {
+
+    private final TermDictionary dictionary = new TermDictionary();
+
+    @Test
+    void encode_equalTerms_sameIdAndDecodedTerm() {
+        // given
+        Node iri = NodeFactory.createURI("did:dkg:a");
+        Node literal = NodeFactory.createLiteral("did:dkg:a");
+
+        // when
+        int iriId = dictionary.encode(iri);
+        int literalId = dictionary.encode(literal);
+        int repeatedIriId = dictionary.encode(NodeFactory.createURI("did:dkg:a"));
+
+        // then
+        assertThat(iriId).isZero();
+        assertThat(literalId).isEqualTo(1);
+        assertThat(repeatedIriId).isEqualTo(iriId);
+        assertThat(dictionary.decode(literalId)).isEqualTo(literal);
+        assertThat(dictionary.size()).isEqualTo(2);
+    }
+
+    @Test
+    void lookup_termNotEncoded_returnsNotFound() {
+        // given
+        dictionary.encode(NodeFactory.createURI("did:dkg:a"));
+
+        // then
+        assertThat(dictionary.lookup(NodeFactory.createURI("did:dkg:b"))).isEqualTo(TermDictionary.NOT_FOUND);
+        assertThat(dictionary.lookup(NodeFactory.createURI("did:dkg:a"))).isZero();
+    }
+}
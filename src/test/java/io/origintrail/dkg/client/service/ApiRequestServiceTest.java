@@ -3,7 +3,9 @@ package io.origintrail.dkg.client.service;
 import io.origintrail.dkg.client.exception.HttpResponseException;
 import io.origintrail.dkg.client.exception.UnexpectedException;
 import io.origintrail.dkg.client.http.HttpMediaType;
+import io.origintrail.dkg.client.http.Endpoint;
 import io.origintrail.dkg.client.http.MultiPartBody;
+import io.origintrail.dkg.client.metrics.ClientMetrics;
 import io.origintrail.dkg.client.model.HttpUrlOptions;
 import io.origintrail.dkg.client.util.UriUtil;
 import okhttp3.mockwebserver.MockResponse;
@@ -15,8 +17,10 @@ import org.junit.jupiter.api.Test;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowableOfType;
@@ -238,4 +242,28 @@ class ApiRequestServiceTest {
         assertThat(throwable.getCause() instanceof UnexpectedException).isTrue();
         assertThat(throwable.getCause().getMessage()).isEqualTo("java.net.http.HttpTimeoutException: request timed out");
     }
+
+    @Test
+    void sendAsyncRequest_chunkedResponse_reportsBodyLengthReceived() {
+        // given
+        AtomicLong bytesReceived = new AtomicLong();
+        ClientMetrics metrics = new ClientMetrics() {
+            @Override
+            public void requestCompleted(Endpoint endpoint, String node, int statusCode, long latencyNanos, long bytesSent,
+                                         long bytesReceivedByRequest) {
+                bytesReceived.set(bytesReceivedByRequest);
+            }
+        };
+        ApiRequestService measuredApiRequestService = new ApiRequestService(HttpClient.newHttpClient(),
+                new HttpUrlOptions(mockWebServer.getHostName(), mockWebServer.getPort(), "http"), metrics);
+        String responseBody = "{\"name\": \"Executive Anvil \u00e9\"}";
+        mockWebServer.enqueue(new MockResponse().setChunkedBody(responseBody, 8));
+
+        // when
+        String body = measuredApiRequestService.sendAsyncRequest(httpRequest).join();
+
+        // then
+        assertThat(body).isEqualTo(responseBody);
+        assertThat(bytesReceived.get()).isEqualTo(responseBody.getBytes(StandardCharsets.UTF_8).length);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,172 @@
+package io.origintrail.dkg.client.service;
+
+import io.origintrail.dkg.client.model.AssertionSearchOptions;
+import io.origintrail.dkg.client.model.FanOutSearchOptions;
+import io.origintrail.dkg.client.model.HttpUrlOptions;
+import io.origintrail.dkg.client.model.PollingOptions;
+import io.origintrail.dkg.client.model.response.AssertionSearchResult;
+import io.origintrail.dkg.client.model.response.AssertionSearchResultItem;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FanOutSearchServiceTest {
+
+    private static final String HANDLER_ID_RESPONSE = "{\"handler_id\": \"ffd8a00e-bf22-4432-8d88-804f4f9baa27\"}";
+
+    private MockWebServer firstNode;
+    private MockWebServer secondNode;
+
+    @BeforeEach
+    void init() throws IOException {
+        firstNode = new MockWebServer();
+        secondNode = new MockWebServer();
+        firstNode.start();
+        secondNode.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        firstNode.shutdown();
+        secondNode.shutdown();
+    }
+
+    @Test
+    void searchAssertions_twoNodes_mergesAndDeduplicatesByIdHighestScoreFirst() {
+        // given
+        firstNode.enqueue(new MockResponse().setBody(HANDLER_ID_RESPONSE));
+        firstNode.enqueue(new MockResponse().setBody(searchResult(item("id1", 1, "node1"), item("id2", 5, "node1"))));
+        secondNode.enqueue(new MockResponse().setBody(HANDLER_ID_RESPONSE));
+        secondNode.enqueue(new MockResponse().setBody(searchResult(item("id2", 3, "node2"), item("id3", 4, "node2"))));
+
+        // when
+        AssertionSearchResult result = createService().searchAssertions(AssertionSearchOptions.builder("keyword").build(), fanOutOptions(10)).join();
+
+        // then
+        assertThat(result.getItemListElement()).extracting(AssertionSearchResultItem::getId).containsExactly("id2", "id3", "id1");
+        assertThat(result.getItemListElement().get(0).getResultScore()).isEqualTo(5);
+        assertThat(result.getItemListElement().get(0).getNodes()).containsExactly("node1", "node2");
+    }
+
+    @Test
+    void searchAssertions_topKSmallerThanResults_returnsTopKItems() {
+        // given
+        firstNode.enqueue(new MockResponse().setBody(HANDLER_ID_RESPONSE));
+        firstNode.enqueue(new MockResponse().setBody(searchResult(item("id1", 1, "node1"), item("id2", 5, "node1"))));
+        secondNode.enqueue(new MockResponse().setBody(HANDLER_ID_RESPONSE));
+        secondNode.enqueue(new MockResponse().setBody(searchResult(item("id3", 4, "node2"))));
+
+        // when
+        AssertionSearchResult result = createService().searchAssertions(AssertionSearchOptions.builder("keyword").build(), fanOutOptions(2)).join();
+
+        // then
+        assertThat(result.getItemListElement()).extracting(AssertionSearchResultItem::getId).containsExactly("id2", "id3");
+    }
+
+    @Test
+    void searchAssertions_nodeMissesDeadline_nodeExcludedFromResult() {
+        // given
+        firstNode.enqueue(new MockResponse().setBody(HANDLER_ID_RESPONSE));
+        firstNode.enqueue(new MockResponse().setBody(searchResult(item("id1", 1, "node1"))));
+        secondNode.enqueue(new MockResponse().setBody(HANDLER_ID_RESPONSE).setHeadersDelay(2, TimeUnit.SECONDS));
+        FanOutSearchOptions options = FanOutSearchOptions.builder()
+                .deadline(Duration.ofMillis(500))
+                .pollingOptions(PollingOptions.builder().interval(Duration.ofMillis(1)).build())
+                .build();
+
+        // when
+        AssertionSearchResult result = createService().searchAssertions(AssertionSearchOptions.builder("keyword").build(), options).join();
+
+        // then
+        assertThat(result.getItemListElement()).extracting(AssertionSearchResultItem::getId).containsExactly("id1");
+    }
+
+    @Test
+    void searchAssertions_nodeFails_nodeExcludedFromResult() {
+        // given
+        firstNode.enqueue(new MockResponse().setBody(HANDLER_ID_RESPONSE));
+        firstNode.enqueue(new MockResponse().setBody(searchResult(item("id1", 1, "node1"))));
+        secondNode.enqueue(new MockResponse().setResponseCode(500));
+
+        // when
+        AssertionSearchResult result = createService().searchAssertions(AssertionSearchOptions.builder("keyword").build(), fanOutOptions(10)).join();
+
+        // then
+        assertThat(result.getItemListElement()).extracting(AssertionSearchResultItem::getId).containsExactly("id1");
+    }
+
+    @Test
+    void searchAssertions_nodeSearchFailed_nodeExcludedFromCompletedResult() {
+        // given
+        firstNode.enqueue(new MockResponse().setBody(HANDLER_ID_RESPONSE));
+        firstNode.enqueue(new MockResponse().setBody(searchResult(item("id1", 1, "node1"))));
+        secondNode.enqueue(new MockResponse().setBody(HANDLER_ID_RESPONSE));
+        secondNode.enqueue(new MockResponse().setBody("{\"status\": \"FAILED\", \"itemListElement\": [" + item("id2", 5, "node2") + "]}"));
+
+        // when
+        AssertionSearchResult result = createService().searchAssertions(AssertionSearchOptions.builder("keyword").build(), fanOutOptions(10)).join();
+
+        // then
+        assertThat(result.getStatus()).isEqualTo("COMPLETED");
+        assertThat(result.getItemListElement()).extracting(AssertionSearchResultItem::getId).containsExactly("id1");
+    }
+
+    @Test
+    void searchAssertions_allNodeSearchesFailed_resultFailed() {
+        // given
+        firstNode.enqueue(new MockResponse().setBody(HANDLER_ID_RESPONSE));
+        firstNode.enqueue(new MockResponse().setBody("{\"status\": \"FAILED\"}"));
+        secondNode.enqueue(new MockResponse().setResponseCode(500));
+
+        // when
+        AssertionSearchResult result = createService().searchAssertions(AssertionSearchOptions.builder("keyword").build(), fanOutOptions(10)).join();
+
+        // then
+        assertThat(result.getStatus()).isEqualTo("FAILED");
+        assertThat(result.getItemListElement()).isEmpty();
+    }
+
+    @Test
+    void mergeTopK_itemsWithoutIds_itemsAreNotDeduplicated() {
+        // given
+        BinaryOperator<String> keepFirst = (first, second) -> first;
+
+        // when
+        List<String> merged = FanOutSearchService.mergeTopK(List.of(List.of("a", "b"), List.of("a", "c")),
+                item -> item.equals("c") ? null : item, item -> item.charAt(0), keepFirst, 10);
+
+        // then
+        assertThat(merged).containsExactly("c", "b", "a");
+    }
+
+    private FanOutSearchService createService() {
+        return FanOutSearchService.forNodes(List.of(
+                new HttpUrlOptions(firstNode.getHostName(), firstNode.getPort(), "http"),
+                new HttpUrlOptions(secondNode.getHostName(), secondNode.getPort(), "http")));
+    }
+
+    private FanOutSearchOptions fanOutOptions(int topK) {
+        return FanOutSearchOptions.builder()
+                .topK(topK)
+                .pollingOptions(PollingOptions.builder().interval(Duration.ofMillis(1)).build())
+                .build();
+    }
+
+    private String searchResult(String... items) {
+        return "{\"@type\": \"ItemList\", \"itemListElement\": [" + String.join(",", items) + "]}";
+    }
+
+    private String item(String id, int score, String node) {
+        return "{\"@type\": \"AssertionSearchResult\", \"result\": {\"@id\": \"" + id + "\"}, \"nodes\": [\"" + node + "\"], \"resultScore\": " + score + "}";
+    }
+}
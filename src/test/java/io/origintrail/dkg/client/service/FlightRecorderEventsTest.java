@@ -0,0 +1,112 @@
+package io.origintrail.dkg.client.service;
+
+import io.origintrail.dkg.client.DkgClient;
+import io.origintrail.dkg.client.model.PollingOptions;
+import io.origintrail.dkg.client.model.SparqlQueryType;
+import io.origintrail.dkg.client.simulator.DkgNodeSimulator;
+import io.origintrail.dkg.client.simulator.SimulatorOptions;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlightRecorderEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DkgNodeSimulator simulator;
+
+    @AfterEach
+    void tearDown() {
+        if (simulator != null) {
+            simulator.close();
+        }
+    }
+
+    @Test
+    void queryAndAwait_eventsEnabled_recordsRequestPollParseAndHandlerCompleteEvents() throws IOException {
+        // given
+        simulator = DkgNodeSimulator.start(SimulatorOptions.builder().operationDuration(Duration.ofMillis(50)).build());
+        DkgClient dkgClient = new DkgClient(simulator.getHost(), simulator.getPort());
+        PollingOptions pollingOptions = PollingOptions.builder().interval(Duration.ofMillis(10)).build();
+
+        // when
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(RequestEvent.class);
+            recording.enable(PollEvent.class);
+            recording.enable(ParseEvent.class);
+            recording.enable(HandlerCompleteEvent.class);
+            recording.start();
+            dkgClient.queryAndAwait(SparqlQueryType.CONSTRUCT, "CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p ?o }", pollingOptions).join();
+            recording.stop();
+            Path file = tempDir.resolve("recording.jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        }
+
+        // then
+        List<RecordedEvent> handlerCompleteEvents = events(events, "io.origintrail.dkg.HandlerComplete");
+        assertThat(handlerCompleteEvents).hasSize(1);
+        RecordedEvent handlerComplete = handlerCompleteEvents.get(0);
+        String handlerId = handlerComplete.getString("handlerId");
+        assertThat(handlerComplete.getString("endpoint")).isEqualTo("query/result");
+        assertThat(handlerComplete.getString("status")).isEqualTo("COMPLETED");
+        assertThat(handlerComplete.getDuration()).isPositive();
+
+        List<RecordedEvent> pollEvents = events(events, "io.origintrail.dkg.Poll");
+        assertThat(pollEvents).hasSize(handlerComplete.getInt("polls"))
+                .allSatisfy(poll -> assertThat(poll.getString("handlerId")).isEqualTo(handlerId));
+        assertThat(pollEvents.get(pollEvents.size() - 1).getString("status")).isEqualTo("COMPLETED");
+
+        List<RecordedEvent> requestEvents = events(events, "io.origintrail.dkg.Request");
+        assertThat(requestEvents).hasSize(pollEvents.size() + 1);
+        assertThat(requestEvents).filteredOn(request -> "query".equals(request.getString("endpoint")))
+                .singleElement()
+                .satisfies(request -> {
+                    assertThat(request.getInt("statusCode")).isEqualTo(202);
+                    assertThat(request.getLong("requestBytes")).isPositive();
+                    assertThat(request.getString("handlerId")).isNull();
+                });
+        assertThat(requestEvents).filteredOn(request -> "query/result".equals(request.getString("endpoint")))
+                .allSatisfy(request -> assertThat(request.getString("handlerId")).isEqualTo(handlerId));
+
+        assertThat(events(events, "io.origintrail.dkg.Parse")).filteredOn(parse -> parse.getString("handlerId") != null)
+                .singleElement()
+                .satisfies(parse -> {
+                    assertThat(parse.getString("responseType")).isEqualTo("HandlerId");
+                    assertThat(parse.getString("handlerId")).isEqualTo(handlerId);
+                    assertThat(parse.getLong("payloadBytes")).isPositive();
+                });
+    }
+
+    @Test
+    void utf8Length_multiByteCharacters_countsEncodedBytes() {
+        // given
+        String text = "caf\u00E9 \u20AC \uD83D\uDE00";
+
+        // when
+        long length = ParseEvent.utf8Length(text);
+
+        // then
+        assertThat(length).isEqualTo(text.getBytes(StandardCharsets.UTF_8).length).isEqualTo(14);
+    }
+
+    private static List<RecordedEvent> events(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,108 @@
+package io.origintrail.dkg.client.service;
+
+import io.origintrail.dkg.client.exception.ResponseBodyException;
+import org.apache.jena.atlas.iterator.Iter;
+import org.apache.jena.riot.lang.StreamRDFCounting;
+import org.apache.jena.riot.system.StreamRDFLib;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.core.Quad;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class NQuadsResultParserTest {
+
+    @Test
+    void parse_completedResult_quadsStreamedToSink() {
+        // given
+        InputStream response = toInputStream("{\"status\": \"COMPLETED\", \"data\": ["
+                + "\"<did:dkg:a> <http://schema.org/name> \\\"Anvil \\\\\\\"Executive\\\\\\\"\\\" <did:dkg:g> .\","
+                + "\"<did:dkg:a> <http://schema.org/hasKeyword> \\\"Product\\\" .\""
+                + "]}");
+        DatasetGraph dataset = DatasetGraphFactory.create();
+
+        // when
+        String status = NQuadsResultParser.parse(response, StreamRDFLib.dataset(dataset));
+
+        // then
+        assertThat(status).isEqualTo("COMPLETED");
+        List<Quad> quads = Iter.toList(dataset.find());
+        assertThat(quads).hasSize(2);
+        Quad namedGraphQuad = quads.stream()
+                .filter(quad -> !quad.isDefaultGraph())
+                .findFirst()
+                .orElseThrow();
+        assertThat(namedGraphQuad.getGraph().getURI()).isEqualTo("did:dkg:g");
+        assertThat(namedGraphQuad.getObject().getLiteralLexicalForm()).isEqualTo("Anvil \"Executive\"");
+    }
+
+    @Test
+    void parse_multiByteAndLongLiterals_literalsDecoded() {
+        // given
+        String longName = "Anvil ".repeat(2000);
+        InputStream response = toInputStream("{\"status\": \"COMPLETED\", \"data\": ["
+                + "\"<did:dkg:a> <http://schema.org/name> \\\"café € 😀\\\" .\","
+                + "\"<did:dkg:b> <http://schema.org/name> \\\"" + longName + "\\\" .\""
+                + "]}");
+        DatasetGraph dataset = DatasetGraphFactory.create();
+
+        // when
+        NQuadsResultParser.parse(response, StreamRDFLib.dataset(dataset));
+
+        // then
+        assertThat(Iter.toList(dataset.find()))
+                .extracting(quad -> quad.getObject().getLiteralLexicalForm())
+                .containsExactlyInAnyOrder("café € 😀", longName);
+    }
+
+    @Test
+    void parse_dataBeforeStatusAndEmptyData_returnsStatus() {
+        // given
+        InputStream response = toInputStream("{\"data\": [], \"extra\": {\"a\": [1]}, \"status\": \"PENDING\"}");
+        StreamRDFCounting counting = StreamRDFLib.count();
+
+        // when
+        String status = NQuadsResultParser.parse(response, counting);
+
+        // then
+        assertThat(status).isEqualTo("PENDING");
+        assertThat(counting.count()).isZero();
+    }
+
+    @Test
+    void parse_invalidNQuad_throwsResponseBodyException() {
+        // given
+        InputStream response = toInputStream("{\"status\": \"COMPLETED\", \"data\": [\"not an n-quad\"]}");
+
+        // when
+        ResponseBodyException throwable = catchThrowableOfType(
+                () -> NQuadsResultParser.parse(response, StreamRDFLib.sinkNull()), ResponseBodyException.class);
+
+        // then
+        assertThat(throwable.getMessage()).isEqualTo("Exception parsing response body content.");
+    }
+
+    @Test
+    void parse_dataNotStrings_throwsResponseBodyException() {
+        // given
+        InputStream response = toInputStream("{\"status\": \"COMPLETED\", \"data\": [{\"a\": 1}]}");
+
+        // when
+        ResponseBodyException throwable = catchThrowableOfType(
+                () -> NQuadsResultParser.parse(response, StreamRDFLib.sinkNull()), ResponseBodyException.class);
+
+        // then
+        assertThat(throwable.getMessage()).isEqualTo("Exception parsing response body content.");
+    }
+
+    private static InputStream toInputStream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
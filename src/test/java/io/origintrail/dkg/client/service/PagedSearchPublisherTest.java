@@ -0,0 +1,152 @@
+package io.origintrail.dkg.client.service;
+
+import io.origintrail.dkg.client.exception.HttpResponseException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PagedSearchPublisherTest {
+
+    private final List<Integer> requestedLimits = new CopyOnWriteArrayList<>();
+
+    @Test
+    void subscribe_noDemandSignalled_noPageRequested() {
+        // given
+        PagedSearchPublisher<String> publisher = new PagedSearchPublisher<>(this::results, id -> id, 2, null);
+        TestSubscriber subscriber = new TestSubscriber();
+
+        // when
+        publisher.subscribe(subscriber);
+
+        // then
+        assertThat(requestedLimits).isEmpty();
+        assertThat(subscriber.items).isEmpty();
+    }
+
+    @Test
+    void request_allItems_publishesEachItemOnceAndCompletes() {
+        // given
+        PagedSearchPublisher<String> publisher = new PagedSearchPublisher<>(this::results, id -> id, 2, null);
+        TestSubscriber subscriber = new TestSubscriber();
+        publisher.subscribe(subscriber);
+
+        // when
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        // then
+        assertThat(subscriber.items).containsExactly("id0", "id1", "id3", "id2", "id4");
+        assertThat(subscriber.completed).isTrue();
+        assertThat(requestedLimits).containsExactly(2, 4, 6);
+    }
+
+    @Test
+    void request_singleItem_prefetchesNextPageOnly() {
+        // given
+        PagedSearchPublisher<String> publisher = new PagedSearchPublisher<>(this::results, id -> id, 2, null);
+        TestSubscriber subscriber = new TestSubscriber();
+        publisher.subscribe(subscriber);
+
+        // when
+        subscriber.subscription.request(1);
+
+        // then
+        assertThat(subscriber.items).containsExactly("id0");
+        assertThat(subscriber.completed).isFalse();
+        assertThat(requestedLimits).containsExactly(2, 4);
+    }
+
+    @Test
+    void request_maxItemsSet_publishesMaxItemsAndCompletes() {
+        // given
+        PagedSearchPublisher<String> publisher = new PagedSearchPublisher<>(this::results, id -> id, 2, 3);
+        TestSubscriber subscriber = new TestSubscriber();
+        publisher.subscribe(subscriber);
+
+        // when
+        subscriber.subscription.request(10);
+
+        // then
+        assertThat(subscriber.items).containsExactly("id0", "id1", "id2");
+        assertThat(subscriber.completed).isTrue();
+        assertThat(requestedLimits).containsExactly(2, 3);
+    }
+
+    @Test
+    void request_pageRequestFails_signalsError() {
+        // given
+        PagedSearchPublisher<String> publisher = new PagedSearchPublisher<>(
+                limit -> CompletableFuture.failedFuture(new HttpResponseException(500, "error")), id -> id, 2, null);
+        TestSubscriber subscriber = new TestSubscriber();
+        publisher.subscribe(subscriber);
+
+        // when
+        subscriber.subscription.request(1);
+
+        // then
+        assertThat(subscriber.error).isInstanceOf(HttpResponseException.class);
+        assertThat(subscriber.completed).isFalse();
+    }
+
+    @Test
+    void request_nonPositiveDemand_signalsIllegalArgumentException() {
+        // given
+        PagedSearchPublisher<String> publisher = new PagedSearchPublisher<>(this::results, id -> id, 2, null);
+        TestSubscriber subscriber = new TestSubscriber();
+        publisher.subscribe(subscriber);
+
+        // when
+        subscriber.subscription.request(0);
+
+        // then
+        assertThat(subscriber.error).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Returns the first {@code limit} of 5 results, in a different order for each page to check items are de-duplicated.
+     */
+    private CompletableFuture<List<String>> results(int limit) {
+        requestedLimits.add(limit);
+        List<String> page = IntStream.range(0, Math.min(limit, 5))
+                .mapToObj(i -> "id" + i)
+                .collect(Collectors.toList());
+        if (requestedLimits.size() > 1) {
+            page.add(0, page.remove(page.size() - 1));
+        }
+        return CompletableFuture.completedFuture(page);
+    }
+
+    private static class TestSubscriber implements Flow.Subscriber<String> {
+        private final List<String> items = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(String item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
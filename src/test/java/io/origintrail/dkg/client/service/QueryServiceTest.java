@@ -0,0 +1,90 @@
+package io.origintrail.dkg.client.service;
+
+import io.origintrail.dkg.client.model.HttpUrlOptions;
+import io.origintrail.dkg.client.model.NQuad;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class QueryServiceTest {
+
+    private static final NQuad NQUAD = NQuad.builder("<did:dkg:a>", "<http://schema.org/name>", "\"Anvil\"")
+            .graph("<did:dkg:g>")
+            .build();
+
+    @Test
+    void proofs_iteratorBodySentTwice_secondSendFails() {
+        // given
+        CapturingApiRequestService apiRequestService = new CapturingApiRequestService();
+        new QueryService(apiRequestService).proofs(List.of(NQUAD).iterator(), List.of("assertionId"));
+        HttpRequest.BodyPublisher bodyPublisher = apiRequestService.request.bodyPublisher().orElseThrow();
+
+        // when
+        String firstBody = readBody(bodyPublisher).join();
+        CompletionException throwable = catchThrowableOfType(() -> readBody(bodyPublisher).join(), CompletionException.class);
+
+        // then
+        assertThat(firstBody).contains(NQUAD + "\n");
+        assertThat(throwable.getCause()).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static CompletableFuture<String> readBody(HttpRequest.BodyPublisher bodyPublisher) {
+        CompletableFuture<String> body = new CompletableFuture<>();
+        bodyPublisher.subscribe(new Flow.Subscriber<>() {
+            private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                byte[] chunk = new byte[item.remaining()];
+                item.get(chunk);
+                bytes.writeBytes(chunk);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                body.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                body.complete(bytes.toString(StandardCharsets.UTF_8));
+            }
+        });
+        return body.orTimeout(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Records the request sent, without sending it.
+     */
+    private static class CapturingApiRequestService extends ApiRequestService {
+
+        private HttpRequest request;
+
+        CapturingApiRequestService() {
+            super(HttpClient.newHttpClient(), new HttpUrlOptions("localhost", 8900, "http"));
+        }
+
+        @Override
+        public CompletableFuture<String> sendAsyncRequest(HttpRequest request) {
+            this.request = request;
+            return new CompletableFuture<>();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package io.origintrail.dkg.client.service;
+
+import io.origintrail.dkg.client.exception.ResponseBodyException;
+import io.origintrail.dkg.client.model.response.AssertionSearchResultItem;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static io.origintrail.dkg.client.service.ApiRequestService.OBJECT_MAPPER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class SearchResultIteratorTest {
+
+    @Test
+    void hasNext_pendingSearchResult_hasNoItemsAndStatusIsSet() {
+        // given
+        InputStream body = toStream("{\"status\": \"PENDING\"}");
+
+        // when
+        SearchResultIterator<AssertionSearchResultItem> iterator = new SearchResultIterator<>(body, OBJECT_MAPPER.readerFor(AssertionSearchResultItem.class));
+
+        // then
+        assertThat(iterator.hasNext()).isFalse();
+        assertThat(iterator.getStatus()).isEqualTo("PENDING");
+    }
+
+    @Test
+    void next_itemListAfterOtherFields_returnsItems() {
+        // given
+        InputStream body = toStream("{\"@context\": {\"a\": [1, 2]}, \"@type\": \"ItemList\", \"itemListElement\": ["
+                + "{\"@type\": \"AssertionSearchResult\", \"result\": {\"@id\": \"id1\"}, \"nodes\": [], \"resultScore\": 1},"
+                + "{\"@type\": \"AssertionSearchResult\", \"result\": {\"@id\": \"id2\"}, \"nodes\": [], \"resultScore\": 0}]}");
+
+        // when
+        SearchResultIterator<AssertionSearchResultItem> iterator = new SearchResultIterator<>(body, OBJECT_MAPPER.readerFor(AssertionSearchResultItem.class));
+
+        // then
+        assertThat(iterator.next().getId()).isEqualTo("id1");
+        assertThat(iterator.next().getId()).isEqualTo("id2");
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    void hasNext_truncatedResponse_throwsResponseBodyException() {
+        // given
+        InputStream body = toStream("{\"itemListElement\": [{\"@type\": \"AssertionSearchResult\", \"result\": {\"@id\": \"id1\"}}, {\"@type\": ");
+        SearchResultIterator<AssertionSearchResultItem> iterator = new SearchResultIterator<>(body, OBJECT_MAPPER.readerFor(AssertionSearchResultItem.class));
+        iterator.next();
+
+        // when
+        ResponseBodyException throwable = catchThrowableOfType(iterator::hasNext, ResponseBodyException.class);
+
+        // then
+        assertThat(throwable.getMessage()).isEqualTo("Exception parsing response body content.");
+    }
+
+    @Test
+    void constructor_responseIsNotJsonObject_throwsResponseBodyException() {
+        // when
+        ResponseBodyException throwable = catchThrowableOfType(
+                () -> new SearchResultIterator<>(toStream("[]"), OBJECT_MAPPER.readerFor(AssertionSearchResultItem.class)),
+                ResponseBodyException.class);
+
+        // then
+        assertThat(throwable.getMessage()).isEqualTo("Exception parsing response body content.");
+    }
+
+    private InputStream toStream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
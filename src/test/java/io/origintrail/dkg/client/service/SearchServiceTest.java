@@ -1,13 +1,20 @@
 package io.origintrail.dkg.client.service;
 
+import io.origintrail.dkg.client.cache.CacheOptions;
 import io.origintrail.dkg.client.exception.RequestValidationException;
+import io.origintrail.dkg.client.index.KeywordIndex;
 import io.origintrail.dkg.client.model.EntitySearchOptions;
+import io.origintrail.dkg.client.model.PollingOptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowableOfType;
 import static org.mockito.BDDMockito.then;
@@ -59,4 +66,66 @@ class SearchServiceTest {
 
         then(apiRequestService).shouldHaveNoInteractions();
     }
-}
\ No newline at end of file
+
+    @Test
+    void createCacheKey_sameParametersDifferentOrderAndWhitespace_keysAreEqual() {
+        // given
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put("query", "keyword");
+        parameters.put("limit", "10");
+        Map<String, String> reorderedParameters = new LinkedHashMap<>();
+        reorderedParameters.put("limit", "10");
+        reorderedParameters.put("query", " keyword ");
+
+        // when
+        Map<String, String> key = SearchService.createCacheKey(parameters);
+        Map<String, String> reorderedKey = SearchService.createCacheKey(reorderedParameters);
+
+        // then
+        assertThat(key).isEqualTo(reorderedKey).isEqualTo(Map.of("limit", "10", "query", "keyword"));
+    }
+
+    @Test
+    void createCacheKey_separatorCharactersInValue_keyDiffersFromSeparateParameters() {
+        // given
+        Map<String, String> parameters = Map.of("query", "x&types=Person");
+        Map<String, String> separateParameters = Map.of("query", "x", "types", "Person");
+
+        // when
+        Map<String, String> key = SearchService.createCacheKey(parameters);
+        Map<String, String> separateKey = SearchService.createCacheKey(separateParameters);
+
+        // then
+        assertThat(key).isNotEqualTo(separateKey);
+    }
+
+    @Test
+    void searchEntities_cacheEnabledAndOptionsInvalid_throwsRequestValidationException() {
+        // given
+        SearchService cachedSearchService = new SearchService(apiRequestService, CacheOptions.builder().build());
+
+        // when
+        RequestValidationException throwable = catchThrowableOfType(
+                () -> cachedSearchService.searchEntities(null, PollingOptions.defaults()), RequestValidationException.class);
+
+        // then
+        assertThat(throwable.getMessage()).isEqualTo("Entity search options 'query' or 'ids' are required.");
+        then(apiRequestService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void findAssertionIdsByKeyword_keywordIndexed_returnsIdsWithoutCallingDkg() {
+        // given
+        KeywordIndex keywordIndex = new KeywordIndex();
+        keywordIndex.index("assertionId", List.of("aKeyword"), null, null);
+        SearchService indexedSearchService = new SearchService(apiRequestService, null, keywordIndex, null);
+
+        // when
+        List<String> result = indexedSearchService.findAssertionIdsByKeyword("aKeyword", PollingOptions.defaults()).join();
+
+        // then
+        assertThat(result).containsExactly("assertionId");
+
+        then(apiRequestService).shouldHaveNoInteractions();
+    }
+}
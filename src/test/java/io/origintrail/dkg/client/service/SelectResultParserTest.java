@@ -0,0 +1,136 @@
+package io.origintrail.dkg.client.service;
+
+import io.origintrail.dkg.client.exception.ResponseBodyException;
+import io.origintrail.dkg.client.rdf.TermDictionary;
+import io.origintrail.dkg.client.sparql.SelectRow;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.NodeFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class SelectResultParserTest {
+
+    private final TermDictionary dictionary = new TermDictionary();
+    private final List<SelectRow> rows = new ArrayList<>();
+
+    @Test
+    void parse_sparqlJsonResultsWithProjection_projectedColumnsDecoded() {
+        // given
+        InputStream response = toInputStream("{\"status\": \"COMPLETED\", \"data\": {"
+                + "\"head\": {\"vars\": [\"s\", \"name\", \"age\"]},"
+                + "\"results\": {\"bindings\": ["
+                + "{\"s\": {\"type\": \"uri\", \"value\": \"did:dkg:a\"}, \"name\": {\"type\": \"literal\", \"value\": \"Anvil\", \"xml:lang\": \"en\"},"
+                + " \"age\": {\"type\": \"literal\", \"value\": \"5\", \"datatype\": \"http://www.w3.org/2001/XMLSchema#integer\"}},"
+                + "{\"s\": {\"type\": \"uri\", \"value\": \"did:dkg:a\"}, \"age\": {\"type\": \"literal\", \"value\": \"7\", \"datatype\": \"http://www.w3.org/2001/XMLSchema#integer\"}}"
+                + "]}}}");
+
+        // when
+        SelectResultParser.Result result = SelectResultParser.parse(response, List.of("age", "s"), dictionary, rows::add);
+
+        // then
+        assertThat(result.getStatus()).isEqualTo("COMPLETED");
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).getColumns()).containsExactly("age", "s");
+        assertThat(rows.get(0).get("age")).isEqualTo(NodeFactory.createLiteral("5", XSDDatatype.XSDinteger));
+        assertThat(rows.get(0).get("s")).isEqualTo(NodeFactory.createURI("did:dkg:a"));
+        assertThat(rows.get(1).getTermId(1)).isEqualTo(rows.get(0).getTermId(1));
+        assertThat(dictionary.size()).isEqualTo(3);
+    }
+
+    @Test
+    void parse_arrayOfStringBindingsWithoutHead_columnsTakenFromRows() {
+        // given
+        InputStream response = toInputStream("{\"data\": ["
+                + "{\"s\": \"<did:dkg:a>\", \"name\": \"\\\"Anvil\\\"@en\"},"
+                + "{\"s\": \"_:b0\", \"name\": \"plain text\", \"extra\": \"ignored\"},"
+                + "{\"name\": \"\\\"5\\\"^^<http://www.w3.org/2001/XMLSchema#integer>\"}"
+                + "], \"status\": \"COMPLETED\"}");
+
+        // when
+        SelectResultParser.Result result = SelectResultParser.parse(response, null, dictionary, rows::add);
+
+        // then
+        assertThat(result.getStatus()).isEqualTo("COMPLETED");
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0).getColumns()).containsExactly("s", "name");
+        assertThat(rows.get(2).getColumns()).containsExactly("s", "name", "extra");
+        assertThat(rows.get(1).get("extra")).isEqualTo(NodeFactory.createLiteral("ignored"));
+        assertThat(rows.get(0).get("name")).isEqualTo(NodeFactory.createLiteral("Anvil", "en"));
+        assertThat(rows.get(1).get("s").isBlank()).isTrue();
+        assertThat(rows.get(1).get("name")).isEqualTo(NodeFactory.createLiteral("plain text"));
+        assertThat(rows.get(2).isBound(0)).isFalse();
+        assertThat(rows.get(2).get("name")).isEqualTo(NodeFactory.createLiteral("5", XSDDatatype.XSDinteger));
+    }
+
+    @Test
+    void parse_variableUnboundInFirstRowWithoutHead_columnAddedForLaterRows() {
+        // given
+        InputStream response = toInputStream("{\"data\": ["
+                + "{\"s\": \"<did:dkg:a>\"},"
+                + "{\"s\": \"<did:dkg:b>\", \"name\": \"Anvil\"},"
+                + "{\"s\": \"<did:dkg:c>\"}"
+                + "]}");
+
+        // when
+        SelectResultParser.parse(response, null, dictionary, rows::add);
+
+        // then
+        assertThat(rows).extracting(SelectRow::getColumns)
+                .containsExactly(List.of("s"), List.of("s", "name"), List.of("s", "name"));
+        assertThat(rows.get(1).get("name")).isEqualTo(NodeFactory.createLiteral("Anvil"));
+        assertThat(rows.get(2).get("name")).isNull();
+    }
+
+    @Test
+    void parse_askResult_returnsBoolean() {
+        // given
+        InputStream response = toInputStream("{\"status\": \"COMPLETED\", \"data\": {\"head\": {}, \"boolean\": true}}");
+
+        // when
+        SelectResultParser.Result result = SelectResultParser.parse(response, List.of(), dictionary, rows::add);
+
+        // then
+        assertThat(result.getStatus()).isEqualTo("COMPLETED");
+        assertThat(result.getBooleanValue()).isTrue();
+        assertThat(rows).isEmpty();
+    }
+
+    @Test
+    void parse_pendingResultWithoutData_returnsStatus() {
+        // given
+        InputStream response = toInputStream("{\"status\": \"PENDING\"}");
+
+        // when
+        SelectResultParser.Result result = SelectResultParser.parse(response, null, dictionary, rows::add);
+
+        // then
+        assertThat(result.getStatus()).isEqualTo("PENDING");
+        assertThat(result.getBooleanValue()).isNull();
+        assertThat(rows).isEmpty();
+    }
+
+    @Test
+    void parse_unsupportedBindingType_throwsResponseBodyException() {
+        // given
+        InputStream response = toInputStream("{\"status\": \"COMPLETED\", \"data\": [{\"s\": {\"type\": \"triple\", \"value\": {}}}]}");
+
+        // when
+        ResponseBodyException throwable = catchThrowableOfType(
+                () -> SelectResultParser.parse(response, null, dictionary, rows::add), ResponseBodyException.class);
+
+        // then
+        assertThat(throwable.getMessage()).isEqualTo("Exception parsing response body content.");
+    }
+
+    private static InputStream toInputStream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,138 @@
+package io.origintrail.dkg.client.service;
+
+import io.origintrail.dkg.client.exception.RequestValidationException;
+import io.origintrail.dkg.client.model.HttpUrlOptions;
+import io.origintrail.dkg.client.model.PollingOptions;
+import io.origintrail.dkg.client.model.ShardedQueryOptions;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.apache.jena.sparql.core.Quad;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class ShardedQueryServiceTest {
+
+    private static final String QUERY = "CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p ?o }";
+    private static final Pattern IRI = Pattern.compile("<(did:dkg:[0-9]+)>");
+
+    private MockWebServer firstNode;
+    private MockWebServer secondNode;
+
+    @BeforeEach
+    void init() throws IOException {
+        firstNode = new MockWebServer();
+        secondNode = new MockWebServer();
+        firstNode.setDispatcher(new ShardDispatcher());
+        secondNode.setDispatcher(new ShardDispatcher());
+        firstNode.start();
+        secondNode.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        firstNode.shutdown();
+        secondNode.shutdown();
+    }
+
+    @Test
+    void construct_irisSplitIntoShardsAcrossNodes_streamsDistinctQuadsOfAllShards() {
+        // given
+        List<String> iris = IntStream.range(0, 10).mapToObj(i -> "did:dkg:" + i).collect(Collectors.toList());
+        ShardedQueryService service = ShardedQueryService.forNodes(List.of(
+                new HttpUrlOptions(firstNode.getHostName(), firstNode.getPort(), "http"),
+                new HttpUrlOptions(secondNode.getHostName(), secondNode.getPort(), "http")));
+        ShardedQueryOptions options = ShardedQueryOptions.builder()
+                .shardSize(3)
+                .maxConcurrentShards(2)
+                .pollingOptions(PollingOptions.builder().interval(Duration.ofMillis(1)).build())
+                .build();
+        List<Quad> quads = new CopyOnWriteArrayList<>();
+
+        // when
+        long distinctQuads = service.construct(QUERY, "s", iris, options, quads::add).join();
+
+        // then
+        assertThat(distinctQuads).isEqualTo(11);
+        assertThat(quads).hasSize(11).doesNotHaveDuplicates();
+        assertThat(quads).extracting(quad -> quad.getSubject().getURI()).contains("did:dkg:0", "did:dkg:9", "did:dkg:shared");
+        assertThat(firstNode.getRequestCount()).isEqualTo(4);
+        assertThat(secondNode.getRequestCount()).isEqualTo(4);
+    }
+
+    @Test
+    void createShardQueries_tenIrisShardSizeFour_threeShardsWithValuesBlocks() {
+        // given
+        List<String> iris = IntStream.range(0, 10).mapToObj(i -> "did:dkg:" + i).collect(Collectors.toList());
+
+        // when
+        List<String> shardQueries = ShardedQueryService.createShardQueries(QUERY, "s", iris, 4);
+
+        // then
+        assertThat(shardQueries).hasSize(3);
+        assertThat(shardQueries.get(2)).isEqualTo(QUERY + "\nVALUES ?s { <did:dkg:8> <did:dkg:9> }");
+    }
+
+    @Test
+    void construct_variableNotInQuery_throwsRequestValidationException() {
+        // given
+        ShardedQueryService service = ShardedQueryService.forNodes(List.of(
+                new HttpUrlOptions(firstNode.getHostName(), firstNode.getPort(), "http")));
+
+        // when
+        RequestValidationException throwable = catchThrowableOfType(() -> service.construct(QUERY, "x", List.of("did:dkg:1"),
+                ShardedQueryOptions.builder().build(), quad -> {
+                }), RequestValidationException.class);
+
+        // then
+        assertThat(throwable.getMessage()).isEqualTo("Sharded query does not use variable: ?x");
+        assertThat(firstNode.getRequestCount()).isZero();
+    }
+
+    /**
+     * Returns a handler id for each query, and a result with a quad per IRI in the query's VALUES block,
+     * plus a quad shared by every shard.
+     */
+    private static class ShardDispatcher extends Dispatcher {
+
+        private final AtomicInteger handlerIds = new AtomicInteger();
+        private final Map<String, List<String>> shardIris = new ConcurrentHashMap<>();
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            if ("POST".equals(request.getMethod())) {
+                String handlerId = "handler-" + handlerIds.incrementAndGet();
+                Matcher matcher = IRI.matcher(request.getBody().readUtf8());
+                List<String> iris = new CopyOnWriteArrayList<>();
+                while (matcher.find()) {
+                    iris.add(matcher.group(1));
+                }
+                shardIris.put(handlerId, iris);
+                return new MockResponse().setBody("{\"handler_id\": \"" + handlerId + "\"}");
+            }
+            String handlerId = request.getPath().substring(request.getPath().lastIndexOf('/') + 1);
+            String data = shardIris.get(handlerId).stream()
+                    .map(iri -> "\"<" + iri + "> <http://schema.org/name> \\\"name\\\" .\"")
+                    .collect(Collectors.joining(","));
+            return new MockResponse().setBody("{\"status\": \"COMPLETED\", \"data\": [" + data
+                    + ", \"<did:dkg:shared> <http://schema.org/name> \\\"name\\\" .\"]}");
+        }
+    }
+}
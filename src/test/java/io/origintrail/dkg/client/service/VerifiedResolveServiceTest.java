@@ -0,0 +1,183 @@
+package io.origintrail.dkg.client.service;
+
+import io.origintrail.dkg.client.model.HttpUrlOptions;
+import io.origintrail.dkg.client.model.NQuad;
+import io.origintrail.dkg.client.model.PollingOptions;
+import io.origintrail.dkg.client.proof.InvalidProof;
+import io.origintrail.dkg.client.proof.ProofVerifier;
+import io.origintrail.dkg.client.proof.VerifiedResolveResult;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class VerifiedResolveServiceTest {
+
+    private static final String ASSERTION_ID = "5285f5da78edeaa9a7cb853ebd85121fae7d93191490d182490464668f2d21cc";
+    private static final NQuad NAME = NQuad.builder("<did:dkg:" + ASSERTION_ID + ">", "<http://schema.org/name>", "\"Jane Doe\"").build();
+    private static final NQuad KEYWORD = NQuad.builder("<did:dkg:" + ASSERTION_ID + ">", "<http://schema.org/hasKeyword>", "\"aKeyword\"").build();
+    private static final PollingOptions POLLING_OPTIONS = PollingOptions.builder().interval(Duration.ofMillis(5)).build();
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private volatile boolean proofsWithheld;
+    private MockWebServer mockWebServer;
+    private VerifiedResolveService verifiedResolveService;
+    private String rootHash;
+
+    @BeforeEach
+    void init() throws IOException, NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        digest.update(parseHex(ProofVerifier.tripleHash(NAME.toString())));
+        byte[] root = digest.digest(parseHex(ProofVerifier.tripleHash(KEYWORD.toString())));
+        StringBuilder hex = new StringBuilder();
+        for (byte b : root) {
+            hex.append(String.format("%02x", b));
+        }
+        rootHash = hex.toString();
+
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new VerifiedResolveDispatcher());
+        mockWebServer.start();
+
+        ApiRequestService apiRequestService = new ApiRequestService(HttpClient.newHttpClient(),
+                new HttpUrlOptions(mockWebServer.getHostName(), mockWebServer.getPort(), "http"));
+        verifiedResolveService = new VerifiedResolveService(new ResolveService(apiRequestService),
+                new QueryService(apiRequestService), new ProofVerifier());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void verifiedResolve_knownTriples_proofsRequestedBeforeResolveCompletes() {
+        // when
+        VerifiedResolveResult result = verifiedResolveService.verifiedResolve(List.of(ASSERTION_ID), List.of(NAME, KEYWORD),
+                Map.of(ASSERTION_ID, rootHash), POLLING_OPTIONS).join();
+
+        // then
+        assertThat(result.getResolveResult().getData().get(0).getId()).isEqualTo(ASSERTION_ID);
+        assertThat(result.getVerification().getProofCount()).isEqualTo(2);
+        assertThat(result.isVerified()).isTrue();
+        assertThat(requests.indexOf("POST /proofs:get?assertions=" + ASSERTION_ID))
+                .isLessThan(requests.lastIndexOf("GET /resolve/result/resolve-handler"));
+    }
+
+    @Test
+    void verifiedResolve_triplesSelectedFromResolveResult_selectedTriplesVerified() {
+        // when
+        VerifiedResolveResult result = verifiedResolveService.verifiedResolve(List.of(ASSERTION_ID),
+                resolved -> List.of(NQuad.builder("<did:dkg:" + resolved.getData().get(0).getId() + ">",
+                        "<http://schema.org/name>", "\"Jane Doe\"").build()),
+                Map.of(ASSERTION_ID, rootHash), POLLING_OPTIONS).join();
+
+        // then
+        assertThat(result.getProofsResult().getData().get(0).getProofs()).hasSize(1);
+        assertThat(result.isVerified()).isTrue();
+        assertThat(requests.indexOf("POST /proofs:get?assertions=" + ASSERTION_ID))
+                .isGreaterThan(requests.lastIndexOf("GET /resolve/result/resolve-handler"));
+    }
+
+    @Test
+    void verifiedResolve_wrongRootHash_resultNotVerified() {
+        // when
+        VerifiedResolveResult result = verifiedResolveService.verifiedResolve(List.of(ASSERTION_ID), List.of(NAME, KEYWORD),
+                Map.of(ASSERTION_ID, ProofVerifier.tripleHash(NAME.toString())), POLLING_OPTIONS).join();
+
+        // then
+        assertThat(result.getResolveResult().getStatus()).isEqualTo("COMPLETED");
+        assertThat(result.isVerified()).isFalse();
+        assertThat(result.getVerification().getInvalidProofs()).hasSize(2);
+    }
+
+    @Test
+    void verifiedResolve_noProofsReturned_resultNotVerified() {
+        // given
+        proofsWithheld = true;
+
+        // when
+        VerifiedResolveResult result = verifiedResolveService.verifiedResolve(List.of(ASSERTION_ID), List.of(NAME, KEYWORD),
+                Map.of(ASSERTION_ID, rootHash), POLLING_OPTIONS).join();
+
+        // then
+        assertThat(result.getVerification().getProofCount()).isZero();
+        assertThat(result.isVerified()).isFalse();
+        assertThat(result.getVerification().getInvalidProofs())
+                .extracting(InvalidProof::getTriple, InvalidProof::getReason)
+                .containsExactly(tuple(NAME.toString(), InvalidProof.Reason.MISSING_PROOF),
+                        tuple(KEYWORD.toString(), InvalidProof.Reason.MISSING_PROOF));
+    }
+
+    private static byte[] parseHex(String hex) {
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns a resolve result which is pending for the first two polls, and proofs for the requested triples
+     * in a two triple tree of {@link #NAME} and {@link #KEYWORD}, or no proofs if {@link #proofsWithheld}.
+     */
+    private class VerifiedResolveDispatcher extends Dispatcher {
+
+        private final AtomicInteger resolvePolls = new AtomicInteger();
+        private volatile String proofsBody;
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            requests.add(request.getMethod() + " " + request.getPath());
+            String path = request.getPath();
+            if (path.startsWith("/resolve?")) {
+                return new MockResponse().setBody("{\"handler_id\": \"resolve-handler\"}");
+            }
+            if (path.startsWith("/resolve/result/")) {
+                if (resolvePolls.incrementAndGet() <= 2) {
+                    return new MockResponse().setBody("{\"status\": \"PENDING\"}");
+                }
+                return new MockResponse().setBody("{\"status\": \"COMPLETED\", \"data\": [{\"type\": \"assertion\", \"id\": \""
+                        + ASSERTION_ID + "\"}]}");
+            }
+            if (path.startsWith("/proofs:get?")) {
+                proofsBody = request.getBody().readUtf8();
+                return new MockResponse().setBody("{\"handler_id\": \"proofs-handler\"}");
+            }
+            StringBuilder proofs = new StringBuilder();
+            if (proofsWithheld) {
+                proofsBody = "";
+            }
+            if (proofsBody.contains(NAME.toString())) {
+                proofs.append(proof(NAME, "right", KEYWORD));
+            }
+            if (proofsBody.contains(KEYWORD.toString())) {
+                proofs.append(proofs.length() > 0 ? "," : "").append(proof(KEYWORD, "left", NAME));
+            }
+            return new MockResponse().setBody("{\"status\": \"COMPLETED\", \"data\": [{\"assertionId\": \"" + ASSERTION_ID
+                    + "\", \"proofs\": [" + proofs + "]}]}");
+        }
+
+        private String proof(NQuad nQuad, String siblingSide, NQuad sibling) {
+            return "{\"triple\": \"" + nQuad.toString().replace("\"", "\\\"") + "\", \"tripleHash\": \""
+                    + ProofVerifier.tripleHash(nQuad.toString()) + "\", \"proof\": [{\"" + siblingSide + "\": \""
+                    + ProofVerifier.tripleHash(sibling.toString()) + "\"}]}";
+        }
+    }
+}
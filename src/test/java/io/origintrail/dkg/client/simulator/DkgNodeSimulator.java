@@ -0,0 +1,484 @@
+package io.origintrail.dkg.client.simulator;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.origintrail.dkg.client.http.HttpMediaType;
+import io.origintrail.dkg.client.model.HttpUrlOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static io.origintrail.dkg.client.service.ApiRequestService.OBJECT_MAPPER;
+
+/**
+ * An in-process simulator of the DKG node API, for testing and load testing the client without a node or a network.
+ * <p>
+ * The {@code info}, {@code publish}, {@code provision}, {@code update}, {@code resolve}, {@code entities:search},
+ * {@code assertions:search}, {@code query} and {@code proofs:get} endpoints are served, each operation returning a
+ * {@code handler_id} whose result is {@code PENDING} for the configured {@link SimulatorOptions#getOperationDuration()},
+ * then {@code COMPLETED}, or {@code FAILED} for the configured fraction of operations.
+ * <p>
+ * Published assets are held in memory, so they can be resolved, searched, queried and proven once their publish completes.
+ * Proofs are of a Merkle tree of the type and keyword triples of each assertion, and can be verified against its root hash.
+ * <p>
+ * Latency is added to every response without blocking a request thread, and requests can be failed with an error status
+ * or limited to a rate, answering requests above it with status {@code 429}.
+ *
+ * <pre>{@code
+ * try (DkgNodeSimulator simulator = DkgNodeSimulator.start(SimulatorOptions.defaults())) {
+ *     DkgClient dkgClient = new DkgClient(simulator.getHost(), simulator.getPort());
+ *     ...
+ * }
+ * }</pre>
+ */
+public class DkgNodeSimulator implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DkgNodeSimulator.class);
+
+    static final String VERSION = "6.0.0-beta.1.20";
+
+    private static final String COMPLETED_STATUS = "COMPLETED";
+    private static final String FAILED_STATUS = "FAILED";
+    private static final String PENDING_STATUS = "PENDING";
+    private static final String RESULT_PATH = "/result/";
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int MAX_QUERY_RESULTS = 1000;
+    private static final long PURGE_INTERVAL_MILLIS = 1000;
+
+    private final SimulatorOptions options;
+    private final HttpServer server;
+    private final ExecutorService requestExecutor;
+    private final ScheduledExecutorService scheduler;
+    private final TokenBucket tokenBucket;
+    private final Random seededRandom;
+    private final String host;
+    private final int port;
+    private final String nodeId;
+    private final Map<String, Handler> handlers = new ConcurrentHashMap<>();
+    private final Map<String, SimulatedAssertion> assertions = new ConcurrentHashMap<>();
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    private DkgNodeSimulator(SimulatorOptions options) throws IOException {
+        this.options = options;
+        this.tokenBucket = options.getMaxRequestsPerSecond() > 0
+                ? new TokenBucket(options.getMaxRequestsPerSecond(), System::nanoTime) : null;
+        this.seededRandom = options.getSeed() == null ? null : new Random(options.getSeed());
+        this.requestExecutor = Executors.newFixedThreadPool(options.getThreads(), daemonThreads("dkg-simulator-request"));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("dkg-simulator-scheduler"));
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), options.getPort()), 0);
+        this.host = server.getAddress().getAddress().getHostAddress();
+        this.port = server.getAddress().getPort();
+        this.nodeId = "QmSimulatedNode" + port;
+        server.createContext("/", this::handle);
+        server.setExecutor(requestExecutor);
+    }
+
+    /**
+     * Starts a simulator listening on the loopback address.
+     *
+     * @throws IOException if the server cannot be started on the configured port.
+     */
+    public static DkgNodeSimulator start(SimulatorOptions options) throws IOException {
+        DkgNodeSimulator simulator = new DkgNodeSimulator(options);
+        simulator.server.start();
+        simulator.scheduler.scheduleAtFixedRate(simulator::purgeExpiredHandlers,
+                PURGE_INTERVAL_MILLIS, PURGE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        LOGGER.debug("DKG node simulator started on port {}: {}", simulator.getPort(), options);
+        return simulator;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public HttpUrlOptions getHttpUrlOptions() {
+        return new HttpUrlOptions(host, port, "http");
+    }
+
+    /**
+     * @return the number of requests received, including rejected requests.
+     */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * @return the number of requests answered with an injected error or status {@code 429}.
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * @return the number of assertions published, provisioned or updated.
+     */
+    public int getAssertionCount() {
+        return assertions.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        scheduler.shutdownNow();
+        requestExecutor.shutdownNow();
+        LOGGER.debug("DKG node simulator on port {} stopped", port);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.increment();
+        byte[] body;
+        try (InputStream requestBody = exchange.getRequestBody()) {
+            body = requestBody.readAllBytes();
+        }
+
+        if (tokenBucket != null && !tokenBucket.tryAcquire()) {
+            rejectedCount.increment();
+            respond(exchange, TOO_MANY_REQUESTS, message("Too many requests"));
+            return;
+        }
+        if (options.getErrorRate() > 0 && random().nextDouble() < options.getErrorRate()) {
+            rejectedCount.increment();
+            respond(exchange, options.getErrorStatus(), message("Simulated error"));
+            return;
+        }
+
+        try {
+            route(exchange, body);
+        } catch (IllegalArgumentException e) {
+            respond(exchange, 400, message(e.getMessage()));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Exception handling simulated request {}: {}", exchange.getRequestURI(), e.getMessage());
+            respond(exchange, 500, message(e.getMessage()));
+        }
+    }
+
+    private void route(HttpExchange exchange, byte[] body) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getRawPath();
+        Map<String, List<String>> parameters = parseQuery(exchange.getRequestURI().getRawQuery());
+
+        int resultIndex = path.indexOf(RESULT_PATH);
+        if (resultIndex > 0 && "GET".equals(method)) {
+            String operation = path.substring(1, resultIndex);
+            String handlerId = URLDecoder.decode(path.substring(resultIndex + RESULT_PATH.length()), StandardCharsets.UTF_8);
+            respondWithResult(exchange, operation, handlerId);
+            return;
+        }
+
+        String operation = path.length() > 1 ? path.substring(1) : path;
+        switch (method + " " + operation) {
+            case "GET info":
+                respond(exchange, 200, OBJECT_MAPPER.createObjectNode()
+                        .put("version", VERSION)
+                        .put("auto_update", false)
+                        .put("telemetry", false));
+                return;
+            case "POST publish":
+            case "POST provision":
+            case "POST update":
+                startPublish(exchange, operation, MultiPartRequest.parse(body, exchange.getRequestHeaders().getFirst("Content-Type")));
+                return;
+            case "GET resolve":
+                List<String> ids = parameters.getOrDefault("ids", List.of());
+                startOperation(exchange, operation, () -> resolveResult(ids));
+                return;
+            case "GET entities:search":
+            case "GET assertions:search":
+                boolean entities = operation.startsWith("entities");
+                String query = first(parameters, "query");
+                int limit = Integer.parseInt(first(parameters, "limit", String.valueOf(MAX_QUERY_RESULTS)));
+                startOperation(exchange, operation, () -> searchResult(entities, query, limit));
+                return;
+            case "POST query":
+                String type = first(parameters, "type", "construct");
+                MultiPartRequest queryRequest = MultiPartRequest.parse(body, exchange.getRequestHeaders().getFirst("Content-Type"));
+                if (queryRequest.getPart("query") == null) {
+                    throw new IllegalArgumentException("Query is required.");
+                }
+                startOperation(exchange, operation, () -> queryResult(type));
+                return;
+            case "POST proofs:get":
+                List<String> assertionIds = parameters.getOrDefault("assertions", List.of());
+                String nQuads = MultiPartRequest.parse(body, exchange.getRequestHeaders().getFirst("Content-Type"))
+                        .getPartText("nquads");
+                startOperation(exchange, operation, () -> proofsResult(assertionIds, nQuads));
+                return;
+            default:
+                respond(exchange, 404, message(String.format("Not found: %s %s", method, path)));
+        }
+    }
+
+    private void startPublish(HttpExchange exchange, String operation, MultiPartRequest request) throws IOException {
+        byte[] file = request.getPart("file");
+        if (file == null) {
+            throw new IllegalArgumentException("File is required.");
+        }
+        JsonNode data;
+        List<String> keywords = new ArrayList<>();
+        try {
+            data = OBJECT_MAPPER.readTree(file);
+            String keywordsText = request.getPartText("keywords");
+            if (keywordsText != null) {
+                OBJECT_MAPPER.readTree(keywordsText).forEach(keyword -> keywords.add(keyword.asText()));
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Assertion data and keywords must be valid JSON.");
+        }
+        String visibility = request.getPartText("visibility") == null ? "public" : request.getPartText("visibility");
+        String type = data.hasNonNull("@type") ? data.get("@type").asText() : "Thing";
+        SimulatedAssertion assertion = new SimulatedAssertion(SimulatedAssertion.hash(new String(file, StandardCharsets.UTF_8)),
+                type, keywords, visibility, data, Instant.now().toString());
+
+        startOperation(exchange, operation, () -> {
+            assertions.put(assertion.getId(), assertion);
+            return result(COMPLETED_STATUS).set("data", assertion.publishResultData());
+        });
+    }
+
+    /**
+     * Creates a handler for the operation and responds with its {@code handler_id}.
+     *
+     * @param completion supplies the completed result of the operation, once it has been pending for the operation duration.
+     */
+    private void startOperation(HttpExchange exchange, String operation, Supplier<JsonNode> completion) throws IOException {
+        String handlerId = UUID.randomUUID().toString();
+        boolean failed = options.getFailureRate() > 0 && random().nextDouble() < options.getFailureRate();
+        long completeAt = System.nanoTime() + options.getOperationDuration().toNanos();
+        Handler handler = new Handler(operation, completeAt, failed ? () -> result(FAILED_STATUS) : completion);
+        handlers.put(handlerId, handler);
+        scheduler.schedule(() -> requestExecutor.execute(handler::result),
+                options.getOperationDuration().toNanos(), TimeUnit.NANOSECONDS);
+        respond(exchange, 202, OBJECT_MAPPER.createObjectNode().put("handler_id", handlerId));
+    }
+
+    private void respondWithResult(HttpExchange exchange, String operation, String handlerId) throws IOException {
+        Handler handler = handlers.get(handlerId);
+        if (handler == null || !handler.operation.equals(operation)) {
+            respond(exchange, 404, message(String.format("Handler not found: %s", handlerId)));
+            return;
+        }
+        if (System.nanoTime() < handler.completeAt) {
+            respond(exchange, 200, result(PENDING_STATUS));
+            return;
+        }
+        respond(exchange, 200, handler.result());
+    }
+
+    private JsonNode resolveResult(List<String> ids) {
+        ObjectNode result = result(COMPLETED_STATUS);
+        ArrayNode data = result.putArray("data");
+        for (String id : new LinkedHashSet<>(ids)) {
+            SimulatedAssertion assertion = assertions.get(id);
+            if (assertion != null) {
+                data.add(assertion.resolveResultData());
+            }
+        }
+        return result;
+    }
+
+    private JsonNode searchResult(boolean entities, String query, int limit) {
+        ObjectNode result = result(COMPLETED_STATUS);
+        result.putObject("@context")
+                .put("@vocab", "http://schema.org/")
+                .put("goog", "http://schema.googleapis.com/")
+                .put("resultScore", "goog:resultScore");
+        result.put("@type", "ItemList");
+        ArrayNode items = result.putArray("itemListElement");
+        for (SimulatedAssertion assertion : assertions.values()) {
+            if (items.size() >= limit) {
+                break;
+            }
+            if (assertion.matches(query)) {
+                items.add(entities ? assertion.entitySearchResultItem(nodeId) : assertion.assertionSearchResultItem(nodeId));
+            }
+        }
+        return result;
+    }
+
+    private JsonNode queryResult(String type) {
+        ObjectNode result = result(COMPLETED_STATUS);
+        if ("ask".equalsIgnoreCase(type)) {
+            return result.put("data", !assertions.isEmpty());
+        }
+        boolean select = "select".equalsIgnoreCase(type);
+        ArrayNode data = result.putArray("data");
+        for (SimulatedAssertion assertion : assertions.values()) {
+            for (String triple : assertion.getTriples()) {
+                if (data.size() >= MAX_QUERY_RESULTS) {
+                    return result;
+                }
+                if (select) {
+                    String[] terms = triple.split(" ", 3);
+                    data.addObject()
+                            .put("s", terms[0])
+                            .put("p", terms[1])
+                            .put("o", terms[2].substring(0, terms[2].length() - 2));
+                } else {
+                    data.add(triple);
+                }
+            }
+        }
+        return result;
+    }
+
+    private JsonNode proofsResult(List<String> assertionIds, String nQuads) {
+        Set<String> triples = new LinkedHashSet<>();
+        if (nQuads != null) {
+            for (String line : nQuads.split("\n")) {
+                if (!line.isBlank()) {
+                    triples.add(line.trim());
+                }
+            }
+        }
+        ObjectNode result = result(COMPLETED_STATUS);
+        ArrayNode data = result.putArray("data");
+        for (String assertionId : new LinkedHashSet<>(assertionIds)) {
+            SimulatedAssertion assertion = assertions.get(assertionId);
+            if (assertion != null) {
+                data.add(assertion.proofsResultData(triples));
+            }
+        }
+        return result;
+    }
+
+    private void respond(HttpExchange exchange, int status, JsonNode body) {
+        byte[] bytes;
+        try {
+            bytes = OBJECT_MAPPER.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            bytes = new byte[0];
+        }
+        long delay = options.getLatency().nextNanos(random());
+        byte[] responseBody = bytes;
+        if (delay <= 0) {
+            send(exchange, status, responseBody);
+        } else {
+            scheduler.schedule(() -> send(exchange, status, responseBody), delay, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) {
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().set("Content-Type", HttpMediaType.APPLICATION_JSON.value());
+            exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+            responseBody.write(body);
+        } catch (IOException e) {
+            LOGGER.debug("Exception sending simulated response: {}", e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void purgeExpiredHandlers() {
+        long expiredBefore = System.nanoTime() - options.getHandlerTtl().toNanos();
+        handlers.values().removeIf(handler -> handler.completeAt - expiredBefore < 0);
+    }
+
+    private Random random() {
+        return seededRandom == null ? ThreadLocalRandom.current() : seededRandom;
+    }
+
+    private static ObjectNode result(String status) {
+        return OBJECT_MAPPER.createObjectNode().put("status", status);
+    }
+
+    private static ObjectNode message(String message) {
+        return OBJECT_MAPPER.createObjectNode().put("message", message);
+    }
+
+    private static Map<String, List<String>> parseQuery(String rawQuery) {
+        Map<String, List<String>> parameters = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return parameters;
+        }
+        for (String parameter : rawQuery.split("&")) {
+            int separator = parameter.indexOf('=');
+            String key = URLDecoder.decode(separator < 0 ? parameter : parameter.substring(0, separator), StandardCharsets.UTF_8);
+            String value = separator < 0 ? "" : URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8);
+            parameters.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+        }
+        return parameters;
+    }
+
+    private static String first(Map<String, List<String>> parameters, String key) {
+        return first(parameters, key, null);
+    }
+
+    private static String first(Map<String, List<String>> parameters, String key, String defaultValue) {
+        Collection<String> values = parameters.get(key);
+        return values == null || values.isEmpty() ? defaultValue : values.iterator().next();
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * An operation started by a request, identified by its {@code handler_id}.
+     */
+    private static final class Handler {
+
+        private final String operation;
+        private final long completeAt;
+        private Supplier<JsonNode> completion;
+        private JsonNode result;
+
+        Handler(String operation, long completeAt, Supplier<JsonNode> completion) {
+            this.operation = operation;
+            this.completeAt = completeAt;
+            this.completion = completion;
+        }
+
+        /**
+         * @return the completed result, created once when the operation completes or is first requested after completing.
+         */
+        synchronized JsonNode result() {
+            if (result == null) {
+                result = completion.get();
+                completion = null;
+            }
+            return result;
+        }
+    }
+}
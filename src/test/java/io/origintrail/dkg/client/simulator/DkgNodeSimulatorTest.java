@@ -0,0 +1,220 @@
+package io.origintrail.dkg.client.simulator;
+
+import io.origintrail.dkg.client.DkgClient;
+import io.origintrail.dkg.client.exception.HttpResponseException;
+import io.origintrail.dkg.client.model.AssertionSearchOptions;
+import io.origintrail.dkg.client.model.EntitySearchOptions;
+import io.origintrail.dkg.client.model.NQuad;
+import io.origintrail.dkg.client.model.PollingOptions;
+import io.origintrail.dkg.client.model.PublishOptions;
+import io.origintrail.dkg.client.model.SparqlQueryType;
+import io.origintrail.dkg.client.model.response.AssertionSearchResult;
+import io.origintrail.dkg.client.model.response.EntitySearchResult;
+import io.origintrail.dkg.client.model.response.HandlerId;
+import io.origintrail.dkg.client.model.response.PublishResult;
+import io.origintrail.dkg.client.model.response.QueryResult;
+import io.origintrail.dkg.client.proof.VerifiedResolveResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class DkgNodeSimulatorTest {
+
+    private static final byte[] ASSET = ("{\"@context\": \"https://schema.org/\", \"@type\": \"Product\", "
+            + "\"@id\": \"urn:product:anvil\", \"name\": \"Executive Anvil\"}").getBytes(StandardCharsets.UTF_8);
+    private static final PollingOptions POLLING_OPTIONS = PollingOptions.builder().interval(Duration.ofMillis(10)).build();
+
+    private DkgNodeSimulator simulator;
+    private DkgClient dkgClient;
+
+    @AfterEach
+    void tearDown() {
+        if (simulator != null) {
+            simulator.close();
+        }
+    }
+
+    @Test
+    void publish_resultPendingForOperationDuration_thenCompleted() throws IOException {
+        // given
+        start(SimulatorOptions.builder().operationDuration(Duration.ofMillis(300)).build());
+        HandlerId handlerId = dkgClient.publishAssertion("asset.json", ASSET,
+                PublishOptions.builder(List.of("anvil")).build()).join();
+
+        // when
+        PublishResult pending = dkgClient.getPublishAssertionResult(handlerId.getHandlerId()).join();
+        PublishResult completed = awaitPublish(handlerId);
+
+        // then
+        assertThat(pending.getStatus()).isEqualTo("PENDING");
+        assertThat(completed.getStatus()).isEqualTo("COMPLETED");
+        assertThat(completed.getData().getMetadata().getKeywords()).containsExactly("anvil");
+        assertThat(completed.getData().getMetadata().getType()).isEqualTo("Product");
+        assertThat(completed.getData().getMetadata().getTimestamp()).isNotNull();
+        assertThat(simulator.getAssertionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void verifiedResolve_publishedAssertion_resolvedAndProofsVerified() throws IOException {
+        // given
+        start(SimulatorOptions.builder().operationDuration(Duration.ofMillis(20)).build());
+        PublishResult published = publish(List.of("anvil", "ACME"));
+        String id = published.getData().getId();
+        NQuad keyword = NQuad.builder("<did:dkg:" + id + ">", "<http://schema.org/hasKeyword>", "\"ACME\"").build();
+        NQuad type = NQuad.builder("<did:dkg:" + id + ">", "<http://schema.org/type>", "\"Product\"").build();
+
+        // when
+        VerifiedResolveResult result = dkgClient.verifiedResolve(List.of(id), List.of(keyword, type),
+                Map.of(id, published.getData().getRootHash()), POLLING_OPTIONS).join();
+
+        // then
+        assertThat(result.getResolveResult().getData().get(0).getAssertion().getData().get("name").asText())
+                .isEqualTo("Executive Anvil");
+        assertThat(result.getVerification().getProofCount()).isEqualTo(2);
+        assertThat(result.isVerified()).isTrue();
+    }
+
+    @Test
+    void searchAndQuery_publishedAssertion_foundByKeyword() throws IOException {
+        // given
+        start(SimulatorOptions.builder().operationDuration(Duration.ofMillis(20)).build());
+        String id = publish(List.of("anvil")).getData().getId();
+
+        // when
+        EntitySearchResult entities = dkgClient.searchEntities(EntitySearchOptions.builder().query("anvil").build(),
+                POLLING_OPTIONS).join();
+        AssertionSearchResult assertions = dkgClient.searchAssertions(AssertionSearchOptions.builder("anvil").build(),
+                POLLING_OPTIONS).join();
+        AssertionSearchResult noAssertions = dkgClient.searchAssertions(AssertionSearchOptions.builder("hammer").build(),
+                POLLING_OPTIONS).join();
+        QueryResult construct = dkgClient.queryAndAwait(SparqlQueryType.CONSTRUCT,
+                "CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p ?o }", POLLING_OPTIONS).join();
+
+        // then
+        assertThat(entities.getItemListElement()).hasSize(1);
+        assertThat(entities.getItemListElement().get(0).getId()).isEqualTo("urn:product:anvil");
+        assertThat(assertions.getItemListElement().get(0).getId()).isEqualTo(id);
+        assertThat(noAssertions.getItemListElement()).isEmpty();
+        assertThat(construct.getData()).contains("<did:dkg:" + id + "> <http://schema.org/hasKeyword> \"anvil\" .");
+        assertThat(dkgClient.askAndAwait("ASK { ?s ?p ?o }", POLLING_OPTIONS).join().getData()).isTrue();
+    }
+
+    @Test
+    void publish_failureRateOne_resultFailedAndNotStored() throws IOException {
+        // given
+        start(SimulatorOptions.builder().operationDuration(Duration.ZERO).failureRate(1).build());
+
+        // when
+        PublishResult result = publish(List.of("anvil"));
+
+        // then
+        assertThat(result.getStatus()).isEqualTo("FAILED");
+        assertThat(simulator.getAssertionCount()).isZero();
+    }
+
+    @Test
+    void info_errorRateOne_throwsHttpResponseExceptionWithErrorStatus() throws IOException {
+        // given
+        start(SimulatorOptions.builder().errorRate(1).errorStatus(503).seed(1L).build());
+
+        // when
+        CompletionException exception = catchThrowableOfType(() -> dkgClient.getNodeInfo().join(), CompletionException.class);
+
+        // then
+        assertThat(exception.getCause()).isInstanceOf(HttpResponseException.class);
+        assertThat(((HttpResponseException) exception.getCause()).getStatusCode()).isEqualTo(503);
+        assertThat(simulator.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void info_requestsAboveMaxRate_answeredWithTooManyRequests() throws IOException {
+        // given
+        start(SimulatorOptions.builder().maxRequestsPerSecond(2).latency(LatencyDistribution.fixed(Duration.ofMillis(5))).build());
+
+        // when
+        String version = dkgClient.getNodeInfo().join().getVersion();
+        dkgClient.getNodeInfo().join();
+        CompletionException exception = catchThrowableOfType(() -> dkgClient.getNodeInfo().join(), CompletionException.class);
+
+        // then
+        assertThat(version).isEqualTo(DkgNodeSimulator.VERSION);
+        assertThat(((HttpResponseException) exception.getCause()).getStatusCode()).isEqualTo(429);
+        assertThat(simulator.getRequestCount()).isEqualTo(3);
+    }
+
+    @Test
+    void tokenBucket_emptied_refilledAtRate() {
+        // given
+        AtomicLong clock = new AtomicLong();
+        TokenBucket tokenBucket = new TokenBucket(10, clock::get);
+        for (int i = 0; i < 10; i++) {
+            assertThat(tokenBucket.tryAcquire()).isTrue();
+        }
+
+        // when
+        boolean emptyAcquired = tokenBucket.tryAcquire();
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        // then
+        assertThat(emptyAcquired).isFalse();
+        assertThat(tokenBucket.tryAcquire()).isTrue();
+        assertThat(tokenBucket.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void logNormal_sampled_medianAndP99AsConfigured() {
+        // given
+        LatencyDistribution latency = LatencyDistribution.logNormal(Duration.ofMillis(10), Duration.ofMillis(100));
+        Random random = new Random(42);
+        long[] samples = new long[100_000];
+
+        // when
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = latency.nextNanos(random);
+        }
+        Arrays.sort(samples);
+
+        // then
+        assertThat(samples[samples.length / 2]).isBetween(TimeUnit.MILLISECONDS.toNanos(9), TimeUnit.MILLISECONDS.toNanos(11));
+        assertThat(samples[samples.length * 99 / 100]).isBetween(TimeUnit.MILLISECONDS.toNanos(90), TimeUnit.MILLISECONDS.toNanos(110));
+    }
+
+    private void start(SimulatorOptions options) throws IOException {
+        simulator = DkgNodeSimulator.start(options);
+        dkgClient = new DkgClient(simulator.getHost(), simulator.getPort());
+    }
+
+    private PublishResult publish(List<String> keywords) {
+        HandlerId handlerId = dkgClient.publishAssertion("asset.json", ASSET, PublishOptions.builder(keywords).build()).join();
+        return awaitPublish(handlerId);
+    }
+
+    private PublishResult awaitPublish(HandlerId handlerId) {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            PublishResult result = dkgClient.getPublishAssertionResult(handlerId.getHandlerId()).join();
+            if (!"PENDING".equals(result.getStatus())) {
+                return result;
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+        throw new IllegalStateException("Publish result still pending.");
+    }
+}
@@ -0,0 +1,58 @@
+package io.origintrail.dkg.client.simulator;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * The distribution of the delay added by the {@link DkgNodeSimulator} before each response is sent.
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    /**
+     * The z-score of the 99th percentile of the standard normal distribution.
+     */
+    double P99_Z_SCORE = 2.3263;
+
+    /**
+     * @return the next delay in nanoseconds, which is never negative.
+     */
+    long nextNanos(Random random);
+
+    /**
+     * @return a distribution adding no delay.
+     */
+    static LatencyDistribution none() {
+        return random -> 0;
+    }
+
+    static LatencyDistribution fixed(Duration latency) {
+        long nanos = latency.toNanos();
+        return random -> nanos;
+    }
+
+    /**
+     * @return a distribution of delays uniformly distributed between {@code min} and {@code max}.
+     */
+    static LatencyDistribution uniform(Duration min, Duration max) {
+        long minNanos = min.toNanos();
+        long range = max.toNanos() - minNanos;
+        if (range < 0) {
+            throw new IllegalArgumentException("Maximum latency must not be less than the minimum latency.");
+        }
+        return random -> minNanos + (long) (random.nextDouble() * range);
+    }
+
+    /**
+     * @return a log-normal distribution of delays, with a long tail as seen in network latencies,
+     * with the given median and 99th percentile.
+     */
+    static LatencyDistribution logNormal(Duration median, Duration p99) {
+        if (p99.compareTo(median) < 0 || median.isZero() || median.isNegative()) {
+            throw new IllegalArgumentException("Median latency must be positive and not greater than the 99th percentile.");
+        }
+        double mu = Math.log(median.toNanos());
+        double sigma = Math.log((double) p99.toNanos() / median.toNanos()) / P99_Z_SCORE;
+        return random -> (long) Math.exp(mu + sigma * random.nextGaussian());
+    }
+}
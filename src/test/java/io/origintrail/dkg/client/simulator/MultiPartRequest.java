@@ -0,0 +1,97 @@
+package io.origintrail.dkg.client.simulator;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The parts of a {@code multipart/form-data} request body, by name.
+ */
+class MultiPartRequest {
+
+    private static final String BOUNDARY_PARAMETER = "boundary=";
+    private static final String NAME_PARAMETER = "; name=";
+    private static final byte[] HEADERS_END = "\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final Map<String, byte[]> parts;
+
+    private MultiPartRequest(Map<String, byte[]> parts) {
+        this.parts = parts;
+    }
+
+    /**
+     * @param contentType the {@code Content-Type} of the request, with its {@code boundary} parameter.
+     * @throws IllegalArgumentException if the content type has no boundary.
+     */
+    static MultiPartRequest parse(byte[] body, String contentType) {
+        int boundaryIndex = contentType == null ? -1 : contentType.indexOf(BOUNDARY_PARAMETER);
+        if (boundaryIndex < 0) {
+            throw new IllegalArgumentException("Multipart request has no boundary.");
+        }
+        String boundary = contentType.substring(boundaryIndex + BOUNDARY_PARAMETER.length()).split(";")[0].trim();
+        byte[] delimiter = ("--" + boundary).getBytes(StandardCharsets.US_ASCII);
+
+        Map<String, byte[]> parts = new HashMap<>();
+        int partStart = indexOf(body, delimiter, 0);
+        while (partStart >= 0) {
+            int headersStart = partStart + delimiter.length;
+            int nextDelimiter = indexOf(body, delimiter, headersStart);
+            int headersEnd = indexOf(body, HEADERS_END, headersStart);
+            if (nextDelimiter < 0 || headersEnd < 0 || headersEnd > nextDelimiter) {
+                break;
+            }
+            String name = partName(new String(body, headersStart, headersEnd - headersStart, StandardCharsets.UTF_8));
+            int contentStart = headersEnd + HEADERS_END.length;
+            int contentEnd = Math.max(contentStart, nextDelimiter - 2);
+            if (name != null) {
+                byte[] content = new byte[contentEnd - contentStart];
+                System.arraycopy(body, contentStart, content, 0, content.length);
+                parts.put(name, content);
+            }
+            partStart = nextDelimiter;
+        }
+        return new MultiPartRequest(parts);
+    }
+
+    /**
+     * @return the content of the part, or {@code null} if there is no part named {@code name}.
+     */
+    byte[] getPart(String name) {
+        return parts.get(name);
+    }
+
+    /**
+     * @return the UTF-8 content of the part, or {@code null} if there is no part named {@code name}.
+     */
+    String getPartText(String name) {
+        byte[] part = parts.get(name);
+        return part == null ? null : new String(part, StandardCharsets.UTF_8);
+    }
+
+    private static String partName(String headers) {
+        int nameIndex = headers.indexOf(NAME_PARAMETER);
+        if (nameIndex < 0) {
+            return null;
+        }
+        int start = nameIndex + NAME_PARAMETER.length();
+        int end = start;
+        while (end < headers.length() && headers.charAt(end) != ';' && headers.charAt(end) != '\r') {
+            end++;
+        }
+        String name = headers.substring(start, end).trim();
+        return name.length() > 1 && name.startsWith("\"") && name.endsWith("\"") ? name.substring(1, name.length() - 1) : name;
+    }
+
+    private static int indexOf(byte[] bytes, byte[] target, int from) {
+        outer:
+        for (int i = from; i <= bytes.length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (bytes[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,270 @@
+package io.origintrail.dkg.client.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.origintrail.dkg.client.exception.UnexpectedException;
+import io.origintrail.dkg.client.proof.ProofVerifier;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static io.origintrail.dkg.client.service.ApiRequestService.OBJECT_MAPPER;
+
+/**
+ * An assertion published to the {@link DkgNodeSimulator}.
+ * <p>
+ * The triples of an assertion are its type and each of its keywords. Its root hash is the root of a Merkle tree of
+ * the SHA-256 hashes of its triples, with a node without a sibling promoted to the next level, so proofs of its triples
+ * can be verified with a {@link ProofVerifier}.
+ */
+class SimulatedAssertion {
+
+    static final String ISSUER = "0x31c98399d3d162fc9bfbfe25c3fc1e41d19ed711";
+    static final String BLOCKCHAIN = "polygon::testnet";
+
+    private static final String KEYWORD_PREDICATE = "<http://schema.org/hasKeyword>";
+    private static final String TYPE_PREDICATE = "<http://schema.org/type>";
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private final String id;
+    private final String type;
+    private final List<String> keywords;
+    private final String visibility;
+    private final JsonNode data;
+    private final String timestamp;
+    private final List<String> triples = new ArrayList<>();
+    private final Map<String, Integer> tripleIndexes = new HashMap<>();
+    private final List<List<byte[]>> levels = new ArrayList<>();
+
+    SimulatedAssertion(String id, String type, List<String> keywords, String visibility, JsonNode data, String timestamp) {
+        this.id = id;
+        this.type = type;
+        this.keywords = keywords;
+        this.visibility = visibility;
+        this.data = data;
+        this.timestamp = timestamp;
+
+        addTriple(String.format("%s %s \"%s\" .", subject(), TYPE_PREDICATE, escape(type)));
+        for (String keyword : keywords) {
+            addTriple(String.format("%s %s \"%s\" .", subject(), KEYWORD_PREDICATE, escape(keyword)));
+        }
+        buildTree();
+    }
+
+    String getId() {
+        return id;
+    }
+
+    List<String> getTriples() {
+        return triples;
+    }
+
+    String getRootHash() {
+        return hex(levels.get(levels.size() - 1).get(0));
+    }
+
+    /**
+     * @return {@code true} if the type, a keyword, or the asset data contains {@code query}, ignoring case.
+     */
+    boolean matches(String query) {
+        if (query == null || query.isBlank()) {
+            return true;
+        }
+        String lowerCaseQuery = query.toLowerCase(Locale.ROOT);
+        if (type.toLowerCase(Locale.ROOT).contains(lowerCaseQuery)) {
+            return true;
+        }
+        for (String keyword : keywords) {
+            if (keyword.toLowerCase(Locale.ROOT).contains(lowerCaseQuery)) {
+                return true;
+            }
+        }
+        return data != null && data.toString().toLowerCase(Locale.ROOT).contains(lowerCaseQuery);
+    }
+
+    ObjectNode metadata() {
+        ObjectNode metadata = OBJECT_MAPPER.createObjectNode()
+                .put("dataHash", id)
+                .put("issuer", ISSUER)
+                .put("type", type)
+                .put("timestamp", timestamp)
+                .put("visibility", visibility);
+        ArrayNode keywordArray = metadata.putArray("keywords");
+        keywords.forEach(keywordArray::add);
+        return metadata;
+    }
+
+    ObjectNode blockchain() {
+        return OBJECT_MAPPER.createObjectNode()
+                .put("name", BLOCKCHAIN)
+                .put("transactionHash", "0x" + hash(id + "transaction"));
+    }
+
+    String signature() {
+        return "0x" + hash(id + "signature") + hash(id + "signature2");
+    }
+
+    /**
+     * @return the {@code data} of a publish, provision or update result.
+     */
+    ObjectNode publishResultData() {
+        ObjectNode result = OBJECT_MAPPER.createObjectNode();
+        result.set("blockchain", blockchain());
+        result.put("id", id);
+        result.set("metadata", metadata());
+        result.put("metadataHash", hash(metadata().toString()));
+        result.put("rootHash", getRootHash());
+        result.put("signature", signature());
+        return result;
+    }
+
+    /**
+     * @return an item of the {@code data} of a resolve result.
+     */
+    ObjectNode resolveResultData() {
+        ObjectNode assertion = OBJECT_MAPPER.createObjectNode();
+        assertion.set("metadata", metadata());
+        assertion.set("blockchain", blockchain());
+        assertion.put("id", id);
+        assertion.put("signature", signature());
+        assertion.set("data", data);
+        ObjectNode result = OBJECT_MAPPER.createObjectNode()
+                .put("type", "assertion")
+                .put("id", id);
+        result.set("assertion", assertion);
+        return result;
+    }
+
+    /**
+     * @return an item of the {@code itemListElement} of an entities search result.
+     */
+    ObjectNode entitySearchResultItem(String nodeId) {
+        ObjectNode entity = OBJECT_MAPPER.createObjectNode()
+                .put("@id", data != null && data.hasNonNull("@id") ? data.get("@id").asText() : id)
+                .put("@type", type.toUpperCase(Locale.ROOT));
+        if (data != null && data.hasNonNull("name")) {
+            entity.set("name", data.get("name"));
+        }
+        ObjectNode item = OBJECT_MAPPER.createObjectNode().put("@type", "EntitySearchResult");
+        item.set("result", entity);
+        item.putArray("issuers").add(ISSUER);
+        item.putArray("assertions").add(id);
+        item.putArray("nodes").add(nodeId);
+        item.put("resultScore", 1.0);
+        return item;
+    }
+
+    /**
+     * @return an item of the {@code itemListElement} of an assertions search result.
+     */
+    ObjectNode assertionSearchResultItem(String nodeId) {
+        ObjectNode result = OBJECT_MAPPER.createObjectNode().put("@id", id);
+        result.set("metadata", metadata());
+        result.put("signature", signature());
+        result.put("rootHash", getRootHash());
+        ObjectNode item = OBJECT_MAPPER.createObjectNode().put("@type", "AssertionSearchResult");
+        item.set("result", result);
+        item.putArray("nodes").add(nodeId);
+        item.put("resultScore", 1.0);
+        return item;
+    }
+
+    /**
+     * @return the proofs of each of {@code requestedTriples} which is a triple of this assertion.
+     */
+    ObjectNode proofsResultData(Collection<String> requestedTriples) {
+        ObjectNode result = OBJECT_MAPPER.createObjectNode().put("assertionId", id);
+        ArrayNode proofs = result.putArray("proofs");
+        for (String triple : requestedTriples) {
+            Integer leaf = tripleIndexes.get(triple);
+            if (leaf == null) {
+                continue;
+            }
+            ObjectNode proof = proofs.addObject()
+                    .put("triple", triple)
+                    .put("tripleHash", hex(levels.get(0).get(leaf)));
+            ArrayNode path = proof.putArray("proof");
+            int index = leaf;
+            for (List<byte[]> level : levels.subList(0, levels.size() - 1)) {
+                int siblingIndex = index % 2 == 0 ? index + 1 : index - 1;
+                if (siblingIndex < level.size()) {
+                    path.addObject().put(index % 2 == 0 ? "right" : "left", hex(level.get(siblingIndex)));
+                }
+                index /= 2;
+            }
+        }
+        return result;
+    }
+
+    private String subject() {
+        return "<did:dkg:" + id + ">";
+    }
+
+    private void addTriple(String triple) {
+        if (!tripleIndexes.containsKey(triple)) {
+            tripleIndexes.put(triple, triples.size());
+            triples.add(triple);
+        }
+    }
+
+    private void buildTree() {
+        MessageDigest digest = createDigest();
+        List<byte[]> level = new ArrayList<>();
+        for (String triple : triples) {
+            level.add(parseHex(ProofVerifier.tripleHash(triple)));
+        }
+        levels.add(level);
+        while (level.size() > 1) {
+            List<byte[]> parents = new ArrayList<>();
+            for (int i = 0; i < level.size(); i += 2) {
+                if (i + 1 == level.size()) {
+                    parents.add(level.get(i));
+                } else {
+                    digest.update(level.get(i));
+                    parents.add(digest.digest(level.get(i + 1)));
+                }
+            }
+            levels.add(parents);
+            level = parents;
+        }
+    }
+
+    private static String escape(String literal) {
+        return literal.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    static String hash(String text) {
+        return ProofVerifier.tripleHash(text);
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new UnexpectedException(String.format("%s is not supported.", HASH_ALGORITHM), e);
+        }
+    }
+
+    private static byte[] parseHex(String hex) {
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+        }
+        return bytes;
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,54 @@
+package io.origintrail.dkg.client.simulator;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * Class for configuring a {@link DkgNodeSimulator}.
+ * <ul>
+ *     <li>{@code port} - the port to listen on, or {@code 0} for any free port.</li>
+ *     <li>{@code operationDuration} - how long an operation is {@code PENDING} after its {@code handler_id} is returned.</li>
+ *     <li>{@code latency} - the delay added before each response is sent.</li>
+ *     <li>{@code errorRate} - the fraction of requests answered with {@code errorStatus} instead of being handled.</li>
+ *     <li>{@code failureRate} - the fraction of operations which complete with a {@code FAILED} status.</li>
+ *     <li>{@code maxRequestsPerSecond} - if positive, requests above this rate are answered with status {@code 429}.
+ *     Bursts of up to one second of requests are allowed.</li>
+ *     <li>{@code threads} - the number of threads handling requests.</li>
+ *     <li>{@code handlerTtl} - how long a completed operation's result can be requested for.</li>
+ *     <li>{@code seed} - if set, the seed of the latencies and injected errors, for repeatable runs.</li>
+ * </ul>
+ */
+@Builder(toBuilder = true)
+@Getter
+@ToString
+public class SimulatorOptions {
+
+    private static final SimulatorOptions DEFAULT = SimulatorOptions.builder().build();
+
+    @Builder.Default
+    private final int port = 0;
+    @Builder.Default
+    private final Duration operationDuration = Duration.ofMillis(100);
+    @Builder.Default
+    private final LatencyDistribution latency = LatencyDistribution.none();
+    @Builder.Default
+    private final double errorRate = 0;
+    @Builder.Default
+    private final int errorStatus = 500;
+    @Builder.Default
+    private final double failureRate = 0;
+    @Builder.Default
+    private final int maxRequestsPerSecond = 0;
+    @Builder.Default
+    private final int threads = Runtime.getRuntime().availableProcessors() * 2;
+    @Builder.Default
+    private final Duration handlerTtl = Duration.ofMinutes(5);
+    private final Long seed;
+
+    public static SimulatorOptions defaults() {
+        return DEFAULT;
+    }
+}
@@ -0,0 +1,38 @@
+package io.origintrail.dkg.client.simulator;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A token bucket limiting requests to a rate per second, holding up to one second of tokens.
+ */
+class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long capacity;
+    private final LongSupplier nanoClock;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(int tokensPerSecond, LongSupplier nanoClock) {
+        this.capacity = tokensPerSecond;
+        this.nanoClock = nanoClock;
+        this.tokens = tokensPerSecond;
+        this.refilledAt = nanoClock.getAsLong();
+    }
+
+    /**
+     * @return {@code true} if a token was taken, or {@code false} if the bucket is empty.
+     */
+    synchronized boolean tryAcquire() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (double) (now - refilledAt) * capacity / NANOS_PER_SECOND);
+        refilledAt = now;
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+}
@@ -0,0 +1,110 @@
+package io.origintrail.dkg.client.sparql;
+
+import io.origintrail.dkg.client.exception.RequestValidationException;
+import io.origintrail.dkg.client.model.SparqlQueryType;
+import org.apache.jena.arq.querybuilder.ConstructBuilder;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.query.QueryFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.origintrail.dkg.client.sparql.PreparedSparqlQuery.iri;
+import static io.origintrail.dkg.client.sparql.PreparedSparqlQuery.literal;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class PreparedSparqlQueryTest {
+
+    @Test
+    void bind_queryBuilderWithParameters_equalsQueryBuiltWithValues() {
+        // given
+        PreparedSparqlQuery preparedQuery = PreparedSparqlQuery.prepare(SparqlQueryType.CONSTRUCT, new ConstructBuilder()
+                .addPrefix("schema", "http://schema.org/")
+                .addConstruct("?s", "schema:hasKeyword", "?o")
+                .addGraph("?g", "?s", "schema:hasKeyword", "?o")
+                .addWhere("?s", "schema:hasKeyword", "?keyword"), "keyword");
+
+        // when
+        String query = preparedQuery.bind(Map.of("keyword", literal("a \"quoted\" keyword\n")));
+
+        // then
+        String expected = new ConstructBuilder()
+                .addPrefix("schema", "http://schema.org/")
+                .addConstruct("?s", "schema:hasKeyword", "?o")
+                .addGraph("?g", "?s", "schema:hasKeyword", "?o")
+                .addWhere("?s", "schema:hasKeyword", NodeFactory.createLiteral("a \"quoted\" keyword\n"))
+                .buildString();
+        assertThat(QueryFactory.create(query)).isEqualTo(QueryFactory.create(expected));
+        assertThat(preparedQuery.getType()).isEqualTo(SparqlQueryType.CONSTRUCT);
+    }
+
+    @Test
+    void bind_parameterInIriStringAndLongerVariable_onlyVariableReplaced() {
+        // given
+        PreparedSparqlQuery preparedQuery = PreparedSparqlQuery.prepare(SparqlQueryType.CONSTRUCT,
+                "CONSTRUCT { ?s ?p ?o } WHERE { ?s <http://x.org/?s> \"?s\" . ?s ?p ?o . ?sub ?p $s FILTER(?o < 5) }", "s");
+
+        // when
+        String query = preparedQuery.bind(Map.of("s", iri("did:dkg:1")));
+
+        // then
+        assertThat(query).isEqualTo("CONSTRUCT { <did:dkg:1> ?p ?o } WHERE { <did:dkg:1> <http://x.org/?s> \"?s\" . "
+                + "<did:dkg:1> ?p ?o . ?sub ?p <did:dkg:1> FILTER(?o < 5) }");
+    }
+
+    @Test
+    void bind_typedAndLanguageLiterals_formattedWithDatatypeAndLanguage() {
+        // given
+        PreparedSparqlQuery preparedQuery = PreparedSparqlQuery.prepare(SparqlQueryType.CONSTRUCT,
+                "CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p ?a , ?b }", "a", "b");
+
+        // when
+        String query = preparedQuery.bind(Map.of(
+                "a", NodeFactory.createLiteral("5", XSDDatatype.XSDinteger),
+                "b", NodeFactory.createLiteral("name", "en")));
+
+        // then
+        assertThat(query).isEqualTo("CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p \"5\"^^<http://www.w3.org/2001/XMLSchema#integer> , \"name\"@en }");
+    }
+
+    @Test
+    void bind_iriWithInvalidCharacters_throwsRequestValidationException() {
+        // given
+        PreparedSparqlQuery preparedQuery = PreparedSparqlQuery.prepare(SparqlQueryType.CONSTRUCT,
+                "CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p ?o }", "s");
+
+        // when
+        RequestValidationException throwable = catchThrowableOfType(
+                () -> preparedQuery.bind(Map.of("s", iri("did:dkg:1> } DROP ALL { <a"))), RequestValidationException.class);
+
+        // then
+        assertThat(throwable.getMessage()).isEqualTo("Invalid IRI bound to query parameter: s");
+    }
+
+    @Test
+    void bind_missingBinding_throwsRequestValidationException() {
+        // given
+        PreparedSparqlQuery preparedQuery = PreparedSparqlQuery.prepare(SparqlQueryType.CONSTRUCT,
+                "CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p ?o }", "s");
+
+        // when
+        RequestValidationException throwable = catchThrowableOfType(
+                () -> preparedQuery.bind(Map.<String, Node>of()), RequestValidationException.class);
+
+        // then
+        assertThat(throwable.getMessage()).isEqualTo("Missing binding for query parameter: s");
+    }
+
+    @Test
+    void prepare_parameterNotInQuery_throwsIllegalArgumentException() {
+        // when
+        IllegalArgumentException throwable = catchThrowableOfType(() -> PreparedSparqlQuery.prepare(SparqlQueryType.CONSTRUCT,
+                "CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p \"?x\" }", "x"), IllegalArgumentException.class);
+
+        // then
+        assertThat(throwable.getMessage()).isEqualTo("Query parameter does not occur in query: x");
+    }
+}
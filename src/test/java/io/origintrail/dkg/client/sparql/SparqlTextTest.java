@@ -0,0 +1,42 @@
+package io.origintrail.dkg.client.sparql;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SparqlTextTest {
+
+    @Test
+    void normalise_queriesDifferingInLayoutAndComments_normalisedQueriesAreEqual() {
+        // given
+        String query = "CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p ?o . FILTER(?o = \"a  b\") }";
+        String reformattedQuery = "# all triples\n"
+                + "CONSTRUCT {\n"
+                + "    ?s ?p ?o\n"
+                + "}\n"
+                + "WHERE {\n"
+                + "    ?s   ?p ?o . # with value\n"
+                + "    FILTER ( ?o = \"a  b\" )\n"
+                + "}\n";
+
+        // when
+        String normalised = SparqlText.normalise(query);
+        String normalisedReformatted = SparqlText.normalise(reformattedQuery);
+
+        // then
+        assertThat(normalised).isEqualTo(normalisedReformatted)
+                .isEqualTo("CONSTRUCT{?s ?p ?o}WHERE{?s ?p ?o . FILTER(?o = \"a  b\")}");
+    }
+
+    @Test
+    void normalise_whitespaceAndHashInIriAndString_leftUnchanged() {
+        // given
+        String query = "SELECT * WHERE { ?s <http://schema.org/#name> \"\"\"a # b\n  c\"\"\" . FILTER(?o < 5) }";
+
+        // when
+        String normalised = SparqlText.normalise(query);
+
+        // then
+        assertThat(normalised).isEqualTo("SELECT * WHERE{?s <http://schema.org/#name> \"\"\"a # b\n  c\"\"\" . FILTER(?o < 5)}");
+    }
+}
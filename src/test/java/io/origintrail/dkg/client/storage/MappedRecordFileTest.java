@@ -0,0 +1,73 @@
+package io.origintrail.dkg.client.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.CharBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class MappedRecordFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void iterator_recordsAcrossSegments_returnsRecordsInOrder() {
+        // given
+        List<String> records = new ArrayList<>();
+        try (MappedRecordFile recordFile = new MappedRecordFile(directory, 64)) {
+            for (int i = 0; i < 100; i++) {
+                String record = "<did:dkg:" + i + "> <http://schema.org/name> \"naïve ✓ " + i + "\" .";
+                records.add(record);
+                recordFile.append(record);
+            }
+
+            // when
+            List<String> result = new ArrayList<>();
+            recordFile.forEach(result::add);
+
+            // then
+            assertThat(result).containsExactlyElementsOf(records);
+            assertThat(recordFile.size()).isEqualTo(100);
+        }
+    }
+
+    @Test
+    void append_recordLargerThanSegment_recordMappedIndividually() {
+        // given
+        String largeRecord = "x".repeat(1000);
+
+        try (MappedRecordFile recordFile = new MappedRecordFile(directory, 16)) {
+            // when
+            recordFile.append("a");
+            recordFile.append(CharBuffer.wrap(largeRecord.toCharArray(), 0, 1000));
+            recordFile.append("");
+            recordFile.append("b");
+
+            // then
+            assertThat(recordFile).containsExactly("a", largeRecord, "", "b");
+        }
+    }
+
+    @Test
+    void close_recordFile_fileDeleted() {
+        // given
+        MappedRecordFile recordFile = new MappedRecordFile(directory, 64);
+        recordFile.append("a");
+        Path path = recordFile.getPath();
+
+        // when
+        recordFile.close();
+
+        // then
+        assertThat(Files.exists(path)).isFalse();
+        IllegalStateException throwable = catchThrowableOfType(recordFile::iterator, IllegalStateException.class);
+        assertThat(throwable.getMessage()).isEqualTo("Record file is closed.");
+    }
+}